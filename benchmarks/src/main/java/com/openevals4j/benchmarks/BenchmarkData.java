@@ -0,0 +1,64 @@
+package com.openevals4j.benchmarks;
+
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.rubrics.models.RubricCriterion;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/** Deterministic evaluation contexts and rubric for the benchmarks. */
+public final class BenchmarkData {
+
+  private static final String FILLER =
+      "The first Super Bowl was played on January 15, 1967, at the Los Angeles Memorial Coliseum. "
+          + "The Green Bay Packers defeated the Kansas City Chiefs 35 to 10. ";
+
+  private BenchmarkData() {}
+
+  public static EvaluationContext context(ContextSize size) {
+    List<String> chunks = new ArrayList<>(size.getChunks());
+    for (int i = 0; i < size.getChunks(); i++) {
+      chunks.add("Document " + (i + 1) + ". " + text(size.getChunkLength()));
+    }
+    return EvaluationContext.builder()
+        .userInput("Who won the first Super Bowl, and where was it played?")
+        .actualResponse(sentences(size.getSentences(), "The Packers won"))
+        .expectedResponse(sentences(size.getSentences(), "Green Bay won"))
+        .retrievedContexts(chunks)
+        .build();
+  }
+
+  public static List<RubricCriterion> rubricCriteria() {
+    return List.of(
+        criterion("Accuracy", 0.4), criterion("Completeness", 0.3), criterion("Clarity", 0.3));
+  }
+
+  private static RubricCriterion criterion(String name, double weight) {
+    return RubricCriterion.builder()
+        .name(name)
+        .description("How well the answer does on " + name.toLowerCase())
+        .weight(weight)
+        .scoringGuidelines(
+            Map.of(
+                1, "Poor " + name.toLowerCase(),
+                3, "Adequate " + name.toLowerCase(),
+                5, "Excellent " + name.toLowerCase()))
+        .build();
+  }
+
+  private static String sentences(int count, String prefix) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      text.append(prefix).append(" game ").append(i + 1).append(" in Los Angeles. ");
+    }
+    return text.toString();
+  }
+
+  private static String text(int length) {
+    StringBuilder text = new StringBuilder(length + FILLER.length());
+    while (text.length() < length) {
+      text.append(FILLER);
+    }
+    return text.substring(0, length);
+  }
+}
@@ -0,0 +1,101 @@
+package com.openevals4j.benchmarks;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import java.util.List;
+
+/**
+ * In-process judge answering every request instantly with canned JSON for its response schema, so
+ * that benchmarks measure the library rather than the judge. The responses are built once; a call
+ * only allocates the response objects.
+ */
+public class CannedJudgeChatModel implements ChatLanguageModel {
+
+  private final ChatResponse verdicts;
+  private final ChatResponse reason;
+  private final ChatResponse evaluationResult;
+  private final ChatResponse rubricsEvaluation;
+
+  /**
+   * @param verdictCount Number of verdicts returned for verdict requests
+   * @param rubricCriteria Names of the criteria scored in rubric responses
+   */
+  public CannedJudgeChatModel(int verdictCount, List<String> rubricCriteria) {
+    this.verdicts = response(verdictsJson(verdictCount));
+    this.reason =
+        response("{\"reason\": \"The score is 0.50 because half of the nodes are relevant.\"}");
+    this.evaluationResult =
+        response("{\"score\": 4, \"reasoning\": \"The answer is supported by the context.\"}");
+    this.rubricsEvaluation = response(rubricsJson(rubricCriteria));
+  }
+
+  @Override
+  public ChatResponse chat(ChatRequest chatRequest) {
+    String schema =
+        chatRequest.responseFormat() != null && chatRequest.responseFormat().jsonSchema() != null
+            ? chatRequest.responseFormat().jsonSchema().name()
+            : "";
+    return responseFor(schema);
+  }
+
+  /** Returns the canned response text for the schema. */
+  public String responseText(String schema) {
+    return responseFor(schema).aiMessage().text();
+  }
+
+  @Override
+  public Response<AiMessage> generate(List<ChatMessage> messages) {
+    return Response.from(evaluationResult.aiMessage(), evaluationResult.tokenUsage());
+  }
+
+  private ChatResponse responseFor(String schema) {
+    return switch (schema) {
+      case "Verdicts" -> verdicts;
+      case "Reason" -> reason;
+      case "RubricsEvaluation" -> rubricsEvaluation;
+      default -> evaluationResult;
+    };
+  }
+
+  private static ChatResponse response(String json) {
+    return ChatResponse.builder()
+        .aiMessage(AiMessage.from(json))
+        .tokenUsage(new TokenUsage(1_000, json.length() / 4))
+        .build();
+  }
+
+  private static String verdictsJson(int count) {
+    StringBuilder json = new StringBuilder("{\"verdicts\": [");
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        json.append(", ");
+      }
+      json.append("{\"verdict\": \"")
+          .append(i % 2 == 0 ? "yes" : "no")
+          .append("\", \"reason\": \"Node ")
+          .append(i + 1)
+          .append(" mentions the winner of the first Super Bowl.\"}");
+    }
+    return json.append("]}").toString();
+  }
+
+  private static String rubricsJson(List<String> criteria) {
+    StringBuilder json = new StringBuilder("{\"criteriaScores\": [");
+    for (int i = 0; i < criteria.size(); i++) {
+      if (i > 0) {
+        json.append(", ");
+      }
+      json.append("{\"criterion\": \"")
+          .append(criteria.get(i))
+          .append("\", \"score\": ")
+          .append(3 + i % 3)
+          .append(", \"justification\": \"Meets the guideline.\"}");
+    }
+    return json.append("]}").toString();
+  }
+}
@@ -0,0 +1,34 @@
+package com.openevals4j.benchmarks;
+
+/** Size of the evaluation contexts the benchmarks run on. */
+public enum ContextSize {
+  /** A short answer judged against a few short chunks. */
+  SMALL(3, 200, 2),
+  /** A long answer judged against many long chunks, as in a wide retrieval. */
+  LARGE(50, 2_000, 20);
+
+  private final int chunks;
+  private final int chunkLength;
+  private final int sentences;
+
+  ContextSize(int chunks, int chunkLength, int sentences) {
+    this.chunks = chunks;
+    this.chunkLength = chunkLength;
+    this.sentences = sentences;
+  }
+
+  /** Number of retrieved chunks, and so of verdicts the stub judge returns. */
+  public int getChunks() {
+    return chunks;
+  }
+
+  /** Characters per retrieved chunk. */
+  public int getChunkLength() {
+    return chunkLength;
+  }
+
+  /** Sentences in the actual and expected responses. */
+  public int getSentences() {
+    return sentences;
+  }
+}
@@ -0,0 +1,77 @@
+package com.openevals4j.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.LLMBasedMetric;
+import com.openevals4j.metrics.LLMBasedMetricFactory;
+import com.openevals4j.metrics.MetricName;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.rubrics.models.RubricCriterion;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end cost of {@link LLMBasedMetric#evaluate} for every metric, with a judge that answers
+ * instantly. What is left is the library's own work per item: validation, prompt rendering, request
+ * building, response parsing and scoring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricEvaluationBenchmark {
+
+  @Param({
+    "CONTEXTUAL_PRECISION",
+    "CONTEXTUAL_RECALL",
+    "CONTEXTUAL_RELEVANCY",
+    "FAITHFULNESS",
+    "RUBRICS_BASED",
+    "RESPONSE_COMPLETENESS"
+  })
+  private MetricName metricName;
+
+  @Param({"SMALL", "LARGE"})
+  private ContextSize contextSize;
+
+  private LLMBasedMetric<EvaluationContext, EvaluationResult> metric;
+  private EvaluationContext context;
+
+  @Setup
+  public void setUp() {
+    List<RubricCriterion> rubricCriteria = BenchmarkData.rubricCriteria();
+    CannedJudgeChatModel judge =
+        new CannedJudgeChatModel(
+            contextSize.getChunks(),
+            rubricCriteria.stream().map(RubricCriterion::getName).toList());
+    metric =
+        LLMBasedMetricFactory.createMetric(metricName, judge, new ObjectMapper(), rubricCriteria);
+    context = BenchmarkData.context(contextSize);
+  }
+
+  @Benchmark
+  public EvaluationResult evaluate() {
+    return metric.evaluate(context);
+  }
+
+  /** The same work from several threads, to surface contention in shared metric state. */
+  @Benchmark
+  @Threads(4)
+  public EvaluationResult evaluateConcurrently() {
+    return metric.evaluate(context);
+  }
+}
@@ -0,0 +1,104 @@
+package com.openevals4j.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.Constants;
+import com.openevals4j.metrics.models.VerdictWithReason;
+import com.openevals4j.metrics.rubrics.models.CriterionScore;
+import com.openevals4j.metrics.utils.JudgeResponseReader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of judge responses with the streaming {@link JudgeResponseReader} against the {@code Map}
+ * binding it replaced. Run with the GC profiler (the default of {@link BenchmarkRunner}) and
+ * compare {@code gc.alloc.rate.norm}, the bytes allocated per parsed response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParsingBenchmark {
+
+  @Param({"SMALL", "LARGE"})
+  private ContextSize contextSize;
+
+  private ObjectMapper objectMapper;
+  private String verdictsJson;
+  private String reasonJson;
+  private String rubricJson;
+
+  @Setup
+  public void setUp() {
+    objectMapper = new ObjectMapper();
+    CannedJudgeChatModel judge =
+        new CannedJudgeChatModel(
+            contextSize.getChunks(),
+            BenchmarkData.rubricCriteria().stream().map(criterion -> criterion.getName()).toList());
+    verdictsJson = judge.responseText("Verdicts");
+    reasonJson = judge.responseText("Reason");
+    rubricJson = judge.responseText("RubricsEvaluation");
+  }
+
+  @Benchmark
+  public long verdictsMapBinding() throws JsonProcessingException {
+    Map<String, List<VerdictWithReason>> wrapper =
+        objectMapper.readValue(verdictsJson, new TypeReference<>() {});
+    return wrapper.get("verdicts").stream()
+        .filter(verdict -> Constants.YES_SMALL_CASE.equalsIgnoreCase(verdict.getVerdict().trim()))
+        .count();
+  }
+
+  @Benchmark
+  public long verdictsStreaming() throws JsonProcessingException {
+    return JudgeResponseReader.readVerdicts(objectMapper.getFactory(), verdictsJson).stream()
+        .filter(VerdictWithReason::isYes)
+        .count();
+  }
+
+  @Benchmark
+  public Object reasonMapBinding() throws JsonProcessingException {
+    return objectMapper.readValue(reasonJson, Map.class).get("reason");
+  }
+
+  @Benchmark
+  public String reasonStreaming() throws JsonProcessingException {
+    return JudgeResponseReader.readReason(objectMapper.getFactory(), reasonJson);
+  }
+
+  @Benchmark
+  @SuppressWarnings("unchecked")
+  public List<CriterionScore> rubricMapBinding() throws JsonProcessingException {
+    Map<String, Object> response = objectMapper.readValue(rubricJson, new TypeReference<>() {});
+    return ((List<Map<String, Object>>) response.get("criteriaScores"))
+        .stream()
+            .map(
+                map ->
+                    CriterionScore.builder()
+                        .criterion((String) map.get("criterion"))
+                        .score(((Number) map.get("score")).intValue())
+                        .justification((String) map.get("justification"))
+                        .build())
+            .toList();
+  }
+
+  @Benchmark
+  public List<CriterionScore> rubricStreaming() throws JsonProcessingException {
+    return JudgeResponseReader.readCriterionScores(objectMapper.getFactory(), rubricJson);
+  }
+}
@@ -0,0 +1,108 @@
+package com.openevals4j.metrics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.benchmarks.BenchmarkData;
+import com.openevals4j.benchmarks.CannedJudgeChatModel;
+import com.openevals4j.benchmarks.ContextSize;
+import com.openevals4j.metrics.contextualprecision.ContextualPrecisionMetric;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.VerdictWithReason;
+import com.openevals4j.metrics.utils.EvaluationContextValidator;
+import com.openevals4j.metrics.utils.JudgePrompt;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ResponseFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The steps of a verdict-based evaluation measured one at a time, so that a regression in {@link
+ * MetricEvaluationBenchmark} can be traced to the step that caused it. Lives in the library's
+ * package to reach the metric's protected hooks.
+ *
+ * @see com.openevals4j.benchmarks.MetricEvaluationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotPathBenchmark {
+
+  @Param({"SMALL", "LARGE"})
+  private ContextSize contextSize;
+
+  private VerdictBasedMetric metric;
+  private EvaluationContext context;
+  private List<String> requiredFields;
+  private JudgePrompt verdictPrompt;
+  private ResponseFormat verdictFormat;
+  private String verdictsJson;
+  private List<VerdictWithReason> verdicts;
+
+  @Setup
+  public void setUp() throws JsonProcessingException {
+    CannedJudgeChatModel judge = new CannedJudgeChatModel(contextSize.getChunks(), List.of());
+    metric =
+        ContextualPrecisionMetric.builder()
+            .evaluatorLLM(judge)
+            .objectMapper(new ObjectMapper())
+            .build();
+    context = BenchmarkData.context(contextSize);
+    requiredFields = metric.getRequiredFieldsForValidation();
+    verdictPrompt = metric.buildVerdictPrompt(context);
+    verdictFormat = metric.getVerdictResponseFormat();
+    verdictsJson =
+        judge
+            .chat(
+                ChatRequest.builder()
+                    .messages(verdictPrompt.toMessages())
+                    .responseFormat(verdictFormat)
+                    .build())
+            .aiMessage()
+            .text();
+    verdicts = metric.parseVerdicts(verdictsJson);
+  }
+
+  @Benchmark
+  public Object validate() {
+    return EvaluationContextValidator.validate(context, requiredFields);
+  }
+
+  @Benchmark
+  public JudgePrompt buildVerdictPrompt() {
+    return metric.buildVerdictPrompt(context);
+  }
+
+  @Benchmark
+  public ChatRequest buildChatRequest() {
+    return metric.buildChatRequest(verdictPrompt, verdictFormat);
+  }
+
+  @Benchmark
+  public List<VerdictWithReason> parseVerdicts() throws JsonProcessingException {
+    return metric.parseVerdicts(verdictsJson);
+  }
+
+  @Benchmark
+  public double calculateScore() {
+    return metric.calculateScore(verdicts);
+  }
+
+  @Benchmark
+  public String summarizeVerdicts() {
+    return metric.summarizeVerdicts(0.5, verdicts);
+  }
+}
@@ -5,4 +5,6 @@ public class Constants {
   public static final String REGEX = "((^```json\n)|(```$))";
 
   public static final String YES_SMALL_CASE = "yes";
+
+  public static final String NO_SMALL_CASE = "no";
 }
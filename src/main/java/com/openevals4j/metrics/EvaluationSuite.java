@@ -0,0 +1,439 @@
+package com.openevals4j.metrics;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.batch.BatchCheckpoint;
+import com.openevals4j.metrics.batch.BatchEvaluationOptions;
+import com.openevals4j.metrics.batch.CheckpointOptions;
+import com.openevals4j.metrics.batch.ConcurrentBatchEvaluator;
+import com.openevals4j.metrics.batch.ResultSink;
+import com.openevals4j.metrics.batch.StreamingBatchEvaluator;
+import com.openevals4j.metrics.cache.JudgeResponseCache;
+import com.openevals4j.metrics.cache.SingleFlightGroup;
+import com.openevals4j.metrics.evaluator.ForwardingChatLanguageModel;
+import com.openevals4j.metrics.evaluator.HedgingChatLanguageModel;
+import com.openevals4j.metrics.fusedretrieval.FusedRetrievalJudge;
+import com.openevals4j.metrics.fusedretrieval.models.FusedRetrievalVerdict;
+import com.openevals4j.metrics.instrumentation.InstrumentationListener;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.models.JudgeUsage;
+import com.openevals4j.metrics.models.VerdictWithReason;
+import com.openevals4j.metrics.rubrics.models.RubricCriterion;
+import com.openevals4j.metrics.usage.JudgeUsageCounter;
+import com.openevals4j.metrics.usage.PriceTable;
+import com.openevals4j.metrics.usage.UsageReport;
+import com.openevals4j.metrics.utils.EvaluatorExecutors;
+import com.openevals4j.metrics.utils.Fingerprints;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Runs several metrics against the same {@link EvaluationContext}. The metrics for an item are
+ * evaluated concurrently, so per-item latency is that of the slowest metric rather than the sum of
+ * all of them. A metric that fails for an item reports its default (NaN) result without affecting
+ * the other metrics.
+ *
+ * <p>When {@code fuseRetrievalVerdicts} is enabled and the suite contains both {@link
+ * MetricName#CONTEXTUAL_PRECISION} and {@link MetricName#CONTEXTUAL_RELEVANCY}, the retrieval
+ * context of an item is judged once by a {@link FusedRetrievalJudge} and both metrics score from
+ * that single pass.
+ */
+@Getter
+public class EvaluationSuite {
+
+  private static final List<MetricName> FUSED_METRICS =
+      List.of(MetricName.CONTEXTUAL_PRECISION, MetricName.CONTEXTUAL_RELEVANCY);
+
+  private final Map<MetricName, LLMBasedMetric<EvaluationContext, EvaluationResult>> metrics;
+
+  private final FusedRetrievalJudge fusedRetrievalJudge;
+
+  private final Executor executor;
+
+  @Builder
+  public EvaluationSuite(
+      Set<MetricName> metricNames,
+      ChatLanguageModel evaluatorLLM,
+      String evaluatorModelId,
+      ObjectMapper objectMapper,
+      List<RubricCriterion> rubricCriteria,
+      Executor executor,
+      boolean fuseRetrievalVerdicts,
+      JudgeResponseCache responseCache,
+      SingleFlightGroup singleFlightGroup,
+      InstrumentationListener instrumentationListener) {
+    if (metricNames == null || metricNames.isEmpty()) {
+      throw new IllegalArgumentException("At least one metric name must be provided");
+    }
+
+    this.metrics = new EnumMap<>(MetricName.class);
+    for (MetricName metricName : metricNames) {
+      LLMBasedMetric<EvaluationContext, EvaluationResult> metric =
+          LLMBasedMetricFactory.createMetric(
+              metricName, evaluatorLLM, objectMapper, rubricCriteria);
+      metric.setEvaluatorModelId(evaluatorModelId);
+      metric.setResponseCache(responseCache);
+      metric.setSingleFlightGroup(singleFlightGroup);
+      metric.setInstrumentationListener(instrumentationListener);
+      metrics.put(metricName, metric);
+    }
+    if (fuseRetrievalVerdicts && metricNames.containsAll(FUSED_METRICS)) {
+      this.fusedRetrievalJudge =
+          FusedRetrievalJudge.builder()
+              .evaluatorLLM(evaluatorLLM)
+              .objectMapper(objectMapper)
+              .build();
+      fusedRetrievalJudge.setEvaluatorModelId(evaluatorModelId);
+      fusedRetrievalJudge.setResponseCache(responseCache);
+      fusedRetrievalJudge.setSingleFlightGroup(singleFlightGroup);
+      fusedRetrievalJudge.setInstrumentationListener(instrumentationListener);
+    } else {
+      this.fusedRetrievalJudge = null;
+    }
+    this.executor = executor != null ? executor : EvaluatorExecutors.defaultExecutor();
+  }
+
+  /**
+   * Evaluates every metric of the suite for the given context, running the metrics concurrently.
+   *
+   * @param evaluationContext The context to evaluate
+   * @return The result of each metric, keyed by metric name
+   */
+  public Map<MetricName, EvaluationResult> evaluate(EvaluationContext evaluationContext) {
+    return evaluateAsync(evaluationContext).join();
+  }
+
+  /**
+   * Evaluates every metric of the suite for the given context without blocking the caller.
+   *
+   * @param evaluationContext The context to evaluate
+   * @return A future completed with the result of each metric, keyed by metric name
+   */
+  public CompletableFuture<Map<MetricName, EvaluationResult>> evaluateAsync(
+      EvaluationContext evaluationContext) {
+    return evaluateAsync(evaluationContext, metrics.keySet(), executor, false);
+  }
+
+  /**
+   * Evaluates every metric of the suite for every context. All item and metric pairs share the
+   * concurrency budget of {@code options}, so at most {@link
+   * BatchEvaluationOptions#getMaxConcurrency()} metric evaluations are in flight across the whole
+   * dataset. A fused retrieval pass counts as one evaluation. With checkpoint options, each item
+   * and metric group is recorded once evaluated, and a resumed run only evaluates what is missing.
+   * Checkpointing requires the suite's {@code evaluatorModelId}.
+   *
+   * @param evaluationContexts The contexts to evaluate
+   * @param options Concurrency, executor, retry and checkpoint settings shared by the whole dataset
+   * @return The per-metric results of each context, in input order
+   */
+  public List<Map<MetricName, EvaluationResult>> evaluateDataset(
+      List<EvaluationContext> evaluationContexts, BatchEvaluationOptions options) {
+    List<List<MetricName>> metricGroups = groupMetrics();
+    List<MetricTask> tasks = new ArrayList<>(evaluationContexts.size() * metricGroups.size());
+    for (int i = 0; i < evaluationContexts.size(); i++) {
+      for (List<MetricName> metricGroup : metricGroups) {
+        tasks.add(new MetricTask(i, metricGroup, evaluationContexts.get(i)));
+      }
+    }
+
+    Function<MetricTask, Map<MetricName, EvaluationResult>> evaluator =
+        task -> {
+          try {
+            return evaluateAsync(
+                    task.evaluationContext(),
+                    task.metricNames(),
+                    EvaluatorExecutors.directExecutor(),
+                    true)
+                .join();
+          } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+              throw cause;
+            }
+            throw exception;
+          }
+        };
+    BiFunction<MetricTask, Exception, Map<MetricName, EvaluationResult>> failureHandler =
+        (task, exception) -> {
+          Map<MetricName, EvaluationResult> failed = new EnumMap<>(MetricName.class);
+          for (MetricName metricName : task.metricNames()) {
+            failed.put(
+                metricName,
+                metrics
+                    .get(metricName)
+                    .getFailedEvaluationResult(task.evaluationContext(), exception));
+          }
+          return failed;
+        };
+
+    List<Map<MetricName, EvaluationResult>> taskResults;
+    CheckpointOptions checkpointOptions = options.getCheckpoint();
+    if (checkpointOptions == null) {
+      taskResults =
+          new ConcurrentBatchEvaluator(options).evaluate(tasks, evaluator, failureHandler);
+    } else {
+      metrics.values().forEach(metric -> metric.requireEvaluatorModelId("checkpoint its results"));
+      ObjectMapper objectMapper = metrics.values().iterator().next().getObjectMapper();
+      JavaType resultType =
+          objectMapper
+              .getTypeFactory()
+              .constructMapType(EnumMap.class, MetricName.class, EvaluationResult.class);
+      try (BatchCheckpoint<Map<MetricName, EvaluationResult>> checkpoint =
+          BatchCheckpoint.open(
+              checkpointOptions, getConfigurationFingerprint(), resultType, objectMapper)) {
+        taskResults =
+            new ConcurrentBatchEvaluator(options)
+                .evaluate(
+                    tasks,
+                    evaluator,
+                    failureHandler,
+                    checkpoint,
+                    index -> {
+                      MetricTask task = tasks.get(index);
+                      return checkpoint.itemId(task.evaluationContext(), task.itemIndex())
+                          + "/"
+                          + task.metricNames().stream()
+                              .map(MetricName::name)
+                              .collect(Collectors.joining("+"));
+                    });
+      } catch (IOException exception) {
+        throw new UncheckedIOException(
+            "Failed to access batch checkpoint " + checkpointOptions.getFile(), exception);
+      }
+    }
+
+    List<Map<MetricName, EvaluationResult>> results = new ArrayList<>(evaluationContexts.size());
+    for (int i = 0; i < evaluationContexts.size(); i++) {
+      results.add(new EnumMap<>(MetricName.class));
+    }
+    for (int i = 0; i < tasks.size(); i++) {
+      results.get(tasks.get(i).itemIndex()).putAll(taskResults.get(i));
+    }
+    return results;
+  }
+
+  /**
+   * Returns a fingerprint of the configuration of every metric of the suite and of whether
+   * retrieval verdicts are fused. A dataset checkpoint is only resumed by a suite with the same
+   * fingerprint.
+   */
+  public String getConfigurationFingerprint() {
+    List<String> parts = new ArrayList<>();
+    for (LLMBasedMetric<EvaluationContext, EvaluationResult> metric : metrics.values()) {
+      parts.add(metric.getConfigurationFingerprint());
+    }
+    parts.add(String.valueOf(fusedRetrievalJudge != null));
+    return Fingerprints.sha256Hex(parts);
+  }
+
+  /**
+   * Returns the evaluator LLM usage of every metric of the suite, and of the fused retrieval judge,
+   * priced with the given table by the suite's {@code evaluatorModelId}. Usage accumulates across
+   * runs until {@link #resetUsage()}. The results of both fused metrics include the shared verdict
+   * call in their usage, but the report counts it once, on the judge's line. When the evaluator LLM
+   * is wrapped in a {@link HedgingChatLanguageModel}, the responses it discarded are reported on a
+   * line of their own.
+   */
+  public UsageReport getUsageReport(PriceTable priceTable) {
+    List<UsageReport.Line> lines = new ArrayList<>();
+    for (LLMBasedMetric<EvaluationContext, EvaluationResult> metric : metrics.values()) {
+      lines.add(metric.getUsageLine(priceTable));
+    }
+    if (fusedRetrievalJudge != null) {
+      JudgeUsage usage = fusedRetrievalJudge.getUsage();
+      String modelId = fusedRetrievalJudge.resolveEvaluatorModelId();
+      lines.add(
+          new UsageReport.Line(
+              "FUSED_RETRIEVAL_JUDGE",
+              modelId,
+              fusedRetrievalJudge.getConfigurationFingerprint(),
+              usage,
+              priceTable.cost(modelId, usage)));
+    }
+    HedgingChatLanguageModel hedgingModel = findHedgingModel();
+    if (hedgingModel != null) {
+      JudgeUsage usage = hedgingModel.getDiscardedUsage();
+      String modelId = metrics.values().iterator().next().resolveEvaluatorModelId();
+      lines.add(
+          new UsageReport.Line(
+              "DISCARDED_HEDGES", modelId, null, usage, priceTable.cost(modelId, usage)));
+    }
+    return new UsageReport(lines);
+  }
+
+  /** Starts counting the usage of every metric and judge of the suite from zero. */
+  public void resetUsage() {
+    metrics.values().forEach(LLMBasedMetric::resetUsage);
+    if (fusedRetrievalJudge != null) {
+      fusedRetrievalJudge.resetUsage();
+    }
+    HedgingChatLanguageModel hedgingModel = findHedgingModel();
+    if (hedgingModel != null) {
+      hedgingModel.resetDiscardedUsage();
+    }
+  }
+
+  /** Returns the hedging decorator of the evaluator LLM, or {@code null} when there is none. */
+  private HedgingChatLanguageModel findHedgingModel() {
+    ChatLanguageModel model = metrics.values().iterator().next().getEvaluatorLLM();
+    while (model instanceof ForwardingChatLanguageModel forwarding) {
+      if (forwarding instanceof HedgingChatLanguageModel hedging) {
+        return hedging;
+      }
+      model = forwarding.getDelegate();
+    }
+    return null;
+  }
+
+  /**
+   * Evaluates every metric of the suite for each context of a stream, with constant memory. At most
+   * {@link BatchEvaluationOptions#getMaxConcurrency()} contexts are in flight. As in {@link
+   * #evaluate}, the metrics of a context run concurrently on the suite's executor while its worker
+   * thread waits for them, so up to {@code maxConcurrency} times the number of metrics judge calls
+   * can be in flight; bound them with a rate-limited evaluator LLM. The suite's executor must not
+   * be the bounded {@link BatchEvaluationOptions#getExecutorService()}, whose threads would wait on
+   * work queued behind them. A failing metric contributes its default result.
+   *
+   * @param evaluationContexts The contexts, read lazily
+   * @param sink Receives the per-metric results of every context
+   * @param options Concurrency, executor and ordering settings
+   * @return The number of evaluated contexts and of failed evaluations
+   */
+  public StreamingBatchEvaluator.Summary evaluateStream(
+      Iterator<EvaluationContext> evaluationContexts,
+      ResultSink<EvaluationContext, Map<MetricName, EvaluationResult>> sink,
+      BatchEvaluationOptions options) {
+    return new StreamingBatchEvaluator(options)
+        .evaluate(
+            evaluationContexts,
+            evaluationContext ->
+                evaluateAsync(evaluationContext, metrics.keySet(), executor, false).join(),
+            (evaluationContext, exception) -> {
+              Map<MetricName, EvaluationResult> failed = new EnumMap<>(MetricName.class);
+              metrics.forEach(
+                  (metricName, metric) ->
+                      failed.put(
+                          metricName,
+                          metric.getFailedEvaluationResult(evaluationContext, exception)));
+              return failed;
+            },
+            sink);
+  }
+
+  /**
+   * Evaluates the given metrics for one context. When {@code strict}, a failing metric fails the
+   * returned future instead of contributing its default result, so that batch evaluation can retry
+   * the group.
+   */
+  private CompletableFuture<Map<MetricName, EvaluationResult>> evaluateAsync(
+      EvaluationContext evaluationContext,
+      Collection<MetricName> metricNames,
+      Executor executor,
+      boolean strict) {
+    Map<MetricName, CompletableFuture<EvaluationResult>> futures = new EnumMap<>(MetricName.class);
+
+    if (fusedRetrievalJudge != null && metricNames.containsAll(FUSED_METRICS)) {
+      JudgeUsageCounter fusedUsage = new JudgeUsageCounter();
+      CompletableFuture<List<FusedRetrievalVerdict>> fusedVerdicts =
+          CompletableFuture.completedFuture(evaluationContext)
+              .thenCompose(
+                  context -> fusedRetrievalJudge.judgeAsync(context, executor, fusedUsage));
+      futures.put(
+          MetricName.CONTEXTUAL_PRECISION,
+          evaluateFromFusedVerdicts(
+              MetricName.CONTEXTUAL_PRECISION,
+              evaluationContext,
+              fusedVerdicts,
+              fusedUsage,
+              FusedRetrievalVerdict::toUsefulnessVerdict,
+              executor,
+              strict));
+      futures.put(
+          MetricName.CONTEXTUAL_RELEVANCY,
+          evaluateFromFusedVerdicts(
+              MetricName.CONTEXTUAL_RELEVANCY,
+              evaluationContext,
+              fusedVerdicts,
+              fusedUsage,
+              FusedRetrievalVerdict::toRelevancyVerdict,
+              executor,
+              strict));
+    }
+
+    for (MetricName metricName : metricNames) {
+      if (!futures.containsKey(metricName)) {
+        LLMBasedMetric<EvaluationContext, EvaluationResult> metric = metrics.get(metricName);
+        futures.put(
+            metricName,
+            strict
+                ? CompletableFuture.completedFuture(evaluationContext)
+                    .thenCompose(context -> metric.evaluateStrictAsync(context, executor))
+                : metric.evaluateAsyncOrFallback(evaluationContext, executor));
+      }
+    }
+
+    return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+        .thenApply(
+            ignored -> {
+              Map<MetricName, EvaluationResult> results = new EnumMap<>(MetricName.class);
+              futures.forEach((metricName, future) -> results.put(metricName, future.join()));
+              return results;
+            });
+  }
+
+  private CompletableFuture<EvaluationResult> evaluateFromFusedVerdicts(
+      MetricName metricName,
+      EvaluationContext evaluationContext,
+      CompletableFuture<List<FusedRetrievalVerdict>> fusedVerdicts,
+      JudgeUsageCounter fusedUsage,
+      Function<FusedRetrievalVerdict, VerdictWithReason> verdictSelector,
+      Executor executor,
+      boolean strict) {
+    VerdictBasedMetric metric = (VerdictBasedMetric) metrics.get(metricName);
+    CompletableFuture<List<VerdictWithReason>> verdicts =
+        fusedVerdicts.thenApply(fused -> fused.stream().map(verdictSelector).toList());
+    CompletableFuture<EvaluationResult> result =
+        CompletableFuture.completedFuture(evaluationContext)
+            .thenCompose(
+                context ->
+                    metric.evaluateWithVerdictsStrictAsync(
+                        context, verdicts, fusedUsage, executor));
+    return strict
+        ? result
+        : result.exceptionally(
+            throwable -> metric.handleEvaluationFailure(evaluationContext, throwable));
+  }
+
+  /** Groups the suite's metrics into units of work, keeping fused metrics together. */
+  private List<List<MetricName>> groupMetrics() {
+    List<List<MetricName>> metricGroups = new ArrayList<>();
+    if (fusedRetrievalJudge != null) {
+      metricGroups.add(FUSED_METRICS);
+    }
+    for (MetricName metricName : metrics.keySet()) {
+      if (fusedRetrievalJudge == null || !FUSED_METRICS.contains(metricName)) {
+        metricGroups.add(List.of(metricName));
+      }
+    }
+    return metricGroups;
+  }
+
+  private record MetricTask(
+      int itemIndex, List<MetricName> metricNames, EvaluationContext evaluationContext) {}
+}
@@ -1,17 +1,59 @@
 package com.openevals4j.metrics;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.batch.BatchCheckpoint;
+import com.openevals4j.metrics.batch.BatchEvaluationOptions;
+import com.openevals4j.metrics.batch.CheckpointOptions;
+import com.openevals4j.metrics.batch.ConcurrentBatchEvaluator;
+import com.openevals4j.metrics.batch.ResultSink;
+import com.openevals4j.metrics.batch.StreamingBatchEvaluator;
+import com.openevals4j.metrics.cache.JudgeRequestFingerprint;
+import com.openevals4j.metrics.cache.JudgeResponseCache;
+import com.openevals4j.metrics.cache.SingleFlightGroup;
 import com.openevals4j.metrics.exception.EvaluationContextValidationException;
+import com.openevals4j.metrics.instrumentation.InstrumentationListener;
+import com.openevals4j.metrics.instrumentation.JudgeCallType;
+import com.openevals4j.metrics.instrumentation.Outcome;
+import com.openevals4j.metrics.instrumentation.Phase;
 import com.openevals4j.metrics.models.EvaluationContext;
 import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.models.JudgeUsage;
 import com.openevals4j.metrics.models.ValidationResult;
+import com.openevals4j.metrics.repair.JsonRepair;
+import com.openevals4j.metrics.repair.JsonRepairCounter;
+import com.openevals4j.metrics.repair.JsonRepairKind;
+import com.openevals4j.metrics.repair.JsonRepairStats;
+import com.openevals4j.metrics.usage.JudgeUsageCounter;
+import com.openevals4j.metrics.usage.PriceTable;
+import com.openevals4j.metrics.usage.UsageReport;
 import com.openevals4j.metrics.utils.EvaluationContextValidator;
+import com.openevals4j.metrics.utils.EvaluatorExecutors;
+import com.openevals4j.metrics.utils.Fingerprints;
+import com.openevals4j.metrics.utils.JudgePrompt;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.UserMessage;
 import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.chat.request.ChatRequest;
 import dev.langchain4j.model.chat.request.ResponseFormat;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * Base class for all LLM-based evaluation metrics. Provides generic LLM call infrastructure
@@ -19,6 +61,7 @@ import lombok.Data;
  * intermediate subclasses ({@link ScoreBasedMetric}, {@link VerdictBasedMetric}).
  */
 @Data
+@Slf4j
 public class LLMBasedMetric<K, V> implements Metric<K, V> {
 
   private final MetricName metricName;
@@ -27,6 +70,50 @@ public class LLMBasedMetric<K, V> implements Metric<K, V> {
 
   private final ObjectMapper objectMapper;
 
+  /**
+   * Cache consulted before each evaluator LLM call. Only responses that parsed successfully are
+   * stored. No caching when {@code null}.
+   */
+  private JudgeResponseCache responseCache;
+
+  /**
+   * Coalesces identical evaluator LLM calls made concurrently, possibly by other metrics sharing
+   * the group. No coalescing when {@code null}.
+   */
+  private SingleFlightGroup singleFlightGroup;
+
+  /**
+   * Identity of the evaluator model mixed into response cache keys. Defaults to {@link
+   * JudgeRequestFingerprint#modelIdentity}; set it (for example to the provider and model name)
+   * when one cache is shared by judges of the same class configured differently.
+   */
+  private String evaluatorModelId;
+
+  /**
+   * Receives the duration of every phase of this metric's evaluations. Nothing is timed when {@code
+   * null}.
+   */
+  private InstrumentationListener instrumentationListener;
+
+  /**
+   * Number of times the evaluator LLM is asked again for a response that neither parses nor can be
+   * {@link JsonRepair repaired}. The new request repeats the conversation with the unparseable
+   * response and a request for valid JSON. Set to 0 to fail the evaluation straight away.
+   */
+  private int maxReprompts = 1;
+
+  /** Evaluator LLM calls made by this metric and their token usage, see {@link #getUsage()}. */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private final JudgeUsageCounter usageCounter = new JudgeUsageCounter();
+
+  /** Recovered and unrecoverable evaluator responses, see {@link #getJsonRepairStats()}. */
+  @Getter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private final JsonRepairCounter jsonRepairCounter = new JsonRepairCounter();
+
   public LLMBasedMetric(
       MetricName metricName, ChatLanguageModel evaluatorLLM, ObjectMapper objectMapper) {
     this.metricName = metricName;
@@ -44,13 +131,289 @@ public class LLMBasedMetric<K, V> implements Metric<K, V> {
     return inputs.stream().map(this::evaluate).toList();
   }
 
-  protected ChatRequest buildChatRequest(String prompt, ResponseFormat responseFormat) {
+  /**
+   * Evaluates the inputs concurrently, keeping at most {@link
+   * BatchEvaluationOptions#getMaxConcurrency()} evaluations in flight. Results are aligned with the
+   * input list; an input whose evaluation throws yields {@link #getFailedEvaluationResult}. When
+   * the options carry a {@link BatchEvaluationOptions#getRetryPolicy() retry policy}, inputs
+   * failing with a transient error are retried after the main pass instead of failing immediately.
+   * When they carry {@link BatchEvaluationOptions#getCheckpoint() checkpoint options}, inputs
+   * evaluated by an earlier run with the same {@link #getConfigurationFingerprint() configuration}
+   * are skipped and their recorded results returned. Checkpointing requires an explicit {@link
+   * #evaluatorModelId}, so that a resumed run cannot mix the results of two models.
+   *
+   * @param inputs The inputs to evaluate
+   * @param options Concurrency, executor, retry and checkpoint settings for the batch
+   * @return One result per input, in input order
+   * @throws IllegalStateException when checkpointing without an explicit evaluator model id
+   */
+  public List<V> evaluateBatch(List<K> inputs, BatchEvaluationOptions options) {
+    CheckpointOptions checkpointOptions = options.getCheckpoint();
+    if (checkpointOptions == null) {
+      return new ConcurrentBatchEvaluator(options)
+          .evaluate(inputs, this::evaluateStrict, this::getFailedEvaluationResult);
+    }
+
+    JavaType resultType = getResultType();
+    if (resultType == null) {
+      throw new UnsupportedOperationException(
+          String.format("%s metric does not support checkpointing", getMetricName()));
+    }
+    requireEvaluatorModelId("checkpoint its results");
+    try (BatchCheckpoint<V> checkpoint =
+        BatchCheckpoint.open(
+            checkpointOptions, getConfigurationFingerprint(), resultType, objectMapper)) {
+      return new ConcurrentBatchEvaluator(options)
+          .evaluate(
+              inputs, this::evaluateStrict, this::getFailedEvaluationResult, checkpoint, null);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(
+          "Failed to access batch checkpoint " + checkpointOptions.getFile(), exception);
+    }
+  }
+
+  /**
+   * Evaluates a stream of inputs with constant memory: inputs are pulled only while fewer than
+   * {@link BatchEvaluationOptions#getMaxConcurrency()} are in flight, and each result is passed to
+   * the sink as soon as it is available (in input order when {@link
+   * BatchEvaluationOptions#isPreserveOrder()} is set). An input whose evaluation throws yields
+   * {@link #getFailedEvaluationResult}.
+   *
+   * @param inputs The inputs, read lazily, for example a {@link
+   *     com.openevals4j.metrics.batch.JsonlEvaluationContextReader}
+   * @param sink Receives every result, for example a {@link
+   *     com.openevals4j.metrics.batch.JsonlResultWriter}
+   * @param options Concurrency, executor and ordering settings
+   * @return The number of evaluated inputs and of failed evaluations
+   */
+  public StreamingBatchEvaluator.Summary evaluateStream(
+      Iterator<K> inputs, ResultSink<K, V> sink, BatchEvaluationOptions options) {
+    return new StreamingBatchEvaluator(options)
+        .evaluate(inputs, this::evaluateStrict, this::getFailedEvaluationResult, sink);
+  }
+
+  @Override
+  public CompletableFuture<V> evaluateAsync(K input) {
+    return evaluateAsync(input, EvaluatorExecutors.defaultExecutor());
+  }
+
+  /**
+   * Evaluates the input, running evaluator LLM calls on the given executor.
+   *
+   * @param input The input to evaluate
+   * @param executor Executor the evaluator LLM calls are run on
+   * @return A future completed with the evaluation result
+   */
+  public CompletableFuture<V> evaluateAsync(K input, Executor executor) {
+    return CompletableFuture.supplyAsync(() -> evaluate(input), executor);
+  }
+
+  @Override
+  public CompletableFuture<List<V>> evaluateBatchAsync(List<K> inputs) {
+    return evaluateBatchAsync(inputs, EvaluatorExecutors.defaultExecutor());
+  }
+
+  /**
+   * Evaluates all inputs, running evaluator LLM calls on the given executor. An input whose
+   * evaluation fails yields {@link #getFailedEvaluationResult} rather than failing the batch.
+   *
+   * @param inputs The inputs to evaluate
+   * @param executor Executor the evaluator LLM calls are run on
+   * @return A future completed with one result per input, in input order
+   */
+  public CompletableFuture<List<V>> evaluateBatchAsync(List<K> inputs, Executor executor) {
+    List<CompletableFuture<V>> futures =
+        inputs.stream().map(input -> evaluateAsyncOrFallback(input, executor)).toList();
+    return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+        .thenApply(ignored -> futures.stream().map(CompletableFuture::join).toList());
+  }
+
+  /**
+   * Like {@link #evaluateAsync(Object, Executor)}, but completes exceptionally when the evaluation
+   * fails instead of falling back to a default result. Batch evaluation uses this to tell failed
+   * inputs apart and retry them.
+   */
+  protected CompletableFuture<V> evaluateStrictAsync(K input, Executor executor) {
+    return CompletableFuture.supplyAsync(() -> evaluate(input), executor);
+  }
+
+  /**
+   * Like {@link #evaluateAsync(Object, Executor)}, but never completes exceptionally: any failure,
+   * including a validation error, yields {@link #getFailedEvaluationResult}.
+   */
+  protected CompletableFuture<V> evaluateAsyncOrFallback(K input, Executor executor) {
+    return CompletableFuture.completedFuture(input)
+        .thenCompose(item -> evaluateAsync(item, executor))
+        .exceptionally(throwable -> getFailedEvaluationResult(input, asException(throwable)));
+  }
+
+  /**
+   * Builds the evaluator LLM request: the prompt's instructions as a system message, then its input
+   * as the user message.
+   */
+  protected ChatRequest buildChatRequest(JudgePrompt prompt, ResponseFormat responseFormat) {
     return ChatRequest.builder()
         .responseFormat(responseFormat)
-        .messages(UserMessage.from(prompt))
+        .messages(prompt.toMessages())
         .build();
   }
 
+  /**
+   * Sends the prompt to the evaluator LLM on the given executor and parses the response content.
+   * Parsing failures complete the returned future exceptionally.
+   */
+  protected <T> CompletableFuture<T> callEvaluatorAsync(
+      JudgePrompt prompt,
+      ResponseFormat responseFormat,
+      ResponseParser<T> responseParser,
+      Executor executor) {
+    return callEvaluatorAsync(
+        prompt, responseFormat, responseParser, JudgeCallType.EVALUATION, null, executor);
+  }
+
+  /**
+   * Like {@link #callEvaluatorAsync(JudgePrompt, ResponseFormat, ResponseParser, Executor)}, and
+   * also counts the call and its token usage in the given counter, typically the one of the
+   * evaluation the call is made for. The call and the parsing of its response are reported to the
+   * {@link #instrumentationListener} as the given call type.
+   */
+  protected <T> CompletableFuture<T> callEvaluatorAsync(
+      JudgePrompt prompt,
+      ResponseFormat responseFormat,
+      ResponseParser<T> responseParser,
+      JudgeCallType callType,
+      JudgeUsageCounter usage,
+      Executor executor) {
+    ChatRequest chatRequest = buildChatRequest(prompt, responseFormat);
+    return CompletableFuture.supplyAsync(
+        () -> callEvaluator(chatRequest, responseParser, callType, usage), executor);
+  }
+
+  /** Renders a prompt, reporting the time taken as {@link Phase#PROMPT_RENDERING}. */
+  protected JudgePrompt renderPrompt(JudgeCallType callType, Supplier<JudgePrompt> renderer) {
+    long start = startPhase();
+    try {
+      JudgePrompt prompt = renderer.get();
+      recordPhase(Phase.PROMPT_RENDERING, callType, Outcome.SUCCESS, start);
+      return prompt;
+    } catch (RuntimeException exception) {
+      recordPhase(Phase.PROMPT_RENDERING, callType, Outcome.FAILURE, start);
+      throw exception;
+    }
+  }
+
+  /**
+   * Returns the start time of a phase to pass to {@link #recordPhase}, or 0 when no listener is
+   * registered, so that an uninstrumented metric does not read the clock.
+   */
+  protected long startPhase() {
+    return instrumentationListener != null ? System.nanoTime() : 0;
+  }
+
+  /** Reports a phase started with {@link #startPhase()} to the listener, if any. */
+  protected void recordPhase(
+      Phase phase, JudgeCallType callType, Outcome outcome, long startNanos) {
+    InstrumentationListener listener = instrumentationListener;
+    if (listener == null || startNanos == 0) {
+      return;
+    }
+    try {
+      listener.onPhase(getMetricName(), phase, callType, outcome, System.nanoTime() - startNanos);
+    } catch (RuntimeException exception) {
+      log.warn("Instrumentation listener failed for {} metric", getMetricName(), exception);
+    }
+  }
+
+  /** Evaluator LLM calls made by this metric since it was created or last reset. */
+  public JudgeUsage getUsage() {
+    return usageCounter.snapshot();
+  }
+
+  /** Returns {@link #getUsage()} and starts counting from zero, for example between runs. */
+  public JudgeUsage resetUsage() {
+    return usageCounter.reset();
+  }
+
+  /**
+   * How often responses of the evaluator LLM that did not parse were repaired, re-requested or
+   * given up on since the metric was created or last reset.
+   */
+  public JsonRepairStats getJsonRepairStats() {
+    return jsonRepairCounter.snapshot();
+  }
+
+  /** Returns {@link #getJsonRepairStats()} and starts counting from zero. */
+  public JsonRepairStats resetJsonRepairStats() {
+    return jsonRepairCounter.reset();
+  }
+
+  /** Returns the {@link #getUsage() usage} of this metric priced with the given table. */
+  public UsageReport getUsageReport(PriceTable priceTable) {
+    return new UsageReport(List.of(getUsageLine(priceTable)));
+  }
+
+  UsageReport.Line getUsageLine(PriceTable priceTable) {
+    JudgeUsage usage = getUsage();
+    String modelId = resolveEvaluatorModelId();
+    return new UsageReport.Line(
+        getMetricName().name(),
+        modelId,
+        getConfigurationFingerprint(),
+        usage,
+        priceTable.cost(modelId, usage));
+  }
+
+  /**
+   * Returns a fingerprint of everything besides the input that determines the results of this
+   * metric: its name and class, the evaluator model identity and {@link #getConfigurationParts()}.
+   * A checkpoint is only resumed by a metric with the same fingerprint.
+   */
+  public String getConfigurationFingerprint() {
+    List<String> parts = new ArrayList<>();
+    parts.add(getMetricName().name());
+    parts.add(getClass().getName());
+    parts.add(resolveEvaluatorModelId());
+    for (Object part : getConfigurationParts()) {
+      parts.add(String.valueOf(part));
+    }
+    return Fingerprints.sha256Hex(parts);
+  }
+
+  /** Configuration specific to the metric, such as its prompts, mixed into the fingerprint. */
+  protected List<Object> getConfigurationParts() {
+    return List.of();
+  }
+
+  /**
+   * Type results are read back as from a checkpoint, or {@code null} when the metric's results
+   * cannot be checkpointed.
+   */
+  protected JavaType getResultType() {
+    return null;
+  }
+
+  /**
+   * Fails unless {@link #evaluatorModelId} is set, before results are persisted beyond this run.
+   * The default identity is the class of the evaluator LLM, which is the same for every model of a
+   * provider, so it cannot tell a later run on another model apart from this one.
+   */
+  void requireEvaluatorModelId(String purpose) {
+    if (evaluatorModelId == null) {
+      throw new IllegalStateException(
+          String.format(
+              "Set evaluatorModelId on the %s metric to %s: the default model identity %s is the"
+                  + " same for every model of that class",
+              getMetricName(), purpose, JudgeRequestFingerprint.modelIdentity(evaluatorLLM)));
+    }
+  }
+
+  /** Returns {@link #evaluatorModelId}, or the default identity of the evaluator LLM. */
+  protected String resolveEvaluatorModelId() {
+    return evaluatorModelId != null
+        ? evaluatorModelId
+        : JudgeRequestFingerprint.modelIdentity(evaluatorLLM);
+  }
+
   protected EvaluationResult getDefaultEvaluationResult() {
     return EvaluationResult.builder()
         .score(Double.NaN)
@@ -58,15 +421,262 @@ public class LLMBasedMetric<K, V> implements Metric<K, V> {
         .build();
   }
 
+  /** Logs an evaluation failure and falls back to {@link #getDefaultEvaluationResult()}. */
+  protected EvaluationResult handleEvaluationFailure(
+      EvaluationContext evaluationContext, Throwable throwable) {
+    log.error(
+        "Error occurred while evaluating {} metric for evaluation context {}",
+        getMetricName(),
+        evaluationContext,
+        unwrap(throwable));
+    return getDefaultEvaluationResult();
+  }
+
+  /** Result recorded for an input whose evaluation threw while running as part of a batch. */
+  protected V getFailedEvaluationResult(K input, Exception exception) {
+    return null;
+  }
+
   protected void validateEvaluationContext(EvaluationContext evaluationContext) {
+    long start = startPhase();
     ValidationResult result =
         EvaluationContextValidator.validate(evaluationContext, getRequiredFieldsForValidation());
     if (!result.isValid()) {
+      recordPhase(Phase.VALIDATION, JudgeCallType.NONE, Outcome.FAILURE, start);
       throw new EvaluationContextValidationException(result);
     }
+    recordPhase(Phase.VALIDATION, JudgeCallType.NONE, Outcome.SUCCESS, start);
+  }
+
+  /**
+   * Like {@link #validateEvaluationContext}, but returns a future failed with the validation error
+   * instead of throwing it, for methods that report every failure through their future.
+   */
+  protected CompletableFuture<EvaluationContext> validateEvaluationContextAsync(
+      EvaluationContext evaluationContext) {
+    try {
+      validateEvaluationContext(evaluationContext);
+      return CompletableFuture.completedFuture(evaluationContext);
+    } catch (EvaluationContextValidationException exception) {
+      return CompletableFuture.failedFuture(exception);
+    }
+  }
+
+  /**
+   * Falls back to {@link #handleEvaluationFailure} when the evaluation fails, except for an invalid
+   * context: that is the caller's error and still fails the returned future.
+   */
+  protected CompletableFuture<EvaluationResult> recoverEvaluation(
+      EvaluationContext evaluationContext, CompletableFuture<EvaluationResult> evaluation) {
+    return evaluation.exceptionally(
+        throwable -> {
+          if (unwrap(throwable) instanceof EvaluationContextValidationException exception) {
+            throw exception;
+          }
+          return handleEvaluationFailure(evaluationContext, throwable);
+        });
+  }
+
+  /**
+   * Waits for the future, throwing a validation error as is rather than wrapped in a {@link
+   * CompletionException}. The synchronous methods use this to keep throwing for an invalid context.
+   */
+  protected static <T> T joinValidated(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof EvaluationContextValidationException cause) {
+        throw cause;
+      }
+      throw exception;
+    }
   }
 
   protected List<String> getRequiredFieldsForValidation() {
     return null;
   }
+
+  private V evaluateStrict(K input) {
+    try {
+      return evaluateStrictAsync(input, EvaluatorExecutors.directExecutor()).join();
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw exception;
+    }
+  }
+
+  private <T> T callEvaluator(
+      ChatRequest chatRequest,
+      ResponseParser<T> responseParser,
+      JudgeCallType callType,
+      JudgeUsageCounter usage) {
+    JudgeResponseCache cache = responseCache;
+    SingleFlightGroup group = singleFlightGroup;
+    if (cache == null && group == null) {
+      long start = startPhase();
+      String responseText = timeJudgeCall(() -> chat(chatRequest, usage), callType, start);
+      return parseResponse(chatRequest, responseText, responseParser, callType, usage).value();
+    }
+
+    if (cache != null && cache.isPersistent()) {
+      requireEvaluatorModelId("use a persistent response cache");
+    }
+    long start = startPhase();
+    String fingerprint = JudgeRequestFingerprint.of(chatRequest, resolveEvaluatorModelId());
+    String cached = cache != null ? cache.get(fingerprint) : null;
+    if (cached != null) {
+      recordPhase(Phase.JUDGE_CALL, callType, Outcome.CACHED, start);
+      try {
+        return parse(cached, responseParser, callType);
+      } catch (JsonProcessingException exception) {
+        log.warn("Discarding cached {} response that no longer parses", getMetricName(), exception);
+        cache.invalidate(fingerprint);
+        start = startPhase();
+      }
+    }
+
+    String responseText =
+        timeJudgeCall(
+            () ->
+                group != null
+                    ? group.execute(fingerprint, () -> chat(chatRequest, usage))
+                    : chat(chatRequest, usage),
+            callType,
+            start);
+    Parsed<T> parsed = parseResponse(chatRequest, responseText, responseParser, callType, usage);
+    if (cache != null && parsed.cacheable()) {
+      cache.put(fingerprint, parsed.text());
+    }
+    return parsed.value();
+  }
+
+  /**
+   * Runs the judge call, reporting it as {@link Phase#JUDGE_CALL}. Time spent waiting for a
+   * coalesced call or looking up the response cache counts towards the call.
+   */
+  private String timeJudgeCall(Supplier<String> call, JudgeCallType callType, long start) {
+    try {
+      String responseText = call.get();
+      recordPhase(Phase.JUDGE_CALL, callType, Outcome.SUCCESS, start);
+      return responseText;
+    } catch (RuntimeException exception) {
+      recordPhase(Phase.JUDGE_CALL, callType, Outcome.FAILURE, start);
+      throw exception;
+    }
+  }
+
+  /**
+   * Calls the evaluator LLM and counts the call. A coalesced call runs this only once, so callers
+   * sharing its response are not charged for it.
+   */
+  private String chat(ChatRequest chatRequest, JudgeUsageCounter usage) {
+    ChatResponse response = evaluatorLLM.chat(chatRequest);
+    usageCounter.record(response.tokenUsage());
+    if (usage != null) {
+      usage.record(response.tokenUsage());
+    }
+    return response.aiMessage().text();
+  }
+
+  /**
+   * Parses the response, falling back to the {@link JsonRepair repaired} response and then to
+   * asking the evaluator LLM again, up to {@link #maxReprompts} times. Returns the parsed value
+   * with the text it was parsed from, which is what the response cache stores. Text repaired by
+   * cutting off a truncated response is not cached: it is an answer to a shorter question than the
+   * one asked, and a retry may well get the whole answer.
+   */
+  private <T> Parsed<T> parseResponse(
+      ChatRequest chatRequest,
+      String responseText,
+      ResponseParser<T> responseParser,
+      JudgeCallType callType,
+      JudgeUsageCounter usage) {
+    String text = responseText;
+    for (int reprompts = 0; ; reprompts++) {
+      Exception failure;
+      try {
+        return new Parsed<>(parse(text, responseParser, callType), text, true);
+      } catch (JsonProcessingException exception) {
+        failure = exception;
+      }
+
+      JsonRepair.Result repaired = JsonRepair.repair(text);
+      if (repaired.isRepaired()) {
+        try {
+          T value = parse(repaired.text(), responseParser, callType);
+          jsonRepairCounter.recordRepaired(repaired.repairs());
+          log.debug("Repaired {} response with {}", getMetricName(), repaired.repairs());
+          return new Parsed<>(
+              value, repaired.text(), !repaired.repairs().contains(JsonRepairKind.TRUNCATION));
+        } catch (JsonProcessingException | RuntimeException exception) {
+          failure = exception;
+        }
+      }
+
+      if (reprompts >= maxReprompts) {
+        jsonRepairCounter.recordUnrecoverable();
+        throw new CompletionException(failure);
+      }
+      jsonRepairCounter.recordReprompt();
+      log.warn(
+          "Asking again for {} response that could not be parsed: {}",
+          getMetricName(),
+          failure.getMessage());
+      ChatRequest reprompt = buildRepromptRequest(chatRequest, text, failure);
+      text = timeJudgeCall(() -> chat(reprompt, usage), callType, startPhase());
+    }
+  }
+
+  /** The original conversation, the unparseable response and a request for valid JSON. */
+  private static ChatRequest buildRepromptRequest(
+      ChatRequest chatRequest, String responseText, Exception failure) {
+    List<ChatMessage> messages = new ArrayList<>(chatRequest.messages());
+    messages.add(
+        AiMessage.from(responseText == null || responseText.isEmpty() ? "{}" : responseText));
+    messages.add(
+        UserMessage.from(
+            "Your previous response could not be parsed as JSON ("
+                + failure.getMessage()
+                + "). Respond again with only the JSON object in the requested format, without"
+                + " code fences or any other text."));
+    return ChatRequest.builder()
+        .responseFormat(chatRequest.responseFormat())
+        .messages(messages)
+        .build();
+  }
+
+  /** Parses the response, reporting the time taken as {@link Phase#RESPONSE_PARSING}. */
+  private <T> T parse(String responseText, ResponseParser<T> responseParser, JudgeCallType callType)
+      throws JsonProcessingException {
+    long start = startPhase();
+    try {
+      T parsed = responseParser.parse(responseText);
+      recordPhase(Phase.RESPONSE_PARSING, callType, Outcome.SUCCESS, start);
+      return parsed;
+    } catch (JsonProcessingException | RuntimeException exception) {
+      recordPhase(Phase.RESPONSE_PARSING, callType, Outcome.FAILURE, start);
+      throw exception;
+    }
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    return throwable instanceof CompletionException && throwable.getCause() != null
+        ? throwable.getCause()
+        : throwable;
+  }
+
+  private static Exception asException(Throwable throwable) {
+    Throwable cause = unwrap(throwable);
+    return cause instanceof Exception exception ? exception : new CompletionException(cause);
+  }
+
+  private record Parsed<T>(T value, String text, boolean cacheable) {}
+
+  /** Parses the text content of an evaluator LLM response. */
+  @FunctionalInterface
+  protected interface ResponseParser<T> {
+    T parse(String content) throws JsonProcessingException;
+  }
 }
@@ -1,6 +1,7 @@
 package com.openevals4j.metrics;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface Metric<K, V> {
 
@@ -13,4 +14,20 @@ public interface Metric<K, V> {
   V evaluate(K input);
 
   List<V> evaluateBatch(List<K> inputs);
+
+  /**
+   * Computes the metric score without blocking the calling thread
+   *
+   * @param input The input data to evaluate
+   * @return A future completed with the evaluation result
+   */
+  CompletableFuture<V> evaluateAsync(K input);
+
+  /**
+   * Computes the metric scores for all inputs without blocking the calling thread
+   *
+   * @param inputs The input data to evaluate
+   * @return A future completed with one result per input, in input order
+   */
+  CompletableFuture<List<V>> evaluateBatchAsync(List<K> inputs);
 }
@@ -0,0 +1,14 @@
+package com.openevals4j.metrics;
+
+/** Controls how verdict-based metrics produce the reasoning of an evaluation result. */
+public enum ReasoningMode {
+  /** The reason is generated by a second evaluator LLM call before the result is returned. */
+  EAGER,
+  /**
+   * The result holds the verdicts and generates the reason with a second evaluator LLM call the
+   * first time {@code resolveReasoning()} is called.
+   */
+  LAZY,
+  /** No second call is made; the reasoning is a deterministic summary of the verdicts. */
+  NONE
+}
@@ -0,0 +1,122 @@
+package com.openevals4j.metrics;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.cache.ChunkVerdictCache;
+import com.openevals4j.metrics.cache.JudgeRequestFingerprint;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.VerdictWithReason;
+import com.openevals4j.metrics.usage.JudgeUsageCounter;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Verdict-based metric giving one verdict per retrieved context chunk, in rank order.
+ *
+ * <p>With a {@link ChunkVerdictCache} set, verdicts are resolved chunk by chunk: each chunk is
+ * looked up under the fingerprint of the single-chunk verdict request for the same query, only the
+ * chunks without a cached verdict are sent to the judge (in one request), and the cached and fresh
+ * verdicts are merged back in rank order before scoring. Because every chunk still gets exactly one
+ * verdict at its original rank, rank-sensitive scores are computed exactly as without the cache.
+ */
+@Getter
+@Setter
+public abstract class RetrievalVerdictBasedMetric extends VerdictBasedMetric {
+
+  /** Per-chunk verdict cache; when {@code null}, all chunks are judged in a single request. */
+  private ChunkVerdictCache chunkVerdictCache;
+
+  protected RetrievalVerdictBasedMetric(
+      MetricName metricName,
+      ChatLanguageModel evaluatorLLM,
+      ObjectMapper objectMapper,
+      ReasoningMode reasoningMode) {
+    super(metricName, evaluatorLLM, objectMapper, reasoningMode);
+  }
+
+  @Override
+  protected CompletableFuture<List<VerdictWithReason>> generateVerdictsAsync(
+      EvaluationContext evaluationContext, JudgeUsageCounter usage, Executor executor) {
+    ChunkVerdictCache cache = chunkVerdictCache;
+    if (cache == null) {
+      return super.generateVerdictsAsync(evaluationContext, usage, executor);
+    }
+
+    if (cache.getBackend().isPersistent()) {
+      requireEvaluatorModelId("use a persistent chunk verdict cache");
+    }
+    List<String> chunks = evaluationContext.getRetrievedContexts();
+    String modelId = resolveEvaluatorModelId();
+    String[] fingerprints = new String[chunks.size()];
+    VerdictWithReason[] verdicts = new VerdictWithReason[chunks.size()];
+    List<Integer> missing = new ArrayList<>();
+    for (int i = 0; i < chunks.size(); i++) {
+      fingerprints[i] =
+          JudgeRequestFingerprint.of(
+              buildChatRequest(
+                  buildVerdictPrompt(
+                      withRetrievedContexts(evaluationContext, List.of(chunks.get(i)))),
+                  getVerdictResponseFormat()),
+              modelId);
+      verdicts[i] = cache.get(fingerprints[i]);
+      if (verdicts[i] == null) {
+        missing.add(i);
+      }
+    }
+    if (missing.isEmpty()) {
+      return CompletableFuture.completedFuture(Arrays.asList(verdicts));
+    }
+
+    EvaluationContext missingChunks =
+        withRetrievedContexts(evaluationContext, missing.stream().map(chunks::get).toList());
+    // The parser checks for one verdict per uncached chunk, so a short answer is asked for again.
+    return super.generateVerdictsAsync(missingChunks, usage, executor)
+        .thenApply(
+            fresh -> {
+              for (int i = 0; i < missing.size(); i++) {
+                int rank = missing.get(i);
+                verdicts[rank] = fresh.get(i);
+                cache.put(fingerprints[rank], fresh.get(i));
+              }
+              return Arrays.asList(verdicts);
+            });
+  }
+
+  /**
+   * Rejects answers without exactly one verdict per retrieved chunk, such as a verdict list whose
+   * last elements were cut off, so that they are asked for again rather than scored.
+   */
+  @Override
+  protected List<VerdictWithReason> parseVerdicts(
+      EvaluationContext evaluationContext, String content) throws JsonProcessingException {
+    List<VerdictWithReason> verdicts = parseVerdicts(content);
+    int expectedVerdicts = evaluationContext.getRetrievedContexts().size();
+    if (verdicts == null || verdicts.size() != expectedVerdicts) {
+      throw new JsonParseException(
+          null,
+          String.format(
+              "Expected %d verdicts but the evaluator LLM returned %s",
+              expectedVerdicts, verdicts == null ? "none" : verdicts.size()));
+    }
+    return verdicts;
+  }
+
+  private static EvaluationContext withRetrievedContexts(
+      EvaluationContext evaluationContext, List<String> retrievedContexts) {
+    return EvaluationContext.builder()
+        .userInput(evaluationContext.getUserInput())
+        .actualResponse(evaluationContext.getActualResponse())
+        .expectedResponse(evaluationContext.getExpectedResponse())
+        .retrievedContexts(retrievedContexts)
+        .referenceContexts(evaluationContext.getReferenceContexts())
+        .metadata(evaluationContext.getMetadata())
+        .build();
+  }
+}
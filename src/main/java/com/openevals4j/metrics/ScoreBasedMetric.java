@@ -2,13 +2,22 @@ package com.openevals4j.metrics;
 
 import static dev.langchain4j.model.chat.request.ResponseFormatType.JSON;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.instrumentation.JudgeCallType;
 import com.openevals4j.metrics.models.EvaluationContext;
 import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.usage.JudgeUsageCounter;
+import com.openevals4j.metrics.utils.EvaluatorExecutors;
+import com.openevals4j.metrics.utils.JudgePrompt;
+import com.openevals4j.metrics.utils.JudgeResponseReader;
 import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.chat.request.ResponseFormat;
 import dev.langchain4j.model.chat.request.json.JsonObjectSchema;
 import dev.langchain4j.model.chat.request.json.JsonSchema;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import lombok.Getter;
 
 /**
@@ -26,6 +35,59 @@ public abstract class ScoreBasedMetric extends LLMBasedMetric<EvaluationContext,
     this.responseFormat = buildResponseFormatForScoreAndReasoning();
   }
 
+  @Override
+  public EvaluationResult evaluate(EvaluationContext evaluationContext) {
+    return joinValidated(evaluateAsync(evaluationContext, EvaluatorExecutors.directExecutor()));
+  }
+
+  @Override
+  public CompletableFuture<EvaluationResult> evaluateAsync(
+      EvaluationContext evaluationContext, Executor executor) {
+    return recoverEvaluation(evaluationContext, evaluateStrictAsync(evaluationContext, executor));
+  }
+
+  @Override
+  protected CompletableFuture<EvaluationResult> evaluateStrictAsync(
+      EvaluationContext evaluationContext, Executor executor) {
+    JudgeUsageCounter usage = new JudgeUsageCounter();
+    return validateEvaluationContextAsync(evaluationContext)
+        .thenApply(
+            context -> renderPrompt(JudgeCallType.EVALUATION, () -> buildEvaluationPrompt(context)))
+        .thenCompose(
+            prompt ->
+                callEvaluatorAsync(
+                    prompt,
+                    getResponseFormat(),
+                    this::parseEvaluationResult,
+                    JudgeCallType.EVALUATION,
+                    usage,
+                    executor))
+        .thenApply(
+            result -> {
+              result.setUsage(usage.snapshot());
+              return result;
+            });
+  }
+
+  /** Renders the evaluation prompt for the given context. */
+  protected abstract JudgePrompt buildEvaluationPrompt(EvaluationContext evaluationContext);
+
+  /** Converts the evaluator LLM response content into an evaluation result. */
+  protected EvaluationResult parseEvaluationResult(String content) throws JsonProcessingException {
+    return JudgeResponseReader.readScore(getObjectMapper().getFactory(), content);
+  }
+
+  @Override
+  protected JavaType getResultType() {
+    return getObjectMapper().constructType(EvaluationResult.class);
+  }
+
+  @Override
+  protected EvaluationResult getFailedEvaluationResult(
+      EvaluationContext input, Exception exception) {
+    return getDefaultEvaluationResult();
+  }
+
   protected ResponseFormat buildResponseFormatForScoreAndReasoning() {
     return ResponseFormat.builder()
         .type(JSON)
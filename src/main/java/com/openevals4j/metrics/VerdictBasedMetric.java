@@ -2,19 +2,38 @@ package com.openevals4j.metrics;
 
 import static dev.langchain4j.model.chat.request.ResponseFormatType.JSON;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.instrumentation.JudgeCallType;
+import com.openevals4j.metrics.instrumentation.Outcome;
+import com.openevals4j.metrics.instrumentation.Phase;
 import com.openevals4j.metrics.models.EvaluationContext;
 import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.models.VerdictWithReason;
+import com.openevals4j.metrics.usage.JudgeUsageCounter;
+import com.openevals4j.metrics.utils.EvaluatorExecutors;
+import com.openevals4j.metrics.utils.JudgePrompt;
+import com.openevals4j.metrics.utils.JudgeResponseReader;
 import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.chat.request.ResponseFormat;
 import dev.langchain4j.model.chat.request.json.JsonArraySchema;
 import dev.langchain4j.model.chat.request.json.JsonObjectSchema;
 import dev.langchain4j.model.chat.request.json.JsonSchema;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import lombok.Getter;
 
 /**
  * Abstract base class for metrics that generate verdicts (yes/no with reason) for evaluation.
  * Extended by ContextualPrecisionMetric, ContextualRecallMetric, and ContextualRelevancyMetric.
+ *
+ * <p>Evaluation is a two-call chain: the verdicts are generated first, scored locally, and then a
+ * second call summarises the verdicts into a reason. The chain is composed as a future so that
+ * {@link #evaluateAsync(EvaluationContext, Executor)} never blocks between the calls. The {@link
+ * ReasoningMode} decides whether the second call is made up front, deferred until the reasoning is
+ * read, or skipped in favour of a summary built from the verdicts.
  */
 @Getter
 public abstract class VerdictBasedMetric
@@ -22,14 +41,236 @@ public abstract class VerdictBasedMetric
 
   private final ResponseFormat verdictResponseFormat;
   private final ResponseFormat reasonResponseFormat;
+  private final ReasoningMode reasoningMode;
 
   protected VerdictBasedMetric(
       MetricName metricName, ChatLanguageModel evaluatorLLM, ObjectMapper objectMapper) {
+    this(metricName, evaluatorLLM, objectMapper, null);
+  }
+
+  protected VerdictBasedMetric(
+      MetricName metricName,
+      ChatLanguageModel evaluatorLLM,
+      ObjectMapper objectMapper,
+      ReasoningMode reasoningMode) {
     super(metricName, evaluatorLLM, objectMapper);
+    this.reasoningMode = reasoningMode != null ? reasoningMode : ReasoningMode.EAGER;
     this.verdictResponseFormat = buildResponseFormatForVerdicts();
     this.reasonResponseFormat = buildResponseFormatForReason();
   }
 
+  @Override
+  public EvaluationResult evaluate(EvaluationContext evaluationContext) {
+    return joinValidated(evaluateAsync(evaluationContext, EvaluatorExecutors.directExecutor()));
+  }
+
+  @Override
+  public CompletableFuture<EvaluationResult> evaluateAsync(
+      EvaluationContext evaluationContext, Executor executor) {
+    return recoverEvaluation(evaluationContext, evaluateStrictAsync(evaluationContext, executor));
+  }
+
+  @Override
+  protected CompletableFuture<EvaluationResult> evaluateStrictAsync(
+      EvaluationContext evaluationContext, Executor executor) {
+    JudgeUsageCounter usage = new JudgeUsageCounter();
+    return validateEvaluationContextAsync(evaluationContext)
+        .thenCompose(context -> generateVerdictsAsync(context, usage, executor))
+        .thenCompose(generated -> scoreAndExplain(evaluationContext, generated, usage, executor));
+  }
+
+  /**
+   * Evaluates the context from verdicts that were generated elsewhere, for example by a {@link
+   * com.openevals4j.metrics.fusedretrieval.FusedRetrievalJudge} shared with another metric. Only
+   * the reason generation call (if any, see {@link ReasoningMode}) is made by this metric.
+   *
+   * @param evaluationContext The context the verdicts were generated for
+   * @param verdicts Future of the verdicts, in the order this metric expects them
+   * @param executor Executor the evaluator LLM calls are run on
+   * @return A future completed with the evaluation result
+   */
+  public CompletableFuture<EvaluationResult> evaluateWithVerdictsAsync(
+      EvaluationContext evaluationContext,
+      CompletableFuture<List<VerdictWithReason>> verdicts,
+      Executor executor) {
+    return recoverEvaluation(
+        evaluationContext,
+        evaluateWithVerdictsStrictAsync(evaluationContext, verdicts, null, executor));
+  }
+
+  /**
+   * Like {@link #evaluateWithVerdictsAsync}, but completes exceptionally when the verdicts or the
+   * reason cannot be produced. The usage of the calls that generated the verdicts, counted in
+   * {@code verdictUsage} by the time they complete, is included in the result's usage.
+   */
+  protected CompletableFuture<EvaluationResult> evaluateWithVerdictsStrictAsync(
+      EvaluationContext evaluationContext,
+      CompletableFuture<List<VerdictWithReason>> verdicts,
+      JudgeUsageCounter verdictUsage,
+      Executor executor) {
+    JudgeUsageCounter usage = new JudgeUsageCounter();
+    return validateEvaluationContextAsync(evaluationContext)
+        .thenCompose(context -> verdicts)
+        .thenCompose(
+            generated -> {
+              if (verdictUsage != null) {
+                usage.add(verdictUsage.snapshot());
+              }
+              return scoreAndExplain(evaluationContext, generated, usage, executor);
+            });
+  }
+
+  /**
+   * Asks the evaluator LLM for the verdicts of the context, counting the calls made in {@code
+   * usage}.
+   */
+  protected CompletableFuture<List<VerdictWithReason>> generateVerdictsAsync(
+      EvaluationContext evaluationContext, JudgeUsageCounter usage, Executor executor) {
+    return CompletableFuture.completedFuture(evaluationContext)
+        .thenApply(
+            context -> renderPrompt(JudgeCallType.VERDICT, () -> buildVerdictPrompt(context)))
+        .thenCompose(
+            prompt ->
+                callEvaluatorAsync(
+                    prompt,
+                    getVerdictResponseFormat(),
+                    content -> parseVerdicts(evaluationContext, content),
+                    JudgeCallType.VERDICT,
+                    usage,
+                    executor));
+  }
+
+  /** Renders the prompt asking the evaluator LLM for one verdict per evaluated item. */
+  protected abstract JudgePrompt buildVerdictPrompt(EvaluationContext evaluationContext);
+
+  /** Computes the metric score from the generated verdicts. */
+  protected abstract double calculateScore(List<VerdictWithReason> verdicts);
+
+  /** Renders the prompt asking the evaluator LLM to explain the score. */
+  protected abstract JudgePrompt buildReasonPrompt(
+      EvaluationContext evaluationContext, double score, List<VerdictWithReason> verdicts);
+
+  protected List<VerdictWithReason> parseVerdicts(String content) throws JsonProcessingException {
+    return JudgeResponseReader.readVerdicts(getObjectMapper().getFactory(), content);
+  }
+
+  /**
+   * Parses the verdicts generated for the context. Metrics that know how many verdicts the context
+   * calls for check the count here, so that a short answer is asked for again like malformed JSON.
+   */
+  protected List<VerdictWithReason> parseVerdicts(
+      EvaluationContext evaluationContext, String content) throws JsonProcessingException {
+    return parseVerdicts(content);
+  }
+
+  protected String extractReason(String content) throws JsonProcessingException {
+    return JudgeResponseReader.readReason(getObjectMapper().getFactory(), content);
+  }
+
+  @Override
+  protected JavaType getResultType() {
+    return getObjectMapper().constructType(EvaluationResult.class);
+  }
+
+  @Override
+  protected EvaluationResult getFailedEvaluationResult(
+      EvaluationContext input, Exception exception) {
+    return getDefaultEvaluationResult();
+  }
+
+  /**
+   * Builds the reasoning used in {@link ReasoningMode#NONE}: the score followed by every verdict
+   * and its reason, in the order they were generated.
+   */
+  protected String summarizeVerdicts(double score, List<VerdictWithReason> verdicts) {
+    long positiveVerdicts = verdicts.stream().filter(verdict -> verdict.isYes()).count();
+
+    StringBuilder summary = new StringBuilder();
+    summary.append(
+        String.format(
+            "The score is %.2f: %d of %d verdicts are 'yes'.\n",
+            score, positiveVerdicts, verdicts.size()));
+    for (int i = 0; i < verdicts.size(); i++) {
+      VerdictWithReason verdict = verdicts.get(i);
+      summary
+          .append("- [")
+          .append(i + 1)
+          .append("] ")
+          .append(verdict.getVerdict().trim())
+          .append(": ")
+          .append(verdict.getReason())
+          .append("\n");
+    }
+    return summary.toString();
+  }
+
+  private CompletableFuture<EvaluationResult> scoreAndExplain(
+      EvaluationContext evaluationContext,
+      List<VerdictWithReason> verdicts,
+      JudgeUsageCounter usage,
+      Executor executor) {
+    long start = startPhase();
+    double score;
+    try {
+      score = calculateScore(verdicts);
+    } catch (RuntimeException exception) {
+      recordPhase(Phase.SCORING, JudgeCallType.NONE, Outcome.FAILURE, start);
+      throw exception;
+    }
+    recordPhase(Phase.SCORING, JudgeCallType.NONE, Outcome.SUCCESS, start);
+    EvaluationResult.EvaluationResultBuilder result =
+        EvaluationResult.builder().score(score).verdicts(verdicts);
+
+    return switch (reasoningMode) {
+      case EAGER -> callEvaluatorAsync(
+              renderPrompt(
+                  JudgeCallType.REASON,
+                  () -> buildReasonPrompt(evaluationContext, score, verdicts)),
+              getReasonResponseFormat(),
+              this::extractReason,
+              JudgeCallType.REASON,
+              usage,
+              executor)
+          .thenApply(reason -> result.reasoning(reason).usage(usage.snapshot()).build());
+      case LAZY -> {
+        EvaluationResult lazyResult = result.usage(usage.snapshot()).build();
+        lazyResult.setReasoningSupplier(
+            () -> {
+              String reason = generateReasonOnDemand(evaluationContext, score, verdicts, usage);
+              lazyResult.setUsage(usage.snapshot());
+              return reason;
+            });
+        yield CompletableFuture.completedFuture(lazyResult);
+      }
+      case NONE -> CompletableFuture.completedFuture(
+          result.reasoning(summarizeVerdicts(score, verdicts)).usage(usage.snapshot()).build());
+    };
+  }
+
+  private String generateReasonOnDemand(
+      EvaluationContext evaluationContext,
+      double score,
+      List<VerdictWithReason> verdicts,
+      JudgeUsageCounter usage) {
+    return CompletableFuture.completedFuture(evaluationContext)
+        .thenApply(
+            context ->
+                renderPrompt(
+                    JudgeCallType.REASON, () -> buildReasonPrompt(context, score, verdicts)))
+        .thenCompose(
+            prompt ->
+                callEvaluatorAsync(
+                    prompt,
+                    getReasonResponseFormat(),
+                    this::extractReason,
+                    JudgeCallType.REASON,
+                    usage,
+                    EvaluatorExecutors.directExecutor()))
+        .exceptionally(
+            throwable -> handleEvaluationFailure(evaluationContext, throwable).getReasoning())
+        .join();
+  }
+
   protected ResponseFormat buildResponseFormatForVerdicts() {
     return ResponseFormat.builder()
         .type(JSON)
@@ -0,0 +1,170 @@
+package com.openevals4j.metrics.aggregation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mergeable quantile sketch with relative-error guarantees, after DDSketch (Masson et al., 2019).
+ * Values are counted in logarithmically sized buckets, so any quantile is returned within {@code
+ * relativeAccuracy} of the true value. The bucket range is fixed when the sketch is created, which
+ * keeps its memory constant and lets {@link #add(double)} be a single lock-free increment: values
+ * smaller in magnitude than {@code minIndexableValue} are counted as zero, and values larger than
+ * {@code maxIndexableValue} are counted in the largest bucket.
+ *
+ * <p>Sketches with the same parameters can be merged, in any order, into a sketch equal to one that
+ * saw every value.
+ */
+public final class QuantileSketch {
+
+  public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+  public static final double DEFAULT_MIN_INDEXABLE_VALUE = 1e-6;
+  public static final double DEFAULT_MAX_INDEXABLE_VALUE = 1e6;
+
+  private final double relativeAccuracy;
+  private final double minIndexableValue;
+  private final double maxIndexableValue;
+  private final double gamma;
+  private final double logGamma;
+  private final int minIndex;
+  private final AtomicLongArray positiveCounts;
+  private final AtomicLongArray negativeCounts;
+  private final AtomicLong zeroCount = new AtomicLong();
+
+  public QuantileSketch() {
+    this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MIN_INDEXABLE_VALUE, DEFAULT_MAX_INDEXABLE_VALUE);
+  }
+
+  /**
+   * @param relativeAccuracy Maximum relative error of returned quantiles, between 0 and 1
+   * @param minIndexableValue Smallest magnitude told apart from zero
+   * @param maxIndexableValue Largest magnitude counted in a bucket of its own
+   */
+  public QuantileSketch(
+      double relativeAccuracy, double minIndexableValue, double maxIndexableValue) {
+    if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+      throw new IllegalArgumentException("relativeAccuracy must be between 0 and 1");
+    }
+    if (!(minIndexableValue > 0 && maxIndexableValue > minIndexableValue)) {
+      throw new IllegalArgumentException(
+          "Indexable values must satisfy 0 < minIndexableValue < maxIndexableValue");
+    }
+    this.relativeAccuracy = relativeAccuracy;
+    this.minIndexableValue = minIndexableValue;
+    this.maxIndexableValue = maxIndexableValue;
+    this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+    this.logGamma = Math.log(gamma);
+    this.minIndex = rawIndex(minIndexableValue);
+    int buckets = rawIndex(maxIndexableValue) - minIndex + 1;
+    this.positiveCounts = new AtomicLongArray(buckets);
+    this.negativeCounts = new AtomicLongArray(buckets);
+  }
+
+  /** Counts a value. NaN values are ignored. */
+  public void add(double value) {
+    if (Double.isNaN(value)) {
+      return;
+    }
+    double magnitude = Math.abs(value);
+    if (magnitude < minIndexableValue) {
+      zeroCount.incrementAndGet();
+    } else if (value > 0) {
+      positiveCounts.incrementAndGet(bucketOf(magnitude));
+    } else {
+      negativeCounts.incrementAndGet(bucketOf(magnitude));
+    }
+  }
+
+  /** Adds every value counted by the other sketch to this one. */
+  public void merge(QuantileSketch other) {
+    if (!hasSameParameters(other)) {
+      throw new IllegalArgumentException("Cannot merge sketches with different parameters");
+    }
+    zeroCount.addAndGet(other.zeroCount.get());
+    for (int i = 0; i < positiveCounts.length(); i++) {
+      long positive = other.positiveCounts.get(i);
+      if (positive != 0) {
+        positiveCounts.addAndGet(i, positive);
+      }
+      long negative = other.negativeCounts.get(i);
+      if (negative != 0) {
+        negativeCounts.addAndGet(i, negative);
+      }
+    }
+  }
+
+  /** Returns an independent sketch with the same parameters and counts. */
+  public QuantileSketch copy() {
+    QuantileSketch copy =
+        new QuantileSketch(relativeAccuracy, minIndexableValue, maxIndexableValue);
+    copy.merge(this);
+    return copy;
+  }
+
+  /** Number of values counted. */
+  public long getCount() {
+    long count = zeroCount.get();
+    for (int i = 0; i < positiveCounts.length(); i++) {
+      count += positiveCounts.get(i) + negativeCounts.get(i);
+    }
+    return count;
+  }
+
+  /**
+   * Returns the value at the given quantile, or NaN when the sketch is empty.
+   *
+   * @param quantile Quantile between 0 and 1, for example 0.99 for p99
+   */
+  public double quantile(double quantile) {
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException("quantile must be between 0 and 1");
+    }
+    long count = getCount();
+    if (count == 0) {
+      return Double.NaN;
+    }
+
+    long rank = (long) (quantile * (count - 1));
+    long seen = 0;
+    for (int i = negativeCounts.length() - 1; i >= 0; i--) {
+      seen += negativeCounts.get(i);
+      if (seen > rank) {
+        return -valueOf(i);
+      }
+    }
+    seen += zeroCount.get();
+    if (seen > rank) {
+      return 0;
+    }
+    for (int i = 0; i < positiveCounts.length(); i++) {
+      seen += positiveCounts.get(i);
+      if (seen > rank) {
+        return valueOf(i);
+      }
+    }
+    // Values added concurrently with this call can leave the rank just past the last bucket read.
+    return valueOf(positiveCounts.length() - 1);
+  }
+
+  public double getRelativeAccuracy() {
+    return relativeAccuracy;
+  }
+
+  private boolean hasSameParameters(QuantileSketch other) {
+    return relativeAccuracy == other.relativeAccuracy
+        && minIndexableValue == other.minIndexableValue
+        && maxIndexableValue == other.maxIndexableValue;
+  }
+
+  private int bucketOf(double magnitude) {
+    return Math.min(rawIndex(magnitude) - minIndex, positiveCounts.length() - 1);
+  }
+
+  private int rawIndex(double magnitude) {
+    return (int) Math.ceil(Math.log(magnitude) / logGamma);
+  }
+
+  /** Value whose relative distance to every value of the bucket is at most the accuracy. */
+  private double valueOf(int bucket) {
+    return 2 * Math.pow(gamma, bucket + minIndex) / (gamma + 1);
+  }
+}
@@ -0,0 +1,103 @@
+package com.openevals4j.metrics.aggregation;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free accumulator of the scores of one metric. Counters are striped ({@link LongAdder},
+ * {@link DoubleAdder}) so that many evaluation threads can record without contending on a shared
+ * cache line; the quantile sketch and histogram are arrays of atomic counters.
+ */
+final class ScoreAccumulator {
+
+  private final ScoreAggregatorOptions options;
+  private final LongAdder count = new LongAdder();
+  private final LongAdder nanCount = new LongAdder();
+  private final DoubleAdder sum = new DoubleAdder();
+  private final DoubleAdder sumOfSquares = new DoubleAdder();
+  private final DoubleAccumulator min = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+  private final DoubleAccumulator max = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
+  private final AtomicLongArray histogram;
+  private final QuantileSketch sketch;
+  private final double binWidth;
+
+  ScoreAccumulator(ScoreAggregatorOptions options) {
+    if (options.getHistogramBins() < 1
+        || !(options.getHistogramMax() > options.getHistogramMin())) {
+      throw new IllegalArgumentException(
+          "Histogram needs at least one bin and histogramMax greater than histogramMin");
+    }
+    this.options = options;
+    this.histogram = new AtomicLongArray(options.getHistogramBins());
+    this.sketch =
+        new QuantileSketch(
+            options.getRelativeAccuracy(),
+            QuantileSketch.DEFAULT_MIN_INDEXABLE_VALUE,
+            QuantileSketch.DEFAULT_MAX_INDEXABLE_VALUE);
+    this.binWidth =
+        (options.getHistogramMax() - options.getHistogramMin()) / options.getHistogramBins();
+  }
+
+  void add(double score) {
+    if (Double.isNaN(score)) {
+      nanCount.increment();
+      return;
+    }
+    count.increment();
+    sum.add(score);
+    sumOfSquares.add(score * score);
+    min.accumulate(score);
+    max.accumulate(score);
+    sketch.add(score);
+    histogram.incrementAndGet(binOf(score));
+  }
+
+  void add(ScoreSummary summary) {
+    long[] counts = summary.getHistogram();
+    if (counts.length != histogram.length()
+        || summary.getHistogramMin() != options.getHistogramMin()
+        || summary.getHistogramMax() != options.getHistogramMax()) {
+      throw new IllegalArgumentException("Cannot merge summaries with different histograms");
+    }
+    count.add(summary.getCount());
+    nanCount.add(summary.getNanCount());
+    sum.add(summary.getSum());
+    sumOfSquares.add(summary.getSumOfSquares());
+    if (summary.getCount() > 0) {
+      min.accumulate(summary.getMin());
+      max.accumulate(summary.getMax());
+    }
+    sketch.merge(summary.sketch());
+    for (int i = 0; i < counts.length; i++) {
+      histogram.addAndGet(i, counts[i]);
+    }
+  }
+
+  ScoreSummary snapshot(Instant windowStart, Instant windowEnd) {
+    long[] counts = new long[histogram.length()];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = histogram.get(i);
+    }
+    return new ScoreSummary(
+        windowStart,
+        windowEnd,
+        count.sum(),
+        nanCount.sum(),
+        sum.sum(),
+        sumOfSquares.sum(),
+        min.get(),
+        max.get(),
+        options.getHistogramMin(),
+        options.getHistogramMax(),
+        counts,
+        sketch.copy());
+  }
+
+  private int binOf(double score) {
+    int bin = (int) Math.floor((score - options.getHistogramMin()) / binWidth);
+    return Math.max(0, Math.min(bin, histogram.length() - 1));
+  }
+}
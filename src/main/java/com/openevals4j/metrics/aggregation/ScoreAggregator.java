@@ -0,0 +1,182 @@
+package com.openevals4j.metrics.aggregation;
+
+import com.openevals4j.metrics.MetricName;
+import com.openevals4j.metrics.models.EvaluationResult;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Aggregates evaluation scores per {@link MetricName} as they are produced, without holding the
+ * results: memory is constant in the number of scores. Any number of evaluation threads can record
+ * concurrently; recording never blocks.
+ *
+ * <p>Scores are aggregated over the whole run and, when {@link ScoreAggregatorOptions#getWindow()}
+ * is set, in tumbling windows of that length. A window is closed by the first recording (or {@link
+ * #rotateWindowIfDue()} call) after its end; its summaries are then published to {@link
+ * #getLastWindowSummaries()} and the window listener. A score recorded at the very moment a window
+ * closes may miss that window's summaries, but is always counted in the run totals.
+ *
+ * <p>Totals from several aggregators, for example one per worker, are combined with {@link
+ * #merge(ScoreAggregator)} or {@link ScoreSummary#merge(ScoreSummary)}.
+ */
+@Slf4j
+public class ScoreAggregator {
+
+  private final ScoreAggregatorOptions options;
+  private final LongSupplier clockMillis;
+  private final ConcurrentMap<MetricName, ScoreAccumulator> totals = new ConcurrentHashMap<>();
+  private final AtomicReference<Window> currentWindow;
+  private final long windowMillis;
+  private volatile Map<MetricName, ScoreSummary> lastWindowSummaries = Map.of();
+
+  public ScoreAggregator() {
+    this(ScoreAggregatorOptions.defaults());
+  }
+
+  public ScoreAggregator(ScoreAggregatorOptions options) {
+    this(options, System::currentTimeMillis);
+  }
+
+  ScoreAggregator(ScoreAggregatorOptions options, LongSupplier clockMillis) {
+    this.options = options;
+    this.clockMillis = clockMillis;
+    // Fails fast on invalid histogram settings rather than on the first score.
+    new ScoreAccumulator(options);
+    if (options.getWindow() != null) {
+      if (options.getWindow().toMillis() < 1) {
+        throw new IllegalArgumentException("window must be at least one millisecond");
+      }
+      this.windowMillis = options.getWindow().toMillis();
+      this.currentWindow = new AtomicReference<>(new Window(clockMillis.getAsLong()));
+    } else {
+      this.windowMillis = 0;
+      this.currentWindow = null;
+    }
+  }
+
+  /** Records one score. NaN scores count towards the NaN rate only. */
+  public void record(MetricName metricName, double score) {
+    accumulator(totals, metricName).add(score);
+    if (currentWindow != null) {
+      Window window = advanceWindow();
+      accumulator(window.accumulators, metricName).add(score);
+    }
+  }
+
+  public void record(MetricName metricName, EvaluationResult result) {
+    record(metricName, result != null ? result.getScore() : Double.NaN);
+  }
+
+  /** Records every result of an {@link com.openevals4j.metrics.EvaluationSuite} item. */
+  public void recordAll(Map<MetricName, EvaluationResult> results) {
+    results.forEach(this::record);
+  }
+
+  /** Returns the run totals of the metric, or {@code null} when none of its scores was recorded. */
+  public ScoreSummary getSummary(MetricName metricName) {
+    ScoreAccumulator accumulator = totals.get(metricName);
+    return accumulator != null ? accumulator.snapshot(null, null) : null;
+  }
+
+  /** Returns the run totals of every metric a score was recorded for. */
+  public Map<MetricName, ScoreSummary> getSummaries() {
+    return snapshot(totals, null, null);
+  }
+
+  /** Returns the summaries of the most recently closed window, empty before the first closes. */
+  public Map<MetricName, ScoreSummary> getLastWindowSummaries() {
+    if (currentWindow != null) {
+      advanceWindow();
+    }
+    return lastWindowSummaries;
+  }
+
+  /** Adds the run totals of another aggregator to this one's. */
+  public void merge(ScoreAggregator other) {
+    other.totals.forEach(
+        (metricName, accumulator) -> merge(metricName, accumulator.snapshot(null, null)));
+  }
+
+  /** Adds a summary, for example received from another worker, to the run totals of the metric. */
+  public void merge(MetricName metricName, ScoreSummary summary) {
+    accumulator(totals, metricName).add(summary);
+  }
+
+  /**
+   * Closes the current window if its end has passed, so that quiet periods are reported too.
+   * Monitoring code can call this periodically; recording does so on every score.
+   */
+  public void rotateWindowIfDue() {
+    if (currentWindow == null) {
+      throw new IllegalStateException("No window is configured");
+    }
+    advanceWindow();
+  }
+
+  private Window advanceWindow() {
+    long now = clockMillis.getAsLong();
+    Window window = currentWindow.get();
+    while (now >= window.startMillis + windowMillis) {
+      long elapsedWindows = (now - window.startMillis) / windowMillis;
+      Window next = new Window(window.startMillis + elapsedWindows * windowMillis);
+      if (currentWindow.compareAndSet(window, next)) {
+        publish(window);
+        return next;
+      }
+      window = currentWindow.get();
+    }
+    return window;
+  }
+
+  private void publish(Window closed) {
+    Map<MetricName, ScoreSummary> summaries =
+        snapshot(
+            closed.accumulators,
+            Instant.ofEpochMilli(closed.startMillis),
+            Instant.ofEpochMilli(closed.startMillis + windowMillis));
+    lastWindowSummaries = summaries;
+    if (options.getWindowListener() != null) {
+      try {
+        options.getWindowListener().accept(summaries);
+      } catch (RuntimeException exception) {
+        log.warn("Score window listener failed", exception);
+      }
+    }
+  }
+
+  private ScoreAccumulator accumulator(
+      ConcurrentMap<MetricName, ScoreAccumulator> accumulators, MetricName metricName) {
+    ScoreAccumulator accumulator = accumulators.get(metricName);
+    return accumulator != null
+        ? accumulator
+        : accumulators.computeIfAbsent(metricName, ignored -> new ScoreAccumulator(options));
+  }
+
+  private static Map<MetricName, ScoreSummary> snapshot(
+      Map<MetricName, ScoreAccumulator> accumulators, Instant windowStart, Instant windowEnd) {
+    Map<MetricName, ScoreSummary> summaries = new EnumMap<>(MetricName.class);
+    accumulators.forEach(
+        (metricName, accumulator) ->
+            summaries.put(metricName, accumulator.snapshot(windowStart, windowEnd)));
+    return Collections.unmodifiableMap(summaries);
+  }
+
+  /** A tumbling window and the accumulators of the scores recorded in it. */
+  private static final class Window {
+
+    private final long startMillis;
+    private final ConcurrentMap<MetricName, ScoreAccumulator> accumulators =
+        new ConcurrentHashMap<>();
+
+    private Window(long startMillis) {
+      this.startMillis = startMillis;
+    }
+  }
+}
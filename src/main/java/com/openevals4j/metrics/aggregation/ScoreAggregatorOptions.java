@@ -0,0 +1,39 @@
+package com.openevals4j.metrics.aggregation;
+
+import com.openevals4j.metrics.MetricName;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.Builder;
+import lombok.Getter;
+
+/** Options for a {@link ScoreAggregator}. */
+@Getter
+@Builder
+public class ScoreAggregatorOptions {
+
+  /** Maximum relative error of reported quantiles. */
+  @Builder.Default private final double relativeAccuracy = QuantileSketch.DEFAULT_RELATIVE_ACCURACY;
+
+  /** Lower bound of the score histogram. Smaller scores are counted in the first bin. */
+  @Builder.Default private final double histogramMin = 0.0;
+
+  /** Upper bound of the score histogram. Larger scores are counted in the last bin. */
+  @Builder.Default private final double histogramMax = 1.0;
+
+  /** Number of equally wide histogram bins between the bounds. */
+  @Builder.Default private final int histogramBins = 10;
+
+  /**
+   * Length of the tumbling windows scores are also aggregated in, for online monitoring. No
+   * windowed aggregation when {@code null}.
+   */
+  private final Duration window;
+
+  /** Receives the summaries of every window as it closes. */
+  private final Consumer<Map<MetricName, ScoreSummary>> windowListener;
+
+  public static ScoreAggregatorOptions defaults() {
+    return ScoreAggregatorOptions.builder().build();
+  }
+}
@@ -0,0 +1,185 @@
+package com.openevals4j.metrics.aggregation;
+
+import java.time.Instant;
+import java.util.Arrays;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Immutable summary of the scores of one metric: count, NaN rate, mean, variance, extremes,
+ * quantiles and histogram. Summaries produced by different aggregators, for example on several
+ * workers, are combined with {@link #merge(ScoreSummary)}.
+ */
+@Getter
+public final class ScoreSummary {
+
+  /** Start of the window the scores were recorded in, {@code null} for run totals. */
+  private final Instant windowStart;
+
+  /** End (exclusive) of the window the scores were recorded in, {@code null} for run totals. */
+  private final Instant windowEnd;
+
+  /** Number of scores recorded, excluding NaN scores. */
+  private final long count;
+
+  /** Number of NaN scores recorded, i.e. of failed evaluations. */
+  private final long nanCount;
+
+  private final double sum;
+
+  private final double sumOfSquares;
+
+  /** Smallest score, or NaN when no score was recorded. */
+  private final double min;
+
+  /** Largest score, or NaN when no score was recorded. */
+  private final double max;
+
+  private final double histogramMin;
+
+  private final double histogramMax;
+
+  private final long[] histogram;
+
+  @Getter(AccessLevel.NONE)
+  private final QuantileSketch sketch;
+
+  ScoreSummary(
+      Instant windowStart,
+      Instant windowEnd,
+      long count,
+      long nanCount,
+      double sum,
+      double sumOfSquares,
+      double min,
+      double max,
+      double histogramMin,
+      double histogramMax,
+      long[] histogram,
+      QuantileSketch sketch) {
+    this.windowStart = windowStart;
+    this.windowEnd = windowEnd;
+    this.count = count;
+    this.nanCount = nanCount;
+    this.sum = sum;
+    this.sumOfSquares = sumOfSquares;
+    this.min = count > 0 ? min : Double.NaN;
+    this.max = count > 0 ? max : Double.NaN;
+    this.histogramMin = histogramMin;
+    this.histogramMax = histogramMax;
+    this.histogram = histogram;
+    this.sketch = sketch;
+  }
+
+  public double getMean() {
+    return count > 0 ? sum / count : Double.NaN;
+  }
+
+  /** Sample variance of the scores, or NaN with fewer than two scores. */
+  public double getVariance() {
+    if (count < 2) {
+      return Double.NaN;
+    }
+    double variance = (sumOfSquares - sum * sum / count) / (count - 1);
+    return Math.max(0, variance);
+  }
+
+  public double getStandardDeviation() {
+    return Math.sqrt(getVariance());
+  }
+
+  /** Fraction of recorded scores that were NaN, or NaN when nothing was recorded. */
+  public double getNanRate() {
+    long total = count + nanCount;
+    return total > 0 ? (double) nanCount / total : Double.NaN;
+  }
+
+  /**
+   * Returns the score at the given quantile, within the sketch's relative accuracy.
+   *
+   * @param quantile Quantile between 0 and 1
+   */
+  public double quantile(double quantile) {
+    return sketch.quantile(quantile);
+  }
+
+  public double getP50() {
+    return quantile(0.5);
+  }
+
+  public double getP90() {
+    return quantile(0.9);
+  }
+
+  public double getP99() {
+    return quantile(0.99);
+  }
+
+  /** Counts of the equally wide histogram bins between {@link #getHistogramMin()} and max. */
+  public long[] getHistogram() {
+    return histogram.clone();
+  }
+
+  /** Returns a summary of the scores of both summaries, spanning both windows. */
+  public ScoreSummary merge(ScoreSummary other) {
+    if (histogram.length != other.histogram.length
+        || histogramMin != other.histogramMin
+        || histogramMax != other.histogramMax) {
+      throw new IllegalArgumentException("Cannot merge summaries with different histograms");
+    }
+    long[] mergedHistogram = histogram.clone();
+    for (int i = 0; i < mergedHistogram.length; i++) {
+      mergedHistogram[i] += other.histogram[i];
+    }
+    QuantileSketch mergedSketch = sketch.copy();
+    mergedSketch.merge(other.sketch);
+    return new ScoreSummary(
+        earliest(windowStart, other.windowStart),
+        latest(windowEnd, other.windowEnd),
+        count + other.count,
+        nanCount + other.nanCount,
+        sum + other.sum,
+        sumOfSquares + other.sumOfSquares,
+        count == 0 ? other.min : other.count == 0 ? min : Math.min(min, other.min),
+        count == 0 ? other.max : other.count == 0 ? max : Math.max(max, other.max),
+        histogramMin,
+        histogramMax,
+        mergedHistogram,
+        mergedSketch);
+  }
+
+  QuantileSketch sketch() {
+    return sketch;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "ScoreSummary(count=%d, nanRate=%.4f, mean=%.4f, stdDev=%.4f, min=%.4f, p50=%.4f,"
+            + " p90=%.4f, p99=%.4f, max=%.4f, histogram=%s)",
+        count,
+        getNanRate(),
+        getMean(),
+        getStandardDeviation(),
+        min,
+        getP50(),
+        getP90(),
+        getP99(),
+        max,
+        Arrays.toString(histogram));
+  }
+
+  private static Instant earliest(Instant first, Instant second) {
+    if (first == null || second == null) {
+      return first == null ? second : first;
+    }
+    return first.isBefore(second) ? first : second;
+  }
+
+  private static Instant latest(Instant first, Instant second) {
+    if (first == null || second == null) {
+      return first == null ? second : first;
+    }
+    return first.isAfter(second) ? first : second;
+  }
+}
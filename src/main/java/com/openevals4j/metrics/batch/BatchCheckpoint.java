@@ -0,0 +1,226 @@
+package com.openevals4j.metrics.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.openevals4j.metrics.exception.CheckpointMismatchException;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only JSONL record of the items of a batch that have been evaluated, with their results.
+ *
+ * <p>The first line holds the configuration fingerprint of the run (see {@link
+ * com.openevals4j.metrics.LLMBasedMetric#getConfigurationFingerprint()}); opening an existing
+ * checkpoint with a different fingerprint fails with a {@link CheckpointMismatchException}, as its
+ * results were produced with another prompt, rubric or judge. Each further line is {@code
+ * {"id":...,"result":...}}. Appends are buffered and forced to disk every {@link
+ * CheckpointOptions#getSyncInterval()} and on {@link #close()}; a line torn by a crash is dropped
+ * when the checkpoint is reopened.
+ *
+ * @param <V> Type of the recorded results
+ */
+@Slf4j
+public class BatchCheckpoint<V> implements Closeable {
+
+  private static final int FORMAT_VERSION = 1;
+
+  private final Path file;
+  private final CheckpointOptions options;
+  private final ObjectMapper objectMapper;
+  private final Map<String, V> completed;
+  private final FileOutputStream output;
+  private final Writer writer;
+  private final long syncIntervalNanos;
+  private long lastSyncNanos;
+  private long unsyncedRecords;
+
+  private BatchCheckpoint(
+      CheckpointOptions options,
+      ObjectMapper objectMapper,
+      Map<String, V> completed,
+      FileOutputStream output) {
+    this.file = options.getFile();
+    this.options = options;
+    this.objectMapper = objectMapper;
+    this.completed = Collections.unmodifiableMap(completed);
+    this.output = output;
+    this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+    this.syncIntervalNanos = options.getSyncInterval().toNanos();
+    this.lastSyncNanos = System.nanoTime();
+  }
+
+  /**
+   * Opens the checkpoint file, creating it when missing, and loads the results recorded so far.
+   *
+   * @param options Checkpoint file and sync settings
+   * @param configurationFingerprint Fingerprint of the configuration producing the results
+   * @param resultType Type the recorded results are read back as
+   * @param objectMapper Mapper used to write and read results
+   * @throws CheckpointMismatchException If the file was written for another configuration
+   */
+  public static <V> BatchCheckpoint<V> open(
+      CheckpointOptions options,
+      String configurationFingerprint,
+      JavaType resultType,
+      ObjectMapper objectMapper)
+      throws IOException {
+    Path file = Objects.requireNonNull(options.getFile(), "Checkpoint file must be set");
+    Map<String, V> completed = new HashMap<>();
+    boolean writeHeader = !Files.exists(file) || Files.size(file) == 0;
+    if (!writeHeader) {
+      long validBytes =
+          load(
+              file,
+              configurationFingerprint,
+              objectMapper.readerFor(resultType),
+              objectMapper,
+              completed);
+      if (validBytes < Files.size(file)) {
+        log.warn("Dropping torn tail of checkpoint {} after byte {}", file, validBytes);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+          channel.truncate(validBytes);
+        }
+      }
+      log.info("Loaded {} completed items from checkpoint {}", completed.size(), file);
+    }
+
+    BatchCheckpoint<V> checkpoint =
+        new BatchCheckpoint<>(
+            options, objectMapper, completed, new FileOutputStream(file.toFile(), true));
+    if (writeHeader) {
+      checkpoint.appendLine(new Header(FORMAT_VERSION, configurationFingerprint));
+      checkpoint.sync();
+    }
+    return checkpoint;
+  }
+
+  /** Returns the identifier the input at the given position is recorded under. */
+  public String itemId(Object input, int index) {
+    return options.getItemIdFunction() != null
+        ? options.getItemIdFunction().apply(input)
+        : String.valueOf(index);
+  }
+
+  /** Results recorded by previous runs, keyed by item identifier. */
+  public Map<String, V> getCompletedResults() {
+    return completed;
+  }
+
+  /** Appends the result of an item, forcing it to disk if the sync interval has elapsed. */
+  public synchronized void record(String itemId, V result) throws IOException {
+    appendLine(new Entry(itemId, result));
+    unsyncedRecords++;
+    if (System.nanoTime() - lastSyncNanos >= syncIntervalNanos) {
+      sync();
+    }
+  }
+
+  /** Flushes buffered records and forces them to disk. */
+  public synchronized void sync() throws IOException {
+    writer.flush();
+    output.getChannel().force(false);
+    lastSyncNanos = System.nanoTime();
+    unsyncedRecords = 0;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      if (unsyncedRecords > 0) {
+        sync();
+      }
+    } finally {
+      writer.close();
+    }
+  }
+
+  public Path getFile() {
+    return file;
+  }
+
+  private void appendLine(Object line) throws IOException {
+    writer.write(objectMapper.writeValueAsString(line));
+    writer.write('\n');
+  }
+
+  /** Reads the checkpoint into {@code completed} and returns the length of its intact prefix. */
+  private static <V> long load(
+      Path file,
+      String configurationFingerprint,
+      ObjectReader resultReader,
+      ObjectMapper objectMapper,
+      Map<String, V> completed)
+      throws IOException {
+    long fileSize = Files.size(file);
+    long offset = 0;
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      String line = reader.readLine();
+      offset += line.getBytes(StandardCharsets.UTF_8).length + 1;
+      checkHeader(file, line, configurationFingerprint, objectMapper);
+
+      while ((line = reader.readLine()) != null) {
+        long lineEnd = offset + line.getBytes(StandardCharsets.UTF_8).length + 1;
+        if (lineEnd > fileSize) {
+          // The last line has no newline: its append was cut short.
+          return offset;
+        }
+        if (!line.isBlank()) {
+          try {
+            JsonNode entry = objectMapper.readTree(line);
+            V result = resultReader.readValue(entry.get("result"));
+            completed.put(entry.get("id").asText(), result);
+          } catch (JsonProcessingException | RuntimeException exception) {
+            log.warn(
+                "Skipping unreadable line in checkpoint {} at byte {}", file, offset, exception);
+          }
+        }
+        offset = lineEnd;
+      }
+    }
+    return Math.min(offset, fileSize);
+  }
+
+  private static void checkHeader(
+      Path file, String line, String configurationFingerprint, ObjectMapper objectMapper) {
+    JsonNode header;
+    try {
+      header = objectMapper.readTree(line);
+    } catch (JsonProcessingException exception) {
+      throw new CheckpointMismatchException(String.format("%s is not a batch checkpoint", file));
+    }
+    if (header.path("version").asInt() != FORMAT_VERSION) {
+      throw new CheckpointMismatchException(
+          String.format("Checkpoint %s has unsupported version %s", file, header.path("version")));
+    }
+    String recorded = header.path("configurationFingerprint").asText();
+    if (!recorded.equals(configurationFingerprint)) {
+      throw new CheckpointMismatchException(
+          String.format(
+              "Checkpoint %s was written with a different configuration (fingerprint %s, expected"
+                  + " %s). Delete it or use another file to start over.",
+              file, recorded, configurationFingerprint));
+    }
+  }
+
+  private record Header(int version, String configurationFingerprint) {}
+
+  private record Entry(String id, Object result) {}
+}
@@ -0,0 +1,48 @@
+package com.openevals4j.metrics.batch;
+
+import com.openevals4j.metrics.evaluator.RetryPolicy;
+import java.util.concurrent.ExecutorService;
+import lombok.Builder;
+import lombok.Getter;
+
+/** Options controlling how a batch of inputs is fanned out to the evaluator LLM. */
+@Getter
+@Builder
+public class BatchEvaluationOptions {
+
+  public static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+  /** Maximum number of evaluations in flight at any time. */
+  @Builder.Default private final int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+  /**
+   * Executor to run evaluations on. When {@code null}, a pool sized to {@link #maxConcurrency} is
+   * created for the batch and shut down once it completes. Callers on Java 21+ can pass {@code
+   * Executors.newVirtualThreadPerTaskExecutor()}; the in-flight bound still applies.
+   */
+  private final ExecutorService executorService;
+
+  /**
+   * Policy for retrying inputs that failed with a transient error. Such inputs are not retried in
+   * place; they are queued and re-run once the main pass has finished, so a throttled judge gets
+   * time to recover without holding up the rest of the batch. When {@code null}, failed inputs are
+   * not retried.
+   */
+  private final RetryPolicy retryPolicy;
+
+  /**
+   * Whether streaming evaluation hands results to the sink in input order. A result that completes
+   * early is then held until every earlier one is written, and keeps its in-flight slot meanwhile.
+   */
+  @Builder.Default private final boolean preserveOrder = false;
+
+  /**
+   * Checkpoint to record completed inputs in and to resume from, for list batches. When {@code
+   * null}, nothing is recorded and every input is evaluated.
+   */
+  private final CheckpointOptions checkpoint;
+
+  public static BatchEvaluationOptions defaults() {
+    return BatchEvaluationOptions.builder().build();
+  }
+}
@@ -0,0 +1,37 @@
+package com.openevals4j.metrics.batch;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Function;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Options for checkpointing a batch evaluation so that an interrupted run can be resumed. Every
+ * completed item is appended to the checkpoint file; a run started with the same file skips the
+ * items recorded there and reuses their results.
+ */
+@Getter
+@Builder
+public class CheckpointOptions {
+
+  /** Checkpoint file, created when missing. */
+  private final Path file;
+
+  /**
+   * How often appended results are forced to disk. Results recorded since the last sync may be lost
+   * on a crash and are evaluated again on resume; a shorter interval loses less work at the cost of
+   * more syncs.
+   */
+  @Builder.Default private final Duration syncInterval = Duration.ofSeconds(5);
+
+  /**
+   * Derives a stable identifier from an input. When {@code null}, items are identified by their
+   * position in the input list, so the list must be the same (and in the same order) on resume.
+   */
+  private final Function<Object, String> itemIdFunction;
+
+  public static CheckpointOptions of(Path file) {
+    return CheckpointOptions.builder().file(file).build();
+  }
+}
@@ -0,0 +1,232 @@
+package com.openevals4j.metrics.batch;
+
+import com.openevals4j.metrics.evaluator.RetryPolicy;
+import com.openevals4j.metrics.utils.EvaluatorExecutors;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evaluates a list of inputs concurrently with a bounded number of evaluations in flight. Results
+ * are returned in input order, and an input whose evaluation throws is replaced by the result of
+ * the supplied failure handler instead of aborting the batch.
+ *
+ * <p>When the options carry a {@link RetryPolicy}, inputs that fail with a retryable error are
+ * deferred: they are re-run in further passes after the main pass, with the policy's backoff
+ * between passes, until they succeed or run out of attempts.
+ *
+ * <p>With a {@link BatchCheckpoint}, inputs recorded by an earlier run are skipped, and every
+ * successful evaluation is recorded as soon as it completes; a failure to write the checkpoint
+ * fails the batch.
+ */
+@Slf4j
+public class ConcurrentBatchEvaluator {
+
+  private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+  private final BatchEvaluationOptions options;
+
+  public ConcurrentBatchEvaluator(BatchEvaluationOptions options) {
+    if (options.getMaxConcurrency() < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be at least 1");
+    }
+    this.options = options;
+  }
+
+  /**
+   * Evaluates every input and returns the results in the same order as the inputs.
+   *
+   * @param inputs The inputs to evaluate
+   * @param evaluator The evaluation to apply to each input
+   * @param failureHandler Produces the result for an input whose evaluation threw
+   * @return One result per input, aligned with the input list
+   */
+  public <K, V> List<V> evaluate(
+      List<K> inputs, Function<K, V> evaluator, BiFunction<K, Exception, V> failureHandler) {
+    return evaluate(inputs, evaluator, failureHandler, null, null);
+  }
+
+  /**
+   * Evaluates every input not yet recorded in the checkpoint and returns the results of all inputs
+   * in input order. Inputs found in the checkpoint take their recorded result; every input that is
+   * evaluated successfully is recorded as soon as it completes. Inputs that end up failing are not
+   * recorded, so that a resumed run evaluates them again.
+   *
+   * @param inputs The inputs to evaluate
+   * @param evaluator The evaluation to apply to each input
+   * @param failureHandler Produces the result for an input whose evaluation threw
+   * @param checkpoint Checkpoint to resume from and record into, or {@code null}
+   * @param itemIds Maps an input position to its checkpoint identifier; defaults to {@link
+   *     BatchCheckpoint#itemId}
+   * @return One result per input, aligned with the input list
+   */
+  public <K, V> List<V> evaluate(
+      List<K> inputs,
+      Function<K, V> evaluator,
+      BiFunction<K, Exception, V> failureHandler,
+      BatchCheckpoint<V> checkpoint,
+      IntFunction<String> itemIds) {
+    if (inputs.isEmpty()) {
+      return List.of();
+    }
+
+    Object[] results = new Object[inputs.size()];
+    Exception[] failures = new Exception[inputs.size()];
+    String[] checkpointIds = checkpoint != null ? new String[inputs.size()] : null;
+    List<Integer> pending = new ArrayList<>(inputs.size());
+    for (int i = 0; i < inputs.size(); i++) {
+      if (checkpoint != null) {
+        checkpointIds[i] = itemIds != null ? itemIds.apply(i) : checkpoint.itemId(inputs.get(i), i);
+        if (checkpoint.getCompletedResults().containsKey(checkpointIds[i])) {
+          results[i] = checkpoint.getCompletedResults().get(checkpointIds[i]);
+          continue;
+        }
+      }
+      pending.add(i);
+    }
+    if (pending.size() < inputs.size()) {
+      log.info(
+          "Resuming batch from checkpoint {}: {} of {} items already evaluated",
+          checkpoint.getFile(),
+          inputs.size() - pending.size(),
+          inputs.size());
+      if (pending.isEmpty()) {
+        return asList(results);
+      }
+    }
+
+    boolean ownsExecutor = options.getExecutorService() == null;
+    ExecutorService executor =
+        ownsExecutor
+            ? Executors.newFixedThreadPool(
+                Math.min(options.getMaxConcurrency(), inputs.size()),
+                EvaluatorExecutors.daemonThreadFactory(
+                    "openevals4j-batch-" + POOL_COUNTER.incrementAndGet()))
+            : options.getExecutorService();
+
+    RetryPolicy retryPolicy = options.getRetryPolicy();
+    IntConsumer onSuccess =
+        checkpoint != null
+            ? index -> record(checkpoint, checkpointIds[index], results[index])
+            : null;
+
+    try {
+      for (int attempt = 1; !pending.isEmpty(); attempt++) {
+        if (attempt > 1) {
+          log.warn("Retrying {} deferred batch items (attempt {})", pending.size(), attempt);
+          TimeUnit.NANOSECONDS.sleep(retryPolicy.backoffFor(attempt - 1).toNanos());
+        }
+        runPass(executor, pending, inputs, evaluator, results, failures, onSuccess);
+
+        List<Integer> deferred = new ArrayList<>();
+        for (int index : pending) {
+          Exception failure = failures[index];
+          if (failure == null) {
+            continue;
+          }
+          if (retryPolicy != null
+              && attempt < retryPolicy.getMaxAttempts()
+              && retryPolicy.isRetryable(failure)) {
+            failures[index] = null;
+            deferred.add(index);
+          } else {
+            K input = inputs.get(index);
+            log.error("Error occurred while evaluating batch item {}", input, failure);
+            results[index] = failureHandler.apply(input, failure);
+          }
+        }
+        pending = deferred;
+      }
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Batch evaluation was interrupted", exception);
+    } finally {
+      if (ownsExecutor) {
+        executor.shutdownNow();
+      }
+    }
+
+    return asList(results);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> void record(BatchCheckpoint<V> checkpoint, String itemId, Object result) {
+    try {
+      checkpoint.record(itemId, (V) result);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(
+          "Failed to write batch checkpoint " + checkpoint.getFile(), exception);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <V> List<V> asList(Object[] results) {
+    return (List<V>) Arrays.asList(results);
+  }
+
+  private <K, V> void runPass(
+      ExecutorService executor,
+      List<Integer> indices,
+      List<K> inputs,
+      Function<K, V> evaluator,
+      Object[] results,
+      Exception[] failures,
+      IntConsumer onSuccess)
+      throws InterruptedException {
+    List<Future<?>> futures = new ArrayList<>(indices.size());
+    Semaphore permits = new Semaphore(options.getMaxConcurrency());
+
+    try {
+      for (int index : indices) {
+        K input = inputs.get(index);
+        permits.acquire();
+        try {
+          futures.add(
+              executor.submit(
+                  () -> {
+                    try {
+                      try {
+                        results[index] = evaluator.apply(input);
+                      } catch (Exception exception) {
+                        failures[index] = exception;
+                        return;
+                      }
+                      if (onSuccess != null) {
+                        onSuccess.accept(index);
+                      }
+                    } finally {
+                      permits.release();
+                    }
+                  }));
+        } catch (RuntimeException exception) {
+          permits.release();
+          throw exception;
+        }
+      }
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException exception) {
+      futures.forEach(future -> future.cancel(true));
+      throw exception;
+    } catch (ExecutionException exception) {
+      futures.forEach(future -> future.cancel(true));
+      throw new IllegalStateException("Batch evaluation failed", exception.getCause());
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.openevals4j.metrics.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.openevals4j.metrics.models.EvaluationContext;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads {@link EvaluationContext}s from JSON Lines, one object per line, parsing a line only when
+ * the next context is requested. Blank lines are ignored; lines that are not a valid context are
+ * logged and skipped.
+ */
+@Slf4j
+public class JsonlEvaluationContextReader implements Iterator<EvaluationContext>, Closeable {
+
+  private final BufferedReader reader;
+  private final ObjectReader contextReader;
+  private EvaluationContext next;
+  private long lineNumber;
+  private long skippedLines;
+  private boolean exhausted;
+
+  public JsonlEvaluationContextReader(Reader reader, ObjectMapper objectMapper) {
+    this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    this.contextReader = objectMapper.readerFor(EvaluationContext.class);
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (next == null && !exhausted) {
+      String line = readLine();
+      if (line == null) {
+        exhausted = true;
+      } else if (!line.isBlank()) {
+        try {
+          next = contextReader.readValue(line);
+        } catch (JsonProcessingException exception) {
+          skippedLines++;
+          log.warn("Skipping malformed evaluation context on line {}", lineNumber, exception);
+        }
+      }
+    }
+    return next != null;
+  }
+
+  @Override
+  public EvaluationContext next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    EvaluationContext context = next;
+    next = null;
+    return context;
+  }
+
+  /** Returns the number of non-blank lines that could not be read as an evaluation context. */
+  public long getSkippedLines() {
+    return skippedLines;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+  private String readLine() {
+    try {
+      String line = reader.readLine();
+      if (line != null) {
+        lineNumber++;
+      }
+      return line;
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+}
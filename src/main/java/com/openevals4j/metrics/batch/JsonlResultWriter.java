@@ -0,0 +1,44 @@
+package com.openevals4j.metrics.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.openevals4j.metrics.models.EvaluationContext;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * {@link ResultSink} writing one JSON object per line: the input position, the metadata of the
+ * evaluated context (so results can be joined back to the dataset) and the result.
+ */
+public class JsonlResultWriter<V>
+    implements ResultSink<EvaluationContext, V>, Flushable, Closeable {
+
+  private final BufferedWriter writer;
+  private final ObjectWriter lineWriter;
+
+  public JsonlResultWriter(Writer writer, ObjectMapper objectMapper) {
+    this.writer = writer instanceof BufferedWriter buffered ? buffered : new BufferedWriter(writer);
+    this.lineWriter = objectMapper.writerFor(ResultLine.class);
+  }
+
+  @Override
+  public void accept(long index, EvaluationContext input, V result) throws IOException {
+    writer.write(lineWriter.writeValueAsString(new ResultLine(index, input.getMetadata(), result)));
+    writer.write('\n');
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+
+  private record ResultLine(long index, Object metadata, Object result) {}
+}
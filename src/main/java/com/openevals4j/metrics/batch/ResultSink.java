@@ -0,0 +1,16 @@
+package com.openevals4j.metrics.batch;
+
+/**
+ * Receives the results of a streaming evaluation as they are produced. Calls are serialized by the
+ * {@link StreamingBatchEvaluator}, so implementations need not be thread-safe.
+ */
+@FunctionalInterface
+public interface ResultSink<K, V> {
+
+  /**
+   * @param index Zero-based position of the input in the stream
+   * @param input The evaluated input
+   * @param result The result, or the failure result when the evaluation threw
+   */
+  void accept(long index, K input, V result) throws Exception;
+}
@@ -0,0 +1,186 @@
+package com.openevals4j.metrics.batch;
+
+import com.openevals4j.metrics.utils.EvaluatorExecutors;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evaluates a stream of inputs of unknown length with constant memory. Inputs are pulled from an
+ * iterator only while fewer than {@link BatchEvaluationOptions#getMaxConcurrency()} are in flight,
+ * so a slow judge applies backpressure to the reader, and each result is handed to a {@link
+ * ResultSink} and dropped as soon as it is available (or, with {@link
+ * BatchEvaluationOptions#isPreserveOrder()}, as soon as every earlier result has been handed over).
+ *
+ * <p>Deferred retries ({@link BatchEvaluationOptions#getRetryPolicy()}) are not applied here since
+ * they would hold failed inputs until the end of the stream; retry in place with a retrying
+ * evaluator LLM instead.
+ */
+@Slf4j
+public class StreamingBatchEvaluator {
+
+  private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+  private final BatchEvaluationOptions options;
+
+  public StreamingBatchEvaluator(BatchEvaluationOptions options) {
+    if (options.getMaxConcurrency() < 1) {
+      throw new IllegalArgumentException("maxConcurrency must be at least 1");
+    }
+    this.options = options;
+  }
+
+  /** Counts of a finished streaming evaluation. */
+  public record Summary(long items, long failures) {}
+
+  /**
+   * Evaluates every input of the iterator and passes each result to the sink.
+   *
+   * @param inputs The inputs, read lazily
+   * @param evaluator The evaluation to apply to each input
+   * @param failureHandler Produces the result for an input whose evaluation threw
+   * @param sink Receives every result
+   * @return The number of evaluated inputs and of failed evaluations
+   * @throws IllegalStateException when the sink fails, an evaluation fails without a result (for
+   *     example with an {@link Error}) or the evaluation is interrupted
+   */
+  public <K, V> Summary evaluate(
+      Iterator<K> inputs,
+      Function<K, V> evaluator,
+      BiFunction<K, Exception, V> failureHandler,
+      ResultSink<K, V> sink) {
+    int maxConcurrency = options.getMaxConcurrency();
+    boolean ownsExecutor = options.getExecutorService() == null;
+    ExecutorService executor =
+        ownsExecutor
+            ? Executors.newFixedThreadPool(
+                maxConcurrency,
+                EvaluatorExecutors.daemonThreadFactory(
+                    "openevals4j-stream-" + POOL_COUNTER.incrementAndGet()))
+            : options.getExecutorService();
+
+    Semaphore permits = new Semaphore(maxConcurrency);
+    Delivery<K, V> delivery = new Delivery<>(sink, permits, options.isPreserveOrder());
+    AtomicLong failures = new AtomicLong();
+    long index = 0;
+
+    try {
+      while (delivery.failure.get() == null && inputs.hasNext()) {
+        K input = inputs.next();
+        long itemIndex = index++;
+        permits.acquire();
+        try {
+          executor.execute(
+              () -> {
+                V result;
+                try {
+                  try {
+                    result = evaluator.apply(input);
+                  } catch (Exception exception) {
+                    log.error(
+                        "Error occurred while evaluating stream item {}", itemIndex, exception);
+                    failures.incrementAndGet();
+                    result = failureHandler.apply(input, exception);
+                  }
+                } catch (Throwable throwable) {
+                  // An Error, or a failing failure handler: there is no result to hand over, so
+                  // the run fails, but the item's permit must still be released.
+                  log.error("Stream item {} was evaluated without a result", itemIndex, throwable);
+                  delivery.abort(itemIndex, input, throwable);
+                  return;
+                }
+                delivery.deliver(itemIndex, input, result);
+              });
+        } catch (RejectedExecutionException exception) {
+          permits.release();
+          throw exception;
+        }
+      }
+      permits.acquire(maxConcurrency);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Streaming evaluation was interrupted", exception);
+    } finally {
+      if (ownsExecutor) {
+        executor.shutdownNow();
+      }
+    }
+
+    if (delivery.failure.get() != null) {
+      throw new IllegalStateException(
+          delivery.failureIsFromSink
+              ? "Failed to write evaluation result"
+              : "Failed to evaluate stream item",
+          delivery.failure.get());
+    }
+    return new Summary(index, failures.get());
+  }
+
+  /**
+   * Hands results to the sink one at a time, optionally in input order, and releases the in-flight
+   * permit of each result once it has been handed over.
+   */
+  private static class Delivery<K, V> {
+
+    private final ResultSink<K, V> sink;
+    private final Semaphore permits;
+    private final boolean preserveOrder;
+    private final Map<Long, Pending<K, V>> reorderBuffer = new HashMap<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean failureIsFromSink;
+    private long nextIndex;
+
+    private Delivery(ResultSink<K, V> sink, Semaphore permits, boolean preserveOrder) {
+      this.sink = sink;
+      this.permits = permits;
+      this.preserveOrder = preserveOrder;
+    }
+
+    private synchronized void deliver(long index, K input, V result) {
+      if (!preserveOrder) {
+        write(index, input, result);
+        return;
+      }
+      reorderBuffer.put(index, new Pending<>(input, result));
+      Pending<K, V> next;
+      while ((next = reorderBuffer.remove(nextIndex)) != null) {
+        write(nextIndex++, next.input(), next.result());
+      }
+    }
+
+    /**
+     * Fails the run for an input that has no result. Its slot is still handed over, without
+     * reaching the sink, so that the permit is released and later results are not held back.
+     */
+    private synchronized void abort(long index, K input, Throwable throwable) {
+      failure.compareAndSet(null, throwable);
+      deliver(index, input, null);
+    }
+
+    private void write(long index, K input, V result) {
+      try {
+        if (failure.get() == null) {
+          sink.accept(index, input, result);
+        }
+      } catch (Throwable throwable) {
+        if (failure.compareAndSet(null, throwable)) {
+          failureIsFromSink = true;
+        }
+      } finally {
+        permits.release();
+      }
+    }
+  }
+
+  private record Pending<K, V>(K input, V result) {}
+}
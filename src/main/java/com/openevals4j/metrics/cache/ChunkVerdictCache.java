@@ -0,0 +1,63 @@
+package com.openevals4j.metrics.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.models.VerdictWithReason;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of the verdicts given to single retrieved chunks, stored as JSON in a {@link
+ * JudgeResponseCache} backend (in memory or on disk). Retrieval metrics use it to send only the
+ * chunks they have not judged yet for the same query.
+ */
+@Slf4j
+public class ChunkVerdictCache {
+
+  @Getter private final JudgeResponseCache backend;
+
+  private final ObjectMapper objectMapper;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  public ChunkVerdictCache(JudgeResponseCache backend, ObjectMapper objectMapper) {
+    this.backend = backend;
+    this.objectMapper = objectMapper;
+  }
+
+  /** Returns the cached verdict for the chunk fingerprint, or {@code null} when there is none. */
+  public VerdictWithReason get(String fingerprint) {
+    String cached = backend.get(fingerprint);
+    if (cached != null) {
+      try {
+        VerdictWithReason verdict = objectMapper.readValue(cached, VerdictWithReason.class);
+        hits.incrementAndGet();
+        return verdict;
+      } catch (JsonProcessingException exception) {
+        log.warn("Discarding unreadable cached chunk verdict", exception);
+        backend.invalidate(fingerprint);
+      }
+    }
+    misses.incrementAndGet();
+    return null;
+  }
+
+  public void put(String fingerprint, VerdictWithReason verdict) {
+    try {
+      backend.put(fingerprint, objectMapper.writeValueAsString(verdict));
+    } catch (JsonProcessingException exception) {
+      log.warn("Failed to cache chunk verdict", exception);
+    }
+  }
+
+  /** Returns the number of chunks whose verdict was served from the cache. */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /** Returns the number of chunks that had to be sent to the judge. */
+  public long getMisses() {
+    return misses.get();
+  }
+}
@@ -0,0 +1,35 @@
+package com.openevals4j.metrics.cache;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/** Settings for {@link DiskJudgeResponseCache}. */
+@Getter
+@Builder
+public class DiskCacheOptions {
+
+  /**
+   * Maximum size of the segment files on disk. When exceeded, the cache is compacted and the oldest
+   * entries are evicted until the live data fits in three quarters of this size.
+   */
+  @Builder.Default private final long maxBytes = 1L << 30;
+
+  /** Size after which the active segment is closed and a new one is started. */
+  @Builder.Default private final int segmentBytes = 64 << 20;
+
+  /** Number of slots of a new index; the index doubles when it gets too full. */
+  @Builder.Default private final int initialIndexSlots = 1 << 16;
+
+  /**
+   * Opens the directory without taking the writer lock, so any number of JVMs can read a cache that
+   * one other JVM is writing. Writes and invalidations are ignored in this mode.
+   */
+  @Builder.Default private final boolean readOnly = false;
+
+  /** Forces every appended record to the storage device before the call returns. */
+  @Builder.Default private final boolean syncWrites = false;
+
+  public static DiskCacheOptions defaults() {
+    return DiskCacheOptions.builder().build();
+  }
+}
@@ -0,0 +1,924 @@
+package com.openevals4j.metrics.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link JudgeResponseCache} persisted in a directory, so cached judge responses survive JVM
+ * restarts.
+ *
+ * <p>Responses are appended to segment files ({@code segment-NNNNNNNN.log}); each record holds the
+ * 32-byte request fingerprint, the UTF-8 response text and a CRC32. A memory-mapped open-addressing
+ * hash table ({@code index.bin}) maps the fingerprint to the record's segment, offset and length,
+ * so a lookup is one probe of the mapped index plus one positional read; the response is only
+ * parsed by the metric once it is a hit.
+ *
+ * <p>Crash safety: records are validated by length and checksum, and on open the writer replays the
+ * segments from the last position recorded in the index header, truncating a torn tail. Index
+ * rebuilds and compaction write a complete new index next to the old one and swap it in with an
+ * atomic rename; compacted segments are written under a temporary name and only promoted once the
+ * new index is in place, so an interrupted compaction leaves the previous cache intact.
+ *
+ * <p>Sharing: one JVM at a time opens the directory for writing (guarded by a file lock); any
+ * number of JVMs can open it {@link DiskCacheOptions#isReadOnly() read-only} and see new entries as
+ * they are written, picking up a swapped index at most once per second.
+ *
+ * <p>Size cap: when the segments exceed {@link DiskCacheOptions#getMaxBytes()}, the cache is
+ * compacted, dropping overwritten records and evicting the oldest entries until the live data fits
+ * in three quarters of the cap.
+ */
+@Slf4j
+public class DiskJudgeResponseCache implements JudgeResponseCache, Closeable {
+
+  private static final String INDEX_FILE = "index.bin";
+  private static final String INDEX_TEMP_FILE = "index.bin.tmp";
+  private static final String LOCK_FILE = "writer.lock";
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String COMPACTING_SUFFIX = ".compacting";
+
+  private static final int INDEX_MAGIC = 0x4f453443;
+  private static final int INDEX_VERSION = 1;
+  private static final int HEADER_BYTES = 64;
+  private static final int HEADER_MAGIC = 0;
+  private static final int HEADER_VERSION = 4;
+  private static final int HEADER_SLOTS = 8;
+  private static final int HEADER_ENTRIES = 12;
+  private static final int HEADER_TOMBSTONES = 16;
+  private static final int HEADER_FIRST_SEGMENT = 20;
+  private static final int HEADER_ACTIVE_SEGMENT = 24;
+  private static final int HEADER_INDEXED_OFFSET = 32;
+  private static final int HEADER_LIVE_BYTES = 40;
+
+  private static final int SLOT_BYTES = 24;
+  private static final int SLOT_SEGMENT = 8;
+  private static final int SLOT_LENGTH = 12;
+  private static final int SLOT_OFFSET = 16;
+  private static final long EMPTY_SLOT = 0;
+  private static final long DELETED_SLOT = 1;
+  private static final double MAX_LOAD_FACTOR = 0.7;
+
+  private static final int KEY_BYTES = 32;
+  private static final int RECORD_OVERHEAD =
+      Integer.BYTES + KEY_BYTES + Integer.BYTES + Integer.BYTES;
+  private static final long REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final Path directory;
+  private final DiskCacheOptions options;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Integer, FileChannel> segmentChannels = new ConcurrentHashMap<>();
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private final AtomicLong compactions = new AtomicLong();
+
+  private FileChannel lockChannel;
+  private FileLock writerLock;
+  private MappedByteBuffer index;
+  private int slotCount;
+  private Object indexVersion;
+  private FileChannel activeSegment;
+  private int activeSegmentId;
+  private long activeOffset;
+  private long diskBytes;
+  private long lastRefreshCheck;
+  private boolean closed;
+
+  private DiskJudgeResponseCache(Path directory, DiskCacheOptions options) {
+    this.directory = directory;
+    this.options = options;
+  }
+
+  /**
+   * Opens (creating it if needed) the cache stored in the directory.
+   *
+   * <p>Entries are keyed by the metric's evaluator model id, and the default id is only the class
+   * of the evaluator LLM: {@code gpt-4o} and {@code gpt-4o-mini} behind the same provider class
+   * would share answers across runs. Metrics therefore refuse to use this cache until {@code
+   * evaluatorModelId} is set on them (or on the {@code EvaluationSuite}).
+   *
+   * @throws IllegalStateException when the directory is opened for writing while another writer
+   *     holds it
+   */
+  public static DiskJudgeResponseCache open(Path directory, DiskCacheOptions options)
+      throws IOException {
+    DiskJudgeResponseCache cache = new DiskJudgeResponseCache(directory, options);
+    try {
+      if (options.isReadOnly()) {
+        cache.openReader();
+      } else {
+        cache.openWriter();
+      }
+      return cache;
+    } catch (IOException | RuntimeException exception) {
+      cache.close();
+      throw exception;
+    }
+  }
+
+  public static DiskJudgeResponseCache open(Path directory) throws IOException {
+    return open(directory, DiskCacheOptions.defaults());
+  }
+
+  @Override
+  public boolean isPersistent() {
+    return true;
+  }
+
+  @Override
+  public String get(String fingerprint) {
+    byte[] key = keyOf(fingerprint);
+    String value = lookup(key);
+    if (value == null && options.isReadOnly() && refreshIfIndexSwapped()) {
+      value = lookup(key);
+    }
+    (value != null ? hits : misses).incrementAndGet();
+    return value;
+  }
+
+  @Override
+  public void put(String fingerprint, String responseText) {
+    if (options.isReadOnly()) {
+      return;
+    }
+    byte[] key = keyOf(fingerprint);
+    byte[] value = responseText.getBytes(StandardCharsets.UTF_8);
+    if ((long) RECORD_OVERHEAD + value.length > options.getSegmentBytes()) {
+      return;
+    }
+
+    lock.writeLock().lock();
+    try {
+      if (closed) {
+        return;
+      }
+      append(key, value);
+      if (diskBytes > options.getMaxBytes()) {
+        compactLocked();
+      }
+    } catch (IOException exception) {
+      log.warn("Failed to write judge response to disk cache {}", directory, exception);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void invalidate(String fingerprint) {
+    if (options.isReadOnly()) {
+      return;
+    }
+    long hash = hashOf(keyOf(fingerprint));
+    lock.writeLock().lock();
+    try {
+      if (closed) {
+        return;
+      }
+      int slot = findSlot(index, slotCount, hash);
+      if (slot >= 0) {
+        int position = slotPosition(slot);
+        index.putLong(position, DELETED_SLOT);
+        index.putInt(HEADER_ENTRIES, index.getInt(HEADER_ENTRIES) - 1);
+        index.putInt(HEADER_TOMBSTONES, index.getInt(HEADER_TOMBSTONES) + 1);
+        index.putLong(
+            HEADER_LIVE_BYTES,
+            index.getLong(HEADER_LIVE_BYTES) - index.getInt(position + SLOT_LENGTH));
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Rewrites the live entries into fresh segments and drops overwritten records, evicting the
+   * oldest entries if the live data exceeds three quarters of the size cap. Runs automatically when
+   * the cap is exceeded.
+   */
+  public void compact() throws IOException {
+    if (options.isReadOnly()) {
+      throw new IllegalStateException("Cannot compact a cache opened read-only");
+    }
+    lock.writeLock().lock();
+    try {
+      if (!closed) {
+        compactLocked();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Returns the number of cached responses. */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return index != null ? index.getInt(HEADER_ENTRIES) : 0;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Returns the total size of the segment files, in bytes (as seen by the writer). */
+  public long getDiskBytes() {
+    lock.readLock().lock();
+    try {
+      return diskBytes;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  public long getCompactions() {
+    return compactions.get();
+  }
+
+  @Override
+  public void close() throws IOException {
+    lock.writeLock().lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      if (index != null && !options.isReadOnly()) {
+        index.force();
+      }
+      for (FileChannel channel : segmentChannels.values()) {
+        channel.close();
+      }
+      segmentChannels.clear();
+      if (writerLock != null) {
+        writerLock.release();
+      }
+      if (lockChannel != null) {
+        lockChannel.close();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void openWriter() throws IOException {
+    Files.createDirectories(directory);
+    lockChannel =
+        FileChannel.open(
+            directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    try {
+      writerLock = lockChannel.tryLock();
+    } catch (OverlappingFileLockException exception) {
+      writerLock = null;
+    }
+    if (writerLock == null) {
+      throw new IllegalStateException(
+          "Cache directory " + directory + " is already open for writing; open it read-only");
+    }
+
+    Files.deleteIfExists(directory.resolve(INDEX_TEMP_FILE));
+    Path indexPath = directory.resolve(INDEX_FILE);
+    if (!isValidIndex(indexPath)) {
+      List<Integer> existing = listSegments(SEGMENT_SUFFIX);
+      int firstSegment = existing.isEmpty() ? 0 : existing.get(0);
+      if (Files.exists(indexPath)) {
+        log.warn("Rebuilding unreadable judge response cache index in {}", directory);
+      }
+      MappedByteBuffer fresh =
+          createIndex(
+              directory.resolve(INDEX_TEMP_FILE),
+              tableSizeFor(options.getInitialIndexSlots()),
+              firstSegment);
+      fresh.force();
+      Files.move(
+          directory.resolve(INDEX_TEMP_FILE),
+          indexPath,
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    }
+    mapIndex(indexPath, FileChannel.MapMode.READ_WRITE);
+
+    recoverSegmentFiles();
+    replaySegments();
+  }
+
+  private void openReader() throws IOException {
+    Path indexPath = directory.resolve(INDEX_FILE);
+    if (isValidIndex(indexPath)) {
+      mapIndex(indexPath, FileChannel.MapMode.READ_ONLY);
+    }
+    lastRefreshCheck = System.nanoTime();
+  }
+
+  /**
+   * Finishes or rolls back an interrupted compaction and removes segments the index no longer
+   * covers.
+   */
+  private void recoverSegmentFiles() throws IOException {
+    int firstSegment = index.getInt(HEADER_FIRST_SEGMENT);
+    int lastSegment = index.getInt(HEADER_ACTIVE_SEGMENT);
+    for (int segmentId : listSegments(COMPACTING_SUFFIX)) {
+      Path compacting = segmentPath(segmentId, COMPACTING_SUFFIX);
+      if (segmentId >= firstSegment && segmentId <= lastSegment) {
+        Files.move(
+            compacting,
+            segmentPath(segmentId, SEGMENT_SUFFIX),
+            StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } else {
+        Files.delete(compacting);
+      }
+    }
+    for (int segmentId : listSegments(SEGMENT_SUFFIX)) {
+      if (segmentId < firstSegment) {
+        Files.delete(segmentPath(segmentId, SEGMENT_SUFFIX));
+      }
+    }
+  }
+
+  /** Indexes the records appended after the position recorded in the index header. */
+  private void replaySegments() throws IOException {
+    int indexedSegment = index.getInt(HEADER_ACTIVE_SEGMENT);
+    long indexedOffset = index.getLong(HEADER_INDEXED_OFFSET);
+
+    activeSegmentId = indexedSegment;
+    activeOffset = 0;
+    diskBytes = 0;
+    for (int segmentId : listSegments(SEGMENT_SUFFIX)) {
+      FileChannel channel = segmentChannel(segmentId, true);
+      long size = channel.size();
+      if (segmentId >= indexedSegment) {
+        long start = segmentId == indexedSegment ? Math.min(indexedOffset, size) : 0;
+        long validEnd = replaySegment(segmentId, channel, start);
+        if (validEnd < size) {
+          log.warn(
+              "Truncating {} bytes of incomplete records from judge response cache segment {}",
+              size - validEnd,
+              segmentId);
+          channel.truncate(validEnd);
+          size = validEnd;
+        }
+        activeSegmentId = segmentId;
+        activeOffset = size;
+      }
+      diskBytes += size;
+    }
+    activeSegment = segmentChannel(activeSegmentId, true);
+    index.putInt(HEADER_ACTIVE_SEGMENT, activeSegmentId);
+    index.putLong(HEADER_INDEXED_OFFSET, activeOffset);
+  }
+
+  private long replaySegment(int segmentId, FileChannel channel, long start) throws IOException {
+    long position = start;
+    ByteBuffer record;
+    while ((record = readRecord(channel, position, -1)) != null) {
+      int length = record.limit();
+      indexPut(hashOf(recordKey(record)), segmentId, position, length);
+      position += length;
+    }
+    return position;
+  }
+
+  private void append(byte[] key, byte[] value) throws IOException {
+    int length = RECORD_OVERHEAD + value.length;
+    if (activeOffset > 0 && activeOffset + length > options.getSegmentBytes()) {
+      activeSegment.force(false);
+      activeSegmentId++;
+      activeSegment = segmentChannel(activeSegmentId, true);
+      activeOffset = 0;
+    }
+
+    long offset = activeOffset;
+    writeFully(activeSegment, encodeRecord(key, value), offset);
+    if (options.isSyncWrites()) {
+      activeSegment.force(false);
+    }
+    activeOffset += length;
+    diskBytes += length;
+
+    indexPut(hashOf(key), activeSegmentId, offset, length);
+    index.putInt(HEADER_ACTIVE_SEGMENT, activeSegmentId);
+    index.putLong(HEADER_INDEXED_OFFSET, activeOffset);
+  }
+
+  private void indexPut(long hash, int segmentId, long offset, int length) throws IOException {
+    int entries = index.getInt(HEADER_ENTRIES);
+    int tombstones = index.getInt(HEADER_TOMBSTONES);
+    if (entries + tombstones + 1 > slotCount * MAX_LOAD_FACTOR) {
+      int slots = (entries + 1) * 2 > slotCount * MAX_LOAD_FACTOR ? slotCount * 2 : slotCount;
+      rebuildIndex(slots);
+    }
+
+    int previousLength = putSlot(index, slotCount, hash, segmentId, offset, length);
+    if (previousLength < 0) {
+      index.putInt(HEADER_ENTRIES, index.getInt(HEADER_ENTRIES) + 1);
+    }
+    index.putLong(
+        HEADER_LIVE_BYTES, index.getLong(HEADER_LIVE_BYTES) + length - Math.max(0, previousLength));
+  }
+
+  /** Copies the live slots into a new index of the given size and swaps it in. */
+  private void rebuildIndex(int slots) throws IOException {
+    Path tempPath = directory.resolve(INDEX_TEMP_FILE);
+    MappedByteBuffer rebuilt = createIndex(tempPath, slots, index.getInt(HEADER_FIRST_SEGMENT));
+    for (int slot = 0; slot < slotCount; slot++) {
+      int position = slotPosition(slot);
+      long hash = index.getLong(position);
+      if (isOccupied(hash)) {
+        putSlot(
+            rebuilt,
+            slots,
+            hash,
+            index.getInt(position + SLOT_SEGMENT),
+            index.getLong(position + SLOT_OFFSET),
+            index.getInt(position + SLOT_LENGTH));
+      }
+    }
+    rebuilt.putInt(HEADER_ENTRIES, index.getInt(HEADER_ENTRIES));
+    rebuilt.putInt(HEADER_ACTIVE_SEGMENT, index.getInt(HEADER_ACTIVE_SEGMENT));
+    rebuilt.putLong(HEADER_INDEXED_OFFSET, index.getLong(HEADER_INDEXED_OFFSET));
+    rebuilt.putLong(HEADER_LIVE_BYTES, index.getLong(HEADER_LIVE_BYTES));
+    swapIndex(tempPath, rebuilt, slots);
+  }
+
+  private void compactLocked() throws IOException {
+    List<long[]> live = new ArrayList<>();
+    for (int slot = 0; slot < slotCount; slot++) {
+      int position = slotPosition(slot);
+      if (isOccupied(index.getLong(position))) {
+        live.add(
+            new long[] {
+              index.getInt(position + SLOT_SEGMENT),
+              index.getLong(position + SLOT_OFFSET),
+              index.getInt(position + SLOT_LENGTH)
+            });
+      }
+    }
+    live.sort(Comparator.<long[]>comparingLong(entry -> entry[0]).thenComparingLong(e -> e[1]));
+
+    long liveBytes = live.stream().mapToLong(entry -> entry[2]).sum();
+    long targetBytes = options.getMaxBytes() / 4 * 3;
+    int evicted = 0;
+    while (liveBytes > targetBytes && evicted < live.size()) {
+      liveBytes -= live.get(evicted++)[2];
+    }
+
+    int firstSegment = activeSegmentId + 1;
+    int segmentId = firstSegment;
+    int slots =
+        Math.max(
+            tableSizeFor(options.getInitialIndexSlots()),
+            tableSizeFor((int) ((live.size() - evicted + 1) / (MAX_LOAD_FACTOR / 2))));
+    Path tempPath = directory.resolve(INDEX_TEMP_FILE);
+    MappedByteBuffer compacted = createIndex(tempPath, slots, firstSegment);
+
+    FileChannel out = openCompacting(segmentId);
+    long outOffset = 0;
+    long written = 0;
+    int entries = 0;
+    try {
+      for (long[] entry : live.subList(evicted, live.size())) {
+        ByteBuffer record =
+            readRecord(segmentChannel((int) entry[0], false), entry[1], (int) entry[2]);
+        if (record == null) {
+          continue;
+        }
+        int length = record.limit();
+        if (outOffset > 0 && outOffset + length > options.getSegmentBytes()) {
+          out.force(true);
+          out.close();
+          out = openCompacting(++segmentId);
+          outOffset = 0;
+        }
+        long hash = hashOf(recordKey(record));
+        writeFully(out, record.rewind(), outOffset);
+        putSlot(compacted, slots, hash, segmentId, outOffset, length);
+        outOffset += length;
+        written += length;
+        entries++;
+      }
+      out.force(true);
+    } finally {
+      out.close();
+    }
+
+    compacted.putInt(HEADER_ENTRIES, entries);
+    compacted.putInt(HEADER_ACTIVE_SEGMENT, segmentId);
+    compacted.putLong(HEADER_INDEXED_OFFSET, outOffset);
+    compacted.putLong(HEADER_LIVE_BYTES, written);
+    swapIndex(tempPath, compacted, slots);
+
+    for (int id = firstSegment; id <= segmentId; id++) {
+      Files.move(
+          segmentPath(id, COMPACTING_SUFFIX),
+          segmentPath(id, SEGMENT_SUFFIX),
+          StandardCopyOption.ATOMIC_MOVE);
+    }
+    for (Integer oldSegment : List.copyOf(segmentChannels.keySet())) {
+      if (oldSegment < firstSegment) {
+        segmentChannels.remove(oldSegment).close();
+      }
+    }
+    for (int oldSegment : listSegments(SEGMENT_SUFFIX)) {
+      if (oldSegment < firstSegment) {
+        Files.delete(segmentPath(oldSegment, SEGMENT_SUFFIX));
+      }
+    }
+
+    activeSegmentId = segmentId;
+    activeSegment = segmentChannel(segmentId, true);
+    activeOffset = outOffset;
+    diskBytes = written;
+    evictions.addAndGet(evicted);
+    compactions.incrementAndGet();
+    log.info(
+        "Compacted judge response cache {}: kept {} entries ({} bytes), evicted {}",
+        directory,
+        entries,
+        written,
+        evicted);
+  }
+
+  private String lookup(byte[] key) {
+    long hash = hashOf(key);
+    lock.readLock().lock();
+    try {
+      if (closed || index == null) {
+        return null;
+      }
+      int slot = findSlot(index, slotCount, hash);
+      if (slot < 0) {
+        return null;
+      }
+      int position = slotPosition(slot);
+      int segmentId = index.getInt(position + SLOT_SEGMENT);
+      long offset = index.getLong(position + SLOT_OFFSET);
+      int length = index.getInt(position + SLOT_LENGTH);
+      ByteBuffer record = readRecord(segmentChannel(segmentId, false), offset, length);
+      if (record == null || !Arrays.equals(recordKey(record), key)) {
+        return null;
+      }
+      int valueLength = record.getInt(Integer.BYTES + KEY_BYTES);
+      return new String(
+          record.array(),
+          Integer.BYTES + KEY_BYTES + Integer.BYTES,
+          valueLength,
+          StandardCharsets.UTF_8);
+    } catch (NoSuchFileException exception) {
+      return null;
+    } catch (IOException exception) {
+      log.warn("Failed to read judge response from disk cache {}", directory, exception);
+      return null;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Remaps the index in a read-only cache when the writer has swapped in a new one. */
+  private boolean refreshIfIndexSwapped() {
+    lock.writeLock().lock();
+    try {
+      long now = System.nanoTime();
+      if (closed || now - lastRefreshCheck < REFRESH_INTERVAL_NANOS) {
+        return false;
+      }
+      lastRefreshCheck = now;
+      Path indexPath = directory.resolve(INDEX_FILE);
+      if (!Files.exists(indexPath) || Objects.equals(versionOf(indexPath), indexVersion)) {
+        return false;
+      }
+      if (!isValidIndex(indexPath)) {
+        return false;
+      }
+      mapIndex(indexPath, FileChannel.MapMode.READ_ONLY);
+      for (FileChannel channel : segmentChannels.values()) {
+        channel.close();
+      }
+      segmentChannels.clear();
+      return true;
+    } catch (IOException exception) {
+      log.warn("Failed to refresh judge response cache index in {}", directory, exception);
+      return false;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void mapIndex(Path indexPath, FileChannel.MapMode mode) throws IOException {
+    Object version = versionOf(indexPath);
+    try (FileChannel channel =
+        mode == FileChannel.MapMode.READ_ONLY
+            ? FileChannel.open(indexPath, StandardOpenOption.READ)
+            : FileChannel.open(indexPath, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      index = channel.map(mode, 0, channel.size());
+    }
+    slotCount = index.getInt(HEADER_SLOTS);
+    indexVersion = version;
+  }
+
+  private void swapIndex(Path tempPath, MappedByteBuffer newIndex, int slots) throws IOException {
+    newIndex.force();
+    Path indexPath = directory.resolve(INDEX_FILE);
+    Files.move(
+        tempPath, indexPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    index = newIndex;
+    slotCount = slots;
+    indexVersion = versionOf(indexPath);
+  }
+
+  private static MappedByteBuffer createIndex(Path path, int slots, int firstSegment)
+      throws IOException {
+    try (FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      MappedByteBuffer buffer =
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) slots * SLOT_BYTES);
+      buffer.putInt(HEADER_MAGIC, INDEX_MAGIC);
+      buffer.putInt(HEADER_VERSION, INDEX_VERSION);
+      buffer.putInt(HEADER_SLOTS, slots);
+      buffer.putInt(HEADER_FIRST_SEGMENT, firstSegment);
+      buffer.putInt(HEADER_ACTIVE_SEGMENT, firstSegment);
+      return buffer;
+    }
+  }
+
+  private static boolean isValidIndex(Path indexPath) throws IOException {
+    if (!Files.exists(indexPath) || Files.size(indexPath) < HEADER_BYTES) {
+      return false;
+    }
+    try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+      readFully(channel, header, 0);
+      int slots = header.getInt(HEADER_SLOTS);
+      return header.getInt(HEADER_MAGIC) == INDEX_MAGIC
+          && header.getInt(HEADER_VERSION) == INDEX_VERSION
+          && slots > 0
+          && Integer.bitCount(slots) == 1
+          && channel.size() == HEADER_BYTES + (long) slots * SLOT_BYTES;
+    }
+  }
+
+  /**
+   * Stores the slot and returns the length of the record it replaced, or -1 when the key was new.
+   * The hash is written last so a concurrent reader never sees a half-written slot as occupied.
+   */
+  private static int putSlot(
+      ByteBuffer table, int slots, long hash, int segmentId, long offset, int length) {
+    int mask = slots - 1;
+    int target = -1;
+    for (int probe = 0, slot = (int) hash & mask;
+        probe < slots;
+        probe++, slot = (slot + 1) & mask) {
+      int position = slotPosition(slot);
+      long current = table.getLong(position);
+      if (current == hash) {
+        int previousLength = table.getInt(position + SLOT_LENGTH);
+        writeSlot(table, position, hash, segmentId, offset, length);
+        return previousLength;
+      }
+      if (current == DELETED_SLOT && target < 0) {
+        target = slot;
+      } else if (current == EMPTY_SLOT) {
+        target = target < 0 ? slot : target;
+        break;
+      }
+    }
+    if (target < 0) {
+      throw new IllegalStateException("Judge response cache index is full");
+    }
+
+    int position = slotPosition(target);
+    if (table.getLong(position) == DELETED_SLOT) {
+      table.putInt(HEADER_TOMBSTONES, table.getInt(HEADER_TOMBSTONES) - 1);
+    }
+    writeSlot(table, position, hash, segmentId, offset, length);
+    return -1;
+  }
+
+  private static void writeSlot(
+      ByteBuffer table, int position, long hash, int segmentId, long offset, int length) {
+    table.putInt(position + SLOT_SEGMENT, segmentId);
+    table.putInt(position + SLOT_LENGTH, length);
+    table.putLong(position + SLOT_OFFSET, offset);
+    table.putLong(position, hash);
+  }
+
+  private static int findSlot(ByteBuffer table, int slots, long hash) {
+    int mask = slots - 1;
+    for (int probe = 0, slot = (int) hash & mask;
+        probe < slots;
+        probe++, slot = (slot + 1) & mask) {
+      long current = table.getLong(slotPosition(slot));
+      if (current == hash) {
+        return slot;
+      }
+      if (current == EMPTY_SLOT) {
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isOccupied(long slotHash) {
+    return slotHash != EMPTY_SLOT && slotHash != DELETED_SLOT;
+  }
+
+  private static int slotPosition(int slot) {
+    return HEADER_BYTES + slot * SLOT_BYTES;
+  }
+
+  private static ByteBuffer encodeRecord(byte[] key, byte[] value) {
+    int length = RECORD_OVERHEAD + value.length;
+    ByteBuffer record = ByteBuffer.allocate(length);
+    record.putInt(length).put(key).putInt(value.length).put(value);
+    CRC32 crc = new CRC32();
+    crc.update(record.array(), Integer.BYTES, length - RECORD_OVERHEAD + KEY_BYTES + Integer.BYTES);
+    record.putInt((int) crc.getValue());
+    return record.flip();
+  }
+
+  /**
+   * Reads and validates the record at the offset, returning {@code null} when it is truncated or
+   * its checksum does not match.
+   *
+   * @param expectedLength The record length recorded in the index, or -1 when unknown
+   */
+  private ByteBuffer readRecord(FileChannel channel, long offset, int expectedLength)
+      throws IOException {
+    long size = channel.size();
+    int length = expectedLength;
+    if (length < 0) {
+      ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES);
+      if (offset + Integer.BYTES > size || !readFully(channel, lengthBuffer, offset)) {
+        return null;
+      }
+      length = lengthBuffer.getInt(0);
+    }
+    if (length < RECORD_OVERHEAD || length > options.getSegmentBytes() || offset + length > size) {
+      return null;
+    }
+
+    ByteBuffer record = ByteBuffer.allocate(length);
+    if (!readFully(channel, record, offset) || record.getInt(0) != length) {
+      return null;
+    }
+    int valueLength = record.getInt(Integer.BYTES + KEY_BYTES);
+    if (valueLength != length - RECORD_OVERHEAD) {
+      return null;
+    }
+    CRC32 crc = new CRC32();
+    crc.update(record.array(), Integer.BYTES, KEY_BYTES + Integer.BYTES + valueLength);
+    if ((int) crc.getValue() != record.getInt(length - Integer.BYTES)) {
+      return null;
+    }
+    return record.clear();
+  }
+
+  private static byte[] recordKey(ByteBuffer record) {
+    return Arrays.copyOfRange(record.array(), Integer.BYTES, Integer.BYTES + KEY_BYTES);
+  }
+
+  private static boolean readFully(FileChannel channel, ByteBuffer buffer, long offset)
+      throws IOException {
+    buffer.clear();
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, offset + buffer.position()) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long offset)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer, offset + buffer.position());
+    }
+  }
+
+  private FileChannel segmentChannel(int segmentId, boolean writable) throws IOException {
+    FileChannel channel = segmentChannels.get(segmentId);
+    if (channel == null) {
+      channel =
+          writable
+              ? FileChannel.open(
+                  segmentPath(segmentId, SEGMENT_SUFFIX),
+                  StandardOpenOption.CREATE,
+                  StandardOpenOption.READ,
+                  StandardOpenOption.WRITE)
+              : FileChannel.open(segmentPath(segmentId, SEGMENT_SUFFIX), StandardOpenOption.READ);
+      FileChannel existing = segmentChannels.putIfAbsent(segmentId, channel);
+      if (existing != null) {
+        channel.close();
+        channel = existing;
+      }
+    }
+    return channel;
+  }
+
+  private FileChannel openCompacting(int segmentId) throws IOException {
+    return FileChannel.open(
+        segmentPath(segmentId, COMPACTING_SUFFIX),
+        StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.WRITE);
+  }
+
+  private Path segmentPath(int segmentId, String suffix) {
+    return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentId, suffix));
+  }
+
+  private List<Integer> listSegments(String suffix) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .map(path -> path.getFileName().toString())
+          .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(suffix))
+          .map(name -> name.substring(SEGMENT_PREFIX.length(), name.length() - suffix.length()))
+          .filter(id -> !id.isEmpty() && id.chars().allMatch(Character::isDigit))
+          .map(Integer::valueOf)
+          .sorted()
+          .toList();
+    }
+  }
+
+  private static Object versionOf(Path path) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    return attributes.fileKey() != null
+        ? attributes.fileKey()
+        : List.of(attributes.creationTime(), attributes.lastModifiedTime());
+  }
+
+  private static int tableSizeFor(int slots) {
+    int size = Integer.highestOneBit(Math.max(16, slots));
+    return size < slots ? size << 1 : size;
+  }
+
+  /** Fingerprints are hex SHA-256 digests; any other key is hashed to the same width. */
+  private static byte[] keyOf(String fingerprint) {
+    if (fingerprint.length() == KEY_BYTES * 2) {
+      try {
+        return HexFormat.of().parseHex(fingerprint);
+      } catch (IllegalArgumentException exception) {
+        // Not a hex digest, hash it below.
+      }
+    }
+    try {
+      return MessageDigest.getInstance("SHA-256")
+          .digest(fingerprint.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException("SHA-256 is not available", exception);
+    }
+  }
+
+  /**
+   * Index hash of a key: its first eight bytes, which are uniformly distributed for a SHA-256
+   * digest. Keys sharing a hash are told apart by the full key stored in the record, so a collision
+   * can only cause a miss.
+   */
+  private static long hashOf(byte[] key) {
+    long hash = ByteBuffer.wrap(key).getLong();
+    return hash == EMPTY_SLOT || hash == DELETED_SLOT ? hash + 2 : hash;
+  }
+}
@@ -0,0 +1,134 @@
+package com.openevals4j.metrics.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.Builder;
+
+/**
+ * In-process LRU {@link JudgeResponseCache}. Entries are evicted least recently used first once
+ * either the entry count or the total weight (characters of fingerprints and responses) exceeds its
+ * bound, and optionally expire a fixed time after they were stored.
+ */
+public class InMemoryJudgeResponseCache implements JudgeResponseCache {
+
+  public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+  private final int maxEntries;
+  private final long maxWeight;
+  private final long ttlNanos;
+  private final LongSupplier ticker;
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  private long weight;
+
+  /**
+   * @param maxEntries Maximum number of cached responses, {@link #DEFAULT_MAX_ENTRIES} when not
+   *     positive
+   * @param maxWeight Maximum total characters of cached fingerprints and responses, unbounded when
+   *     not positive
+   * @param ttl Time after which an entry expires, never when {@code null}
+   */
+  @Builder
+  public InMemoryJudgeResponseCache(int maxEntries, long maxWeight, Duration ttl) {
+    this(maxEntries, maxWeight, ttl, System::nanoTime);
+  }
+
+  InMemoryJudgeResponseCache(int maxEntries, long maxWeight, Duration ttl, LongSupplier ticker) {
+    this.maxEntries = maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES;
+    this.maxWeight = maxWeight > 0 ? maxWeight : Long.MAX_VALUE;
+    this.ttlNanos = ttl != null ? ttl.toNanos() : Long.MAX_VALUE;
+    this.ticker = ticker;
+  }
+
+  @Override
+  public String get(String fingerprint) {
+    synchronized (entries) {
+      Entry entry = entries.get(fingerprint);
+      if (entry != null && isExpired(entry)) {
+        remove(fingerprint);
+        entry = null;
+      }
+      if (entry == null) {
+        misses.incrementAndGet();
+        return null;
+      }
+      hits.incrementAndGet();
+      return entry.responseText();
+    }
+  }
+
+  @Override
+  public void put(String fingerprint, String responseText) {
+    long entryWeight = (long) fingerprint.length() + responseText.length();
+    if (entryWeight > maxWeight) {
+      return;
+    }
+    synchronized (entries) {
+      remove(fingerprint);
+      entries.put(fingerprint, new Entry(responseText, entryWeight, ticker.getAsLong()));
+      weight += entryWeight;
+      evictOverflow();
+    }
+  }
+
+  @Override
+  public void invalidate(String fingerprint) {
+    synchronized (entries) {
+      remove(fingerprint);
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  /** Returns the total weight of the cached entries, in characters. */
+  public long getWeight() {
+    synchronized (entries) {
+      return weight;
+    }
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  private void evictOverflow() {
+    Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+    while ((entries.size() > maxEntries || weight > maxWeight) && iterator.hasNext()) {
+      weight -= iterator.next().getValue().weight();
+      iterator.remove();
+      evictions.incrementAndGet();
+    }
+  }
+
+  private void remove(String fingerprint) {
+    Entry removed = entries.remove(fingerprint);
+    if (removed != null) {
+      weight -= removed.weight();
+    }
+  }
+
+  private boolean isExpired(Entry entry) {
+    return ttlNanos != Long.MAX_VALUE && ticker.getAsLong() - entry.storedAtNanos() >= ttlNanos;
+  }
+
+  private record Entry(String responseText, long weight, long storedAtNanos) {}
+}
@@ -0,0 +1,68 @@
+package com.openevals4j.metrics.cache;
+
+import com.openevals4j.metrics.evaluator.ForwardingChatLanguageModel;
+import com.openevals4j.metrics.utils.ChatMessages;
+import com.openevals4j.metrics.utils.Fingerprints;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+/**
+ * Computes the cache key of an evaluator LLM request: a SHA-256 hash of the model identity, the
+ * response format (including its JSON schema) and the type and text of every message.
+ */
+public class JudgeRequestFingerprint {
+
+  private static final byte SEPARATOR = 0;
+
+  private JudgeRequestFingerprint() {}
+
+  /**
+   * Returns the hex-encoded fingerprint of the request.
+   *
+   * @param chatRequest The request sent to the judge
+   * @param modelIdentity Identity of the judge model, see {@link #modelIdentity(ChatLanguageModel)}
+   */
+  public static String of(ChatRequest chatRequest, String modelIdentity) {
+    MessageDigest digest = Fingerprints.sha256();
+    update(digest, modelIdentity);
+    update(digest, String.valueOf(chatRequest.responseFormat()));
+    for (ChatMessage message : chatRequest.messages()) {
+      update(digest, message.type().name());
+      update(digest, textOf(message));
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  /**
+   * Returns a default identity for the model: the class name of the innermost model behind any
+   * {@link ForwardingChatLanguageModel} decorators. Models of the same class configured with
+   * different model names cannot be told apart this way; set an explicit identity on the metric
+   * when a cache is shared between them.
+   */
+  public static String modelIdentity(ChatLanguageModel chatModel) {
+    ChatLanguageModel model = chatModel;
+    while (model instanceof ForwardingChatLanguageModel forwarding) {
+      model = forwarding.getDelegate();
+    }
+    return model.getClass().getName();
+  }
+
+  private static String textOf(ChatMessage message) {
+    if (message instanceof UserMessage userMessage && !userMessage.hasSingleText()) {
+      return userMessage.contents().toString();
+    }
+    return ChatMessages.textOf(message);
+  }
+
+  private static void update(MessageDigest digest, String value) {
+    if (value != null) {
+      digest.update(value.getBytes(StandardCharsets.UTF_8));
+    }
+    digest.update(SEPARATOR);
+  }
+}
@@ -0,0 +1,39 @@
+package com.openevals4j.metrics.cache;
+
+/**
+ * Cache of evaluator LLM response texts, keyed by a {@link JudgeRequestFingerprint fingerprint} of
+ * the request. Metrics look a request up before calling the judge and store the response only once
+ * it has been parsed successfully, so a cache never serves a response the metric could not use.
+ *
+ * <p>Implementations must be safe for concurrent use; one instance is typically shared by every
+ * metric that talks to the same judge.
+ */
+public interface JudgeResponseCache {
+
+  /**
+   * Returns the cached response text for the fingerprint, or {@code null} when there is none.
+   *
+   * @param fingerprint Fingerprint of the chat request
+   */
+  String get(String fingerprint);
+
+  /**
+   * Stores the response text of a request whose response was parsed successfully.
+   *
+   * @param fingerprint Fingerprint of the chat request
+   * @param responseText Text content of the judge's response
+   */
+  void put(String fingerprint, String responseText);
+
+  /** Removes the entry for the fingerprint, for example when a cached response fails to parse. */
+  void invalidate(String fingerprint);
+
+  /**
+   * Whether entries outlive the JVM. Metrics only use a persistent cache with an explicit evaluator
+   * model id, since the default model identity cannot tell a later run on another model of the same
+   * provider apart.
+   */
+  default boolean isPersistent() {
+    return false;
+  }
+}
@@ -0,0 +1,79 @@
+package com.openevals4j.metrics.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical evaluator LLM calls that are in flight at the same time: the first caller for
+ * a request fingerprint makes the call, and callers arriving while it is outstanding wait for and
+ * share its response (or its failure) instead of sending the same request again.
+ *
+ * <p>Share one instance between every metric and suite that may judge the same items concurrently.
+ */
+public class SingleFlightGroup {
+
+  private final ConcurrentHashMap<String, CompletableFuture<String>> inFlight =
+      new ConcurrentHashMap<>();
+  private final AtomicLong calls = new AtomicLong();
+  private final AtomicLong savedCalls = new AtomicLong();
+
+  /**
+   * Returns the response text of the call for the fingerprint, making the call only if no identical
+   * call is already in flight.
+   *
+   * @param fingerprint Fingerprint of the chat request
+   * @param call Makes the call and returns the response text
+   */
+  public String execute(String fingerprint, Supplier<String> call) {
+    CompletableFuture<String> leader = new CompletableFuture<>();
+    CompletableFuture<String> existing = inFlight.putIfAbsent(fingerprint, leader);
+    if (existing != null) {
+      savedCalls.incrementAndGet();
+      return await(existing);
+    }
+
+    calls.incrementAndGet();
+    try {
+      String responseText = call.get();
+      leader.complete(responseText);
+      return responseText;
+    } catch (RuntimeException | Error exception) {
+      leader.completeExceptionally(exception);
+      throw exception;
+    } finally {
+      inFlight.remove(fingerprint, leader);
+    }
+  }
+
+  /** Returns the number of calls actually made. */
+  public long getCalls() {
+    return calls.get();
+  }
+
+  /** Returns the number of calls avoided by sharing an identical in-flight call. */
+  public long getSavedCalls() {
+    return savedCalls.get();
+  }
+
+  /** Returns the number of distinct calls currently in flight. */
+  public int getInFlightCalls() {
+    return inFlight.size();
+  }
+
+  private static String await(CompletableFuture<String> future) {
+    try {
+      return future.join();
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (exception.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw exception;
+    }
+  }
+}
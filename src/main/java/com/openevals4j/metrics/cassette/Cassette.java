@@ -0,0 +1,130 @@
+package com.openevals4j.metrics.cassette;
+
+import com.openevals4j.metrics.cache.JudgeRequestFingerprint;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Judge responses recorded by request, for replaying evaluations offline. Requests are keyed by
+ * their {@link JudgeRequestFingerprint} without a model identity: a cassette holds the responses of
+ * one judge model, and replays them for whichever model the metrics are given.
+ *
+ * <p>The file format is a gzip-compressed stream of a header followed by one record per request:
+ * the 32-byte fingerprint, the recorded latency, the token counts and the UTF-8 response text.
+ * Records are written in fingerprint order, so recording the same responses twice produces the same
+ * file.
+ */
+public class Cassette {
+
+  private static final int MAGIC = 0x4f454341;
+  private static final int VERSION = 1;
+  private static final int KEY_BYTES = 32;
+
+  private final Map<String, RecordedResponse> responses = new ConcurrentHashMap<>();
+
+  /** Returns the fingerprint a request is recorded under. */
+  public static String fingerprint(ChatRequest chatRequest) {
+    return JudgeRequestFingerprint.of(chatRequest, null);
+  }
+
+  /** Returns the response recorded for the request, or {@code null}. */
+  public RecordedResponse get(ChatRequest chatRequest) {
+    return responses.get(fingerprint(chatRequest));
+  }
+
+  /** Records the response for the request, replacing any earlier one. */
+  public void put(ChatRequest chatRequest, RecordedResponse response) {
+    responses.put(fingerprint(chatRequest), response);
+  }
+
+  public int size() {
+    return responses.size();
+  }
+
+  /** Reads a cassette written by {@link #save}. */
+  public static Cassette load(Path file) throws IOException {
+    try (InputStream stream = Files.newInputStream(file)) {
+      return read(stream);
+    }
+  }
+
+  /** Reads a cassette from a stream, e.g. a test resource. */
+  public static Cassette read(InputStream stream) throws IOException {
+    Cassette cassette = new Cassette();
+    DataInputStream input =
+        new DataInputStream(new BufferedInputStream(new GZIPInputStream(stream)));
+    if (input.readInt() != MAGIC) {
+      throw new IOException("Not a judge cassette");
+    }
+    int version = input.readInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported judge cassette version " + version);
+    }
+    int count = input.readInt();
+    byte[] key = new byte[KEY_BYTES];
+    for (int i = 0; i < count; i++) {
+      input.readFully(key);
+      long latencyNanos = input.readLong();
+      int inputTokens = input.readInt();
+      int outputTokens = input.readInt();
+      byte[] text = new byte[input.readInt()];
+      input.readFully(text);
+      cassette.responses.put(
+          HexFormat.of().formatHex(key),
+          new RecordedResponse(
+              new String(text, StandardCharsets.UTF_8), latencyNanos, inputTokens, outputTokens));
+    }
+    return cassette;
+  }
+
+  /**
+   * Writes the cassette to the file, replacing it atomically so that an interrupted save leaves the
+   * previous recording intact.
+   */
+  public void save(Path file) throws IOException {
+    Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+    try (OutputStream stream = Files.newOutputStream(temporary)) {
+      write(stream);
+    }
+    Files.move(
+        temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /** Writes the cassette to a stream, leaving the stream open. */
+  public void write(OutputStream stream) throws IOException {
+    Map<String, RecordedResponse> sorted = new TreeMap<>(responses);
+    GZIPOutputStream compressed = new GZIPOutputStream(stream);
+    DataOutputStream output = new DataOutputStream(new BufferedOutputStream(compressed));
+    output.writeInt(MAGIC);
+    output.writeInt(VERSION);
+    output.writeInt(sorted.size());
+    for (Map.Entry<String, RecordedResponse> entry : sorted.entrySet()) {
+      RecordedResponse response = entry.getValue();
+      byte[] text = response.text().getBytes(StandardCharsets.UTF_8);
+      output.write(HexFormat.of().parseHex(entry.getKey()));
+      output.writeLong(response.latencyNanos());
+      output.writeInt(response.inputTokens());
+      output.writeInt(response.outputTokens());
+      output.writeInt(text.length);
+      output.write(text);
+    }
+    output.flush();
+    compressed.finish();
+  }
+}
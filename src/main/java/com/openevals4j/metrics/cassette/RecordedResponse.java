@@ -0,0 +1,39 @@
+package com.openevals4j.metrics.cassette;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+
+/**
+ * A judge response as stored in a {@link Cassette}.
+ *
+ * @param text The response text
+ * @param latencyNanos How long the recorded call took
+ * @param inputTokens Input tokens reported by the provider, or -1 when not reported
+ * @param outputTokens Output tokens reported by the provider, or -1 when not reported
+ */
+public record RecordedResponse(String text, long latencyNanos, int inputTokens, int outputTokens) {
+
+  static RecordedResponse of(ChatResponse response, long latencyNanos) {
+    TokenUsage tokenUsage = response.tokenUsage();
+    return new RecordedResponse(
+        response.aiMessage().text(),
+        latencyNanos,
+        tokenUsage != null && tokenUsage.inputTokenCount() != null
+            ? tokenUsage.inputTokenCount()
+            : -1,
+        tokenUsage != null && tokenUsage.outputTokenCount() != null
+            ? tokenUsage.outputTokenCount()
+            : -1);
+  }
+
+  ChatResponse toChatResponse() {
+    ChatResponse.Builder builder = ChatResponse.builder().aiMessage(AiMessage.from(text));
+    if (inputTokens >= 0 || outputTokens >= 0) {
+      builder.tokenUsage(
+          new TokenUsage(
+              inputTokens >= 0 ? inputTokens : null, outputTokens >= 0 ? outputTokens : null));
+    }
+    return builder.build();
+  }
+}
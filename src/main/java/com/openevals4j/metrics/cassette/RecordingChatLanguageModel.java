@@ -0,0 +1,35 @@
+package com.openevals4j.metrics.cassette;
+
+import com.openevals4j.metrics.evaluator.ForwardingChatLanguageModel;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+
+/**
+ * Evaluator LLM decorator that records every successful call, with its latency and token usage,
+ * into a {@link Cassette}. Failed calls are not recorded. Save the cassette once the run is over
+ * and replay it with a {@link ReplayingChatLanguageModel}.
+ */
+public class RecordingChatLanguageModel extends ForwardingChatLanguageModel {
+
+  private final Cassette cassette;
+
+  public RecordingChatLanguageModel(ChatLanguageModel delegate, Cassette cassette) {
+    super(delegate);
+    this.cassette = cassette;
+  }
+
+  @Override
+  public ChatResponse chat(ChatRequest chatRequest) {
+    long start = System.nanoTime();
+    ChatResponse response = getDelegate().chat(chatRequest);
+    if (response.aiMessage() != null && response.aiMessage().text() != null) {
+      cassette.put(chatRequest, RecordedResponse.of(response, System.nanoTime() - start));
+    }
+    return response;
+  }
+
+  public Cassette getCassette() {
+    return cassette;
+  }
+}
@@ -0,0 +1,31 @@
+package com.openevals4j.metrics.cassette;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import lombok.Builder;
+import lombok.Getter;
+
+/** Settings for a {@link ReplayingChatLanguageModel}. */
+@Getter
+@Builder
+public class ReplayOptions {
+
+  /**
+   * Whether each response is returned after its recorded latency, to reproduce the timing of the
+   * recorded run; otherwise responses are returned immediately.
+   */
+  @Builder.Default private final boolean replayLatency = false;
+
+  /** Factor the recorded latencies are multiplied by when they are replayed. */
+  @Builder.Default private final double latencyScale = 1.0;
+
+  /**
+   * Model that answers requests missing from the cassette, for example a live judge wrapped in a
+   * {@link RecordingChatLanguageModel} to extend the recording. When {@code null}, such requests
+   * fail.
+   */
+  private final ChatLanguageModel fallback;
+
+  public static ReplayOptions defaults() {
+    return ReplayOptions.builder().build();
+  }
+}
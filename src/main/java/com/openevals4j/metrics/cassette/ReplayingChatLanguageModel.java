@@ -0,0 +1,81 @@
+package com.openevals4j.metrics.cassette;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.Response;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluator LLM answering from a {@link Cassette}: each request gets the response recorded for it,
+ * with its recorded token usage, immediately or after its recorded latency. A request that was not
+ * recorded is sent to the fallback model when there is one and fails otherwise, so that a changed
+ * prompt is noticed rather than silently answered by a live judge.
+ */
+public class ReplayingChatLanguageModel implements ChatLanguageModel {
+
+  private final Cassette cassette;
+  private final ReplayOptions options;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  public ReplayingChatLanguageModel(Cassette cassette) {
+    this(cassette, ReplayOptions.defaults());
+  }
+
+  public ReplayingChatLanguageModel(Cassette cassette, ReplayOptions options) {
+    this.cassette = cassette;
+    this.options = options;
+  }
+
+  @Override
+  public ChatResponse chat(ChatRequest chatRequest) {
+    RecordedResponse recorded = cassette.get(chatRequest);
+    if (recorded == null) {
+      misses.increment();
+      if (options.getFallback() == null) {
+        throw new IllegalStateException(
+            "No recorded judge response for request " + Cassette.fingerprint(chatRequest));
+      }
+      return options.getFallback().chat(chatRequest);
+    }
+
+    hits.increment();
+    if (options.isReplayLatency()) {
+      sleep((long) (recorded.latencyNanos() * options.getLatencyScale()));
+    }
+    return recorded.toChatResponse();
+  }
+
+  @Override
+  public Response<AiMessage> generate(List<ChatMessage> messages) {
+    ChatResponse response = chat(ChatRequest.builder().messages(messages).build());
+    return Response.from(response.aiMessage(), response.tokenUsage());
+  }
+
+  /** Requests answered from the cassette. */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /** Requests that were not recorded. */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  private static void sleep(long nanos) {
+    if (nanos <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while replaying judge latency", exception);
+    }
+  }
+}
@@ -1,36 +1,35 @@
 package com.openevals4j.metrics.contextualprecision;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.openevals4j.metrics.Constants;
 import com.openevals4j.metrics.MetricName;
-import com.openevals4j.metrics.VerdictBasedMetric;
+import com.openevals4j.metrics.ReasoningMode;
+import com.openevals4j.metrics.RetrievalVerdictBasedMetric;
 import com.openevals4j.metrics.models.EvaluationContext;
-import com.openevals4j.metrics.models.EvaluationResult;
 import com.openevals4j.metrics.models.VerdictWithReason;
+import com.openevals4j.metrics.utils.JudgePrompt;
+import com.openevals4j.metrics.utils.PromptTemplate;
 import dev.langchain4j.model.chat.ChatLanguageModel;
-import dev.langchain4j.model.chat.response.ChatResponse;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.Builder;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
-public class ContextualPrecisionMetric extends VerdictBasedMetric {
+public class ContextualPrecisionMetric extends RetrievalVerdictBasedMetric {
 
   private final String verdictGenerationPrompt;
   private final String reasonGenerationPrompt;
+  private final PromptTemplate verdictPromptTemplate;
+  private final PromptTemplate reasonPromptTemplate;
 
   @Builder
   public ContextualPrecisionMetric(
       ChatLanguageModel evaluatorLLM,
       ObjectMapper objectMapper,
       String verdictGenerationPrompt,
-      String reasonGenerationPrompt) {
-    super(MetricName.CONTEXTUAL_PRECISION, evaluatorLLM, objectMapper);
+      String reasonGenerationPrompt,
+      ReasoningMode reasoningMode) {
+    super(MetricName.CONTEXTUAL_PRECISION, evaluatorLLM, objectMapper, reasoningMode);
     this.verdictGenerationPrompt =
         verdictGenerationPrompt != null
             ? verdictGenerationPrompt
@@ -39,32 +38,21 @@ public class ContextualPrecisionMetric extends VerdictBasedMetric {
         reasonGenerationPrompt != null
             ? reasonGenerationPrompt
             : ContextualPrecisionPromptConstants.REASON_GENERATION_PROMPT;
+    this.verdictPromptTemplate = PromptTemplate.compile(this.verdictGenerationPrompt);
+    this.reasonPromptTemplate = PromptTemplate.compile(this.reasonGenerationPrompt);
   }
 
   @Override
-  public EvaluationResult evaluate(EvaluationContext evaluationContext) {
-    validateEvaluationContext(evaluationContext);
-
-    try {
-      List<VerdictWithReason> verdicts =
-          generateVerdicts(
-              evaluationContext.getUserInput(),
-              evaluationContext.getExpectedResponse(),
-              evaluationContext.getRetrievedContexts());
-      double score = calculateScore(verdicts);
-      String reason = generateReason(evaluationContext.getUserInput(), score, verdicts);
-      return EvaluationResult.builder().score(score).reasoning(reason).build();
-    } catch (Exception exception) {
-      log.error(
-          "Error occurred while evaluating contextual precision metric for evaluation context {}",
-          evaluationContext,
-          exception);
-      return getDefaultEvaluationResult();
-    }
+  protected JudgePrompt buildVerdictPrompt(EvaluationContext evaluationContext) {
+    return getGenerateVerdictsPrompt(
+        evaluationContext.getUserInput(),
+        evaluationContext.getExpectedResponse(),
+        evaluationContext.getRetrievedContexts());
   }
 
-  private String generateReason(String input, double score, List<VerdictWithReason> verdicts)
-      throws JsonProcessingException {
+  @Override
+  protected JudgePrompt buildReasonPrompt(
+      EvaluationContext evaluationContext, double score, List<VerdictWithReason> verdicts) {
     List<Map<String, String>> retrievalContextsVerdicts =
         verdicts.stream()
             .map(
@@ -76,37 +64,12 @@ public class ContextualPrecisionMetric extends VerdictBasedMetric {
                 })
             .toList();
 
-    String prompt = String.format(reasonGenerationPrompt, score, input, retrievalContextsVerdicts);
-
-    ChatResponse response =
-        getEvaluatorLLM().chat(buildChatRequest(prompt, getReasonResponseFormat()));
-
-    String content = response.aiMessage().text();
-
-    return extractReason(content);
-  }
-
-  private List<VerdictWithReason> generateVerdicts(
-      String input, String expectedOutput, List<String> retrievalContext)
-      throws JsonProcessingException {
-
-    String prompt = getGenerateVerdictsPrompt(input, expectedOutput, retrievalContext);
-
-    ChatResponse response =
-        getEvaluatorLLM().chat(buildChatRequest(prompt, getVerdictResponseFormat()));
-
-    String content = response.aiMessage().text();
-
-    Map<String, List<VerdictWithReason>> wrapper =
-        getObjectMapper().readValue(content, new TypeReference<>() {});
-    return wrapper.get("verdicts");
-  }
-
-  private String extractReason(String jsonString) throws JsonProcessingException {
-    return (String) getObjectMapper().readValue(jsonString, Map.class).get("reason");
+    return reasonPromptTemplate.renderPrompt(
+        score, evaluationContext.getUserInput(), retrievalContextsVerdicts);
   }
 
-  private double calculateScore(List<VerdictWithReason> verdicts) {
+  @Override
+  protected double calculateScore(List<VerdictWithReason> verdicts) {
     int numberOfVerdicts = verdicts.size();
     if (numberOfVerdicts == 0) {
       return 0;
@@ -114,8 +77,7 @@ public class ContextualPrecisionMetric extends VerdictBasedMetric {
 
     List<Integer> nodeVerdicts = new ArrayList<>();
     for (VerdictWithReason verdict : verdicts) {
-      nodeVerdicts.add(
-          Constants.YES_SMALL_CASE.equalsIgnoreCase(verdict.getVerdict().trim()) ? 1 : 0);
+      nodeVerdicts.add(verdict.isYes() ? 1 : 0);
     }
 
     double sumWeightedPrecisionAtK = 0.0;
@@ -135,7 +97,7 @@ public class ContextualPrecisionMetric extends VerdictBasedMetric {
     return sumWeightedPrecisionAtK / relevantNodesCount;
   }
 
-  private String getGenerateVerdictsPrompt(
+  private JudgePrompt getGenerateVerdictsPrompt(
       String input, String expectedOutput, List<String> retrievalContext) {
     String documentCountStr =
         " ("
@@ -143,8 +105,13 @@ public class ContextualPrecisionMetric extends VerdictBasedMetric {
             + " document"
             + (retrievalContext.size() > 1 ? "s" : "")
             + ")";
-    return String.format(
-        verdictGenerationPrompt, input, expectedOutput, documentCountStr, retrievalContext);
+    return verdictPromptTemplate.renderPrompt(
+        input, expectedOutput, documentCountStr, retrievalContext);
+  }
+
+  @Override
+  protected List<Object> getConfigurationParts() {
+    return List.of(verdictGenerationPrompt, reasonGenerationPrompt, getReasoningMode());
   }
 
   @Override
@@ -1,35 +1,33 @@
 package com.openevals4j.metrics.contextualrecall;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.openevals4j.metrics.Constants;
 import com.openevals4j.metrics.MetricName;
+import com.openevals4j.metrics.ReasoningMode;
 import com.openevals4j.metrics.VerdictBasedMetric;
 import com.openevals4j.metrics.models.EvaluationContext;
-import com.openevals4j.metrics.models.EvaluationResult;
 import com.openevals4j.metrics.models.VerdictWithReason;
+import com.openevals4j.metrics.utils.JudgePrompt;
+import com.openevals4j.metrics.utils.PromptTemplate;
 import dev.langchain4j.model.chat.ChatLanguageModel;
-import dev.langchain4j.model.chat.response.ChatResponse;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import lombok.Builder;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
 public class ContextualRecallMetric extends VerdictBasedMetric {
 
   private final String verdictGenerationPrompt;
   private final String reasonGenerationPrompt;
+  private final PromptTemplate verdictPromptTemplate;
+  private final PromptTemplate reasonPromptTemplate;
 
   @Builder
   public ContextualRecallMetric(
       ChatLanguageModel evaluatorLLM,
       ObjectMapper objectMapper,
       String verdictGenerationPrompt,
-      String reasonGenerationPrompt) {
-    super(MetricName.CONTEXTUAL_RECALL, evaluatorLLM, objectMapper);
+      String reasonGenerationPrompt,
+      ReasoningMode reasoningMode) {
+    super(MetricName.CONTEXTUAL_RECALL, evaluatorLLM, objectMapper, reasoningMode);
     this.verdictGenerationPrompt =
         verdictGenerationPrompt != null
             ? verdictGenerationPrompt
@@ -38,77 +36,36 @@ public class ContextualRecallMetric extends VerdictBasedMetric {
         reasonGenerationPrompt != null
             ? reasonGenerationPrompt
             : ContextualRecallPromptConstants.REASON_GENERATION_PROMPT;
+    this.verdictPromptTemplate = PromptTemplate.compile(this.verdictGenerationPrompt);
+    this.reasonPromptTemplate = PromptTemplate.compile(this.reasonGenerationPrompt);
   }
 
   @Override
-  public EvaluationResult evaluate(EvaluationContext evaluationContext) {
-    validateEvaluationContext(evaluationContext);
-    try {
-      List<VerdictWithReason> verdicts =
-          generateVerdicts(
-              evaluationContext.getExpectedResponse(), evaluationContext.getRetrievedContexts());
-      double score = calculateScore(verdicts);
-      String reason = generateReason(evaluationContext.getExpectedResponse(), score, verdicts);
-      return EvaluationResult.builder().score(score).reasoning(reason).build();
-    } catch (Exception exception) {
-      log.error(
-          "Error occurred while evaluating contextual recall metric for evaluation context {}",
-          evaluationContext,
-          exception);
-      return getDefaultEvaluationResult();
-    }
+  protected JudgePrompt buildVerdictPrompt(EvaluationContext evaluationContext) {
+    return verdictPromptTemplate.renderPrompt(
+        evaluationContext.getExpectedResponse(), evaluationContext.getRetrievedContexts());
   }
 
-  private String generateReason(
-      String expectedResponse, double score, List<VerdictWithReason> verdicts)
-      throws JsonProcessingException {
+  @Override
+  protected JudgePrompt buildReasonPrompt(
+      EvaluationContext evaluationContext, double score, List<VerdictWithReason> verdicts) {
     List<String> supportiveReasons = new ArrayList<>();
     List<String> unSupportiveReasons = new ArrayList<>();
 
     for (VerdictWithReason verdict : verdicts) {
-      if (Constants.YES_SMALL_CASE.equalsIgnoreCase(verdict.getVerdict().trim())) {
+      if (verdict.isYes()) {
         supportiveReasons.add(verdict.getReason());
       } else {
         unSupportiveReasons.add(verdict.getReason());
       }
     }
 
-    String prompt =
-        String.format(
-            reasonGenerationPrompt,
-            score,
-            expectedResponse,
-            supportiveReasons,
-            unSupportiveReasons);
-
-    ChatResponse response =
-        getEvaluatorLLM().chat(buildChatRequest(prompt, getReasonResponseFormat()));
-
-    String content = response.aiMessage().text();
-
-    return extractReason(content);
+    return reasonPromptTemplate.renderPrompt(
+        score, evaluationContext.getExpectedResponse(), supportiveReasons, unSupportiveReasons);
   }
 
-  private List<VerdictWithReason> generateVerdicts(
-      String expectedOutput, List<String> retrievalContext) throws JsonProcessingException {
-
-    String prompt = String.format(verdictGenerationPrompt, expectedOutput, retrievalContext);
-
-    ChatResponse response =
-        getEvaluatorLLM().chat(buildChatRequest(prompt, getVerdictResponseFormat()));
-
-    String content = response.aiMessage().text();
-
-    Map<String, List<VerdictWithReason>> wrapper =
-        getObjectMapper().readValue(content, new TypeReference<>() {});
-    return wrapper.get("verdicts");
-  }
-
-  private String extractReason(String jsonString) throws JsonProcessingException {
-    return (String) getObjectMapper().readValue(jsonString, Map.class).get("reason");
-  }
-
-  private double calculateScore(List<VerdictWithReason> verdicts) {
+  @Override
+  protected double calculateScore(List<VerdictWithReason> verdicts) {
     int numberOfVerdicts = verdicts.size();
 
     if (numberOfVerdicts == 0) {
@@ -118,7 +75,7 @@ public class ContextualRecallMetric extends VerdictBasedMetric {
     int justifiedVerdicts = 0;
 
     for (VerdictWithReason verdict : verdicts) {
-      if (Constants.YES_SMALL_CASE.equalsIgnoreCase(verdict.getVerdict().trim())) {
+      if (verdict.isYes()) {
         justifiedVerdicts++;
       }
     }
@@ -126,6 +83,11 @@ public class ContextualRecallMetric extends VerdictBasedMetric {
     return (double) justifiedVerdicts / numberOfVerdicts;
   }
 
+  @Override
+  protected List<Object> getConfigurationParts() {
+    return List.of(verdictGenerationPrompt, reasonGenerationPrompt, getReasoningMode());
+  }
+
   @Override
   protected List<String> getRequiredFieldsForValidation() {
     return List.of("expectedResponse", "retrievedContexts");
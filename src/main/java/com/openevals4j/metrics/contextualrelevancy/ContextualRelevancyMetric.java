@@ -1,35 +1,34 @@
 package com.openevals4j.metrics.contextualrelevancy;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.openevals4j.metrics.Constants;
 import com.openevals4j.metrics.MetricName;
-import com.openevals4j.metrics.VerdictBasedMetric;
+import com.openevals4j.metrics.ReasoningMode;
+import com.openevals4j.metrics.RetrievalVerdictBasedMetric;
 import com.openevals4j.metrics.models.EvaluationContext;
-import com.openevals4j.metrics.models.EvaluationResult;
 import com.openevals4j.metrics.models.VerdictWithReason;
+import com.openevals4j.metrics.utils.JudgePrompt;
+import com.openevals4j.metrics.utils.PromptTemplate;
 import dev.langchain4j.model.chat.ChatLanguageModel;
-import dev.langchain4j.model.chat.response.ChatResponse;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.Builder;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
-public class ContextualRelevancyMetric extends VerdictBasedMetric {
+public class ContextualRelevancyMetric extends RetrievalVerdictBasedMetric {
 
   private final String verdictGenerationPrompt;
   private final String reasonGenerationPrompt;
+  private final PromptTemplate verdictPromptTemplate;
+  private final PromptTemplate reasonPromptTemplate;
 
   @Builder
   public ContextualRelevancyMetric(
       ChatLanguageModel evaluatorLLM,
       ObjectMapper objectMapper,
       String verdictGenerationPrompt,
-      String reasonGenerationPrompt) {
-    super(MetricName.CONTEXTUAL_RELEVANCY, evaluatorLLM, objectMapper);
+      String reasonGenerationPrompt,
+      ReasoningMode reasoningMode) {
+    super(MetricName.CONTEXTUAL_RELEVANCY, evaluatorLLM, objectMapper, reasoningMode);
     this.verdictGenerationPrompt =
         verdictGenerationPrompt != null
             ? verdictGenerationPrompt
@@ -38,30 +37,19 @@ public class ContextualRelevancyMetric extends VerdictBasedMetric {
         reasonGenerationPrompt != null
             ? reasonGenerationPrompt
             : ContextualRelevancyPromptConstants.REASON_GENERATION_PROMPT;
+    this.verdictPromptTemplate = PromptTemplate.compile(this.verdictGenerationPrompt);
+    this.reasonPromptTemplate = PromptTemplate.compile(this.reasonGenerationPrompt);
   }
 
   @Override
-  public EvaluationResult evaluate(EvaluationContext evaluationContext) {
-    validateEvaluationContext(evaluationContext);
-
-    try {
-      List<VerdictWithReason> verdicts =
-          generateVerdicts(
-              evaluationContext.getUserInput(), evaluationContext.getRetrievedContexts());
-      double score = calculateScore(verdicts);
-      String reason = generateReason(evaluationContext.getUserInput(), score, verdicts);
-      return EvaluationResult.builder().score(score).reasoning(reason).build();
-    } catch (Exception exception) {
-      log.error(
-          "Error occurred while evaluating contextual relevancy metric for evaluation context {}",
-          evaluationContext,
-          exception);
-      return getDefaultEvaluationResult();
-    }
+  protected JudgePrompt buildVerdictPrompt(EvaluationContext evaluationContext) {
+    return getGenerateVerdictsPrompt(
+        evaluationContext.getUserInput(), evaluationContext.getRetrievedContexts());
   }
 
-  private String generateReason(String input, double score, List<VerdictWithReason> verdicts)
-      throws JsonProcessingException {
+  @Override
+  protected JudgePrompt buildReasonPrompt(
+      EvaluationContext evaluationContext, double score, List<VerdictWithReason> verdicts) {
     List<Map<String, String>> retrievalContextsVerdicts =
         verdicts.stream()
             .map(
@@ -73,58 +61,34 @@ public class ContextualRelevancyMetric extends VerdictBasedMetric {
                 })
             .toList();
 
-    String prompt = String.format(reasonGenerationPrompt, score, input, retrievalContextsVerdicts);
-
-    ChatResponse response =
-        getEvaluatorLLM().chat(buildChatRequest(prompt, getReasonResponseFormat()));
-
-    String content = response.aiMessage().text();
-
-    return extractReason(content);
+    return reasonPromptTemplate.renderPrompt(
+        score, evaluationContext.getUserInput(), retrievalContextsVerdicts);
   }
 
-  private List<VerdictWithReason> generateVerdicts(String input, List<String> retrievalContext)
-      throws JsonProcessingException {
-
-    String prompt = getGenerateVerdictsPrompt(input, retrievalContext);
-
-    ChatResponse response =
-        getEvaluatorLLM().chat(buildChatRequest(prompt, getVerdictResponseFormat()));
-
-    String content = response.aiMessage().text();
-
-    Map<String, List<VerdictWithReason>> wrapper =
-        getObjectMapper().readValue(content, new TypeReference<>() {});
-    return wrapper.get("verdicts");
-  }
-
-  private String extractReason(String jsonString) throws JsonProcessingException {
-    return (String) getObjectMapper().readValue(jsonString, Map.class).get("reason");
-  }
-
-  private double calculateScore(List<VerdictWithReason> verdicts) {
+  @Override
+  protected double calculateScore(List<VerdictWithReason> verdicts) {
     if (verdicts.isEmpty()) {
       return 0.0;
     }
 
-    long relevantCount =
-        verdicts.stream()
-            .mapToLong(
-                verdict ->
-                    Constants.YES_SMALL_CASE.equalsIgnoreCase(verdict.getVerdict().trim()) ? 1 : 0)
-            .sum();
+    long relevantCount = verdicts.stream().mapToLong(verdict -> verdict.isYes() ? 1 : 0).sum();
 
     return (double) relevantCount / verdicts.size();
   }
 
-  private String getGenerateVerdictsPrompt(String input, List<String> retrievalContext) {
+  private JudgePrompt getGenerateVerdictsPrompt(String input, List<String> retrievalContext) {
     String documentCountStr =
         " ("
             + retrievalContext.size()
             + " document"
             + (retrievalContext.size() > 1 ? "s" : "")
             + ")";
-    return String.format(verdictGenerationPrompt, input, documentCountStr, retrievalContext);
+    return verdictPromptTemplate.renderPrompt(input, documentCountStr, retrievalContext);
+  }
+
+  @Override
+  protected List<Object> getConfigurationParts() {
+    return List.of(verdictGenerationPrompt, reasonGenerationPrompt, getReasoningMode());
   }
 
   @Override
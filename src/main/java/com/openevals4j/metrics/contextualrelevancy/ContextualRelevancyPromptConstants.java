@@ -2,6 +2,26 @@ package com.openevals4j.metrics.contextualrelevancy;
 
 public class ContextualRelevancyPromptConstants {
 
+  /**
+   * What makes a retrieved node relevant. Shared with the fused retrieval prompt, so that fused and
+   * unfused relevancy verdicts follow the same criteria.
+   */
+  public static final String EVALUATION_CRITERIA =
+      """
+                    ## Evaluation Criteria
+                    A context node is relevant if it:
+                    - Directly answers or helps answer the user's question
+                    - Provides supporting information related to the topic
+                    - Contains facts, definitions, or explanations that are useful for the query
+                    - Offers background information that enhances understanding of the topic
+
+                    A context node is NOT relevant if it:
+                    - Discusses completely unrelated topics
+                    - Contains information that doesn't help answer the question
+                    - Provides irrelevant details that don't contribute to understanding
+                    - Is off-topic or tangential to the user's query
+                    """;
+
   public static final String VERDICT_GENERATION_PROMPT =
       """
                     Given the user input and retrieval context, please generate a list of JSON objects to determine whether each node in the retrieval context is relevant to answering the user's question.
@@ -33,18 +53,9 @@ public class ContextualRelevancyPromptConstants {
 
                     Since you are going to generate a verdict for each context, the number of 'verdicts' SHOULD BE STRICTLY EQUAL to that of the contexts.
 
-                    ## Evaluation Criteria
-                    A context node is relevant if it:
-                    - Directly answers or helps answer the user's question
-                    - Provides supporting information related to the topic
-                    - Contains facts, definitions, or explanations that are useful for the query
-                    - Offers background information that enhances understanding of the topic
-
-                    A context node is NOT relevant if it:
-                    - Discusses completely unrelated topics
-                    - Contains information that doesn't help answer the question
-                    - Provides irrelevant details that don't contribute to understanding
-                    - Is off-topic or tangential to the user's query
+                    """
+          + EVALUATION_CRITERIA
+          + """
                     **
 
                     Input:
@@ -0,0 +1,116 @@
+package com.openevals4j.metrics.evaluator;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit adjusted with additive-increase/multiplicative-decrease. Every successful call
+ * that completes within the latency threshold grows the limit by roughly one per round of calls; a
+ * throttled call, or one slower than the threshold, shrinks it multiplicatively. Decreases are
+ * spaced by a cooldown so a burst of rejections from the same window counts once.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private static final double LATENCY_BACKOFF_RATIO = 0.9;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final long latencyThresholdNanos;
+  private final long decreaseCooldownNanos;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition permitReleased = lock.newCondition();
+
+  private double limit;
+  private int inFlight;
+  private long lastDecreaseNanos;
+
+  public AdaptiveConcurrencyLimiter(
+      int initialLimit,
+      int minLimit,
+      int maxLimit,
+      double backoffRatio,
+      Duration latencyThreshold,
+      Duration decreaseCooldown) {
+    if (minLimit < 1 || maxLimit < minLimit) {
+      throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+    }
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.backoffRatio = backoffRatio;
+    this.latencyThresholdNanos = latencyThreshold != null ? latencyThreshold.toNanos() : 0;
+    this.decreaseCooldownNanos = decreaseCooldown != null ? decreaseCooldown.toNanos() : 0;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    this.lastDecreaseNanos = System.nanoTime() - this.decreaseCooldownNanos;
+  }
+
+  /** Blocks until the number of calls in flight is below the current limit. */
+  public void acquire() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (inFlight >= (int) limit) {
+        permitReleased.await();
+      }
+      inFlight++;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Releases a permit and adjusts the limit from the outcome of the call.
+   *
+   * @param latencyNanos How long the call took
+   * @param throttled Whether the provider rejected the call as throttled
+   * @param failed Whether the call failed for any other reason; such calls do not adjust the limit
+   */
+  public void release(long latencyNanos, boolean throttled, boolean failed) {
+    lock.lock();
+    try {
+      inFlight--;
+      if (throttled) {
+        decrease(backoffRatio);
+      } else if (!failed) {
+        if (latencyThresholdNanos > 0 && latencyNanos > latencyThresholdNanos) {
+          decrease(LATENCY_BACKOFF_RATIO);
+        } else {
+          limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+      }
+      permitReleased.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getLimit() {
+    lock.lock();
+    try {
+      return (int) limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getInFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void decrease(double ratio) {
+    long now = System.nanoTime();
+    if (now - lastDecreaseNanos >= decreaseCooldownNanos) {
+      limit = Math.max(minLimit, limit * ratio);
+      lastDecreaseNanos = now;
+    }
+  }
+}
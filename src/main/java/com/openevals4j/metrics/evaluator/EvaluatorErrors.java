@@ -0,0 +1,96 @@
+package com.openevals4j.metrics.evaluator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.openevals4j.metrics.exception.EvaluationContextValidationException;
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Classifies exceptions thrown by evaluator LLM calls. Failures that are deterministic, an
+ * unparseable response, an invalid argument or an invalid evaluation context, are never transient,
+ * whatever their message says: Jackson messages quote the judge's output and source locations such
+ * as {@code column: 500}.
+ */
+public class EvaluatorErrors {
+
+  private static final Pattern THROTTLING =
+      Pattern.compile(
+          "\\b(?:429|too many requests|resource_exhausted|quota)\\b|\\brate[ _-]?limit",
+          Pattern.CASE_INSENSITIVE);
+
+  private static final Pattern TRANSIENT =
+      Pattern.compile(
+          "\\b(?:500|502|503|504|internal server error|bad gateway|service unavailable"
+              + "|unavailable|overloaded|timeout|timed out|connection reset)\\b",
+          Pattern.CASE_INSENSITIVE);
+
+  private EvaluatorErrors() {}
+
+  /**
+   * Returns whether the failure signals that the provider is throttling requests (HTTP 429 or a
+   * quota error). LangChain4j providers surface these as generic runtime exceptions, so the
+   * messages of the cause chain are searched for the status code and the usual wording, as whole
+   * words.
+   */
+  public static boolean isThrottling(Throwable throwable) {
+    if (isDeterministic(throwable)) {
+      return false;
+    }
+    for (Throwable current = throwable; current != null; current = current.getCause()) {
+      if (matches(current, THROTTLING)) {
+        return true;
+      }
+      if (current.getCause() == current) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns whether the failure is transient: throttling, a timeout, an I/O error or a 5xx response
+   * from the provider. Invalid requests, validation failures and unparseable responses are not
+   * retryable.
+   */
+  public static boolean isRetryable(Throwable throwable) {
+    if (isDeterministic(throwable)) {
+      return false;
+    }
+    if (isThrottling(throwable)) {
+      return true;
+    }
+    for (Throwable current = throwable; current != null; current = current.getCause()) {
+      if (current instanceof IOException || current instanceof TimeoutException) {
+        return true;
+      }
+      if (matches(current, TRANSIENT)) {
+        return true;
+      }
+      if (current.getCause() == current) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  /** Whether the cause chain holds a failure that would happen again on every attempt. */
+  private static boolean isDeterministic(Throwable throwable) {
+    for (Throwable current = throwable; current != null; current = current.getCause()) {
+      if (current instanceof JsonProcessingException
+          || current instanceof IllegalArgumentException
+          || current instanceof EvaluationContextValidationException) {
+        return true;
+      }
+      if (current.getCause() == current) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  private static boolean matches(Throwable throwable, Pattern pattern) {
+    String message = throwable.getMessage();
+    return message != null && pattern.matcher(message).find();
+  }
+}
@@ -0,0 +1,57 @@
+package com.openevals4j.metrics.evaluator;
+
+import dev.langchain4j.agent.tool.ToolSpecification;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.Response;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+
+/**
+ * Base class for decorators of the evaluator LLM. Every call is forwarded to the delegate;
+ * decorators override {@link #chat(ChatRequest)}, which is the only entry point the metrics use.
+ */
+@Getter
+public abstract class ForwardingChatLanguageModel implements ChatLanguageModel {
+
+  private final ChatLanguageModel delegate;
+
+  protected ForwardingChatLanguageModel(ChatLanguageModel delegate) {
+    if (delegate == null) {
+      throw new IllegalArgumentException("Delegate chat language model must be provided");
+    }
+    this.delegate = delegate;
+  }
+
+  @Override
+  public ChatResponse chat(ChatRequest chatRequest) {
+    return delegate.chat(chatRequest);
+  }
+
+  @Override
+  public Response<AiMessage> generate(List<ChatMessage> messages) {
+    return delegate.generate(messages);
+  }
+
+  @Override
+  public Response<AiMessage> generate(
+      List<ChatMessage> messages, List<ToolSpecification> toolSpecifications) {
+    return delegate.generate(messages, toolSpecifications);
+  }
+
+  @Override
+  public Response<AiMessage> generate(
+      List<ChatMessage> messages, ToolSpecification toolSpecification) {
+    return delegate.generate(messages, toolSpecification);
+  }
+
+  @Override
+  public Set<Capability> supportedCapabilities() {
+    return delegate.supportedCapabilities();
+  }
+}
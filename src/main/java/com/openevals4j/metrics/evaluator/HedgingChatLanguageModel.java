@@ -0,0 +1,210 @@
+package com.openevals4j.metrics.evaluator;
+
+import com.openevals4j.metrics.models.JudgeUsage;
+import com.openevals4j.metrics.usage.JudgeUsageCounter;
+import com.openevals4j.metrics.utils.EvaluatorExecutors;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evaluator LLM decorator that cuts tail latency by hedging slow calls: when a call has not
+ * returned after the hedge delay, an identical request is sent and whichever response arrives first
+ * is returned. The delay is either fixed or follows a percentile of recently observed latencies,
+ * and the share of hedged calls is capped by {@link HedgingOptions#getMaxHedgeRate()}.
+ *
+ * <p>The losing request is not aborted at the provider (the client calls are blocking), its
+ * response is discarded. It is still paid for: its token usage is counted in {@link
+ * #getDiscardedUsage()}, which {@code EvaluationSuite#getUsageReport} reports on its own line. Wrap
+ * this decorator inside a rate limiter so hedges count against the same budget as regular calls.
+ */
+@Slf4j
+public class HedgingChatLanguageModel extends ForwardingChatLanguageModel {
+
+  private final HedgingOptions options;
+  private final Executor executor;
+  private final LatencyWindow latencies;
+  private final AtomicLong calls = new AtomicLong();
+  private final AtomicLong hedgedCalls = new AtomicLong();
+  private final AtomicLong hedgeWins = new AtomicLong();
+  private final JudgeUsageCounter discardedUsage = new JudgeUsageCounter();
+
+  private double hedgeBudget;
+
+  public HedgingChatLanguageModel(ChatLanguageModel delegate, HedgingOptions options) {
+    super(delegate);
+    if (options.getMaxHedgeRate() < 0 || options.getMaxHedgeRate() > 1) {
+      throw new IllegalArgumentException("maxHedgeRate must be between 0 and 1");
+    }
+    this.options = options;
+    this.executor =
+        options.getExecutor() != null
+            ? options.getExecutor()
+            : EvaluatorExecutors.defaultExecutor();
+    this.latencies =
+        new LatencyWindow(options.getLatencyWindowSize(), options.getLatencyPercentile());
+  }
+
+  @Override
+  public ChatResponse chat(ChatRequest chatRequest) {
+    calls.incrementAndGet();
+    depositHedgeBudget();
+
+    CompletableFuture<ChatResponse> primary = send(chatRequest);
+    long hedgeDelayNanos = currentHedgeDelayNanos();
+    if (hedgeDelayNanos < 0) {
+      return await(primary);
+    }
+
+    try {
+      return primary.get(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+    } catch (TimeoutException exception) {
+      if (!tryWithdrawHedgeBudget()) {
+        return await(primary);
+      }
+    } catch (ExecutionException exception) {
+      throw rethrow(exception.getCause());
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the evaluator LLM", exception);
+    }
+
+    hedgedCalls.incrementAndGet();
+    log.debug(
+        "Evaluator LLM call exceeded {} ms, sending a hedged request", hedgeDelayNanos / 1_000_000);
+    CompletableFuture<ChatResponse> hedge = send(chatRequest);
+    return await(firstSuccessful(primary, hedge));
+  }
+
+  /** Returns the number of calls made through this model. */
+  public long getCalls() {
+    return calls.get();
+  }
+
+  /** Returns the number of calls for which a duplicate request was sent. */
+  public long getHedgedCalls() {
+    return hedgedCalls.get();
+  }
+
+  /** Returns the number of hedged calls answered by the duplicate rather than the original. */
+  public long getHedgeWins() {
+    return hedgeWins.get();
+  }
+
+  /**
+   * Returns the calls and tokens of responses that lost the race and were discarded. They are not
+   * part of any metric's usage, since the metrics only see the winning response.
+   */
+  public JudgeUsage getDiscardedUsage() {
+    return discardedUsage.snapshot();
+  }
+
+  /** Returns {@link #getDiscardedUsage()} and starts counting from zero. */
+  public JudgeUsage resetDiscardedUsage() {
+    return discardedUsage.reset();
+  }
+
+  /** Returns the delay after which a call is currently hedged, or -1 while hedging is inactive. */
+  public long getHedgeDelayMillis() {
+    long nanos = currentHedgeDelayNanos();
+    return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  private CompletableFuture<ChatResponse> send(ChatRequest chatRequest) {
+    long start = System.nanoTime();
+    CompletableFuture<ChatResponse> future =
+        CompletableFuture.supplyAsync(() -> getDelegate().chat(chatRequest), executor);
+    future.thenRun(() -> latencies.record(System.nanoTime() - start));
+    return future;
+  }
+
+  private long currentHedgeDelayNanos() {
+    if (options.getHedgeDelay() != null) {
+      return options.getHedgeDelay().toNanos();
+    }
+    if (latencies.size() < options.getMinSamples()) {
+      return -1;
+    }
+    return Math.max(options.getMinHedgeDelay().toNanos(), latencies.percentileNanos());
+  }
+
+  private synchronized void depositHedgeBudget() {
+    hedgeBudget = Math.min(options.getMaxHedgeBurst(), hedgeBudget + options.getMaxHedgeRate());
+  }
+
+  private synchronized boolean tryWithdrawHedgeBudget() {
+    if (hedgeBudget < 1) {
+      return false;
+    }
+    hedgeBudget -= 1;
+    return true;
+  }
+
+  /**
+   * Completes with the first successful response of the two requests, or with the primary request's
+   * failure when both fail. The first successful response claims the result before completing it,
+   * so a hedge win is counted exactly when the hedge's response is the one returned. The usage of a
+   * successful response that arrives second is counted as discarded.
+   */
+  private CompletableFuture<ChatResponse> firstSuccessful(
+      CompletableFuture<ChatResponse> primary, CompletableFuture<ChatResponse> hedge) {
+    CompletableFuture<ChatResponse> winner = new CompletableFuture<>();
+    AtomicInteger failures = new AtomicInteger();
+    AtomicBoolean answered = new AtomicBoolean();
+    primary.whenComplete(
+        (response, throwable) -> {
+          if (throwable == null) {
+            if (answered.compareAndSet(false, true)) {
+              winner.complete(response);
+            } else {
+              discardedUsage.record(response.tokenUsage());
+            }
+          } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(throwable);
+          }
+        });
+    hedge.whenComplete(
+        (response, throwable) -> {
+          if (throwable == null) {
+            if (answered.compareAndSet(false, true)) {
+              hedgeWins.incrementAndGet();
+              winner.complete(response);
+            } else {
+              discardedUsage.record(response.tokenUsage());
+            }
+          } else if (failures.incrementAndGet() == 2) {
+            primary.whenComplete(
+                (ignored, primaryFailure) -> winner.completeExceptionally(primaryFailure));
+          }
+        });
+    return winner;
+  }
+
+  private static ChatResponse await(CompletableFuture<ChatResponse> future) {
+    try {
+      return future.join();
+    } catch (CompletionException exception) {
+      throw rethrow(exception.getCause());
+    }
+  }
+
+  private static RuntimeException rethrow(Throwable cause) {
+    if (cause instanceof RuntimeException runtimeException) {
+      return runtimeException;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return new CompletionException(cause);
+  }
+}
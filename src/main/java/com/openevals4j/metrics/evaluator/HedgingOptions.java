@@ -0,0 +1,49 @@
+package com.openevals4j.metrics.evaluator;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import lombok.Builder;
+import lombok.Getter;
+
+/** Settings for {@link HedgingChatLanguageModel}. */
+@Getter
+@Builder
+public class HedgingOptions {
+
+  /**
+   * Fixed time after which a duplicate request is sent. When {@code null}, the delay follows the
+   * observed {@link #latencyPercentile} of recent calls instead.
+   */
+  private final Duration hedgeDelay;
+
+  /** Percentile of recent call latencies after which a call is hedged, between 0 and 1. */
+  @Builder.Default private final double latencyPercentile = 0.95;
+
+  /** Number of recent latencies kept to compute {@link #latencyPercentile}. */
+  @Builder.Default private final int latencyWindowSize = 512;
+
+  /** Calls observed before percentile-based hedging starts; until then no call is hedged. */
+  @Builder.Default private final int minSamples = 20;
+
+  /** Lower bound on the percentile-based delay, so a fast provider is not hedged constantly. */
+  @Builder.Default private final Duration minHedgeDelay = Duration.ofMillis(100);
+
+  /**
+   * Maximum fraction of calls that may be hedged, which bounds the extra cost to this share of
+   * requests. Hedges beyond the budget are skipped and the call simply waits for its response.
+   */
+  @Builder.Default private final double maxHedgeRate = 0.05;
+
+  /** Hedges that may be spent at once when the budget has built up. */
+  @Builder.Default private final int maxHedgeBurst = 10;
+
+  /**
+   * Executor the primary and hedged requests are run on. When {@code null}, the shared evaluator
+   * pool is used.
+   */
+  private final Executor executor;
+
+  public static HedgingOptions defaults() {
+    return HedgingOptions.builder().build();
+  }
+}
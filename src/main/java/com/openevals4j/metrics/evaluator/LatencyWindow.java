@@ -0,0 +1,52 @@
+package com.openevals4j.metrics.evaluator;
+
+import java.util.Arrays;
+
+/**
+ * Ring buffer of the most recent call latencies with a cached percentile. The percentile is
+ * recomputed every few recorded samples rather than on every read.
+ */
+class LatencyWindow {
+
+  private final long[] samples;
+  private final int refreshInterval;
+  private final double percentile;
+
+  private int size;
+  private int next;
+  private int recordedSinceRefresh;
+  private long cachedPercentileNanos = -1;
+
+  LatencyWindow(int capacity, double percentile) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("latencyWindowSize must be at least 1");
+    }
+    if (percentile <= 0 || percentile > 1) {
+      throw new IllegalArgumentException("latencyPercentile must be in (0, 1]");
+    }
+    this.samples = new long[capacity];
+    this.refreshInterval = Math.max(1, capacity / 16);
+    this.percentile = percentile;
+  }
+
+  synchronized void record(long latencyNanos) {
+    samples[next] = latencyNanos;
+    next = (next + 1) % samples.length;
+    size = Math.min(size + 1, samples.length);
+    if (++recordedSinceRefresh >= refreshInterval || cachedPercentileNanos < 0) {
+      long[] sorted = Arrays.copyOf(samples, size);
+      Arrays.sort(sorted);
+      cachedPercentileNanos = sorted[(int) Math.ceil(percentile * size) - 1];
+      recordedSinceRefresh = 0;
+    }
+  }
+
+  synchronized int size() {
+    return size;
+  }
+
+  /** Returns the latency at the configured percentile, or -1 when nothing was recorded. */
+  synchronized long percentileNanos() {
+    return cachedPercentileNanos;
+  }
+}
@@ -0,0 +1,138 @@
+package com.openevals4j.metrics.evaluator;
+
+import com.openevals4j.metrics.utils.ChatMessages;
+import com.openevals4j.metrics.utils.Fingerprints;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Evaluator LLM decorator that shows whether requests benefit from provider-side prompt caching.
+ * Every call is tallied by its prompt prefix, the leading system messages that metrics fill with
+ * their static instructions: a call whose prefix was already sent could be served from the
+ * provider's cache. Input tokens are read from {@link ChatResponse#tokenUsage()}; tokens the
+ * provider actually served from its cache are read with the extractor given to the constructor,
+ * since where providers report them differs.
+ *
+ * <p>Wrap the model passed to the metrics, run a batch, and compare {@link #getPrefixReuseRate()}
+ * with {@link #getCachedInputTokenRatio()}.
+ */
+public class PromptCacheMonitoringChatLanguageModel extends ForwardingChatLanguageModel {
+
+  private final ToLongFunction<ChatResponse> cachedInputTokensExtractor;
+  private final Set<String> seenPrefixes = ConcurrentHashMap.newKeySet();
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder callsReusingPrefix = new LongAdder();
+  private final LongAdder prefixCharacters = new LongAdder();
+  private final LongAdder totalCharacters = new LongAdder();
+  private final LongAdder inputTokens = new LongAdder();
+  private final LongAdder cachedInputTokens = new LongAdder();
+
+  public PromptCacheMonitoringChatLanguageModel(ChatLanguageModel delegate) {
+    this(delegate, null);
+  }
+
+  /**
+   * @param delegate The evaluator LLM
+   * @param cachedInputTokensExtractor Reads the number of input tokens served from the provider's
+   *     cache from a response, returning a negative value when the response does not report it;
+   *     {@code null} when the provider does not report cached tokens at all
+   */
+  public PromptCacheMonitoringChatLanguageModel(
+      ChatLanguageModel delegate, ToLongFunction<ChatResponse> cachedInputTokensExtractor) {
+    super(delegate);
+    this.cachedInputTokensExtractor = cachedInputTokensExtractor;
+  }
+
+  @Override
+  public ChatResponse chat(ChatRequest chatRequest) {
+    List<String> prefix = new ArrayList<>();
+    long prefixLength = 0;
+    for (ChatMessage message : chatRequest.messages()) {
+      if (!(message instanceof SystemMessage systemMessage)) {
+        break;
+      }
+      prefix.add(systemMessage.text());
+      prefixLength += systemMessage.text().length();
+    }
+
+    calls.increment();
+    if (!prefix.isEmpty() && !seenPrefixes.add(Fingerprints.sha256Hex(prefix))) {
+      callsReusingPrefix.increment();
+      prefixCharacters.add(prefixLength);
+    }
+    totalCharacters.add(ChatMessages.textLength(chatRequest.messages()));
+
+    ChatResponse response = getDelegate().chat(chatRequest);
+    TokenUsage tokenUsage = response.tokenUsage();
+    if (tokenUsage != null && tokenUsage.inputTokenCount() != null) {
+      inputTokens.add(tokenUsage.inputTokenCount());
+    }
+    if (cachedInputTokensExtractor != null) {
+      long cached = cachedInputTokensExtractor.applyAsLong(response);
+      if (cached > 0) {
+        cachedInputTokens.add(cached);
+      }
+    }
+    return response;
+  }
+
+  public long getCalls() {
+    return calls.sum();
+  }
+
+  /** Calls whose prompt prefix had been sent before, and so could be served from a cache. */
+  public long getCallsReusingPrefix() {
+    return callsReusingPrefix.sum();
+  }
+
+  /** Number of distinct prompt prefixes sent. */
+  public int getDistinctPrefixes() {
+    return seenPrefixes.size();
+  }
+
+  /** Share of calls reusing a prompt prefix, or NaN before the first call. */
+  public double getPrefixReuseRate() {
+    long total = calls.sum();
+    return total > 0 ? (double) callsReusingPrefix.sum() / total : Double.NaN;
+  }
+
+  /**
+   * Share of all prompt characters that belong to a reused prefix, an upper bound of the input the
+   * provider can serve from its cache, or NaN before the first call.
+   */
+  public double getReusablePrefixShare() {
+    long total = totalCharacters.sum();
+    return total > 0 ? (double) prefixCharacters.sum() / total : Double.NaN;
+  }
+
+  /** Input tokens reported by the provider. */
+  public long getInputTokens() {
+    return inputTokens.sum();
+  }
+
+  /** Input tokens the provider reported as served from its cache. */
+  public long getCachedInputTokens() {
+    return cachedInputTokens.sum();
+  }
+
+  /**
+   * Share of input tokens served from the provider's cache, or NaN when no input tokens or no
+   * cached token counts were reported.
+   */
+  public double getCachedInputTokenRatio() {
+    long total = inputTokens.sum();
+    return total > 0 && cachedInputTokensExtractor != null
+        ? (double) cachedInputTokens.sum() / total
+        : Double.NaN;
+  }
+}
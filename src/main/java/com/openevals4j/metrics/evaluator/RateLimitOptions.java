@@ -0,0 +1,41 @@
+package com.openevals4j.metrics.evaluator;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+import lombok.Builder;
+import lombok.Getter;
+
+/** Limits applied by a {@link RateLimitedChatLanguageModel}. A limit of zero is disabled. */
+@Getter
+@Builder
+public class RateLimitOptions {
+
+  /** Maximum sustained requests per second; bursts of up to one second's worth are allowed. */
+  private final double requestsPerSecond;
+
+  /** Maximum sustained input plus output tokens per minute. */
+  private final long tokensPerMinute;
+
+  /** Concurrency limit the adaptive controller starts from. */
+  @Builder.Default private final int initialConcurrency = 4;
+
+  @Builder.Default private final int minConcurrency = 1;
+
+  @Builder.Default private final int maxConcurrency = 64;
+
+  /** Factor the concurrency limit is multiplied by when the provider throttles a call. */
+  @Builder.Default private final double backoffRatio = 0.5;
+
+  /**
+   * Calls slower than this are treated as a sign of saturation and shrink the concurrency limit
+   * slightly. When {@code null}, only throttling shrinks the limit.
+   */
+  private final Duration latencyThreshold;
+
+  /** Minimum time between two decreases of the concurrency limit. */
+  @Builder.Default private final Duration decreaseCooldown = Duration.ofSeconds(1);
+
+  /** Decides whether a failed call was throttled by the provider. */
+  @Builder.Default
+  private final Predicate<Throwable> throttlingClassifier = EvaluatorErrors::isThrottling;
+}
@@ -0,0 +1,119 @@
+package com.openevals4j.metrics.evaluator;
+
+import com.openevals4j.metrics.utils.ChatMessages;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evaluator LLM decorator that keeps calls within the provider's capacity. Requests pass a
+ * requests-per-second and a tokens-per-minute token bucket and then an {@link
+ * AdaptiveConcurrencyLimiter} that backs off when the provider throttles.
+ *
+ * <p>Limits are per instance: wrap the model once and pass the same instance to every metric (or
+ * {@code EvaluationSuite}) that talks to that provider, so they all draw from the same budget.
+ * Throttled calls still fail; combine with a retrying decorator to re-issue them.
+ */
+@Slf4j
+public class RateLimitedChatLanguageModel extends ForwardingChatLanguageModel {
+
+  private static final int CHARACTERS_PER_TOKEN = 4;
+
+  private final TokenBucket requestBucket;
+  private final TokenBucket tokenBucket;
+  private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+  private final Predicate<Throwable> throttlingClassifier;
+  private final AtomicLong throttledCalls = new AtomicLong();
+
+  public RateLimitedChatLanguageModel(ChatLanguageModel delegate, RateLimitOptions options) {
+    super(delegate);
+    this.requestBucket =
+        options.getRequestsPerSecond() > 0
+            ? new TokenBucket(
+                Math.max(1, options.getRequestsPerSecond()), options.getRequestsPerSecond())
+            : null;
+    this.tokenBucket =
+        options.getTokensPerMinute() > 0
+            ? new TokenBucket(options.getTokensPerMinute(), options.getTokensPerMinute() / 60.0)
+            : null;
+    this.concurrencyLimiter =
+        new AdaptiveConcurrencyLimiter(
+            options.getInitialConcurrency(),
+            options.getMinConcurrency(),
+            options.getMaxConcurrency(),
+            options.getBackoffRatio(),
+            options.getLatencyThreshold(),
+            options.getDecreaseCooldown());
+    this.throttlingClassifier = options.getThrottlingClassifier();
+  }
+
+  @Override
+  public ChatResponse chat(ChatRequest chatRequest) {
+    long estimatedTokens = estimateInputTokens(chatRequest.messages());
+    try {
+      if (requestBucket != null) {
+        requestBucket.acquire(1);
+      }
+      if (tokenBucket != null) {
+        tokenBucket.acquire(estimatedTokens);
+      }
+      concurrencyLimiter.acquire();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(
+          "Interrupted while waiting for evaluator capacity", exception);
+    }
+
+    long start = System.nanoTime();
+    boolean throttled = false;
+    boolean failed = false;
+    try {
+      ChatResponse response = getDelegate().chat(chatRequest);
+      reconcileTokens(estimatedTokens, response.tokenUsage());
+      return response;
+    } catch (RuntimeException exception) {
+      failed = true;
+      throttled = throttlingClassifier.test(exception);
+      if (throttled) {
+        throttledCalls.incrementAndGet();
+        log.warn(
+            "Evaluator LLM throttled the call, concurrency limit is {}",
+            concurrencyLimiter.getLimit());
+      }
+      throw exception;
+    } finally {
+      concurrencyLimiter.release(System.nanoTime() - start, throttled, failed && !throttled);
+    }
+  }
+
+  /** Returns the concurrency limit currently enforced by the adaptive controller. */
+  public int getConcurrencyLimit() {
+    return concurrencyLimiter.getLimit();
+  }
+
+  public int getInFlightCalls() {
+    return concurrencyLimiter.getInFlight();
+  }
+
+  public long getThrottledCalls() {
+    return throttledCalls.get();
+  }
+
+  private void reconcileTokens(long estimatedTokens, TokenUsage tokenUsage) {
+    if (tokenBucket == null || tokenUsage == null || tokenUsage.totalTokenCount() == null) {
+      return;
+    }
+    tokenBucket.consume(tokenUsage.totalTokenCount() - estimatedTokens);
+  }
+
+  private static long estimateInputTokens(List<ChatMessage> messages) {
+    long characters = ChatMessages.textLength(messages);
+    return (characters + CHARACTERS_PER_TOKEN - 1) / CHARACTERS_PER_TOKEN;
+  }
+}
@@ -0,0 +1,54 @@
+package com.openevals4j.metrics.evaluator;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import lombok.Builder;
+import lombok.Getter;
+
+/** Exponential backoff with jitter for evaluator LLM calls that fail with a transient error. */
+@Getter
+@Builder
+public class RetryPolicy {
+
+  /** Total number of attempts, including the first one. */
+  @Builder.Default private final int maxAttempts = 3;
+
+  @Builder.Default private final Duration initialBackoff = Duration.ofMillis(500);
+
+  @Builder.Default private final Duration maxBackoff = Duration.ofSeconds(30);
+
+  @Builder.Default private final double backoffMultiplier = 2.0;
+
+  /**
+   * Fraction of each backoff that is randomised, between 0 (fixed delays) and 1 (anywhere from zero
+   * to the full delay), so that callers failing together do not retry together.
+   */
+  @Builder.Default private final double jitter = 0.5;
+
+  /** Decides whether a failure is transient and worth retrying. */
+  @Builder.Default
+  private final Predicate<Throwable> retryableClassifier = EvaluatorErrors::isRetryable;
+
+  public static RetryPolicy defaults() {
+    return RetryPolicy.builder().build();
+  }
+
+  public boolean isRetryable(Throwable throwable) {
+    return retryableClassifier.test(throwable);
+  }
+
+  /**
+   * Returns how long to wait before the next attempt.
+   *
+   * @param failedAttempts Number of attempts that have failed so far, starting at 1
+   */
+  public Duration backoffFor(int failedAttempts) {
+    double delayMillis =
+        Math.min(
+            maxBackoff.toMillis(),
+            initialBackoff.toMillis() * Math.pow(backoffMultiplier, failedAttempts - 1));
+    double jitterMillis = delayMillis * jitter * ThreadLocalRandom.current().nextDouble();
+    return Duration.ofMillis((long) (delayMillis - jitterMillis));
+  }
+}
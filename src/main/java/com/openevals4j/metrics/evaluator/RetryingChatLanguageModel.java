@@ -0,0 +1,67 @@
+package com.openevals4j.metrics.evaluator;
+
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Evaluator LLM decorator that retries calls failing with a transient error, following a {@link
+ * RetryPolicy}. Non-retryable failures and the last failed attempt are rethrown unchanged.
+ */
+@Slf4j
+public class RetryingChatLanguageModel extends ForwardingChatLanguageModel {
+
+  @Getter private final RetryPolicy retryPolicy;
+
+  private final AtomicLong retriedCalls = new AtomicLong();
+
+  public RetryingChatLanguageModel(ChatLanguageModel delegate, RetryPolicy retryPolicy) {
+    super(delegate);
+    if (retryPolicy.getMaxAttempts() < 1) {
+      throw new IllegalArgumentException("maxAttempts must be at least 1");
+    }
+    this.retryPolicy = retryPolicy;
+  }
+
+  @Override
+  public ChatResponse chat(ChatRequest chatRequest) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return getDelegate().chat(chatRequest);
+      } catch (RuntimeException exception) {
+        if (attempt >= retryPolicy.getMaxAttempts() || !retryPolicy.isRetryable(exception)) {
+          throw exception;
+        }
+        Duration backoff = retryPolicy.backoffFor(attempt);
+        log.warn(
+            "Evaluator LLM call failed on attempt {} of {}, retrying in {} ms",
+            attempt,
+            retryPolicy.getMaxAttempts(),
+            backoff.toMillis(),
+            exception);
+        retriedCalls.incrementAndGet();
+        sleep(backoff, exception);
+      }
+    }
+  }
+
+  /** Returns how many calls were re-issued after a transient failure. */
+  public long getRetriedCalls() {
+    return retriedCalls.get();
+  }
+
+  private static void sleep(Duration backoff, RuntimeException failure) {
+    try {
+      TimeUnit.MILLISECONDS.sleep(backoff.toMillis());
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      failure.addSuppressed(exception);
+      throw failure;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package com.openevals4j.metrics.evaluator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket that hands out permits at a fixed rate with a bounded burst. Permits are reserved up
+ * front, so the bucket may go into debt and later callers wait for it to be repaid; this keeps the
+ * long-run rate exact even when a single request needs more permits than the burst size.
+ */
+public class TokenBucket {
+
+  private final double capacity;
+  private final double permitsPerNano;
+  private double available;
+  private long lastRefillNanos;
+
+  public TokenBucket(double capacity, double permitsPerSecond) {
+    if (capacity <= 0 || permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("Token bucket capacity and rate must be positive");
+    }
+    this.capacity = capacity;
+    this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+    this.available = capacity;
+    this.lastRefillNanos = System.nanoTime();
+  }
+
+  /** Reserves the permits and blocks until they are available. */
+  public void acquire(double permits) throws InterruptedException {
+    long waitNanos = reserve(permits);
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  /** Takes the permits if they are available now, without going into debt. */
+  public synchronized boolean tryAcquire(double permits) {
+    refill();
+    if (available < permits) {
+      return false;
+    }
+    available -= permits;
+    return true;
+  }
+
+  /**
+   * Adjusts the bucket without waiting, e.g. once the actual cost of a request is known. A negative
+   * value returns permits to the bucket.
+   */
+  public synchronized void consume(double permits) {
+    refill();
+    available = Math.min(capacity, available - permits);
+  }
+
+  public synchronized double getAvailablePermits() {
+    refill();
+    return available;
+  }
+
+  private synchronized long reserve(double permits) {
+    refill();
+    available -= permits;
+    return available >= 0 ? 0 : (long) Math.ceil(-available / permitsPerNano);
+  }
+
+  private void refill() {
+    long now = System.nanoTime();
+    available = Math.min(capacity, available + (now - lastRefillNanos) * permitsPerNano);
+    lastRefillNanos = now;
+  }
+}
@@ -0,0 +1,12 @@
+package com.openevals4j.metrics.exception;
+
+/**
+ * Thrown when resuming from a checkpoint written by a differently configured metric (prompt, rubric
+ * or evaluator model), whose results must not be mixed with the current run's.
+ */
+public class CheckpointMismatchException extends RuntimeException {
+
+  public CheckpointMismatchException(String message) {
+    super(message);
+  }
+}
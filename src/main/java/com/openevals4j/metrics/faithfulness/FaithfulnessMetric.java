@@ -1,18 +1,15 @@
 package com.openevals4j.metrics.faithfulness;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.openevals4j.metrics.MetricName;
 import com.openevals4j.metrics.ScoreBasedMetric;
 import com.openevals4j.metrics.models.EvaluationContext;
-import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.utils.JudgePrompt;
+import com.openevals4j.metrics.utils.PromptTemplate;
 import dev.langchain4j.model.chat.ChatLanguageModel;
-import dev.langchain4j.model.chat.response.ChatResponse;
 import java.util.List;
 import lombok.Builder;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
 public class FaithfulnessMetric extends ScoreBasedMetric {
 
   public static final String FAITHFULNESS_EVALUATION_PROMPT =
@@ -61,6 +58,7 @@ public class FaithfulnessMetric extends ScoreBasedMetric {
 
                     """;
   private final String evaluationPrompt;
+  private final PromptTemplate evaluationPromptTemplate;
 
   @Builder
   public FaithfulnessMetric(
@@ -68,34 +66,20 @@ public class FaithfulnessMetric extends ScoreBasedMetric {
     super(MetricName.FAITHFULNESS, evaluatorLLM, objectMapper);
     this.evaluationPrompt =
         evaluationPrompt != null ? evaluationPrompt : FAITHFULNESS_EVALUATION_PROMPT;
+    this.evaluationPromptTemplate = PromptTemplate.compile(this.evaluationPrompt);
   }
 
   @Override
-  public EvaluationResult evaluate(EvaluationContext evaluationContext) {
-
-    validateEvaluationContext(evaluationContext);
-
-    try {
-
-      String prompt =
-          String.format(
-              evaluationPrompt,
-              evaluationContext.getRetrievedContexts(),
-              evaluationContext.getUserInput(),
-              evaluationContext.getActualResponse());
-
-      ChatResponse output = getEvaluatorLLM().chat(buildChatRequest(prompt, getResponseFormat()));
-
-      return getObjectMapper().readValue(output.aiMessage().text(), EvaluationResult.class);
-
-    } catch (JsonProcessingException exception) {
-      log.error(
-          "Error occurred while evaluating faithfulness metric for evaluation context {}",
-          evaluationContext,
-          exception);
-    }
+  protected JudgePrompt buildEvaluationPrompt(EvaluationContext evaluationContext) {
+    return evaluationPromptTemplate.renderPrompt(
+        evaluationContext.getRetrievedContexts(),
+        evaluationContext.getUserInput(),
+        evaluationContext.getActualResponse());
+  }
 
-    return getDefaultEvaluationResult();
+  @Override
+  protected List<Object> getConfigurationParts() {
+    return List.of(evaluationPrompt);
   }
 
   @Override
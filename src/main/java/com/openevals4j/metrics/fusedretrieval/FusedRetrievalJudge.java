@@ -0,0 +1,187 @@
+package com.openevals4j.metrics.fusedretrieval;
+
+import static dev.langchain4j.model.chat.request.ResponseFormatType.JSON;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.LLMBasedMetric;
+import com.openevals4j.metrics.MetricName;
+import com.openevals4j.metrics.fusedretrieval.models.FusedRetrievalVerdict;
+import com.openevals4j.metrics.instrumentation.JudgeCallType;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.usage.JudgeUsageCounter;
+import com.openevals4j.metrics.utils.EvaluatorExecutors;
+import com.openevals4j.metrics.utils.JudgePrompt;
+import com.openevals4j.metrics.utils.JudgeResponseReader;
+import com.openevals4j.metrics.utils.PromptTemplate;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ResponseFormat;
+import dev.langchain4j.model.chat.request.json.JsonArraySchema;
+import dev.langchain4j.model.chat.request.json.JsonObjectSchema;
+import dev.langchain4j.model.chat.request.json.JsonSchema;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Judges every node of the retrieval context for both contextual precision (useful for the expected
+ * response) and contextual relevancy (relevant to the user input) in a single evaluator LLM call,
+ * so the retrieved chunks are sent to the judge once instead of twice.
+ *
+ * <p>The call goes through the same path as the calls of the metrics: response cache, single-flight
+ * coalescing, instrumentation, usage accounting and recovery of malformed responses all apply. It
+ * is reported as a {@link JudgeCallType#VERDICT} call of {@link MetricName#CONTEXTUAL_PRECISION}. A
+ * response with a verdict count other than the number of retrieved nodes is treated as malformed.
+ */
+@Getter
+public class FusedRetrievalJudge
+    extends LLMBasedMetric<EvaluationContext, List<FusedRetrievalVerdict>> {
+
+  private static final List<String> REQUIRED_FIELDS = List.of("userInput", "retrievedContexts");
+
+  private final String verdictGenerationPrompt;
+  private final PromptTemplate verdictPromptTemplate;
+  private final ResponseFormat responseFormat;
+
+  @Builder
+  public FusedRetrievalJudge(
+      ChatLanguageModel evaluatorLLM, ObjectMapper objectMapper, String verdictGenerationPrompt) {
+    super(MetricName.CONTEXTUAL_PRECISION, evaluatorLLM, objectMapper);
+    this.verdictGenerationPrompt =
+        verdictGenerationPrompt != null
+            ? verdictGenerationPrompt
+            : FusedRetrievalPromptConstants.VERDICT_GENERATION_PROMPT;
+    this.verdictPromptTemplate = PromptTemplate.compile(this.verdictGenerationPrompt);
+    this.responseFormat = buildResponseFormatForFusedVerdicts();
+  }
+
+  public List<FusedRetrievalVerdict> judge(EvaluationContext evaluationContext) {
+    return joinValidated(judgeAsync(evaluationContext, EvaluatorExecutors.directExecutor()));
+  }
+
+  /**
+   * Generates both verdicts for every retrieved node, running the evaluator LLM call on the given
+   * executor. The verdicts are returned in the rank order of the retrieval context.
+   *
+   * @param evaluationContext The context whose retrieval context is judged
+   * @param executor Executor the evaluator LLM call is run on
+   * @return A future completed with one fused verdict per retrieved node
+   */
+  public CompletableFuture<List<FusedRetrievalVerdict>> judgeAsync(
+      EvaluationContext evaluationContext, Executor executor) {
+    return judgeAsync(evaluationContext, executor, null);
+  }
+
+  /**
+   * Like {@link #judgeAsync(EvaluationContext, Executor)}, also counting the judge call in {@code
+   * usage} so that it can be attributed to the results scored from the verdicts.
+   *
+   * @param evaluationContext The context whose retrieval context is judged
+   * @param executor Executor the evaluator LLM call is run on
+   * @param usage Counter of the calls made for these verdicts, or {@code null}
+   * @return A future completed with one fused verdict per retrieved node
+   */
+  public CompletableFuture<List<FusedRetrievalVerdict>> judgeAsync(
+      EvaluationContext evaluationContext, Executor executor, JudgeUsageCounter usage) {
+    return validateEvaluationContextAsync(evaluationContext)
+        .thenCompose(
+            context ->
+                callEvaluatorAsync(
+                    renderPrompt(JudgeCallType.VERDICT, () -> buildVerdictPrompt(context)),
+                    responseFormat,
+                    content -> parseVerdicts(content, context.getRetrievedContexts().size()),
+                    JudgeCallType.VERDICT,
+                    usage,
+                    executor));
+  }
+
+  @Override
+  public List<FusedRetrievalVerdict> evaluate(EvaluationContext evaluationContext) {
+    return judge(evaluationContext);
+  }
+
+  @Override
+  public CompletableFuture<List<FusedRetrievalVerdict>> evaluateAsync(
+      EvaluationContext evaluationContext, Executor executor) {
+    return evaluateStrictAsync(evaluationContext, executor);
+  }
+
+  @Override
+  protected CompletableFuture<List<FusedRetrievalVerdict>> evaluateStrictAsync(
+      EvaluationContext evaluationContext, Executor executor) {
+    return CompletableFuture.completedFuture(evaluationContext)
+        .thenCompose(context -> judgeAsync(context, executor));
+  }
+
+  @Override
+  protected List<Object> getConfigurationParts() {
+    return List.of(verdictGenerationPrompt);
+  }
+
+  @Override
+  protected List<String> getRequiredFieldsForValidation() {
+    return REQUIRED_FIELDS;
+  }
+
+  private JudgePrompt buildVerdictPrompt(EvaluationContext evaluationContext) {
+    List<String> retrievalContext = evaluationContext.getRetrievedContexts();
+    String documentCountStr =
+        " ("
+            + retrievalContext.size()
+            + " document"
+            + (retrievalContext.size() > 1 ? "s" : "")
+            + ")";
+    return verdictPromptTemplate.renderPrompt(
+        evaluationContext.getUserInput(),
+        evaluationContext.getExpectedResponse(),
+        documentCountStr,
+        retrievalContext);
+  }
+
+  private List<FusedRetrievalVerdict> parseVerdicts(String content, int expectedVerdicts)
+      throws JsonProcessingException {
+    List<FusedRetrievalVerdict> verdicts =
+        JudgeResponseReader.readFusedRetrievalVerdicts(getObjectMapper().getFactory(), content);
+    if (verdicts == null || verdicts.size() != expectedVerdicts) {
+      throw new JsonParseException(
+          null,
+          String.format(
+              "Expected %d fused verdicts but the evaluator LLM returned %s",
+              expectedVerdicts, verdicts == null ? "none" : verdicts.size()));
+    }
+    return verdicts;
+  }
+
+  private ResponseFormat buildResponseFormatForFusedVerdicts() {
+    return ResponseFormat.builder()
+        .type(JSON)
+        .jsonSchema(
+            JsonSchema.builder()
+                .name("FusedRetrievalVerdicts")
+                .rootElement(
+                    JsonObjectSchema.builder()
+                        .addProperty(
+                            "verdicts",
+                            JsonArraySchema.builder()
+                                .items(
+                                    JsonObjectSchema.builder()
+                                        .addStringProperty("usefulVerdict")
+                                        .addStringProperty("usefulReason")
+                                        .addStringProperty("relevantVerdict")
+                                        .addStringProperty("relevantReason")
+                                        .required(
+                                            "usefulVerdict",
+                                            "usefulReason",
+                                            "relevantVerdict",
+                                            "relevantReason")
+                                        .build())
+                                .build())
+                        .required("verdicts")
+                        .build())
+                .build())
+        .build();
+  }
+}
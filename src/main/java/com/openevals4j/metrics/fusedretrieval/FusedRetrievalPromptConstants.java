@@ -0,0 +1,69 @@
+package com.openevals4j.metrics.fusedretrieval;
+
+import com.openevals4j.metrics.contextualrelevancy.ContextualRelevancyPromptConstants;
+
+public class FusedRetrievalPromptConstants {
+
+  public static final String VERDICT_GENERATION_PROMPT =
+      """
+                    Given the input, expected output, and retrieval context, please generate a list of JSON objects with TWO verdicts for each node in the retrieval context:
+                    1. Whether the node was remotely useful in arriving at the expected output.
+                    2. Whether the node is relevant to answering the input.
+
+                    **
+                    IMPORTANT: Please make sure to only return in JSON format, with the list of JSON. Each JSON contains exactly four keys:
+                    - `usefulVerdict`: 'yes' or 'no', whether the node was useful in arriving at the expected output.
+                    - `usefulReason`: a justification for `usefulVerdict`, quoting parts of the context where possible.
+                    - `relevantVerdict`: 'yes' or 'no', whether the node is relevant to answering the input.
+                    - `relevantReason`: a justification for `relevantVerdict`, quoting parts of the context where possible.
+                    CRITICAL: Use ONLY straight double quotes (") for JSON strings, NOT curly/smart quotes (" or "). The JSON must be parseable by standard JSON parsers.
+                    CRITICAL: Ensure all JSON syntax is valid - proper commas, brackets, and no trailing commas.
+
+                    Example Retrieval Context: ["Einstein won the Nobel Prize for his discovery of the photoelectric effect", "He won the Nobel Prize in 1968.", "There was a cat."]
+                    Example Input: "Who won the Nobel Prize in 1968 and for what?"
+                    Example Expected Output: "Einstein won the Nobel Prize in 1968 for his discovery of the photoelectric effect."
+
+                    Example:
+
+                        [
+                            {
+                                "usefulVerdict": "yes",
+                                "usefulReason": "It clearly addresses the question by stating that 'Einstein won the Nobel Prize for his discovery of the photoelectric effect.'",
+                                "relevantVerdict": "yes",
+                                "relevantReason": "It names the winner and the discovery the question asks about."
+                            },
+                            {
+                                "usefulVerdict": "yes",
+                                "usefulReason": "The text verifies that the prize was indeed won in 1968.",
+                                "relevantVerdict": "yes",
+                                "relevantReason": "The year is part of the question."
+                            },
+                            {
+                                "usefulVerdict": "no",
+                                "usefulReason": "'There was a cat' is not at all relevant to the topic of winning a Nobel Prize.",
+                                "relevantVerdict": "no",
+                                "relevantReason": "'There was a cat' does not help answer a question about the Nobel Prize."
+                            }
+                        ]
+
+                    Since you are going to generate verdicts for each context, the number of list entries SHOULD BE STRICTLY EQUAL to that of the contexts, in the same order.
+
+                    `relevantVerdict` is decided by the following criteria.
+
+                    """
+          + ContextualRelevancyPromptConstants.EVALUATION_CRITERIA
+          + """
+                    **
+
+                    Input:
+                    %s
+
+                    Expected output:
+                    %s
+
+                    Retrieval Context %s:
+                    %s
+                    """;
+
+  private FusedRetrievalPromptConstants() {}
+}
@@ -0,0 +1,40 @@
+package com.openevals4j.metrics.fusedretrieval.models;
+
+import com.openevals4j.metrics.models.VerdictWithReason;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Both verdicts for a single node of the retrieval context: whether it was useful in arriving at
+ * the expected response (contextual precision) and whether it is relevant to the user input
+ * (contextual relevancy).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FusedRetrievalVerdict {
+  /** 'yes' if the node was useful in arriving at the expected response, otherwise 'no'. */
+  private String usefulVerdict;
+
+  /** Justification for {@link #usefulVerdict}. */
+  private String usefulReason;
+
+  /** 'yes' if the node is relevant to the user input, otherwise 'no'. */
+  private String relevantVerdict;
+
+  /** Justification for {@link #relevantVerdict}. */
+  private String relevantReason;
+
+  /** Returns the verdict scored by the contextual precision metric. */
+  public VerdictWithReason toUsefulnessVerdict() {
+    return new VerdictWithReason(usefulVerdict, usefulReason);
+  }
+
+  /** Returns the verdict scored by the contextual relevancy metric. */
+  public VerdictWithReason toRelevancyVerdict() {
+    return new VerdictWithReason(relevantVerdict, relevantReason);
+  }
+}
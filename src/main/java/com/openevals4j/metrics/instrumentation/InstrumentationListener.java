@@ -0,0 +1,28 @@
+package com.openevals4j.metrics.instrumentation;
+
+import com.openevals4j.metrics.MetricName;
+
+/**
+ * Receives the duration of every phase of the evaluations of a metric, see {@code
+ * LLMBasedMetric#setInstrumentationListener}. Called on the evaluating thread, possibly by many
+ * threads at once, so implementations must be thread-safe and fast; exceptions thrown by the
+ * listener are logged and otherwise ignored. {@link PhaseTimingRecorder} is a ready-made
+ * implementation.
+ */
+@FunctionalInterface
+public interface InstrumentationListener {
+
+  /**
+   * @param metricName Metric that was evaluated
+   * @param phase Phase that completed
+   * @param callType Judge call the phase belongs to
+   * @param outcome How the phase ended
+   * @param durationNanos Duration of the phase in nanoseconds
+   */
+  void onPhase(
+      MetricName metricName,
+      Phase phase,
+      JudgeCallType callType,
+      Outcome outcome,
+      long durationNanos);
+}
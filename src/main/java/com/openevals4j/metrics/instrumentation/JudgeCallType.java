@@ -0,0 +1,13 @@
+package com.openevals4j.metrics.instrumentation;
+
+/** Which judge call of an evaluation a phase belongs to. */
+public enum JudgeCallType {
+  /** The single call of a score-based metric. */
+  EVALUATION,
+  /** The call generating the verdicts of a verdict-based metric. */
+  VERDICT,
+  /** The call explaining the score of a verdict-based metric. */
+  REASON,
+  /** Phases not tied to a judge call, such as validation and scoring. */
+  NONE
+}
@@ -0,0 +1,10 @@
+package com.openevals4j.metrics.instrumentation;
+
+/** How a timed phase ended. */
+public enum Outcome {
+  SUCCESS,
+  /** The phase threw. */
+  FAILURE,
+  /** The judge call was answered from the response cache without calling the evaluator LLM. */
+  CACHED
+}
@@ -0,0 +1,21 @@
+package com.openevals4j.metrics.instrumentation;
+
+/** Steps of a metric evaluation timed by an {@link InstrumentationListener}. */
+public enum Phase {
+  /** Checking that the evaluation context has the fields the metric needs. */
+  VALIDATION,
+  /** Rendering the prompt of a judge call. */
+  PROMPT_RENDERING,
+  /**
+   * The judge round-trip, including response cache lookups and waiting for a coalesced call. Calls
+   * answered from the response cache are reported with {@link Outcome#CACHED}.
+   */
+  JUDGE_CALL,
+  /**
+   * Parsing the judge response. Score-based metrics compute their score while parsing, so for them
+   * this phase includes scoring.
+   */
+  RESPONSE_PARSING,
+  /** Computing the score from the parsed verdicts. */
+  SCORING
+}
@@ -0,0 +1,122 @@
+package com.openevals4j.metrics.instrumentation;
+
+import com.openevals4j.metrics.MetricName;
+import com.openevals4j.metrics.aggregation.QuantileSketch;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link InstrumentationListener} keeping a latency histogram per metric, phase and judge call
+ * type. Recording is lock-free once a combination has been seen: durations are counted in a {@link
+ * QuantileSketch}, so p50 and p99 are accurate to within 2% and memory does not grow with the
+ * number of evaluations. Durations below a microsecond are reported as zero.
+ *
+ * <p>Register one recorder with every metric of interest (or with an {@code EvaluationSuite}) and
+ * read {@link #getTimings()} after the run.
+ */
+public class PhaseTimingRecorder implements InstrumentationListener {
+
+  private static final double RELATIVE_ACCURACY = 0.02;
+  private static final double MIN_NANOS = 1e3;
+  private static final double MAX_NANOS = 1e12;
+
+  private final ConcurrentMap<Key, Timer> timers = new ConcurrentHashMap<>();
+
+  @Override
+  public void onPhase(
+      MetricName metricName,
+      Phase phase,
+      JudgeCallType callType,
+      Outcome outcome,
+      long durationNanos) {
+    Key key = new Key(metricName, phase, callType);
+    Timer timer = timers.get(key);
+    if (timer == null) {
+      timer = timers.computeIfAbsent(key, ignored -> new Timer());
+    }
+    timer.record(outcome, durationNanos);
+  }
+
+  /** Returns the timings recorded so far, ordered by metric, phase and call type. */
+  public List<PhaseTimings> getTimings() {
+    List<PhaseTimings> timings = new ArrayList<>();
+    timers.forEach((key, timer) -> timings.add(timer.snapshot(key)));
+    timings.sort(
+        Comparator.comparing(PhaseTimings::metricName)
+            .thenComparing(PhaseTimings::phase)
+            .thenComparing(PhaseTimings::callType));
+    return timings;
+  }
+
+  /** Discards every recorded timing. */
+  public void reset() {
+    timers.clear();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder report =
+        new StringBuilder(
+            String.format(
+                "%-22s %-17s %-10s %8s %8s %8s %10s %10s%n",
+                "Metric", "Phase", "Call", "Count", "Failed", "Cached", "p50 ms", "p99 ms"));
+    for (PhaseTimings timing : getTimings()) {
+      report.append(
+          String.format(
+              "%-22s %-17s %-10s %8d %8d %8d %10.3f %10.3f%n",
+              timing.metricName(),
+              timing.phase(),
+              timing.callType(),
+              timing.count(),
+              timing.failures(),
+              timing.cached(),
+              timing.p50().toNanos() / 1e6,
+              timing.p99().toNanos() / 1e6));
+    }
+    return report.toString();
+  }
+
+  private record Key(MetricName metricName, Phase phase, JudgeCallType callType) {}
+
+  private static final class Timer {
+
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder cached = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final QuantileSketch sketch =
+        new QuantileSketch(RELATIVE_ACCURACY, MIN_NANOS, MAX_NANOS);
+
+    private void record(Outcome outcome, long durationNanos) {
+      if (outcome == Outcome.FAILURE) {
+        failures.increment();
+      } else if (outcome == Outcome.CACHED) {
+        cached.increment();
+      }
+      totalNanos.add(durationNanos);
+      sketch.add(durationNanos);
+    }
+
+    private PhaseTimings snapshot(Key key) {
+      long count = sketch.getCount();
+      return new PhaseTimings(
+          key.metricName(),
+          key.phase(),
+          key.callType(),
+          count,
+          failures.sum(),
+          cached.sum(),
+          count > 0 ? Duration.ofNanos(totalNanos.sum() / count) : Duration.ZERO,
+          quantile(count, 0.5),
+          quantile(count, 0.99));
+    }
+
+    private Duration quantile(long count, double quantile) {
+      return count > 0 ? Duration.ofNanos(Math.round(sketch.quantile(quantile))) : Duration.ZERO;
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package com.openevals4j.metrics.instrumentation;
+
+import com.openevals4j.metrics.MetricName;
+import java.time.Duration;
+
+/**
+ * Latency of one phase of a metric, as recorded by a {@link PhaseTimingRecorder}.
+ *
+ * @param metricName Metric the phase belongs to
+ * @param phase The phase
+ * @param callType Judge call the phase belongs to
+ * @param count Number of times the phase ran
+ * @param failures Number of times the phase threw
+ * @param cached Number of judge calls answered from the response cache
+ * @param mean Mean duration
+ * @param p50 Median duration
+ * @param p99 99th percentile of the duration
+ */
+public record PhaseTimings(
+    MetricName metricName,
+    Phase phase,
+    JudgeCallType callType,
+    long count,
+    long failures,
+    long cached,
+    Duration mean,
+    Duration p50,
+    Duration p99) {}
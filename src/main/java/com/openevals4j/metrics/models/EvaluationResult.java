@@ -1,15 +1,22 @@
 package com.openevals4j.metrics.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@ToString(doNotUseGetters = true)
+@EqualsAndHashCode(doNotUseGetters = true)
 public class EvaluationResult {
 
   private double score;
@@ -17,4 +24,33 @@ public class EvaluationResult {
   private String reasoning;
 
   private Map<String, Object> debugData;
+
+  /** Verdicts the score was computed from, set by verdict-based metrics. */
+  private List<VerdictWithReason> verdicts;
+
+  /**
+   * Evaluator LLM calls made to produce this result and their token usage. Not part of equality:
+   * the same result costs nothing when served from a cache.
+   */
+  @EqualsAndHashCode.Exclude private JudgeUsage usage;
+
+  /**
+   * Produces the reasoning when it was not generated up front, see {@link #resolveReasoning()}.
+   * Never called by {@link #getReasoning()}, serialization or {@code toString}.
+   */
+  @JsonIgnore @ToString.Exclude @EqualsAndHashCode.Exclude
+  private Supplier<String> reasoningSupplier;
+
+  /**
+   * Returns the reasoning, generating it first for results produced in {@code ReasoningMode.LAZY}.
+   * This may make a blocking evaluator LLM call; later calls return the same value. {@link
+   * #getReasoning()} does not generate anything and returns {@code null} until this is called.
+   */
+  public synchronized String resolveReasoning() {
+    if (reasoning == null && reasoningSupplier != null) {
+      reasoning = reasoningSupplier.get();
+      reasoningSupplier = null;
+    }
+    return reasoning;
+  }
 }
@@ -0,0 +1,19 @@
+package com.openevals4j.metrics.models;
+
+/**
+ * Evaluator LLM calls and the tokens they used, as reported by the provider. Responses served from
+ * a response cache or shared with a coalesced call are not counted: they cost nothing.
+ *
+ * @param calls Number of evaluator LLM calls made
+ * @param inputTokens Input tokens reported for those calls
+ * @param outputTokens Output tokens reported for those calls
+ */
+public record JudgeUsage(long calls, long inputTokens, long outputTokens) {
+
+  public static final JudgeUsage NONE = new JudgeUsage(0, 0, 0);
+
+  public JudgeUsage plus(JudgeUsage other) {
+    return new JudgeUsage(
+        calls + other.calls, inputTokens + other.inputTokens, outputTokens + other.outputTokens);
+  }
+}
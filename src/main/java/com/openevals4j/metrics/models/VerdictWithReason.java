@@ -1,5 +1,7 @@
 package com.openevals4j.metrics.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.openevals4j.metrics.Constants;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -12,4 +14,10 @@ import lombok.NoArgsConstructor;
 public class VerdictWithReason {
   private String verdict;
   private String reason;
+
+  /** Returns whether the verdict is {@code yes}, ignoring case and surrounding whitespace. */
+  @JsonIgnore
+  public boolean isYes() {
+    return verdict != null && Constants.YES_SMALL_CASE.equalsIgnoreCase(verdict.trim());
+  }
 }
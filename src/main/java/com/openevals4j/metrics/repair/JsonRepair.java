@@ -0,0 +1,259 @@
+package com.openevals4j.metrics.repair;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Best-effort repair of judge output that is almost, but not quite, JSON. The repairs are applied
+ * in order, each only where it changes something:
+ *
+ * <ol>
+ *   <li>a Markdown code fence around the output is removed ({@code ```json ... ```});
+ *   <li>prose before the first {@code {} and after the last {@code }} is removed;
+ *   <li>typographic double quotes are replaced with straight ones, when the output has no straight
+ *       double quotes at all;
+ *   <li>commas directly before a closing bracket are removed;
+ *   <li>output that ends inside an object or array is cut back to its last complete value and the
+ *       open brackets are closed. Array elements that are not closed, and objects and arrays
+ *       without a complete value, are dropped rather than closed, and output left with nothing
+ *       complete is not repaired: a partial verdict, an empty list of verdicts or a missing score
+ *       must not pass for an answer.
+ * </ol>
+ *
+ * <p>Repairs never look inside string values, so text the judge wrote is kept as is.
+ */
+public final class JsonRepair {
+
+  private static final String FENCE = "```";
+  private static final int MAX_DEPTH = 128;
+
+  private JsonRepair() {}
+
+  /**
+   * The repaired text and the repairs that changed it.
+   *
+   * @param text The repaired text, or the input when nothing was repaired
+   * @param repairs The repairs applied, empty when nothing was repaired
+   */
+  public record Result(String text, Set<JsonRepairKind> repairs) {
+
+    public boolean isRepaired() {
+      return !repairs.isEmpty();
+    }
+  }
+
+  /** Applies every repair that changes the text. */
+  public static Result repair(String content) {
+    Set<JsonRepairKind> repairs = EnumSet.noneOf(JsonRepairKind.class);
+    if (content == null) {
+      return new Result(null, repairs);
+    }
+
+    String text = content.strip();
+    String unfenced = stripCodeFence(text);
+    if (!unfenced.equals(text)) {
+      repairs.add(JsonRepairKind.CODE_FENCE);
+      text = unfenced;
+    }
+
+    String extracted = extractObject(text);
+    if (!extracted.equals(text)) {
+      repairs.add(JsonRepairKind.SURROUNDING_TEXT);
+      text = extracted;
+    }
+
+    if (text.indexOf('"') < 0 && (text.indexOf('“') >= 0 || text.indexOf('”') >= 0)) {
+      repairs.add(JsonRepairKind.SMART_QUOTES);
+      text = text.replace('“', '"').replace('”', '"').replace('„', '"');
+    }
+
+    String withoutTrailingCommas = removeTrailingCommas(text);
+    if (!withoutTrailingCommas.equals(text)) {
+      repairs.add(JsonRepairKind.TRAILING_COMMA);
+      text = withoutTrailingCommas;
+    }
+
+    String closed = closeTruncated(text);
+    if (closed != null) {
+      repairs.add(JsonRepairKind.TRUNCATION);
+      text = closed;
+    }
+
+    return new Result(repairs.isEmpty() ? content : text, repairs);
+  }
+
+  private static String stripCodeFence(String text) {
+    if (!text.startsWith(FENCE)) {
+      return text;
+    }
+    int firstLineEnd = text.indexOf('\n');
+    if (firstLineEnd < 0) {
+      return text;
+    }
+    String body = text.substring(firstLineEnd + 1);
+    if (body.stripTrailing().endsWith(FENCE)) {
+      body = body.stripTrailing();
+      body = body.substring(0, body.length() - FENCE.length());
+    }
+    return body.strip();
+  }
+
+  private static String extractObject(String text) {
+    if (text.startsWith("{") || text.startsWith("[")) {
+      return text;
+    }
+    int start = text.indexOf('{');
+    if (start < 0) {
+      return text;
+    }
+    int end = text.lastIndexOf('}');
+    return end > start ? text.substring(start, end + 1) : text.substring(start);
+  }
+
+  private static String removeTrailingCommas(String text) {
+    StringBuilder builder = null;
+    boolean inString = false;
+    for (int i = 0; i < text.length(); i++) {
+      char character = text.charAt(i);
+      if (inString) {
+        if (character == '\\') {
+          i++;
+        } else if (character == '"') {
+          inString = false;
+        }
+        continue;
+      }
+      if (character == '"') {
+        inString = true;
+      } else if (character == ',') {
+        int next = skipWhitespace(text, i + 1);
+        if (next < text.length() && (text.charAt(next) == '}' || text.charAt(next) == ']')) {
+          if (builder == null) {
+            builder = new StringBuilder(text);
+          }
+          // Blank out rather than delete, so the indexes of the scan stay valid.
+          builder.setCharAt(i, ' ');
+        }
+      }
+    }
+    return builder == null ? text : builder.toString();
+  }
+
+  /**
+   * Returns the text cut back to its last complete value with the open brackets closed, or {@code
+   * null} when the text is not truncated or cannot be repaired.
+   */
+  private static String closeTruncated(String text) {
+    char[] open = new char[MAX_DEPTH];
+    boolean[] expectingKey = new boolean[MAX_DEPTH];
+    // Cut point before each open container, to drop the container if nothing in it is complete.
+    int[] cutBefore = new int[MAX_DEPTH];
+    String[] closersBefore = new String[MAX_DEPTH];
+    boolean[] cutBeforeAfterOpening = new boolean[MAX_DEPTH];
+    int depth = 0;
+    boolean inString = false;
+    boolean stringIsKey = false;
+
+    int cut = -1;
+    String closers = "";
+    boolean cutAfterOpening = false;
+
+    for (int i = 0; i < text.length(); i++) {
+      char character = text.charAt(i);
+      if (inString) {
+        if (character == '\\') {
+          i++;
+        } else if (character == '"') {
+          inString = false;
+          if (!stringIsKey && depth > 0) {
+            cut = i + 1;
+            closers = closers(open, depth);
+            cutAfterOpening = false;
+          }
+        }
+        continue;
+      }
+      switch (character) {
+        case '"' -> {
+          inString = true;
+          stringIsKey = depth > 0 && open[depth - 1] == '{' && expectingKey[depth - 1];
+        }
+        case '{', '[' -> {
+          if (depth == MAX_DEPTH) {
+            return null;
+          }
+          open[depth] = character;
+          expectingKey[depth] = character == '{';
+          cutBefore[depth] = cut;
+          closersBefore[depth] = closers;
+          cutBeforeAfterOpening[depth] = cutAfterOpening;
+          depth++;
+          cut = i + 1;
+          closers = closers(open, depth);
+          cutAfterOpening = true;
+        }
+        case '}', ']' -> {
+          if (depth == 0) {
+            return null;
+          }
+          depth--;
+          if (depth == 0) {
+            return null;
+          }
+          cut = i + 1;
+          closers = closers(open, depth);
+          cutAfterOpening = false;
+        }
+        case ':' -> {
+          if (depth > 0) {
+            expectingKey[depth - 1] = false;
+          }
+        }
+        case ',' -> {
+          if (depth > 0) {
+            expectingKey[depth - 1] = open[depth - 1] == '{';
+            cut = i;
+            closers = closers(open, depth);
+            cutAfterOpening = false;
+          }
+        }
+        default -> {}
+      }
+    }
+
+    if (depth == 0) {
+      return null;
+    }
+    // An array element that is not closed is dropped whole: half a verdict is not a verdict.
+    for (int container = 1; container < depth; container++) {
+      if (open[container - 1] == '[') {
+        cut = cutBefore[container];
+        closers = closersBefore[container];
+        cutAfterOpening = cutBeforeAfterOpening[container];
+        break;
+      }
+    }
+    while (cut >= 0 && cutAfterOpening) {
+      int container = closers.length() - 1;
+      cut = cutBefore[container];
+      cutAfterOpening = cutBeforeAfterOpening[container];
+      closers = closersBefore[container];
+    }
+    return cut < 0 ? null : text.substring(0, cut) + closers;
+  }
+
+  private static String closers(char[] open, int depth) {
+    StringBuilder closers = new StringBuilder(depth);
+    for (int i = depth - 1; i >= 0; i--) {
+      closers.append(open[i] == '{' ? '}' : ']');
+    }
+    return closers.toString();
+  }
+
+  private static int skipWhitespace(String text, int position) {
+    while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+      position++;
+    }
+    return position;
+  }
+}
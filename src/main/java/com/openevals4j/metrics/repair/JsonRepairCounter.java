@@ -0,0 +1,59 @@
+package com.openevals4j.metrics.repair;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Thread-safe running totals of recovered and unrecoverable judge output. */
+public class JsonRepairCounter {
+
+  private final LongAdder repairedResponses = new LongAdder();
+  private final LongAdder reprompts = new LongAdder();
+  private final LongAdder unrecoverableResponses = new LongAdder();
+  private final Map<JsonRepairKind, LongAdder> repairs = new EnumMap<>(JsonRepairKind.class);
+
+  public JsonRepairCounter() {
+    for (JsonRepairKind kind : JsonRepairKind.values()) {
+      repairs.put(kind, new LongAdder());
+    }
+  }
+
+  /** Counts a response that parsed after the given repairs. */
+  public void recordRepaired(Set<JsonRepairKind> kinds) {
+    repairedResponses.increment();
+    for (JsonRepairKind kind : kinds) {
+      repairs.get(kind).increment();
+    }
+  }
+
+  public void recordReprompt() {
+    reprompts.increment();
+  }
+
+  public void recordUnrecoverable() {
+    unrecoverableResponses.increment();
+  }
+
+  public JsonRepairStats snapshot() {
+    Map<JsonRepairKind, Long> counts = new EnumMap<>(JsonRepairKind.class);
+    repairs.forEach((kind, count) -> counts.put(kind, count.sum()));
+    return new JsonRepairStats(
+        repairedResponses.sum(),
+        reprompts.sum(),
+        unrecoverableResponses.sum(),
+        Collections.unmodifiableMap(counts));
+  }
+
+  /** Returns the totals and starts counting from zero, for example between dataset runs. */
+  public JsonRepairStats reset() {
+    Map<JsonRepairKind, Long> counts = new EnumMap<>(JsonRepairKind.class);
+    repairs.forEach((kind, count) -> counts.put(kind, count.sumThenReset()));
+    return new JsonRepairStats(
+        repairedResponses.sumThenReset(),
+        reprompts.sumThenReset(),
+        unrecoverableResponses.sumThenReset(),
+        Collections.unmodifiableMap(counts));
+  }
+}
@@ -0,0 +1,15 @@
+package com.openevals4j.metrics.repair;
+
+/** Repairs {@link JsonRepair} applies to judge output that does not parse as JSON. */
+public enum JsonRepairKind {
+  /** A Markdown code fence around the JSON was removed. */
+  CODE_FENCE,
+  /** Prose before or after the JSON object was removed. */
+  SURROUNDING_TEXT,
+  /** Typographic double quotes used as JSON quotes were replaced with straight ones. */
+  SMART_QUOTES,
+  /** Commas before a closing bracket were removed. */
+  TRAILING_COMMA,
+  /** Output cut off mid-way was closed after its last complete value. */
+  TRUNCATION
+}
@@ -0,0 +1,24 @@
+package com.openevals4j.metrics.repair;
+
+import java.util.Map;
+
+/**
+ * How often judge output that did not parse was recovered, and how.
+ *
+ * @param repairedResponses Responses that parsed after {@link JsonRepair}
+ * @param reprompts Judge calls made again because a response could not be repaired
+ * @param unrecoverableResponses Responses given up on, failing the evaluation
+ * @param repairs Number of repaired responses each repair was applied to; a response can need
+ *     several
+ */
+public record JsonRepairStats(
+    long repairedResponses,
+    long reprompts,
+    long unrecoverableResponses,
+    Map<JsonRepairKind, Long> repairs) {
+
+  /** Number of repaired responses the given repair was applied to. */
+  public long count(JsonRepairKind kind) {
+    return repairs.getOrDefault(kind, 0L);
+  }
+}
@@ -1,21 +1,19 @@
 package com.openevals4j.metrics.responsecompleteness;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.openevals4j.metrics.MetricName;
 import com.openevals4j.metrics.ScoreBasedMetric;
 import com.openevals4j.metrics.models.EvaluationContext;
-import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.utils.JudgePrompt;
+import com.openevals4j.metrics.utils.PromptTemplate;
 import dev.langchain4j.model.chat.ChatLanguageModel;
-import dev.langchain4j.model.chat.response.ChatResponse;
 import java.util.List;
 import lombok.Builder;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
 public class ResponseCompletenessMetric extends ScoreBasedMetric {
 
   private final String evaluationPrompt;
+  private final PromptTemplate evaluationPromptTemplate;
 
   @Builder
   public ResponseCompletenessMetric(
@@ -25,32 +23,20 @@ public class ResponseCompletenessMetric extends ScoreBasedMetric {
         evaluationPrompt != null
             ? evaluationPrompt
             : ResponseCompletenessPromptConstants.RESPONSE_COMPLETENESS_EVALUATION_PROMPT;
+    this.evaluationPromptTemplate = PromptTemplate.compile(this.evaluationPrompt);
   }
 
   @Override
-  public EvaluationResult evaluate(EvaluationContext evaluationContext) {
-    validateEvaluationContext(evaluationContext);
-
-    try {
-      String prompt =
-          String.format(
-              evaluationPrompt,
-              evaluationContext.getUserInput(),
-              evaluationContext.getExpectedResponse(),
-              evaluationContext.getActualResponse());
-
-      ChatResponse output = getEvaluatorLLM().chat(buildChatRequest(prompt, getResponseFormat()));
-
-      return getObjectMapper().readValue(output.aiMessage().text(), EvaluationResult.class);
-
-    } catch (JsonProcessingException exception) {
-      log.error(
-          "Error occurred while evaluating response completeness metric for evaluation context {}",
-          evaluationContext,
-          exception);
-    }
+  protected JudgePrompt buildEvaluationPrompt(EvaluationContext evaluationContext) {
+    return evaluationPromptTemplate.renderPrompt(
+        evaluationContext.getUserInput(),
+        evaluationContext.getExpectedResponse(),
+        evaluationContext.getActualResponse());
+  }
 
-    return getDefaultEvaluationResult();
+  @Override
+  protected List<Object> getConfigurationParts() {
+    return List.of(evaluationPrompt);
   }
 
   @Override
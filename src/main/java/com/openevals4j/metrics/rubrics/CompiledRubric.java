@@ -0,0 +1,169 @@
+package com.openevals4j.metrics.rubrics;
+
+import com.openevals4j.metrics.rubrics.models.CriterionScore;
+import com.openevals4j.metrics.rubrics.models.RubricCriterion;
+import com.openevals4j.metrics.utils.JudgePrompt;
+import com.openevals4j.metrics.utils.PromptTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Everything about a rubric that does not depend on the evaluated item, computed once per metric:
+ * the prompt with the rendered criteria already in place, a criterion name to index table and the
+ * weights as a primitive array. Scoring a judge response is then a single pass over its criterion
+ * scores.
+ */
+final class CompiledRubric {
+
+  static final int MAX_CRITERION_SCORE = 5;
+
+  private final PromptTemplate itemPromptTemplate;
+  private final String[] names;
+  private final double[] weights;
+  private final Map<String, Integer> indexByName;
+  private final Map<String, Integer> indexByNormalizedName;
+
+  /** Maps the weighted sum to 0-1 when every criterion was scored. */
+  private final double fullNormalization;
+
+  CompiledRubric(List<RubricCriterion> criteria, PromptTemplate evaluationPromptTemplate) {
+    int size = criteria.size();
+    this.names = new String[size];
+    this.weights = new double[size];
+    this.indexByName = new HashMap<>(size * 2);
+    this.indexByNormalizedName = new HashMap<>(size * 2);
+    double totalWeight = 0;
+    for (int i = 0; i < size; i++) {
+      RubricCriterion criterion = criteria.get(i);
+      names[i] = criterion.getName();
+      weights[i] = criterion.getWeight();
+      totalWeight += weights[i];
+      indexByName.putIfAbsent(criterion.getName(), i);
+      indexByNormalizedName.putIfAbsent(normalize(criterion.getName()), i);
+    }
+    this.fullNormalization = totalWeight > 0 ? 1.0 / (totalWeight * MAX_CRITERION_SCORE) : 0.0;
+    this.itemPromptTemplate =
+        evaluationPromptTemplate.withLeadingArgument(renderCriteria(criteria));
+  }
+
+  /** Renders the evaluation prompt for one item; only the item's fields are rendered per call. */
+  JudgePrompt renderPrompt(String userInput, String actualResponse) {
+    return itemPromptTemplate.renderPrompt(userInput, actualResponse);
+  }
+
+  /**
+   * Computes the weighted score, normalized to 0-1, from the criterion scores returned by the
+   * judge. Names are matched exactly, then ignoring case and surrounding whitespace. Scores for
+   * names that match no criterion, and repeated scores for a criterion, are left out and reported.
+   * When the judge skips a criterion, the score is normalized by the weights of those it scored.
+   */
+  Scoring score(List<CriterionScore> criteriaScores) {
+    boolean[] scored = new boolean[names.length];
+    double weightedSum = 0;
+    double scoredWeight = 0;
+    List<String> unknownCriteria = List.of();
+    List<String> duplicateCriteria = List.of();
+
+    for (CriterionScore criterionScore : criteriaScores) {
+      int index = indexOf(criterionScore.getCriterion());
+      if (index < 0) {
+        unknownCriteria = append(unknownCriteria, criterionScore.getCriterion());
+      } else if (scored[index]) {
+        duplicateCriteria = append(duplicateCriteria, names[index]);
+      } else {
+        scored[index] = true;
+        weightedSum += criterionScore.getScore() * weights[index];
+        scoredWeight += weights[index];
+      }
+    }
+
+    List<String> missingCriteria = List.of();
+    for (int i = 0; i < names.length; i++) {
+      if (!scored[i]) {
+        missingCriteria = append(missingCriteria, names[i]);
+      }
+    }
+
+    double score;
+    if (missingCriteria.isEmpty()) {
+      score = weightedSum * fullNormalization;
+    } else {
+      score = scoredWeight > 0 ? weightedSum / (scoredWeight * MAX_CRITERION_SCORE) : 0.0;
+    }
+    return new Scoring(score, unknownCriteria, duplicateCriteria, missingCriteria);
+  }
+
+  private int indexOf(String name) {
+    if (name == null) {
+      return -1;
+    }
+    Integer index = indexByName.get(name);
+    if (index == null) {
+      index = indexByNormalizedName.get(normalize(name));
+    }
+    return index != null ? index : -1;
+  }
+
+  private static String normalize(String name) {
+    return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static List<String> append(List<String> names, String name) {
+    List<String> appended = names.isEmpty() ? new ArrayList<>() : names;
+    appended.add(name);
+    return appended;
+  }
+
+  /** Formats the rubric criteria into a string representation for the prompt */
+  private static String renderCriteria(List<RubricCriterion> criteria) {
+    StringBuilder builder = new StringBuilder();
+
+    for (int i = 0; i < criteria.size(); i++) {
+      RubricCriterion criterion = criteria.get(i);
+
+      builder
+          .append("### Criterion ")
+          .append(i + 1)
+          .append(": ")
+          .append(criterion.getName())
+          .append("\n");
+      builder.append("**Description**: ").append(criterion.getDescription()).append("\n");
+      builder.append("**Scoring Guidelines**:\n");
+
+      for (Map.Entry<Integer, String> guideline : criterion.getScoringGuidelines().entrySet()) {
+        builder
+            .append("- **")
+            .append(guideline.getKey())
+            .append("**: ")
+            .append(guideline.getValue())
+            .append("\n");
+      }
+
+      builder.append("\n");
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * Result of scoring one judge response.
+   *
+   * @param score Weighted score between 0 and 1
+   * @param unknownCriteria Names returned by the judge that match no criterion of the rubric
+   * @param duplicateCriteria Criteria the judge scored more than once; the first score is used
+   * @param missingCriteria Criteria the judge did not score
+   */
+  record Scoring(
+      double score,
+      List<String> unknownCriteria,
+      List<String> duplicateCriteria,
+      List<String> missingCriteria) {
+
+    boolean isComplete() {
+      return unknownCriteria.isEmpty() && duplicateCriteria.isEmpty() && missingCriteria.isEmpty();
+    }
+  }
+}
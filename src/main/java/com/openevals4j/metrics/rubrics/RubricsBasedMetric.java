@@ -1,6 +1,6 @@
 package com.openevals4j.metrics.rubrics;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.openevals4j.metrics.MetricName;
 import com.openevals4j.metrics.ScoreBasedMetric;
@@ -8,22 +8,29 @@ import com.openevals4j.metrics.models.EvaluationContext;
 import com.openevals4j.metrics.models.EvaluationResult;
 import com.openevals4j.metrics.rubrics.models.CriterionScore;
 import com.openevals4j.metrics.rubrics.models.RubricCriterion;
+import com.openevals4j.metrics.utils.JudgePrompt;
+import com.openevals4j.metrics.utils.JudgeResponseReader;
+import com.openevals4j.metrics.utils.PromptTemplate;
 import dev.langchain4j.model.chat.ChatLanguageModel;
 import dev.langchain4j.model.chat.request.ResponseFormat;
-import dev.langchain4j.model.chat.response.ChatResponse;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
 @Getter
+@Slf4j
 public class RubricsBasedMetric extends ScoreBasedMetric {
 
   private final List<RubricCriterion> rubricCriteria;
   private final String evaluationPrompt;
+  private final PromptTemplate evaluationPromptTemplate;
+
+  @Getter(AccessLevel.NONE)
+  private final CompiledRubric compiledRubric;
 
   @Builder
   public RubricsBasedMetric(
@@ -42,99 +49,58 @@ public class RubricsBasedMetric extends ScoreBasedMetric {
         evaluationPrompt != null
             ? evaluationPrompt
             : RubricsPromptConstants.RUBRICS_EVALUATION_PROMPT;
+    this.evaluationPromptTemplate = PromptTemplate.compile(this.evaluationPrompt);
+    this.compiledRubric = new CompiledRubric(rubricCriteria, evaluationPromptTemplate);
   }
 
   @Override
-  public EvaluationResult evaluate(EvaluationContext evaluationContext) {
-    validateEvaluationContext(evaluationContext);
-
-    try {
-      String formattedRubric = formatRubricCriteria(rubricCriteria);
-      String prompt =
-          String.format(
-              evaluationPrompt,
-              formattedRubric,
-              evaluationContext.getUserInput(),
-              evaluationContext.getActualResponse());
-
-      ChatResponse output = getEvaluatorLLM().chat(buildChatRequest(prompt, getResponseFormat()));
-
-      // Parse the response
-      Map<String, Object> responseMap =
-          getObjectMapper().readValue(output.aiMessage().text(), new TypeReference<>() {});
-
-      // Extract criteria scores
-      @SuppressWarnings("unchecked")
-      List<Map<String, Object>> criteriaScoresMap =
-          (List<Map<String, Object>>) responseMap.get("criteriaScores");
-
-      if (criteriaScoresMap == null || criteriaScoresMap.isEmpty()) {
-        throw new IllegalStateException("No criteria scores returned from LLM");
-      }
-
-      // Convert to CriterionScore objects
-      List<CriterionScore> criteriaScores =
-          criteriaScoresMap.stream()
-              .map(
-                  map ->
-                      CriterionScore.builder()
-                          .criterion((String) map.get("criterion"))
-                          .score(((Number) map.get("score")).intValue())
-                          .justification((String) map.get("justification"))
-                          .build())
-              .toList();
-
-      // Calculate weighted score
-      double weightedScore = calculateWeightedScore(criteriaScores);
-
-      // Generate reasoning based on criteria scores
-      String reasoning = generateReasoning(criteriaScores, weightedScore);
-
-      // Add criteria scores to debug data
-      Map<String, Object> debugData = new HashMap<>();
-      debugData.put("criteriaScores", criteriaScores);
-
-      return EvaluationResult.builder()
-          .score(weightedScore)
-          .reasoning(reasoning)
-          .debugData(debugData)
-          .build();
-
-    } catch (Exception exception) {
-      log.error(
-          "Error occurred while evaluating rubrics-based metric for criteria {} and evaluation context {}",
-          rubricCriteria,
-          evaluationContext,
-          exception);
-      return getDefaultEvaluationResult();
-    }
+  protected JudgePrompt buildEvaluationPrompt(EvaluationContext evaluationContext) {
+    return compiledRubric.renderPrompt(
+        evaluationContext.getUserInput(), evaluationContext.getActualResponse());
   }
 
-  /** Calculates the weighted score based on individual criterion scores and their weights */
-  private double calculateWeightedScore(List<CriterionScore> criteriaScores) {
-    double totalWeightedScore = 0.0;
-    double totalWeight = 0.0;
+  @Override
+  protected EvaluationResult parseEvaluationResult(String content) throws JsonProcessingException {
+    List<CriterionScore> criteriaScores =
+        JudgeResponseReader.readCriterionScores(getObjectMapper().getFactory(), content);
+    if (criteriaScores == null || criteriaScores.isEmpty()) {
+      throw new IllegalStateException("No criteria scores returned from LLM");
+    }
 
-    // Map criterion names to their weights
-    Map<String, Double> criterionWeights =
-        rubricCriteria.stream()
-            .collect(
-                HashMap::new,
-                (map, criterion) -> map.put(criterion.getName(), criterion.getWeight()),
-                HashMap::putAll);
+    // Calculate weighted score
+    CompiledRubric.Scoring scoring = compiledRubric.score(criteriaScores);
+    double weightedScore = scoring.score();
+    if (!scoring.isComplete()) {
+      log.warn(
+          "Judge scores for {} metric do not match the rubric: unknown criteria {}, repeated"
+              + " criteria {}, missing criteria {}",
+          getMetricName(),
+          scoring.unknownCriteria(),
+          scoring.duplicateCriteria(),
+          scoring.missingCriteria());
+    }
 
-    for (CriterionScore criterionScore : criteriaScores) {
-      String criterionName = criterionScore.getCriterion();
-      Double weight = criterionWeights.get(criterionName);
+    // Generate reasoning based on criteria scores
+    String reasoning = generateReasoning(criteriaScores, weightedScore);
 
-      if (weight != null) {
-        totalWeightedScore += criterionScore.getScore() * weight;
-        totalWeight += weight;
-      }
+    // Add criteria scores to debug data
+    Map<String, Object> debugData = new HashMap<>();
+    debugData.put("criteriaScores", criteriaScores);
+    if (!scoring.unknownCriteria().isEmpty()) {
+      debugData.put("unknownCriteria", scoring.unknownCriteria());
+    }
+    if (!scoring.duplicateCriteria().isEmpty()) {
+      debugData.put("duplicateCriteria", scoring.duplicateCriteria());
+    }
+    if (!scoring.missingCriteria().isEmpty()) {
+      debugData.put("missingCriteria", scoring.missingCriteria());
     }
 
-    // Normalize to 0-1 scale (scores are 1-5)
-    return totalWeight > 0 ? (totalWeightedScore / totalWeight) / 5.0 : 0.0;
+    return EvaluationResult.builder()
+        .score(weightedScore)
+        .reasoning(reasoning)
+        .debugData(debugData)
+        .build();
   }
 
   /** Generates a reasoning string based on the criteria scores and final weighted score */
@@ -155,37 +121,6 @@ public class RubricsBasedMetric extends ScoreBasedMetric {
     return reasoning.toString();
   }
 
-  /** Formats the rubric criteria into a string representation for the prompt */
-  private String formatRubricCriteria(List<RubricCriterion> criteria) {
-    StringBuilder builder = new StringBuilder();
-
-    for (int i = 0; i < criteria.size(); i++) {
-      RubricCriterion criterion = criteria.get(i);
-
-      builder
-          .append("### Criterion ")
-          .append(i + 1)
-          .append(": ")
-          .append(criterion.getName())
-          .append("\n");
-      builder.append("**Description**: ").append(criterion.getDescription()).append("\n");
-      builder.append("**Scoring Guidelines**:\n");
-
-      for (Map.Entry<Integer, String> guideline : criterion.getScoringGuidelines().entrySet()) {
-        builder
-            .append("- **")
-            .append(guideline.getKey())
-            .append("**: ")
-            .append(guideline.getValue())
-            .append("\n");
-      }
-
-      builder.append("\n");
-    }
-
-    return builder.toString();
-  }
-
   @Override
   protected ResponseFormat buildResponseFormatForScoreAndReasoning() {
     return ResponseFormat.builder()
@@ -213,6 +148,11 @@ public class RubricsBasedMetric extends ScoreBasedMetric {
         .build();
   }
 
+  @Override
+  protected List<Object> getConfigurationParts() {
+    return List.of(evaluationPrompt, rubricCriteria);
+  }
+
   @Override
   protected List<String> getRequiredFieldsForValidation() {
     return List.of("userInput", "actualResponse");
@@ -0,0 +1,63 @@
+package com.openevals4j.metrics.simulation;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Distribution the {@link SimulatedJudgeChatModel} draws the latency of each call from. Real judge
+ * latencies are roughly log-normal with an occasional very slow call; {@link #logNormal} and {@link
+ * #withTail} reproduce both.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+  /** Draws one latency, in nanoseconds. */
+  long sampleNanos(Random random);
+
+  /** Every call takes the same time. */
+  static LatencyDistribution fixed(Duration latency) {
+    long nanos = latency.toNanos();
+    return random -> nanos;
+  }
+
+  /**
+   * Log-normal latencies: the logarithm of the latency is normally distributed.
+   *
+   * @param median Median latency
+   * @param sigma Standard deviation of the logarithm; 0.5 gives a p99 about 3.2 times the median
+   */
+  static LatencyDistribution logNormal(Duration median, double sigma) {
+    if (sigma < 0) {
+      throw new IllegalArgumentException("sigma must not be negative");
+    }
+    double mu = Math.log(median.toNanos());
+    return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+  }
+
+  /**
+   * Pareto latencies, a heavy tail where a few calls take many times the typical latency.
+   *
+   * @param minimum Smallest latency
+   * @param alpha Tail index; the smaller, the heavier the tail (the mean is infinite for {@code
+   *     alpha <= 1})
+   */
+  static LatencyDistribution pareto(Duration minimum, double alpha) {
+    if (alpha <= 0) {
+      throw new IllegalArgumentException("alpha must be positive");
+    }
+    long minimumNanos = minimum.toNanos();
+    return random -> (long) (minimumNanos / Math.pow(1 - random.nextDouble(), 1 / alpha));
+  }
+
+  /** Draws from the tail distribution with the given probability, and from this one otherwise. */
+  default LatencyDistribution withTail(double probability, LatencyDistribution tail) {
+    return random ->
+        random.nextDouble() < probability ? tail.sampleNanos(random) : sampleNanos(random);
+  }
+
+  /** Caps the latencies at the given maximum, like a client-side timeout would. */
+  default LatencyDistribution capped(Duration maximum) {
+    long maximumNanos = maximum.toNanos();
+    return random -> Math.min(sampleNanos(random), maximumNanos);
+  }
+}
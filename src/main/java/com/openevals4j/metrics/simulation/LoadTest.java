@@ -0,0 +1,160 @@
+package com.openevals4j.metrics.simulation;
+
+import com.openevals4j.metrics.LLMBasedMetric;
+import com.openevals4j.metrics.aggregation.QuantileSketch;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.utils.EvaluatorExecutors;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives a metric with a fixed number of evaluations in flight and reports the throughput, latency
+ * percentiles and error rate achieved. Pointed at a metric whose evaluator LLM is a {@link
+ * SimulatedJudgeChatModel}, wrapped in the rate limiting, retry or hedging decorators under test,
+ * it lets those settings be tuned offline.
+ */
+@Slf4j
+public class LoadTest {
+
+  private static final AtomicInteger POOL_COUNTER = new AtomicInteger();
+
+  private final LoadTestOptions options;
+
+  public LoadTest(LoadTestOptions options) {
+    if (options.getConcurrency() < 1) {
+      throw new IllegalArgumentException("concurrency must be at least 1");
+    }
+    this.options = options;
+  }
+
+  /**
+   * Runs the warm-up evaluations, then the measured ones, cycling through the inputs.
+   *
+   * @param metric The metric to drive
+   * @param inputs The evaluation contexts to evaluate
+   * @return Throughput, latency and error rate of the measured evaluations
+   */
+  public LoadTestReport run(
+      LLMBasedMetric<EvaluationContext, EvaluationResult> metric, List<EvaluationContext> inputs) {
+    if (inputs.isEmpty()) {
+      throw new IllegalArgumentException("A load test needs at least one input");
+    }
+
+    boolean ownsExecutor = options.getExecutorService() == null;
+    ExecutorService executor =
+        ownsExecutor
+            ? Executors.newFixedThreadPool(
+                options.getConcurrency(),
+                EvaluatorExecutors.daemonThreadFactory(
+                    "openevals4j-load-test-" + POOL_COUNTER.incrementAndGet()))
+            : options.getExecutorService();
+    try {
+      runItems(metric, inputs, options.getWarmupItems(), executor, new Recorder());
+
+      Recorder recorder = new Recorder();
+      long judgeCallsBefore = metric.getUsage().calls();
+      long start = System.nanoTime();
+      runItems(metric, inputs, options.getItems(), executor, recorder);
+      long elapsed = System.nanoTime() - start;
+      return recorder.report(elapsed, metric.getUsage().calls() - judgeCallsBefore);
+    } finally {
+      if (ownsExecutor) {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  private void runItems(
+      LLMBasedMetric<EvaluationContext, EvaluationResult> metric,
+      List<EvaluationContext> inputs,
+      int items,
+      ExecutorService executor,
+      Recorder recorder) {
+    AtomicInteger next = new AtomicInteger();
+    List<Future<?>> workers = new ArrayList<>();
+    for (int worker = 0; worker < Math.min(options.getConcurrency(), items); worker++) {
+      workers.add(
+          executor.submit(
+              () -> {
+                for (int item = next.getAndIncrement();
+                    item < items;
+                    item = next.getAndIncrement()) {
+                  evaluate(metric, inputs.get(item % inputs.size()), recorder);
+                }
+              }));
+    }
+    try {
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      workers.forEach(worker -> worker.cancel(true));
+      throw new IllegalStateException("Interrupted while running the load test", exception);
+    } catch (ExecutionException exception) {
+      workers.forEach(worker -> worker.cancel(true));
+      throw new IllegalStateException("Load test worker failed", exception.getCause());
+    }
+  }
+
+  private static void evaluate(
+      LLMBasedMetric<EvaluationContext, EvaluationResult> metric,
+      EvaluationContext input,
+      Recorder recorder) {
+    long start = System.nanoTime();
+    boolean failed;
+    try {
+      EvaluationResult result = metric.evaluate(input);
+      failed = result == null || Double.isNaN(result.getScore());
+    } catch (RuntimeException exception) {
+      log.debug("Evaluation failed during load test", exception);
+      failed = true;
+    }
+    recorder.record(System.nanoTime() - start, failed);
+  }
+
+  private static final class Recorder {
+
+    private final QuantileSketch sketch = new QuantileSketch(0.02, 1e3, 1e12);
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    private void record(long nanos, boolean failed) {
+      sketch.add(nanos);
+      totalNanos.add(nanos);
+      maxNanos.accumulate(nanos);
+      if (failed) {
+        failures.increment();
+      }
+    }
+
+    private LoadTestReport report(long elapsedNanos, long judgeCalls) {
+      long count = sketch.getCount();
+      return new LoadTestReport(
+          count,
+          failures.sum(),
+          judgeCalls,
+          Duration.ofNanos(elapsedNanos),
+          count > 0 ? Duration.ofNanos(totalNanos.sum() / count) : Duration.ZERO,
+          quantile(count, 0.5),
+          quantile(count, 0.9),
+          quantile(count, 0.99),
+          Duration.ofNanos(maxNanos.get()));
+    }
+
+    private Duration quantile(long count, double quantile) {
+      return count > 0 ? Duration.ofNanos(Math.round(sketch.quantile(quantile))) : Duration.ZERO;
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.openevals4j.metrics.simulation;
+
+import java.util.concurrent.ExecutorService;
+import lombok.Builder;
+import lombok.Getter;
+
+/** Options controlling how a {@link LoadTest} drives a metric. */
+@Getter
+@Builder
+public class LoadTestOptions {
+
+  /**
+   * Number of evaluations kept in flight. Each worker starts its next evaluation as soon as the
+   * previous one completes, so the throughput reached is bounded by the concurrency divided by the
+   * latency.
+   */
+  @Builder.Default private final int concurrency = 8;
+
+  /** Number of measured evaluations; the inputs are cycled through as often as needed. */
+  @Builder.Default private final int items = 1_000;
+
+  /** Number of evaluations run before measuring, e.g. to fill caches and warm up the JIT. */
+  private final int warmupItems;
+
+  /**
+   * Executor to run the workers on. When {@code null}, a pool sized to {@link #concurrency} is
+   * created for the run and shut down once it completes.
+   */
+  private final ExecutorService executorService;
+
+  public static LoadTestOptions defaults() {
+    return LoadTestOptions.builder().build();
+  }
+}
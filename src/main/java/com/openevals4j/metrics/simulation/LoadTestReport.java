@@ -0,0 +1,66 @@
+package com.openevals4j.metrics.simulation;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a {@link LoadTest}. Latencies are those of whole evaluations, including every judge
+ * call, retry and rate-limit wait they involved; percentiles are accurate to within 2%.
+ *
+ * @param items Evaluations measured
+ * @param failures Evaluations that threw or returned a failure result (a {@code NaN} score)
+ * @param judgeCalls Evaluator LLM calls the metric made, as counted by its token usage
+ * @param elapsed Wall-clock time of the measured evaluations
+ * @param meanLatency Mean latency of an evaluation
+ * @param p50 Median latency
+ * @param p90 90th percentile latency
+ * @param p99 99th percentile latency
+ * @param maxLatency Slowest evaluation
+ */
+public record LoadTestReport(
+    long items,
+    long failures,
+    long judgeCalls,
+    Duration elapsed,
+    Duration meanLatency,
+    Duration p50,
+    Duration p90,
+    Duration p99,
+    Duration maxLatency) {
+
+  /** Evaluations completed per second. */
+  public double throughput() {
+    return perSecond(items);
+  }
+
+  /** Evaluator LLM calls made per second. */
+  public double judgeCallsPerSecond() {
+    return perSecond(judgeCalls);
+  }
+
+  /** Share of evaluations that failed, or NaN when none were measured. */
+  public double errorRate() {
+    return items > 0 ? (double) failures / items : Double.NaN;
+  }
+
+  private double perSecond(long count) {
+    long nanos = elapsed.toNanos();
+    return nanos > 0 ? count * 1e9 / nanos : Double.NaN;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%d items in %.3f s: %.1f items/s, %.1f judge calls/s, error rate %.2f%%%n"
+            + "latency ms: mean %.1f, p50 %.1f, p90 %.1f, p99 %.1f, max %.1f",
+        items,
+        elapsed.toNanos() / 1e9,
+        throughput(),
+        judgeCallsPerSecond(),
+        errorRate() * 100,
+        meanLatency.toNanos() / 1e6,
+        p50.toNanos() / 1e6,
+        p90.toNanos() / 1e6,
+        p99.toNanos() / 1e6,
+        maxLatency.toNanos() / 1e6);
+  }
+}
@@ -0,0 +1,44 @@
+package com.openevals4j.metrics.simulation;
+
+/** Ways the {@link SimulatedJudgeChatModel} corrupts a response when injecting malformed JSON. */
+public enum MalformedResponseKind {
+  /** The JSON is cut off halfway, as when the output token limit is reached. */
+  TRUNCATED,
+  /** The JSON is wrapped in a Markdown code fence. */
+  CODE_FENCED,
+  /** A comma is left before the closing bracket of the outermost object. */
+  TRAILING_COMMA,
+  /** Straight double quotes are replaced with typographic ones. */
+  SMART_QUOTES,
+  /** The JSON is replaced by prose. */
+  PROSE;
+
+  /** Applies the corruption to well-formed JSON. */
+  public String corrupt(String json) {
+    return switch (this) {
+      case TRUNCATED -> json.substring(0, json.length() / 2);
+      case CODE_FENCED -> "```json\n" + json + "\n```";
+      case TRAILING_COMMA -> {
+        int end = json.lastIndexOf('}');
+        yield end > 0 ? json.substring(0, end) + ",}" + json.substring(end + 1) : json + ",";
+      }
+      case SMART_QUOTES -> smartQuotes(json);
+      case PROSE -> "I am unable to provide an evaluation in the requested format.";
+    };
+  }
+
+  private static String smartQuotes(String json) {
+    StringBuilder builder = new StringBuilder(json.length());
+    boolean opening = true;
+    for (int i = 0; i < json.length(); i++) {
+      char character = json.charAt(i);
+      if (character == '"') {
+        builder.append(opening ? '“' : '”');
+        opening = !opening;
+      } else {
+        builder.append(character);
+      }
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,20 @@
+package com.openevals4j.metrics.simulation;
+
+import dev.langchain4j.model.chat.request.ChatRequest;
+import java.util.Random;
+
+/**
+ * Produces the JSON the {@link SimulatedJudgeChatModel} answers a request with. Generators are
+ * registered by the name of the response schema they produce; see {@link ResponseGenerators} for
+ * the built-in ones.
+ */
+@FunctionalInterface
+public interface ResponseGenerator {
+
+  /**
+   * @param request The request sent to the judge
+   * @param random Source of randomness shared by the simulated judge
+   * @return Well-formed JSON matching the request's response schema
+   */
+  String generate(ChatRequest request, Random random);
+}
@@ -0,0 +1,135 @@
+package com.openevals4j.metrics.simulation;
+
+import com.openevals4j.metrics.utils.ChatMessages;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Built-in {@link ResponseGenerator}s for the response schemas the metrics request. Generators read
+ * what they need from the prompt: the number of verdicts from the numbered chunks ({@code [1] ...})
+ * and the rubric criteria from their {@code ### Criterion N: name} headings.
+ */
+public final class ResponseGenerators {
+
+  private static final Pattern NUMBERED_CHUNK = Pattern.compile("(?m)^\\[(\\d+)] ");
+  private static final Pattern RUBRIC_CRITERION = Pattern.compile("(?m)^### Criterion \\d+: (.+)$");
+
+  private ResponseGenerators() {}
+
+  /** The generators for every schema used by the metrics in this library, by schema name. */
+  public static Map<String, ResponseGenerator> defaults(double yesProbability) {
+    Map<String, ResponseGenerator> generators = new HashMap<>();
+    generators.put("Verdicts", verdicts(yesProbability));
+    generators.put("Reason", reason());
+    generators.put("EvaluationResult", score(1, 5));
+    generators.put("RubricsEvaluation", rubric());
+    generators.put("FusedRetrievalVerdicts", fusedRetrievalVerdicts(yesProbability));
+    return generators;
+  }
+
+  /**
+   * One verdict per numbered chunk in the prompt, or a single verdict when there are none, each
+   * {@code yes} with the given probability.
+   */
+  public static ResponseGenerator verdicts(double yesProbability) {
+    return (request, random) -> {
+      int count = Math.max(1, countNumberedChunks(request.messages()));
+      StringBuilder json = new StringBuilder(count * 64).append("{\"verdicts\": [");
+      for (int i = 0; i < count; i++) {
+        json.append(i == 0 ? "" : ", ")
+            .append("{\"verdict\": \"")
+            .append(random.nextDouble() < yesProbability ? "yes" : "no")
+            .append("\", \"reason\": \"Simulated verdict for item ")
+            .append(i + 1)
+            .append(".\"}");
+      }
+      return json.append("]}").toString();
+    };
+  }
+
+  /** A fixed explanation of the score. */
+  public static ResponseGenerator reason() {
+    return (request, random) -> "{\"reason\": \"Simulated explanation of the score.\"}";
+  }
+
+  /** A score drawn uniformly from the given range, with reasoning. */
+  public static ResponseGenerator score(int minimum, int maximum) {
+    return (request, random) ->
+        "{\"score\": "
+            + (minimum + random.nextInt(maximum - minimum + 1))
+            + ", \"reasoning\": \"Simulated reasoning for the score.\"}";
+  }
+
+  /** A score from 1 to 5 for every rubric criterion named in the prompt. */
+  public static ResponseGenerator rubric() {
+    return (request, random) -> {
+      StringBuilder json = new StringBuilder("{\"criteriaScores\": [");
+      List<String> criteria = findRubricCriteria(request.messages());
+      for (int i = 0; i < criteria.size(); i++) {
+        json.append(i == 0 ? "" : ", ")
+            .append("{\"criterion\": ")
+            .append(quote(criteria.get(i)))
+            .append(", \"score\": ")
+            .append(1 + random.nextInt(5))
+            .append(", \"justification\": \"Simulated justification.\"}");
+      }
+      return json.append("]}").toString();
+    };
+  }
+
+  /** The usefulness and relevance verdicts of a fused retrieval judge for every chunk. */
+  public static ResponseGenerator fusedRetrievalVerdicts(double yesProbability) {
+    return (request, random) -> {
+      int count = Math.max(1, countNumberedChunks(request.messages()));
+      StringBuilder json = new StringBuilder(count * 128).append("{\"verdicts\": [");
+      for (int i = 0; i < count; i++) {
+        json.append(i == 0 ? "" : ", ")
+            .append("{\"usefulVerdict\": \"")
+            .append(random.nextDouble() < yesProbability ? "yes" : "no")
+            .append("\", \"usefulReason\": \"Simulated.\", \"relevantVerdict\": \"")
+            .append(random.nextDouble() < yesProbability ? "yes" : "no")
+            .append("\", \"relevantReason\": \"Simulated.\"}");
+      }
+      return json.append("]}").toString();
+    };
+  }
+
+  private static int countNumberedChunks(List<ChatMessage> messages) {
+    int count = 0;
+    for (ChatMessage message : messages) {
+      if (message instanceof UserMessage) {
+        Matcher matcher = NUMBERED_CHUNK.matcher(textOf(message));
+        while (matcher.find()) {
+          count = Math.max(count, Integer.parseInt(matcher.group(1)));
+        }
+      }
+    }
+    return count;
+  }
+
+  private static List<String> findRubricCriteria(List<ChatMessage> messages) {
+    List<String> criteria = new ArrayList<>();
+    for (ChatMessage message : messages) {
+      Matcher matcher = RUBRIC_CRITERION.matcher(textOf(message));
+      while (matcher.find()) {
+        criteria.add(matcher.group(1).trim());
+      }
+    }
+    return criteria;
+  }
+
+  private static String textOf(ChatMessage message) {
+    String text = ChatMessages.textOf(message);
+    return text != null ? text : "";
+  }
+
+  private static String quote(String text) {
+    return '"' + text.replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+  }
+}
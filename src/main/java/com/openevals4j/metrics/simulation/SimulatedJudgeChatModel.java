@@ -0,0 +1,152 @@
+package com.openevals4j.metrics.simulation;
+
+import com.openevals4j.metrics.evaluator.TokenBucket;
+import com.openevals4j.metrics.utils.ChatMessages;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ResponseFormat;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for an evaluator LLM, for tuning rate limits, retries and batch concurrency
+ * without spending API quota. Each call sleeps for a latency drawn from the configured {@link
+ * LatencyDistribution} and answers with JSON from the {@link ResponseGenerator} registered for the
+ * request's response schema. Calls beyond the configured request rate or concurrency, and a
+ * configurable share of all calls, fail like a provider's HTTP 429; a configurable share of answers
+ * is {@link MalformedResponseKind malformed}. Token usage is estimated at four characters per
+ * token.
+ */
+public class SimulatedJudgeChatModel implements ChatLanguageModel {
+
+  static final String THROTTLED_MESSAGE = "HTTP 429 Too Many Requests (simulated judge)";
+
+  private static final String DEFAULT_SCHEMA = "EvaluationResult";
+
+  private final SimulatedJudgeOptions options;
+  private final Map<String, ResponseGenerator> generators;
+  private final TokenBucket requestBucket;
+  private final Random random;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder throttledCalls = new LongAdder();
+  private final LongAdder malformedResponses = new LongAdder();
+
+  public SimulatedJudgeChatModel() {
+    this(SimulatedJudgeOptions.defaults());
+  }
+
+  public SimulatedJudgeChatModel(SimulatedJudgeOptions options) {
+    this.options = options;
+    this.generators = new HashMap<>(ResponseGenerators.defaults(options.getYesProbability()));
+    this.generators.putAll(options.getResponseGenerators());
+    this.requestBucket =
+        options.getRequestsPerSecond() > 0
+            ? new TokenBucket(
+                Math.max(1, options.getRequestsPerSecond()), options.getRequestsPerSecond())
+            : null;
+    this.random = options.getSeed() != null ? new Random(options.getSeed()) : new Random();
+  }
+
+  @Override
+  public ChatResponse chat(ChatRequest chatRequest) {
+    calls.increment();
+    int running = inFlight.incrementAndGet();
+    try {
+      if (isThrottled(running)) {
+        throttledCalls.increment();
+        sleep(options.getThrottledLatency().toNanos());
+        throw new RuntimeException(THROTTLED_MESSAGE);
+      }
+
+      ResponseGenerator generator = generators.get(schemaName(chatRequest.responseFormat()));
+      if (generator == null) {
+        throw new IllegalArgumentException(
+            "No simulated response for schema " + schemaName(chatRequest.responseFormat()));
+      }
+      String text = generator.generate(chatRequest, random);
+      List<MalformedResponseKind> kinds = options.getMalformedResponseKinds();
+      if (!kinds.isEmpty() && random.nextDouble() < options.getMalformedProbability()) {
+        malformedResponses.increment();
+        text = kinds.get(random.nextInt(kinds.size())).corrupt(text);
+      }
+      sleep(options.getLatency().sampleNanos(random));
+
+      return ChatResponse.builder()
+          .aiMessage(AiMessage.from(text))
+          .tokenUsage(new TokenUsage(estimateTokens(chatRequest.messages()), text.length() / 4))
+          .build();
+    } finally {
+      inFlight.decrementAndGet();
+    }
+  }
+
+  @Override
+  public Response<AiMessage> generate(List<ChatMessage> messages) {
+    ChatResponse response = chat(ChatRequest.builder().messages(messages).build());
+    return Response.from(response.aiMessage(), response.tokenUsage());
+  }
+
+  /** Calls received, including throttled ones. */
+  public long getCalls() {
+    return calls.sum();
+  }
+
+  /** Calls that failed with a simulated HTTP 429. */
+  public long getThrottledCalls() {
+    return throttledCalls.sum();
+  }
+
+  /** Calls answered with malformed JSON. */
+  public long getMalformedResponses() {
+    return malformedResponses.sum();
+  }
+
+  /** Calls currently being served. */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  private boolean isThrottled(int running) {
+    if (options.getMaxConcurrentRequests() > 0 && running > options.getMaxConcurrentRequests()) {
+      return true;
+    }
+    if (requestBucket != null && !requestBucket.tryAcquire(1)) {
+      return true;
+    }
+    return options.getThrottleProbability() > 0
+        && random.nextDouble() < options.getThrottleProbability();
+  }
+
+  private static String schemaName(ResponseFormat responseFormat) {
+    return responseFormat != null && responseFormat.jsonSchema() != null
+        ? responseFormat.jsonSchema().name()
+        : DEFAULT_SCHEMA;
+  }
+
+  private static int estimateTokens(List<ChatMessage> messages) {
+    return (int) (ChatMessages.textLength(messages) / 4);
+  }
+
+  private static void sleep(long nanos) {
+    if (nanos <= 0) {
+      return;
+    }
+    try {
+      TimeUnit.NANOSECONDS.sleep(nanos);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while simulating judge latency", exception);
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package com.openevals4j.metrics.simulation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+/** Behaviour of a {@link SimulatedJudgeChatModel}. A limit or probability of zero is disabled. */
+@Getter
+@Builder
+public class SimulatedJudgeOptions {
+
+  /** Time a call that is answered takes. */
+  @Builder.Default
+  private final LatencyDistribution latency =
+      LatencyDistribution.logNormal(Duration.ofMillis(800), 0.5);
+
+  /** Time a throttled call takes before failing. */
+  @Builder.Default private final Duration throttledLatency = Duration.ofMillis(20);
+
+  /** Probability that a call is throttled regardless of load. */
+  private final double throttleProbability;
+
+  /**
+   * Sustained requests per second the simulated provider accepts, with bursts of up to one second's
+   * worth; calls beyond it are throttled.
+   */
+  private final double requestsPerSecond;
+
+  /** Calls the simulated provider serves at once; calls beyond it are throttled. */
+  private final int maxConcurrentRequests;
+
+  /** Probability that an answered call returns malformed JSON. */
+  private final double malformedProbability;
+
+  /** Corruptions applied to malformed responses, picked uniformly. */
+  @Builder.Default
+  private final List<MalformedResponseKind> malformedResponseKinds =
+      List.of(MalformedResponseKind.values());
+
+  /** Probability that a generated verdict is {@code yes}. */
+  @Builder.Default private final double yesProbability = 0.7;
+
+  /** Seed for latencies, faults and responses; when {@code null}, runs differ. */
+  private final Long seed;
+
+  /**
+   * Generators by response schema name, replacing or adding to {@link ResponseGenerators#defaults}.
+   */
+  @Singular private final Map<String, ResponseGenerator> responseGenerators;
+
+  public static SimulatedJudgeOptions defaults() {
+    return SimulatedJudgeOptions.builder().build();
+  }
+}
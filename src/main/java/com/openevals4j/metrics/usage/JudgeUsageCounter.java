@@ -0,0 +1,46 @@
+package com.openevals4j.metrics.usage;
+
+import com.openevals4j.metrics.models.JudgeUsage;
+import dev.langchain4j.model.output.TokenUsage;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe running total of evaluator LLM calls and their token usage. A call whose response
+ * reports no token usage is counted with zero tokens.
+ */
+public class JudgeUsageCounter {
+
+  private final LongAdder calls = new LongAdder();
+  private final LongAdder inputTokens = new LongAdder();
+  private final LongAdder outputTokens = new LongAdder();
+
+  /** Counts one call with the token usage from its response, which may be {@code null}. */
+  public void record(TokenUsage tokenUsage) {
+    calls.increment();
+    if (tokenUsage != null) {
+      if (tokenUsage.inputTokenCount() != null) {
+        inputTokens.add(tokenUsage.inputTokenCount());
+      }
+      if (tokenUsage.outputTokenCount() != null) {
+        outputTokens.add(tokenUsage.outputTokenCount());
+      }
+    }
+  }
+
+  /** Adds usage counted elsewhere, such as a judge call shared with another result. */
+  public void add(JudgeUsage usage) {
+    calls.add(usage.calls());
+    inputTokens.add(usage.inputTokens());
+    outputTokens.add(usage.outputTokens());
+  }
+
+  public JudgeUsage snapshot() {
+    return new JudgeUsage(calls.sum(), inputTokens.sum(), outputTokens.sum());
+  }
+
+  /** Returns the totals and starts counting from zero, for example between dataset runs. */
+  public JudgeUsage reset() {
+    return new JudgeUsage(
+        calls.sumThenReset(), inputTokens.sumThenReset(), outputTokens.sumThenReset());
+  }
+}
@@ -0,0 +1,56 @@
+package com.openevals4j.metrics.usage;
+
+import com.openevals4j.metrics.models.JudgeUsage;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+/**
+ * Token prices per evaluator model, used to turn {@link JudgeUsage} into a cost. Models are looked
+ * up by the identity the metric reports, see {@code LLMBasedMetric#setEvaluatorModelId}: set an
+ * explicit identity such as {@code "gemini-2.0-flash"} on the metrics, or on the {@code
+ * EvaluationSuite} that creates them, to price them by model name.
+ */
+@Getter
+@Builder
+public class PriceTable {
+
+  /** Prices by evaluator model identity. */
+  @Singular private final Map<String, Price> prices;
+
+  /** Price of models missing from {@link #prices}; their cost is NaN when {@code null}. */
+  private final Price defaultPrice;
+
+  /** Price applied to every model. */
+  public static PriceTable of(Price price) {
+    return PriceTable.builder().defaultPrice(price).build();
+  }
+
+  /** Returns the price of the model, or {@code null} when it has none. */
+  public Price priceOf(String modelId) {
+    Price price = prices.get(modelId);
+    return price != null ? price : defaultPrice;
+  }
+
+  /** Returns the cost of the usage on the model, or NaN when the model has no price. */
+  public double cost(String modelId, JudgeUsage usage) {
+    Price price = priceOf(modelId);
+    return price != null ? price.cost(usage) : Double.NaN;
+  }
+
+  /**
+   * Token prices of one model, in any currency.
+   *
+   * @param inputPerMillionTokens Price of one million input tokens
+   * @param outputPerMillionTokens Price of one million output tokens
+   */
+  public record Price(double inputPerMillionTokens, double outputPerMillionTokens) {
+
+    public double cost(JudgeUsage usage) {
+      return (usage.inputTokens() * inputPerMillionTokens
+              + usage.outputTokens() * outputPerMillionTokens)
+          / 1_000_000;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.openevals4j.metrics.usage;
+
+import com.openevals4j.metrics.models.JudgeUsage;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Evaluator LLM usage and cost of a run, one line per metric (and per fused judge), most expensive
+ * first. Lines of the same metric with different configurations, for example different prompts, are
+ * told apart by their configuration fingerprint.
+ */
+public class UsageReport {
+
+  private final List<Line> lines;
+  private final JudgeUsage totalUsage;
+  private final double totalCost;
+
+  public UsageReport(List<Line> lines) {
+    List<Line> sorted = new ArrayList<>(lines);
+    sorted.sort(
+        Comparator.comparingDouble((Line line) -> Double.isNaN(line.cost()) ? -1 : line.cost())
+            .thenComparingLong(line -> line.usage().inputTokens() + line.usage().outputTokens())
+            .reversed());
+    this.lines = List.copyOf(sorted);
+
+    JudgeUsage usage = JudgeUsage.NONE;
+    double cost = 0;
+    for (Line line : lines) {
+      usage = usage.plus(line.usage());
+      cost += line.cost();
+    }
+    this.totalUsage = usage;
+    this.totalCost = cost;
+  }
+
+  /** Lines ordered by cost, most expensive first; lines without a price come last. */
+  public List<Line> getLines() {
+    return lines;
+  }
+
+  public JudgeUsage getTotalUsage() {
+    return totalUsage;
+  }
+
+  /** Total cost, or NaN when any line has no price. */
+  public double getTotalCost() {
+    return totalCost;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder report =
+        new StringBuilder(
+            String.format(
+                "%-24s %-12s %8s %12s %12s %12s%n",
+                "Component", "Config", "Calls", "Input", "Output", "Cost"));
+    for (Line line : lines) {
+      appendRow(
+          report, line.name(), shorten(line.configurationFingerprint()), line.usage(), line.cost());
+    }
+    appendRow(report, "Total", "", totalUsage, totalCost);
+    return report.toString();
+  }
+
+  private static void appendRow(
+      StringBuilder report, String name, String configuration, JudgeUsage usage, double cost) {
+    report.append(
+        String.format(
+            "%-24s %-12s %8d %12d %12d %12.6f%n",
+            name, configuration, usage.calls(), usage.inputTokens(), usage.outputTokens(), cost));
+  }
+
+  private static String shorten(String fingerprint) {
+    return fingerprint == null ? "" : fingerprint.substring(0, Math.min(12, fingerprint.length()));
+  }
+
+  /**
+   * Usage of one metric or judge.
+   *
+   * @param name Metric name, or name of the judge
+   * @param modelId Identity of the evaluator model the usage was priced as
+   * @param configurationFingerprint Fingerprint of the metric configuration, or {@code null}
+   * @param usage Calls and tokens
+   * @param cost Cost according to the price table, NaN when the model has no price
+   */
+  public record Line(
+      String name,
+      String modelId,
+      String configurationFingerprint,
+      JudgeUsage usage,
+      double cost) {}
+}
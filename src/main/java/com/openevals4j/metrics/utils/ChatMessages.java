@@ -0,0 +1,43 @@
+package com.openevals4j.metrics.utils;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+
+/** Helpers for the messages of evaluator LLM requests. */
+public class ChatMessages {
+
+  private ChatMessages() {}
+
+  /**
+   * Returns the text of the message through the accessor of its type, or {@code null} when it has
+   * no single text, such as a user message with images or an AI message with only tool calls.
+   */
+  public static String textOf(ChatMessage message) {
+    if (message instanceof SystemMessage systemMessage) {
+      return systemMessage.text();
+    }
+    if (message instanceof UserMessage userMessage) {
+      return userMessage.hasSingleText() ? userMessage.singleText() : null;
+    }
+    if (message instanceof AiMessage aiMessage) {
+      return aiMessage.text();
+    }
+    if (message instanceof ToolExecutionResultMessage toolResult) {
+      return toolResult.text();
+    }
+    return null;
+  }
+
+  /** Returns the total length of the messages' {@link #textOf text}. */
+  public static long textLength(Iterable<ChatMessage> messages) {
+    long length = 0;
+    for (ChatMessage message : messages) {
+      String text = textOf(message);
+      length += text != null ? text.length() : 0;
+    }
+    return length;
+  }
+}
@@ -0,0 +1,43 @@
+package com.openevals4j.metrics.utils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Executors shared by the metrics for running evaluator LLM calls off the caller's thread. */
+public class EvaluatorExecutors {
+
+  private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+  private EvaluatorExecutors() {}
+
+  /**
+   * Returns the executor used by {@code evaluateAsync} when none is supplied. Judge calls are
+   * blocking I/O, so this is an unbounded pool of daemon threads rather than the common pool.
+   */
+  public static Executor defaultExecutor() {
+    return DefaultExecutorHolder.INSTANCE;
+  }
+
+  /** Returns an executor that runs tasks on the calling thread. */
+  public static Executor directExecutor() {
+    return DIRECT_EXECUTOR;
+  }
+
+  /** Creates a thread factory producing daemon threads named {@code <prefix>-<n>}. */
+  public static ThreadFactory daemonThreadFactory(String prefix) {
+    AtomicInteger threadCounter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + "-" + threadCounter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  private static class DefaultExecutorHolder {
+    private static final ExecutorService INSTANCE =
+        Executors.newCachedThreadPool(daemonThreadFactory("openevals4j-evaluator"));
+  }
+}
@@ -0,0 +1,37 @@
+package com.openevals4j.metrics.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/** SHA-256 fingerprints of configuration and request parts. */
+public class Fingerprints {
+
+  private static final byte SEPARATOR = 0;
+
+  private Fingerprints() {}
+
+  /**
+   * Returns the hex-encoded SHA-256 hash of the parts. Parts are separated so that moving text from
+   * one part to the next changes the fingerprint; {@code null} parts hash like empty ones.
+   */
+  public static String sha256Hex(Iterable<String> parts) {
+    MessageDigest digest = sha256();
+    for (String part : parts) {
+      if (part != null) {
+        digest.update(part.getBytes(StandardCharsets.UTF_8));
+      }
+      digest.update(SEPARATOR);
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  public static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException("SHA-256 is not available", exception);
+    }
+  }
+}
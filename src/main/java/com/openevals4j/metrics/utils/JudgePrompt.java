@@ -0,0 +1,36 @@
+package com.openevals4j.metrics.utils;
+
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import java.util.List;
+
+/**
+ * A prompt for the evaluator LLM, split into the instructions that are the same for every evaluated
+ * item and the input rendered for one item. The instructions are sent first, as a system message,
+ * so that requests of the same metric share a byte-identical prefix that providers can serve from
+ * their prompt cache.
+ *
+ * @param instructions Static instructions, examples and output format, or {@code null}
+ * @param input Item-specific part of the prompt
+ */
+public record JudgePrompt(String instructions, String input) {
+
+  /** A prompt sent entirely as the user message. */
+  public static JudgePrompt of(String input) {
+    return new JudgePrompt(null, input);
+  }
+
+  /** The system message with the instructions, if any, followed by the user message. */
+  public List<ChatMessage> toMessages() {
+    UserMessage userMessage = UserMessage.from(input);
+    return instructions == null || instructions.isEmpty()
+        ? List.of(userMessage)
+        : List.of(SystemMessage.from(instructions), userMessage);
+  }
+
+  /** The whole prompt as a single text, instructions first. */
+  public String text() {
+    return instructions == null || instructions.isEmpty() ? input : instructions + "\n\n" + input;
+  }
+}
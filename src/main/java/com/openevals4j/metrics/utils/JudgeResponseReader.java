@@ -0,0 +1,340 @@
+package com.openevals4j.metrics.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.openevals4j.metrics.Constants;
+import com.openevals4j.metrics.fusedretrieval.models.FusedRetrievalVerdict;
+import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.models.VerdictWithReason;
+import com.openevals4j.metrics.rubrics.models.CriterionScore;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming readers for the judge's response schemas. Each reader walks the tokens of one response
+ * and builds the typed result directly, without the intermediate maps, lists and boxed numbers of a
+ * tree or {@code Map} binding; fields outside the schema are skipped.
+ *
+ * <p>Verdicts are decoded from the parser's character buffer as {@code yes} or {@code no}, ignoring
+ * case and surrounding whitespace, and stored as the canonical {@link Constants#YES_SMALL_CASE} or
+ * {@link Constants#NO_SMALL_CASE} without allocating a string; anything else is kept as the judge
+ * wrote it.
+ */
+public final class JudgeResponseReader {
+
+  private JudgeResponseReader() {}
+
+  /**
+   * Reads a {@code Verdicts} response.
+   *
+   * @return The verdicts, or {@code null} when the response has no {@code verdicts} field
+   */
+  public static List<VerdictWithReason> readVerdicts(JsonFactory factory, String content)
+      throws JsonProcessingException {
+    return parse(
+        factory,
+        content,
+        parser -> {
+          List<VerdictWithReason> verdicts = null;
+          startObject(parser);
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if ("verdicts".equals(parser.currentName())) {
+              verdicts = startArray(parser) ? new ArrayList<>() : null;
+              while (verdicts != null && nextElement(parser)) {
+                verdicts.add(readVerdict(parser));
+              }
+            } else {
+              skipValue(parser);
+            }
+          }
+          return verdicts;
+        });
+  }
+
+  /**
+   * Reads a {@code Reason} response.
+   *
+   * @return The reason, or {@code null} when the response has none
+   */
+  public static String readReason(JsonFactory factory, String content)
+      throws JsonProcessingException {
+    return parse(
+        factory,
+        content,
+        parser -> {
+          String reason = null;
+          startObject(parser);
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if ("reason".equals(parser.currentName())) {
+              reason = readString(parser);
+            } else {
+              skipValue(parser);
+            }
+          }
+          return reason;
+        });
+  }
+
+  /**
+   * Reads an {@code EvaluationResult} response into a result with its score and reasoning. A
+   * response without a score, or with a {@code null} score, is rejected rather than read as a score
+   * of 0.
+   */
+  public static EvaluationResult readScore(JsonFactory factory, String content)
+      throws JsonProcessingException {
+    return parse(
+        factory,
+        content,
+        parser -> {
+          EvaluationResult result = new EvaluationResult();
+          boolean scored = false;
+          startObject(parser);
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if ("score".equals(field)) {
+              result.setScore(readDouble(parser, false));
+              scored = true;
+            } else if ("reasoning".equals(field)) {
+              result.setReasoning(readString(parser));
+            } else {
+              skipValue(parser);
+            }
+          }
+          if (!scored) {
+            throw new JsonParseException(parser, "Response has no score");
+          }
+          return result;
+        });
+  }
+
+  /**
+   * Reads a {@code RubricsEvaluation} response.
+   *
+   * @return The criterion scores, or {@code null} when the response has no {@code criteriaScores}
+   *     field
+   */
+  public static List<CriterionScore> readCriterionScores(JsonFactory factory, String content)
+      throws JsonProcessingException {
+    return parse(
+        factory,
+        content,
+        parser -> {
+          List<CriterionScore> scores = null;
+          startObject(parser);
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if ("criteriaScores".equals(parser.currentName())) {
+              scores = startArray(parser) ? new ArrayList<>() : null;
+              while (scores != null && nextElement(parser)) {
+                scores.add(readCriterionScore(parser));
+              }
+            } else {
+              skipValue(parser);
+            }
+          }
+          return scores;
+        });
+  }
+
+  /**
+   * Reads a {@code FusedRetrievalVerdicts} response.
+   *
+   * @return The verdicts, or {@code null} when the response has no {@code verdicts} field
+   */
+  public static List<FusedRetrievalVerdict> readFusedRetrievalVerdicts(
+      JsonFactory factory, String content) throws JsonProcessingException {
+    return parse(
+        factory,
+        content,
+        parser -> {
+          List<FusedRetrievalVerdict> verdicts = null;
+          startObject(parser);
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if ("verdicts".equals(parser.currentName())) {
+              verdicts = startArray(parser) ? new ArrayList<>() : null;
+              while (verdicts != null && nextElement(parser)) {
+                verdicts.add(readFusedRetrievalVerdict(parser));
+              }
+            } else {
+              skipValue(parser);
+            }
+          }
+          return verdicts;
+        });
+  }
+
+  private static <T> T parse(JsonFactory factory, String content, Reader<T> reader)
+      throws JsonProcessingException {
+    try (JsonParser parser = factory.createParser(content)) {
+      return reader.read(parser);
+    } catch (JsonProcessingException exception) {
+      throw exception;
+    } catch (IOException exception) {
+      throw new JsonParseException(null, exception.getMessage(), exception);
+    }
+  }
+
+  private static VerdictWithReason readVerdict(JsonParser parser) throws IOException {
+    VerdictWithReason verdict = new VerdictWithReason();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      if ("verdict".equals(field)) {
+        verdict.setVerdict(readVerdictValue(parser));
+      } else if ("reason".equals(field)) {
+        verdict.setReason(readString(parser));
+      } else {
+        skipValue(parser);
+      }
+    }
+    return verdict;
+  }
+
+  private static CriterionScore readCriterionScore(JsonParser parser) throws IOException {
+    CriterionScore score = new CriterionScore();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      if ("criterion".equals(field)) {
+        score.setCriterion(readString(parser));
+      } else if ("score".equals(field)) {
+        score.setScore((int) readDouble(parser, true));
+      } else if ("justification".equals(field)) {
+        score.setJustification(readString(parser));
+      } else {
+        skipValue(parser);
+      }
+    }
+    return score;
+  }
+
+  private static FusedRetrievalVerdict readFusedRetrievalVerdict(JsonParser parser)
+      throws IOException {
+    FusedRetrievalVerdict verdict = new FusedRetrievalVerdict();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      switch (parser.currentName()) {
+        case "usefulVerdict" -> verdict.setUsefulVerdict(readVerdictValue(parser));
+        case "usefulReason" -> verdict.setUsefulReason(readString(parser));
+        case "relevantVerdict" -> verdict.setRelevantVerdict(readVerdictValue(parser));
+        case "relevantReason" -> verdict.setRelevantReason(readString(parser));
+        default -> skipValue(parser);
+      }
+    }
+    return verdict;
+  }
+
+  /**
+   * Reads a verdict, normalizing {@code yes} and {@code no} to the {@link Constants}. They are
+   * matched in the parser's character buffer, so the usual verdicts allocate no string; anything
+   * else is read as a string and kept as the judge wrote it.
+   */
+  private static String readVerdictValue(JsonParser parser) throws IOException {
+    if (parser.nextToken() == JsonToken.VALUE_STRING) {
+      char[] characters = parser.getTextCharacters();
+      int start = parser.getTextOffset();
+      int end = start + parser.getTextLength();
+      while (start < end && Character.isWhitespace(characters[start])) {
+        start++;
+      }
+      while (end > start && Character.isWhitespace(characters[end - 1])) {
+        end--;
+      }
+      if (matchesIgnoreCase(characters, start, end, Constants.YES_SMALL_CASE)) {
+        return Constants.YES_SMALL_CASE;
+      }
+      if (matchesIgnoreCase(characters, start, end, Constants.NO_SMALL_CASE)) {
+        return Constants.NO_SMALL_CASE;
+      }
+    }
+    return currentString(parser);
+  }
+
+  /**
+   * Whether {@code characters[start, end)} equals the lower-case {@code expected}, ignoring case.
+   */
+  private static boolean matchesIgnoreCase(char[] characters, int start, int end, String expected) {
+    if (end - start != expected.length()) {
+      return false;
+    }
+    for (int i = 0; i < expected.length(); i++) {
+      if (Character.toLowerCase(characters[start + i]) != expected.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String readString(JsonParser parser) throws IOException {
+    parser.nextToken();
+    return currentString(parser);
+  }
+
+  private static String currentString(JsonParser parser) throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+      throw new JsonParseException(parser, "Expected a string but found " + token);
+    }
+    return parser.getValueAsString();
+  }
+
+  /** Reads a number, accepting numeric strings; {@code null} reads as 0 when it is allowed. */
+  private static double readDouble(JsonParser parser, boolean nullable) throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+      return parser.getDoubleValue();
+    }
+    if (token == JsonToken.VALUE_STRING) {
+      try {
+        return Double.parseDouble(parser.getText().trim());
+      } catch (NumberFormatException exception) {
+        throw new JsonParseException(parser, "Expected a number but found " + parser.getText());
+      }
+    }
+    if (token == JsonToken.VALUE_NULL && nullable) {
+      return 0;
+    }
+    throw new JsonParseException(parser, "Expected a number but found " + token);
+  }
+
+  private static void startObject(JsonParser parser) throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token != JsonToken.START_OBJECT) {
+      throw new JsonParseException(parser, "Expected a JSON object but found " + token);
+    }
+  }
+
+  /** Moves onto the value of the current field; returns whether it is an array. */
+  private static boolean startArray(JsonParser parser) throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token == JsonToken.START_ARRAY) {
+      return true;
+    }
+    if (token == JsonToken.VALUE_NULL) {
+      return false;
+    }
+    throw new JsonParseException(parser, "Expected a JSON array but found " + token);
+  }
+
+  /** Moves onto the next array element; returns false at the end of the array. */
+  private static boolean nextElement(JsonParser parser) throws IOException {
+    JsonToken token = parser.nextToken();
+    if (token == JsonToken.END_ARRAY) {
+      return false;
+    }
+    if (token != JsonToken.START_OBJECT) {
+      throw new JsonParseException(parser, "Expected a JSON object but found " + token);
+    }
+    return true;
+  }
+
+  private static void skipValue(JsonParser parser) throws IOException {
+    parser.nextToken();
+    parser.skipChildren();
+  }
+
+  @FunctionalInterface
+  private interface Reader<T> {
+    T read(JsonParser parser) throws IOException;
+  }
+}
@@ -0,0 +1,303 @@
+package com.openevals4j.metrics.utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A prompt written with {@link String#format} placeholders, parsed once into static segments and
+ * typed slots so that rendering is a single pass into a buffer sized up front. Supported
+ * placeholders are {@code %s}, {@code %d}, {@code %f} and {@code %.Nf}, optionally with an explicit
+ * argument index ({@code %2$s}), plus {@code %%} and {@code %n}. A template using any other
+ * placeholder is still accepted and rendered with {@link String#format}.
+ *
+ * <p>A collection passed to a {@code %s} slot is rendered as numbered chunks, one per line ({@code
+ * [1] first}, {@code [2] second}, ...), so that the judge can tell the items apart and refer to
+ * them by position; an empty collection renders as {@code (none)}.
+ *
+ * <p>The text up to the last blank line before the first placeholder is the template's {@link
+ * #getInstructions() instructions}: it is the same for every call, so {@link #renderPrompt} sends
+ * it as a byte-identical system message that providers can cache as a prompt prefix, and only the
+ * rest is rendered into the user message.
+ */
+public final class PromptTemplate {
+
+  private static final String EMPTY_COLLECTION = "(none)";
+  private static final int ESTIMATED_ELEMENT_LENGTH = 32;
+
+  private final String template;
+  private final String[] segments;
+  private final Slot[] slots;
+  private final int staticLength;
+  private final boolean formatFallback;
+  private final Object[] leadingArguments;
+  private final String instructions;
+  private final String firstInputSegment;
+
+  private PromptTemplate(String template, String[] segments, Slot[] slots, boolean fallback) {
+    this(template, segments, slots, fallback, new Object[0]);
+  }
+
+  private PromptTemplate(
+      String template,
+      String[] segments,
+      Slot[] slots,
+      boolean fallback,
+      Object[] leadingArguments) {
+    this.template = template;
+    this.segments = segments;
+    this.slots = slots;
+    this.formatFallback = fallback;
+    this.leadingArguments = leadingArguments;
+    int length = 0;
+    for (String segment : segments) {
+      length += segment.length();
+    }
+    this.staticLength = length;
+
+    int split = fallback || slots.length == 0 ? -1 : segments[0].lastIndexOf("\n\n");
+    this.instructions = split > 0 ? segments[0].substring(0, split) : null;
+    this.firstInputSegment = split > 0 ? segments[0].substring(split + 2) : null;
+  }
+
+  /** Parses the template. */
+  public static PromptTemplate compile(String template) {
+    List<String> segments = new ArrayList<>();
+    List<Slot> slots = new ArrayList<>();
+    StringBuilder segment = new StringBuilder();
+    int nextOrdinaryIndex = 0;
+
+    int position = 0;
+    while (position < template.length()) {
+      char character = template.charAt(position);
+      if (character != '%') {
+        segment.append(character);
+        position++;
+        continue;
+      }
+
+      int end = position + 1;
+      int argumentIndex = -1;
+      int digitsEnd = skipDigits(template, end);
+      if (digitsEnd > end && digitsEnd < template.length() && template.charAt(digitsEnd) == '$') {
+        argumentIndex = Integer.parseInt(template.substring(end, digitsEnd)) - 1;
+        end = digitsEnd + 1;
+      }
+
+      int precision = -1;
+      if (end < template.length() && template.charAt(end) == '.') {
+        int precisionEnd = skipDigits(template, end + 1);
+        if (precisionEnd == end + 1) {
+          return new PromptTemplate(template, new String[0], new Slot[0], true);
+        }
+        precision = Integer.parseInt(template.substring(end + 1, precisionEnd));
+        end = precisionEnd;
+      }
+
+      char conversion = end < template.length() ? template.charAt(end) : 0;
+      SlotType type =
+          switch (conversion) {
+            case 's' -> precision < 0 ? SlotType.TEXT : null;
+            case 'd' -> precision < 0 ? SlotType.INTEGER : null;
+            case 'f' -> SlotType.DECIMAL;
+            case '%', 'n' -> precision < 0 && argumentIndex < 0 ? SlotType.LITERAL : null;
+            default -> null;
+          };
+      if (type == null) {
+        return new PromptTemplate(template, new String[0], new Slot[0], true);
+      }
+
+      if (type == SlotType.LITERAL) {
+        segment.append(conversion == '%' ? "%" : System.lineSeparator());
+      } else {
+        segments.add(segment.toString());
+        segment.setLength(0);
+        int index = argumentIndex >= 0 ? argumentIndex : nextOrdinaryIndex++;
+        slots.add(
+            new Slot(
+                type,
+                index,
+                type == SlotType.DECIMAL ? "%." + (precision < 0 ? 6 : precision) + "f" : null));
+      }
+      position = end + 1;
+    }
+    segments.add(segment.toString());
+
+    return new PromptTemplate(
+        template, segments.toArray(String[]::new), slots.toArray(Slot[]::new), false);
+  }
+
+  /**
+   * Renders the template with the given arguments.
+   *
+   * @throws IllegalArgumentException If a slot refers to a missing argument
+   */
+  public String render(Object... arguments) {
+    if (formatFallback) {
+      Object[] formatted = new Object[leadingArguments.length + arguments.length];
+      System.arraycopy(leadingArguments, 0, formatted, 0, leadingArguments.length);
+      System.arraycopy(arguments, 0, formatted, leadingArguments.length, arguments.length);
+      for (int i = 0; i < formatted.length; i++) {
+        if (formatted[i] instanceof Collection<?> collection) {
+          formatted[i] = renderCollection(collection);
+        }
+      }
+      return String.format(template, formatted);
+    }
+    return render(segments[0], arguments);
+  }
+
+  private String render(String firstSegment, Object[] arguments) {
+    String[] values = new String[slots.length];
+    int capacity = staticLength - segments[0].length() + firstSegment.length();
+    for (int i = 0; i < slots.length; i++) {
+      Slot slot = slots[i];
+      if (slot.index() >= arguments.length) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Prompt template expects at least %d arguments but got %d",
+                slot.index() + 1, arguments.length));
+      }
+      Object argument = arguments[slot.index()];
+      if (slot.type() == SlotType.TEXT && argument instanceof Collection<?> collection) {
+        capacity += estimateCollectionLength(collection);
+      } else {
+        values[i] = slot.render(argument);
+        capacity += values[i].length();
+      }
+    }
+
+    StringBuilder prompt = new StringBuilder(capacity);
+    for (int i = 0; i < slots.length; i++) {
+      prompt.append(i == 0 ? firstSegment : segments[i]);
+      if (values[i] != null) {
+        prompt.append(values[i]);
+      } else {
+        appendCollection(prompt, (Collection<?>) arguments[slots[i].index()]);
+      }
+    }
+    return prompt.append(segments[slots.length]).toString();
+  }
+
+  /**
+   * Renders the template as a {@link JudgePrompt}: the instructions, which are the same instance on
+   * every call, and the rest of the template rendered with the given arguments. A template without
+   * instructions is rendered entirely into the input.
+   *
+   * @throws IllegalArgumentException If a slot refers to a missing argument
+   */
+  public JudgePrompt renderPrompt(Object... arguments) {
+    if (instructions == null) {
+      return JudgePrompt.of(render(arguments));
+    }
+    return new JudgePrompt(instructions, render(firstInputSegment, arguments));
+  }
+
+  /**
+   * Returns a template with the first argument fixed to the given value. The value is rendered into
+   * the static segments now, so text that is the same for every call (such as a rubric) is not
+   * rendered again; the remaining arguments shift down by one.
+   */
+  public PromptTemplate withLeadingArgument(Object value) {
+    if (formatFallback) {
+      Object[] leading = new Object[leadingArguments.length + 1];
+      System.arraycopy(leadingArguments, 0, leading, 0, leadingArguments.length);
+      leading[leadingArguments.length] = value;
+      return new PromptTemplate(template, segments, slots, true, leading);
+    }
+
+    List<String> boundSegments = new ArrayList<>();
+    List<Slot> boundSlots = new ArrayList<>();
+    StringBuilder segment = new StringBuilder(segments[0]);
+    for (int i = 0; i < slots.length; i++) {
+      Slot slot = slots[i];
+      if (slot.index() == 0) {
+        if (slot.type() == SlotType.TEXT && value instanceof Collection<?> collection) {
+          appendCollection(segment, collection);
+        } else {
+          segment.append(slot.render(value));
+        }
+      } else {
+        boundSegments.add(segment.toString());
+        segment.setLength(0);
+        boundSlots.add(new Slot(slot.type(), slot.index() - 1, slot.decimalFormat()));
+      }
+      segment.append(segments[i + 1]);
+    }
+    boundSegments.add(segment.toString());
+    return new PromptTemplate(
+        template, boundSegments.toArray(String[]::new), boundSlots.toArray(Slot[]::new), false);
+  }
+
+  /** Renders a collection the way a {@code %s} slot does. */
+  public static String renderCollection(Collection<?> collection) {
+    StringBuilder builder = new StringBuilder(estimateCollectionLength(collection));
+    appendCollection(builder, collection);
+    return builder.toString();
+  }
+
+  public String getTemplate() {
+    return template;
+  }
+
+  /**
+   * Returns the static text sent as the system message by {@link #renderPrompt}, or {@code null}
+   * when the template has no blank line before its first placeholder.
+   */
+  public String getInstructions() {
+    return instructions;
+  }
+
+  private static void appendCollection(StringBuilder builder, Collection<?> collection) {
+    if (collection.isEmpty()) {
+      builder.append(EMPTY_COLLECTION);
+      return;
+    }
+    int number = 1;
+    for (Object element : collection) {
+      if (number > 1) {
+        builder.append('\n');
+      }
+      builder.append('[').append(number++).append("] ").append(element);
+    }
+  }
+
+  private static int estimateCollectionLength(Collection<?> collection) {
+    if (collection.isEmpty()) {
+      return EMPTY_COLLECTION.length();
+    }
+    // "[n] " plus the line break, with room for up to four digits.
+    int length = collection.size() * 8;
+    for (Object element : collection) {
+      length += element instanceof CharSequence text ? text.length() : ESTIMATED_ELEMENT_LENGTH;
+    }
+    return length;
+  }
+
+  private static int skipDigits(String text, int position) {
+    while (position < text.length() && Character.isDigit(text.charAt(position))) {
+      position++;
+    }
+    return position;
+  }
+
+  private enum SlotType {
+    TEXT,
+    INTEGER,
+    DECIMAL,
+    LITERAL
+  }
+
+  private record Slot(SlotType type, int index, String decimalFormat) {
+
+    String render(Object argument) {
+      return switch (type) {
+        case DECIMAL -> String.format(decimalFormat, argument);
+        case INTEGER -> argument instanceof Integer || argument instanceof Long
+            ? argument.toString()
+            : String.format("%d", argument);
+        default -> String.valueOf(argument);
+      };
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package com.openevals4j.metrics;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.contextualrecall.ContextualRecallMetric;
+import com.openevals4j.metrics.exception.EvaluationContextValidationException;
+import com.openevals4j.metrics.faithfulness.FaithfulnessMetric;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.utils.EvaluatorExecutors;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class AsyncEvaluationTest {
+
+  private static final EvaluationContext CONTEXT =
+      EvaluationContext.builder()
+          .userInput("When was the first super bowl?")
+          .actualResponse("The first superbowl was held on January 15, 1968")
+          .expectedResponse("The first superbowl was held on January 15, 1968.")
+          .retrievedContexts(
+              List.of("The First AFL–NFL World Championship Game was played on January 15, 1968."))
+          .build();
+
+  @Test
+  void evaluateAsyncComposesVerdictAndReasonCalls() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              ChatRequest request = invocation.getArgument(0);
+              return "Verdicts".equals(request.responseFormat().jsonSchema().name())
+                  ? response(
+                      "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"1st node\"},"
+                          + " {\"verdict\": \"no\", \"reason\": \"not found\"}]}")
+                  : response("{\"reason\": \"The score is 0.50 because ...\"}");
+            });
+    ContextualRecallMetric metric =
+        ContextualRecallMetric.builder()
+            .evaluatorLLM(chatModel)
+            .objectMapper(new ObjectMapper())
+            .build();
+
+    EvaluationResult result = metric.evaluateAsync(CONTEXT).join();
+
+    Assertions.assertEquals(0.5, result.getScore());
+    Assertions.assertEquals("The score is 0.50 because ...", result.getReasoning());
+    verify(chatModel, times(2)).chat(any(ChatRequest.class));
+  }
+
+  @Test
+  void evaluateAsyncFallsBackToDefaultResultOnMalformedResponse() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class))).thenReturn(response("not json"));
+    FaithfulnessMetric metric =
+        FaithfulnessMetric.builder()
+            .evaluatorLLM(chatModel)
+            .objectMapper(new ObjectMapper())
+            .build();
+
+    EvaluationResult result = metric.evaluateAsync(CONTEXT).join();
+
+    Assertions.assertTrue(Double.isNaN(result.getScore()));
+  }
+
+  @Test
+  void evaluateBatchAsyncKeepsInputOrder() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              ChatRequest request = invocation.getArgument(0);
+              String prompt = request.messages().get(request.messages().size() - 1).toString();
+              return response(
+                  prompt.contains("1970")
+                      ? "{\"score\": 1, \"reasoning\": \"wrong year\"}"
+                      : "{\"score\": 5, \"reasoning\": \"faithful\"}");
+            });
+    FaithfulnessMetric metric =
+        FaithfulnessMetric.builder()
+            .evaluatorLLM(chatModel)
+            .objectMapper(new ObjectMapper())
+            .build();
+    EvaluationContext wrongYear =
+        EvaluationContext.builder()
+            .userInput(CONTEXT.getUserInput())
+            .actualResponse("The first superbowl was held in 1970")
+            .retrievedContexts(CONTEXT.getRetrievedContexts())
+            .build();
+
+    List<EvaluationResult> results =
+        metric.evaluateBatchAsync(List.of(CONTEXT, wrongYear, CONTEXT)).join();
+
+    Assertions.assertEquals(
+        List.of(5.0, 1.0, 5.0), results.stream().map(EvaluationResult::getScore).toList());
+  }
+
+  @Test
+  void evaluateAsyncReportsAnInvalidContextThroughTheFuture() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    EvaluationContext incomplete = EvaluationContext.builder().userInput("Incomplete").build();
+    List<LLMBasedMetric<EvaluationContext, EvaluationResult>> metrics =
+        List.of(
+            FaithfulnessMetric.builder()
+                .evaluatorLLM(chatModel)
+                .objectMapper(new ObjectMapper())
+                .build(),
+            ContextualRecallMetric.builder()
+                .evaluatorLLM(chatModel)
+                .objectMapper(new ObjectMapper())
+                .build());
+
+    for (LLMBasedMetric<EvaluationContext, EvaluationResult> metric : metrics) {
+      CompletableFuture<EvaluationResult> future =
+          Assertions.assertDoesNotThrow(
+              () -> metric.evaluateAsync(incomplete, EvaluatorExecutors.directExecutor()));
+      CompletionException exception =
+          Assertions.assertThrows(CompletionException.class, future::join);
+      Assertions.assertInstanceOf(EvaluationContextValidationException.class, exception.getCause());
+      Assertions.assertThrows(
+          EvaluationContextValidationException.class, () -> metric.evaluate(incomplete));
+    }
+    verify(chatModel, never()).chat(any(ChatRequest.class));
+  }
+
+  private static ChatResponse response(String content) {
+    return ChatResponse.builder().aiMessage(AiMessage.from(content)).build();
+  }
+}
@@ -0,0 +1,243 @@
+package com.openevals4j.metrics;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.batch.BatchEvaluationOptions;
+import com.openevals4j.metrics.cache.InMemoryJudgeResponseCache;
+import com.openevals4j.metrics.fusedretrieval.FusedRetrievalJudge;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.usage.PriceTable;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EvaluationSuiteTest {
+
+  private EvaluationSuite evaluationSuite;
+
+  @BeforeEach
+  void setUp() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              ChatRequest request = invocation.getArgument(0);
+              return switch (request.responseFormat().jsonSchema().name()) {
+                case "Verdicts" -> response(
+                    "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"relevant\"}]}");
+                case "Reason" -> response("{\"reason\": \"The score is 1.00\"}");
+                default -> response("{\"score\": 4, \"reasoning\": \"mostly faithful\"}");
+              };
+            });
+    evaluationSuite =
+        EvaluationSuite.builder()
+            .metricNames(
+                Set.of(
+                    MetricName.FAITHFULNESS,
+                    MetricName.CONTEXTUAL_RELEVANCY,
+                    MetricName.CONTEXTUAL_RECALL))
+            .evaluatorLLM(chatModel)
+            .objectMapper(new ObjectMapper())
+            .build();
+  }
+
+  @Test
+  void evaluateRunsEveryMetric() {
+    Map<MetricName, EvaluationResult> results =
+        evaluationSuite.evaluate(
+            EvaluationContext.builder()
+                .userInput("When was the first super bowl?")
+                .actualResponse("The first superbowl was held on January 15, 1968")
+                .expectedResponse("The first superbowl was held on January 15, 1968")
+                .retrievedContexts(List.of("The first super bowl was played on January 15, 1968."))
+                .build());
+
+    Assertions.assertEquals(4.0, results.get(MetricName.FAITHFULNESS).getScore());
+    Assertions.assertEquals(1.0, results.get(MetricName.CONTEXTUAL_RELEVANCY).getScore());
+    Assertions.assertEquals(1.0, results.get(MetricName.CONTEXTUAL_RECALL).getScore());
+  }
+
+  @Test
+  void evaluateDatasetIsolatesInvalidItemsPerMetric() {
+    EvaluationContext withoutExpectedResponse =
+        EvaluationContext.builder()
+            .userInput("When was the first super bowl?")
+            .actualResponse("The first superbowl was held on January 15, 1968")
+            .retrievedContexts(List.of("The first super bowl was played on January 15, 1968."))
+            .build();
+
+    List<Map<MetricName, EvaluationResult>> results =
+        evaluationSuite.evaluateDataset(
+            List.of(withoutExpectedResponse, withoutExpectedResponse),
+            BatchEvaluationOptions.builder().maxConcurrency(2).build());
+
+    Assertions.assertEquals(2, results.size());
+    for (Map<MetricName, EvaluationResult> result : results) {
+      Assertions.assertEquals(4.0, result.get(MetricName.FAITHFULNESS).getScore());
+      Assertions.assertTrue(Double.isNaN(result.get(MetricName.CONTEXTUAL_RECALL).getScore()));
+    }
+  }
+
+  @Test
+  void evaluateStreamRunsTheMetricsOfAnItemConcurrently() {
+    CountDownLatch bothJudgeCallsStarted = new CountDownLatch(2);
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              ChatRequest request = invocation.getArgument(0);
+              return switch (request.responseFormat().jsonSchema().name()) {
+                case "Reason" -> response("{\"reason\": \"The score is 1.00\"}");
+                default -> {
+                  // Only returns once the other metric's first call is in flight too.
+                  bothJudgeCallsStarted.countDown();
+                  bothJudgeCallsStarted.await(5, TimeUnit.SECONDS);
+                  yield request.responseFormat().jsonSchema().name().equals("Verdicts")
+                      ? response("{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"ok\"}]}")
+                      : response("{\"score\": 4, \"reasoning\": \"mostly faithful\"}");
+                }
+              };
+            });
+    EvaluationSuite suite =
+        EvaluationSuite.builder()
+            .metricNames(Set.of(MetricName.FAITHFULNESS, MetricName.CONTEXTUAL_RECALL))
+            .evaluatorLLM(chatModel)
+            .objectMapper(new ObjectMapper())
+            .build();
+    List<Map<MetricName, EvaluationResult>> results = new ArrayList<>();
+
+    suite.evaluateStream(
+        List.of(
+                EvaluationContext.builder()
+                    .userInput("When was the first super bowl?")
+                    .actualResponse("The first superbowl was held on January 15, 1968")
+                    .expectedResponse("The first superbowl was held on January 15, 1968")
+                    .retrievedContexts(
+                        List.of("The first super bowl was played on January 15, 1968."))
+                    .build())
+            .iterator(),
+        (index, context, result) -> results.add(result),
+        BatchEvaluationOptions.builder().maxConcurrency(1).build());
+
+    Assertions.assertEquals(0, bothJudgeCallsStarted.getCount());
+    Assertions.assertEquals(4.0, results.get(0).get(MetricName.FAITHFULNESS).getScore());
+    Assertions.assertEquals(1.0, results.get(0).get(MetricName.CONTEXTUAL_RECALL).getScore());
+  }
+
+  @Test
+  void evaluateScoresPrecisionAndRelevancyFromOneFusedPass() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              ChatRequest request = invocation.getArgument(0);
+              return "FusedRetrievalVerdicts".equals(request.responseFormat().jsonSchema().name())
+                  ? response(
+                      "{\"verdicts\": ["
+                          + "{\"usefulVerdict\": \"no\", \"usefulReason\": \"a cat\","
+                          + " \"relevantVerdict\": \"no\", \"relevantReason\": \"a cat\"},"
+                          + "{\"usefulVerdict\": \"yes\", \"usefulReason\": \"refunds\","
+                          + " \"relevantVerdict\": \"yes\", \"relevantReason\": \"refunds\"},"
+                          + "{\"usefulVerdict\": \"no\", \"usefulReason\": \"shipping\","
+                          + " \"relevantVerdict\": \"yes\", \"relevantReason\": \"shoes\"}]}")
+                  : response("{\"reason\": \"summary\"}");
+            });
+    EvaluationSuite fusedSuite =
+        EvaluationSuite.builder()
+            .metricNames(Set.of(MetricName.CONTEXTUAL_PRECISION, MetricName.CONTEXTUAL_RELEVANCY))
+            .evaluatorLLM(chatModel)
+            .objectMapper(new ObjectMapper())
+            .fuseRetrievalVerdicts(true)
+            .build();
+
+    Map<MetricName, EvaluationResult> results =
+        fusedSuite.evaluate(
+            EvaluationContext.builder()
+                .userInput("What if these shoes don't fit?")
+                .expectedResponse("You are eligible for a 30 day full refund at no extra cost")
+                .retrievedContexts(
+                    List.of(
+                        "There was a cat.",
+                        "All customers are eligible for a 30 day full refund.",
+                        "Shoes ship within two days."))
+                .build());
+
+    Assertions.assertEquals(0.5, results.get(MetricName.CONTEXTUAL_PRECISION).getScore());
+    Assertions.assertEquals(
+        2.0 / 3.0, results.get(MetricName.CONTEXTUAL_RELEVANCY).getScore(), 1e-9);
+    // One fused verdict call plus one reason call per metric
+    verify(chatModel, times(3)).chat(any(ChatRequest.class));
+    // Each result carries the shared verdict call; the totals count it once
+    Assertions.assertEquals(2, results.get(MetricName.CONTEXTUAL_PRECISION).getUsage().calls());
+    Assertions.assertEquals(2, results.get(MetricName.CONTEXTUAL_RELEVANCY).getUsage().calls());
+    Assertions.assertEquals(
+        3, fusedSuite.getUsageReport(PriceTable.of(null)).getTotalUsage().calls());
+  }
+
+  @Test
+  void fusedPassIsCachedAndAskedAgainForMissingVerdicts() {
+    String verdict =
+        "{\"usefulVerdict\": \"yes\", \"usefulReason\": \"refunds\","
+            + " \"relevantVerdict\": \"yes\", \"relevantReason\": \"refunds\"}";
+    AtomicInteger fusedCalls = new AtomicInteger();
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              ChatRequest request = invocation.getArgument(0);
+              if (!"FusedRetrievalVerdicts".equals(request.responseFormat().jsonSchema().name())) {
+                return response("{\"reason\": \"summary\"}");
+              }
+              // The first answer judges one node of two.
+              return fusedCalls.getAndIncrement() == 0
+                  ? response("{\"verdicts\": [" + verdict + "]}")
+                  : response("{\"verdicts\": [" + verdict + ", " + verdict + "]}");
+            });
+    EvaluationSuite fusedSuite =
+        EvaluationSuite.builder()
+            .metricNames(Set.of(MetricName.CONTEXTUAL_PRECISION, MetricName.CONTEXTUAL_RELEVANCY))
+            .evaluatorLLM(chatModel)
+            .objectMapper(new ObjectMapper())
+            .fuseRetrievalVerdicts(true)
+            .responseCache(InMemoryJudgeResponseCache.builder().build())
+            .build();
+    EvaluationContext context =
+        EvaluationContext.builder()
+            .userInput("What if these shoes don't fit?")
+            .expectedResponse("You are eligible for a 30 day full refund")
+            .retrievedContexts(List.of("Refunds within 30 days.", "Full refunds for everyone."))
+            .build();
+
+    Assertions.assertEquals(
+        1.0, fusedSuite.evaluate(context).get(MetricName.CONTEXTUAL_RELEVANCY).getScore());
+    Assertions.assertEquals(
+        1.0, fusedSuite.evaluate(context).get(MetricName.CONTEXTUAL_RELEVANCY).getScore());
+
+    FusedRetrievalJudge judge = fusedSuite.getFusedRetrievalJudge();
+    Assertions.assertEquals(1, judge.getJsonRepairStats().reprompts());
+    Assertions.assertEquals(2, judge.getUsage().calls());
+    // Two fused calls and two reason calls; the second evaluation is served from the cache
+    verify(chatModel, times(4)).chat(any(ChatRequest.class));
+  }
+
+  private static ChatResponse response(String content) {
+    return ChatResponse.builder().aiMessage(AiMessage.from(content)).build();
+  }
+}
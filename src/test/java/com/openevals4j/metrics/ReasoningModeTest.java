@@ -0,0 +1,89 @@
+package com.openevals4j.metrics;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.contextualrelevancy.ContextualRelevancyMetric;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReasoningModeTest {
+
+  private static final EvaluationContext CONTEXT =
+      EvaluationContext.builder()
+          .userInput("What if these shoes don't fit?")
+          .retrievedContexts(
+              List.of(
+                  "All customers are eligible for a 30 day full refund at no extra cost.",
+                  "There was a cat."))
+          .build();
+
+  private ChatLanguageModel chatModel;
+
+  @BeforeEach
+  void setUp() {
+    chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              ChatRequest request = invocation.getArgument(0);
+              return "Verdicts".equals(request.responseFormat().jsonSchema().name())
+                  ? response(
+                      "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"refund policy\"},"
+                          + " {\"verdict\": \"no\", \"reason\": \"about a cat\"}]}")
+                  : response("{\"reason\": \"The score is 0.50 because of the cat.\"}");
+            });
+  }
+
+  @Test
+  void lazyModeGeneratesReasonWhenResolved() {
+    EvaluationResult result = metric(ReasoningMode.LAZY).evaluate(CONTEXT);
+
+    Assertions.assertEquals(0.5, result.getScore());
+    Assertions.assertEquals(2, result.getVerdicts().size());
+    verify(chatModel, times(1)).chat(any(ChatRequest.class));
+
+    Assertions.assertNull(result.getReasoning());
+    Assertions.assertFalse(result.toString().contains("because of the cat"));
+    verify(chatModel, times(1)).chat(any(ChatRequest.class));
+
+    Assertions.assertEquals("The score is 0.50 because of the cat.", result.resolveReasoning());
+    Assertions.assertEquals("The score is 0.50 because of the cat.", result.resolveReasoning());
+    Assertions.assertEquals("The score is 0.50 because of the cat.", result.getReasoning());
+    verify(chatModel, times(2)).chat(any(ChatRequest.class));
+  }
+
+  @Test
+  void noneModeSummarizesVerdictsWithoutSecondCall() {
+    EvaluationResult result = metric(ReasoningMode.NONE).evaluate(CONTEXT);
+
+    Assertions.assertEquals(0.5, result.getScore());
+    Assertions.assertTrue(result.getReasoning().startsWith("The score is 0.50: 1 of 2 verdicts"));
+    Assertions.assertTrue(result.getReasoning().contains("[2] no: about a cat"));
+    verify(chatModel, times(1)).chat(any(ChatRequest.class));
+  }
+
+  private ContextualRelevancyMetric metric(ReasoningMode reasoningMode) {
+    return ContextualRelevancyMetric.builder()
+        .evaluatorLLM(chatModel)
+        .objectMapper(new ObjectMapper())
+        .reasoningMode(reasoningMode)
+        .build();
+  }
+
+  private static ChatResponse response(String content) {
+    return ChatResponse.builder().aiMessage(AiMessage.from(content)).build();
+  }
+}
@@ -0,0 +1,149 @@
+package com.openevals4j.metrics;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.cache.ChunkVerdictCache;
+import com.openevals4j.metrics.cache.InMemoryJudgeResponseCache;
+import com.openevals4j.metrics.contextualprecision.ContextualPrecisionMetric;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RetrievalVerdictBasedMetricTest {
+
+  private static final List<String> USEFUL_CHUNKS = List.of("chunk A", "chunk C");
+
+  @Test
+  void onlyUncachedChunksAreSentAndScoreIsUnchanged() {
+    List<String> verdictPrompts = new ArrayList<>();
+    ChatLanguageModel chatModel = chunkJudge(verdictPrompts);
+    ObjectMapper objectMapper = new ObjectMapper();
+    ContextualPrecisionMetric cachedMetric = precisionMetric(chatModel, objectMapper);
+    cachedMetric.setChunkVerdictCache(
+        new ChunkVerdictCache(InMemoryJudgeResponseCache.builder().build(), objectMapper));
+    ContextualPrecisionMetric uncachedMetric = precisionMetric(chatModel, objectMapper);
+
+    cachedMetric.evaluate(context(List.of("chunk A", "chunk B", "chunk C")));
+    verdictPrompts.clear();
+    EvaluationContext reordered = context(List.of("chunk B", "chunk D", "chunk A", "chunk C"));
+    EvaluationResult cached = cachedMetric.evaluate(reordered);
+
+    Assertions.assertEquals(1, verdictPrompts.size());
+    Assertions.assertTrue(verdictPrompts.get(0).contains("chunk D"));
+    Assertions.assertFalse(verdictPrompts.get(0).contains("chunk B"));
+    Assertions.assertEquals(3, cachedMetric.getChunkVerdictCache().getHits());
+    Assertions.assertEquals(uncachedMetric.evaluate(reordered).getScore(), cached.getScore());
+    Assertions.assertEquals(
+        List.of("no", "no", "yes", "yes"),
+        cached.getVerdicts().stream().map(verdict -> verdict.getVerdict()).toList());
+  }
+
+  @Test
+  void verdictListCutOffMidElementIsAskedForAgain() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenReturn(
+            response(
+                "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"a\"}, {\"verdict\":"
+                    + " \"no\", \"reason\": \"b\"}, {\"verdict\": \"yes\", \"rea"),
+            response(
+                "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"a\"}, {\"verdict\":"
+                    + " \"no\", \"reason\": \"b\"}, {\"verdict\": \"yes\", \"reason\": \"c\"}]}"));
+    InMemoryJudgeResponseCache cache = InMemoryJudgeResponseCache.builder().build();
+    ContextualPrecisionMetric metric = precisionMetric(chatModel, new ObjectMapper());
+    metric.setResponseCache(cache);
+    EvaluationContext context = context(List.of("chunk A", "chunk B", "chunk C"));
+
+    EvaluationResult result = metric.evaluate(context);
+
+    Assertions.assertEquals(3, result.getVerdicts().size());
+    Assertions.assertEquals(1, metric.getJsonRepairStats().reprompts());
+    Assertions.assertEquals(result.getScore(), metric.evaluate(context).getScore());
+    verify(chatModel, times(2)).chat(any(ChatRequest.class));
+  }
+
+  @Test
+  void shortAnswerForUncachedChunksIsAskedForAgain() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenReturn(
+            response("{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"a\"}]}"),
+            response(
+                "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"a\"}, {\"verdict\":"
+                    + " \"no\", \"reason\": \"b\"}]}"));
+    ObjectMapper objectMapper = new ObjectMapper();
+    ContextualPrecisionMetric metric = precisionMetric(chatModel, objectMapper);
+    metric.setChunkVerdictCache(
+        new ChunkVerdictCache(InMemoryJudgeResponseCache.builder().build(), objectMapper));
+
+    EvaluationResult result = metric.evaluate(context(List.of("chunk A", "chunk B")));
+
+    Assertions.assertEquals(1.0, result.getScore());
+    Assertions.assertEquals(1, metric.getJsonRepairStats().reprompts());
+    verify(chatModel, times(2)).chat(any(ChatRequest.class));
+  }
+
+  private static ContextualPrecisionMetric precisionMetric(
+      ChatLanguageModel chatModel, ObjectMapper objectMapper) {
+    return ContextualPrecisionMetric.builder()
+        .evaluatorLLM(chatModel)
+        .objectMapper(objectMapper)
+        .reasoningMode(ReasoningMode.NONE)
+        .build();
+  }
+
+  private static EvaluationContext context(List<String> retrievedContexts) {
+    return EvaluationContext.builder()
+        .userInput("Which chunks are useful?")
+        .expectedResponse("A and C.")
+        .retrievedContexts(retrievedContexts)
+        .build();
+  }
+
+  private static ChatResponse response(String content) {
+    return ChatResponse.builder().aiMessage(AiMessage.from(content)).build();
+  }
+
+  /** Judges each chunk listed in the prompt's retrieval context independently. */
+  private static ChatLanguageModel chunkJudge(List<String> verdictPrompts) {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              ChatRequest request = invocation.getArgument(0);
+              String prompt =
+                  ((UserMessage) request.messages().get(request.messages().size() - 1))
+                      .singleText();
+              verdictPrompts.add(prompt);
+              String contexts = prompt.substring(prompt.lastIndexOf("Retrieval Context"));
+              String verdicts =
+                  List.of("chunk A", "chunk B", "chunk C", "chunk D").stream()
+                      .filter(contexts::contains)
+                      .sorted((a, b) -> contexts.indexOf(a) - contexts.indexOf(b))
+                      .map(
+                          chunk ->
+                              String.format(
+                                  "{\"verdict\": \"%s\", \"reason\": \"%s\"}",
+                                  USEFUL_CHUNKS.contains(chunk) ? "yes" : "no", chunk))
+                      .collect(Collectors.joining(", "));
+              return ChatResponse.builder()
+                  .aiMessage(AiMessage.from("{\"verdicts\": [" + verdicts + "]}"))
+                  .build();
+            });
+    return chatModel;
+  }
+}
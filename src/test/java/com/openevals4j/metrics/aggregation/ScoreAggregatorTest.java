@@ -0,0 +1,116 @@
+package com.openevals4j.metrics.aggregation;
+
+import com.openevals4j.metrics.MetricName;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ScoreAggregatorTest {
+
+  @Test
+  void summarisesScoresRecordedConcurrently() throws Exception {
+    ScoreAggregator aggregator = new ScoreAggregator();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 8; thread++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 1; i <= 1000; i++) {
+                    aggregator.record(MetricName.FAITHFULNESS, i / 1000.0);
+                  }
+                  aggregator.record(MetricName.FAITHFULNESS, Double.NaN);
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    ScoreSummary summary = aggregator.getSummary(MetricName.FAITHFULNESS);
+    Assertions.assertEquals(8000, summary.getCount());
+    Assertions.assertEquals(8, summary.getNanCount());
+    Assertions.assertEquals(8.0 / 8008, summary.getNanRate(), 1e-12);
+    Assertions.assertEquals(0.5005, summary.getMean(), 1e-9);
+    Assertions.assertEquals(0.0833, summary.getVariance(), 1e-3);
+    Assertions.assertEquals(0.001, summary.getMin());
+    Assertions.assertEquals(1.0, summary.getMax());
+    Assertions.assertEquals(0.5, summary.getP50(), 0.5 * 0.011);
+    Assertions.assertEquals(0.9, summary.getP90(), 0.9 * 0.011);
+    Assertions.assertEquals(0.99, summary.getP99(), 0.99 * 0.011);
+    long[] histogram = summary.getHistogram();
+    Assertions.assertEquals(10, histogram.length);
+    Assertions.assertEquals(8000, Arrays.stream(histogram).sum());
+    Assertions.assertEquals(808, histogram[9]);
+  }
+
+  @Test
+  void mergedAggregatorsMatchOneThatSawEveryScore() {
+    ScoreAggregator first = new ScoreAggregator();
+    ScoreAggregator second = new ScoreAggregator();
+    ScoreAggregator combined = new ScoreAggregator();
+    for (int i = 0; i < 500; i++) {
+      double score = (i * 37 % 100) / 100.0;
+      (i % 2 == 0 ? first : second).record(MetricName.CONTEXTUAL_RECALL, score);
+      combined.record(MetricName.CONTEXTUAL_RECALL, score);
+    }
+
+    ScoreSummary mergedSummaries =
+        first
+            .getSummary(MetricName.CONTEXTUAL_RECALL)
+            .merge(second.getSummary(MetricName.CONTEXTUAL_RECALL));
+    first.merge(second);
+
+    ScoreSummary expected = combined.getSummary(MetricName.CONTEXTUAL_RECALL);
+    for (ScoreSummary merged :
+        List.of(first.getSummary(MetricName.CONTEXTUAL_RECALL), mergedSummaries)) {
+      Assertions.assertEquals(expected.getCount(), merged.getCount());
+      Assertions.assertEquals(expected.getMean(), merged.getMean(), 1e-12);
+      Assertions.assertEquals(expected.getVariance(), merged.getVariance(), 1e-12);
+      Assertions.assertEquals(expected.getMin(), merged.getMin());
+      Assertions.assertEquals(expected.getP90(), merged.getP90());
+      Assertions.assertArrayEquals(expected.getHistogram(), merged.getHistogram());
+    }
+  }
+
+  @Test
+  void publishesTumblingWindows() {
+    AtomicLong now = new AtomicLong(60_000);
+    List<Map<MetricName, ScoreSummary>> published = new ArrayList<>();
+    ScoreAggregator aggregator =
+        new ScoreAggregator(
+            ScoreAggregatorOptions.builder()
+                .window(Duration.ofSeconds(10))
+                .windowListener(published::add)
+                .build(),
+            now::get);
+
+    aggregator.record(MetricName.RUBRICS_BASED, 0.2);
+    aggregator.record(MetricName.RUBRICS_BASED, 0.4);
+    now.addAndGet(10_000);
+    aggregator.record(MetricName.RUBRICS_BASED, 1.0);
+    now.addAndGet(25_000);
+    aggregator.rotateWindowIfDue();
+
+    Assertions.assertEquals(2, published.size());
+    ScoreSummary firstWindow = published.get(0).get(MetricName.RUBRICS_BASED);
+    Assertions.assertEquals(2, firstWindow.getCount());
+    Assertions.assertEquals(0.3, firstWindow.getMean(), 1e-12);
+    Assertions.assertEquals(60, firstWindow.getWindowStart().getEpochSecond());
+    Assertions.assertEquals(70, firstWindow.getWindowEnd().getEpochSecond());
+    Assertions.assertEquals(
+        1.0, aggregator.getLastWindowSummaries().get(MetricName.RUBRICS_BASED).getMean());
+    Assertions.assertEquals(3, aggregator.getSummary(MetricName.RUBRICS_BASED).getCount());
+  }
+}
@@ -0,0 +1,183 @@
+package com.openevals4j.metrics.batch;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.exception.CheckpointMismatchException;
+import com.openevals4j.metrics.faithfulness.FaithfulnessMetric;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class BatchCheckpointTest {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+  private static final JavaType INTEGER = OBJECT_MAPPER.constructType(Integer.class);
+
+  @TempDir Path directory;
+
+  @Test
+  void resumedBatchOnlyEvaluatesItemsMissingFromCheckpoint() throws Exception {
+    CheckpointOptions options = CheckpointOptions.of(directory.resolve("batch.jsonl"));
+    ConcurrentBatchEvaluator evaluator =
+        new ConcurrentBatchEvaluator(BatchEvaluationOptions.defaults());
+    List<Integer> inputs = List.of(1, 2, 3, 4);
+
+    try (BatchCheckpoint<Integer> checkpoint =
+        BatchCheckpoint.open(options, "config-a", INTEGER, OBJECT_MAPPER)) {
+      List<Integer> results =
+          evaluator.evaluate(
+              inputs,
+              input -> {
+                if (input == 3) {
+                  throw new IllegalStateException("judge unavailable");
+                }
+                return input * 10;
+              },
+              (input, exception) -> -1,
+              checkpoint,
+              null);
+      Assertions.assertEquals(List.of(10, 20, -1, 40), results);
+    }
+
+    List<Integer> evaluated = Collections.synchronizedList(new ArrayList<>());
+    try (BatchCheckpoint<Integer> checkpoint =
+        BatchCheckpoint.open(options, "config-a", INTEGER, OBJECT_MAPPER)) {
+      List<Integer> results =
+          evaluator.evaluate(
+              inputs,
+              input -> {
+                evaluated.add(input);
+                return input * 10;
+              },
+              (input, exception) -> -1,
+              checkpoint,
+              null);
+      Assertions.assertEquals(List.of(10, 20, 30, 40), results);
+    }
+    Assertions.assertEquals(List.of(3), evaluated);
+  }
+
+  @Test
+  void openRejectsCheckpointOfAnotherConfiguration() throws Exception {
+    CheckpointOptions options = CheckpointOptions.of(directory.resolve("batch.jsonl"));
+    BatchCheckpoint.open(options, "config-a", INTEGER, OBJECT_MAPPER).close();
+
+    Assertions.assertThrows(
+        CheckpointMismatchException.class,
+        () -> BatchCheckpoint.open(options, "config-b", INTEGER, OBJECT_MAPPER));
+  }
+
+  @Test
+  void openDropsTornLastLine() throws Exception {
+    Path file = directory.resolve("batch.jsonl");
+    CheckpointOptions options = CheckpointOptions.of(file);
+    try (BatchCheckpoint<Integer> checkpoint =
+        BatchCheckpoint.open(options, "config-a", INTEGER, OBJECT_MAPPER)) {
+      checkpoint.record("0", 10);
+    }
+    Files.writeString(
+        file, "{\"id\":\"1\",\"res", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+    try (BatchCheckpoint<Integer> checkpoint =
+        BatchCheckpoint.open(options, "config-a", INTEGER, OBJECT_MAPPER)) {
+      Assertions.assertEquals(1, checkpoint.getCompletedResults().size());
+      checkpoint.record("1", 20);
+    }
+    try (BatchCheckpoint<Integer> checkpoint =
+        BatchCheckpoint.open(options, "config-a", INTEGER, OBJECT_MAPPER)) {
+      Assertions.assertEquals(20, checkpoint.getCompletedResults().get("1"));
+      Assertions.assertEquals(2, checkpoint.getCompletedResults().size());
+    }
+  }
+
+  @Test
+  void metricBatchResumesFromCheckpointAndRejectsChangedPrompt() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenReturn(
+            ChatResponse.builder()
+                .aiMessage(AiMessage.from("{\"score\": 4, \"reasoning\": \"mostly faithful\"}"))
+                .build());
+    FaithfulnessMetric metric =
+        FaithfulnessMetric.builder().evaluatorLLM(chatModel).objectMapper(OBJECT_MAPPER).build();
+    metric.setEvaluatorModelId("judge-a");
+    List<EvaluationContext> contexts =
+        List.of(context("Who wrote Hamlet?"), context("Who wrote Faust?"));
+    BatchEvaluationOptions options =
+        BatchEvaluationOptions.builder()
+            .checkpoint(CheckpointOptions.of(directory.resolve("faithfulness.jsonl")))
+            .build();
+
+    metric.evaluateBatch(contexts, options);
+    List<EvaluationResult> resumed = metric.evaluateBatch(contexts, options);
+
+    verify(chatModel, times(2)).chat(any(ChatRequest.class));
+    Assertions.assertEquals(4.0, resumed.get(1).getScore());
+    Assertions.assertEquals("mostly faithful", resumed.get(1).getReasoning());
+
+    FaithfulnessMetric changedPrompt =
+        FaithfulnessMetric.builder()
+            .evaluatorLLM(chatModel)
+            .objectMapper(OBJECT_MAPPER)
+            .evaluationPrompt("Rate faithfulness. Context: %s Question: %s Answer: %s")
+            .build();
+    changedPrompt.setEvaluatorModelId("judge-a");
+    Assertions.assertThrows(
+        CheckpointMismatchException.class, () -> changedPrompt.evaluateBatch(contexts, options));
+  }
+
+  @Test
+  void metricBatchCheckpointRequiresAndChecksTheEvaluatorModelId() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenReturn(
+            ChatResponse.builder()
+                .aiMessage(AiMessage.from("{\"score\": 4, \"reasoning\": \"mostly faithful\"}"))
+                .build());
+    List<EvaluationContext> contexts = List.of(context("Who wrote Hamlet?"));
+    BatchEvaluationOptions options =
+        BatchEvaluationOptions.builder()
+            .checkpoint(CheckpointOptions.of(directory.resolve("faithfulness.jsonl")))
+            .build();
+    FaithfulnessMetric metric =
+        FaithfulnessMetric.builder().evaluatorLLM(chatModel).objectMapper(OBJECT_MAPPER).build();
+
+    Assertions.assertThrows(
+        IllegalStateException.class, () -> metric.evaluateBatch(contexts, options));
+    verify(chatModel, times(0)).chat(any(ChatRequest.class));
+
+    metric.setEvaluatorModelId("gpt-4o");
+    metric.evaluateBatch(contexts, options);
+    // Same provider class, different model: the checkpoint must not be resumed.
+    metric.setEvaluatorModelId("gpt-4o-mini");
+    Assertions.assertThrows(
+        CheckpointMismatchException.class, () -> metric.evaluateBatch(contexts, options));
+  }
+
+  private static EvaluationContext context(String userInput) {
+    return EvaluationContext.builder()
+        .userInput(userInput)
+        .actualResponse("Shakespeare")
+        .retrievedContexts(List.of("Hamlet is a tragedy by William Shakespeare."))
+        .build();
+  }
+}
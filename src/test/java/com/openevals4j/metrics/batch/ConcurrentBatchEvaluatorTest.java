@@ -0,0 +1,122 @@
+package com.openevals4j.metrics.batch;
+
+import com.openevals4j.metrics.evaluator.RetryPolicy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentBatchEvaluatorTest {
+
+  @Test
+  void evaluateKeepsInputOrder() {
+    ConcurrentBatchEvaluator evaluator =
+        new ConcurrentBatchEvaluator(BatchEvaluationOptions.builder().maxConcurrency(4).build());
+    List<Integer> inputs = IntStream.range(0, 50).boxed().toList();
+
+    List<Integer> results =
+        evaluator.evaluate(
+            inputs,
+            input -> {
+              sleep((50 - input) % 7);
+              return input * 2;
+            },
+            (input, exception) -> -1);
+
+    Assertions.assertEquals(IntStream.range(0, 50).map(i -> i * 2).boxed().toList(), results);
+  }
+
+  @Test
+  void evaluateIsolatesFailures() {
+    ConcurrentBatchEvaluator evaluator =
+        new ConcurrentBatchEvaluator(BatchEvaluationOptions.defaults());
+
+    List<Double> results =
+        evaluator.evaluate(
+            List.of(1, 2, 3),
+            input -> {
+              if (input == 2) {
+                throw new IllegalStateException("judge unavailable");
+              }
+              return (double) input;
+            },
+            (input, exception) -> Double.NaN);
+
+    Assertions.assertEquals(1.0, results.get(0));
+    Assertions.assertTrue(Double.isNaN(results.get(1)));
+    Assertions.assertEquals(3.0, results.get(2));
+  }
+
+  @Test
+  void evaluateBoundsInFlightWorkOnInjectedExecutor() {
+    ExecutorService executorService = Executors.newCachedThreadPool();
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxObserved = new AtomicInteger();
+    try {
+      ConcurrentBatchEvaluator evaluator =
+          new ConcurrentBatchEvaluator(
+              BatchEvaluationOptions.builder()
+                  .maxConcurrency(3)
+                  .executorService(executorService)
+                  .build());
+
+      evaluator.evaluate(
+          IntStream.range(0, 30).boxed().toList(),
+          input -> {
+            maxObserved.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(5);
+            inFlight.decrementAndGet();
+            return input;
+          },
+          (input, exception) -> null);
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    Assertions.assertTrue(maxObserved.get() <= 3);
+  }
+
+  @Test
+  void evaluateRetriesDeferredTransientFailures() {
+    AtomicInteger secondItemAttempts = new AtomicInteger();
+    ConcurrentBatchEvaluator evaluator =
+        new ConcurrentBatchEvaluator(
+            BatchEvaluationOptions.builder()
+                .retryPolicy(
+                    RetryPolicy.builder()
+                        .maxAttempts(3)
+                        .initialBackoff(Duration.ofMillis(1))
+                        .build())
+                .build());
+
+    List<Double> results =
+        evaluator.evaluate(
+            List.of(1, 2, 3),
+            input -> {
+              if (input == 2 && secondItemAttempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("HTTP 429 Too Many Requests");
+              }
+              if (input == 3) {
+                throw new IllegalArgumentException("malformed evaluation context");
+              }
+              return (double) input;
+            },
+            (input, exception) -> Double.NaN);
+
+    Assertions.assertEquals(List.of(1.0, 2.0), results.subList(0, 2));
+    Assertions.assertTrue(Double.isNaN(results.get(2)));
+    Assertions.assertEquals(3, secondItemAttempts.get());
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package com.openevals4j.metrics.batch;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.faithfulness.FaithfulnessMetric;
+import com.openevals4j.metrics.models.EvaluationResult;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class StreamingBatchEvaluatorTest {
+
+  @Test
+  void preserveOrderWritesResultsInInputOrder() {
+    StreamingBatchEvaluator evaluator =
+        new StreamingBatchEvaluator(
+            BatchEvaluationOptions.builder().maxConcurrency(4).preserveOrder(true).build());
+    List<Long> written = new ArrayList<>();
+
+    StreamingBatchEvaluator.Summary summary =
+        evaluator.evaluate(
+            IntStream.range(0, 40).iterator(),
+            input -> {
+              sleep((40 - input) % 5);
+              if (input == 7) {
+                throw new IllegalStateException("judge unavailable");
+              }
+              return input;
+            },
+            (input, exception) -> -1,
+            (index, input, result) -> written.add(index));
+
+    Assertions.assertEquals(IntStream.range(0, 40).mapToObj(i -> (long) i).toList(), written);
+    Assertions.assertEquals(40, summary.items());
+    Assertions.assertEquals(1, summary.failures());
+  }
+
+  @Test
+  void errorInAnEvaluationFailsTheRunInsteadOfHanging() {
+    List<Long> written = new ArrayList<>();
+    StreamingBatchEvaluator evaluator =
+        new StreamingBatchEvaluator(
+            BatchEvaluationOptions.builder().maxConcurrency(2).preserveOrder(true).build());
+
+    IllegalStateException exception =
+        Assertions.assertTimeoutPreemptively(
+            Duration.ofSeconds(10),
+            () ->
+                Assertions.assertThrows(
+                    IllegalStateException.class,
+                    () ->
+                        evaluator.evaluate(
+                            IntStream.range(0, 10).iterator(),
+                            input -> {
+                              if (input == 3) {
+                                throw new AssertionError("broken evaluator");
+                              }
+                              return input;
+                            },
+                            (input, failure) -> -1,
+                            (index, input, result) -> written.add(index))));
+
+    Assertions.assertInstanceOf(AssertionError.class, exception.getCause());
+    // Results are written in order up to the failed item at most, depending on what was in flight.
+    Assertions.assertEquals(LongStream.range(0, written.size()).boxed().toList(), written);
+    Assertions.assertTrue(written.size() <= 3, "written " + written);
+  }
+
+  @Test
+  void readerIsNeverMoreThanMaxConcurrencyAheadOfTheSink() {
+    AtomicLong pulled = new AtomicLong();
+    AtomicLong written = new AtomicLong();
+    AtomicInteger maxAhead = new AtomicInteger();
+    Iterator<Integer> source = IntStream.range(0, 200).iterator();
+    Iterator<Integer> inputs =
+        new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return source.hasNext();
+          }
+
+          @Override
+          public Integer next() {
+            maxAhead.accumulateAndGet((int) (pulled.incrementAndGet() - written.get()), Math::max);
+            return source.next();
+          }
+        };
+
+    new StreamingBatchEvaluator(BatchEvaluationOptions.builder().maxConcurrency(3).build())
+        .evaluate(
+            inputs,
+            input -> {
+              sleep(1);
+              return input;
+            },
+            (input, exception) -> null,
+            (index, input, result) -> written.incrementAndGet());
+
+    Assertions.assertEquals(200, written.get());
+    Assertions.assertTrue(maxAhead.get() <= 4, "reader ran " + maxAhead.get() + " items ahead");
+  }
+
+  @Test
+  void metricStreamsJsonlDatasetToJsonlResults() throws Exception {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenReturn(
+            ChatResponse.builder()
+                .aiMessage(AiMessage.from("{\"score\": 1.0, \"reasoning\": \"Supported.\"}"))
+                .build());
+    ObjectMapper objectMapper = new ObjectMapper();
+    FaithfulnessMetric metric =
+        FaithfulnessMetric.builder().evaluatorLLM(chatModel).objectMapper(objectMapper).build();
+    String dataset =
+        """
+        {"userInput": "q1", "actualResponse": "a1", "retrievedContexts": ["c1"], "metadata": {"id": 1}}
+        not json
+
+        {"userInput": "q2", "actualResponse": "a2", "retrievedContexts": ["c2"], "metadata": {"id": 2}}
+        """;
+    StringWriter output = new StringWriter();
+
+    try (JsonlEvaluationContextReader reader =
+            new JsonlEvaluationContextReader(new StringReader(dataset), objectMapper);
+        JsonlResultWriter<EvaluationResult> writer =
+            new JsonlResultWriter<>(output, objectMapper)) {
+      StreamingBatchEvaluator.Summary summary =
+          metric.evaluateStream(
+              reader, writer, BatchEvaluationOptions.builder().preserveOrder(true).build());
+
+      Assertions.assertEquals(2, summary.items());
+      Assertions.assertEquals(1, reader.getSkippedLines());
+    }
+
+    List<JsonNode> lines = new ArrayList<>();
+    for (String line : output.toString().split("\n")) {
+      lines.add(objectMapper.readTree(line));
+    }
+    Assertions.assertEquals(2, lines.size());
+    Assertions.assertEquals(1, lines.get(1).get("index").asInt());
+    Assertions.assertEquals(2, lines.get(1).get("metadata").get("id").asInt());
+    Assertions.assertEquals(1.0, lines.get(1).get("result").get("score").asDouble());
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
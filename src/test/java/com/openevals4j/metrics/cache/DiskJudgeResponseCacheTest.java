@@ -0,0 +1,149 @@
+package com.openevals4j.metrics.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.faithfulness.FaithfulnessMetric;
+import com.openevals4j.metrics.models.EvaluationContext;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiskJudgeResponseCacheTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void entriesSurviveReopen() throws IOException {
+    try (DiskJudgeResponseCache cache =
+        DiskJudgeResponseCache.open(
+            directory, DiskCacheOptions.builder().initialIndexSlots(16).build())) {
+      for (int i = 0; i < 100; i++) {
+        cache.put("key-" + i, "{\"score\": " + i + "}");
+      }
+      cache.invalidate("key-7");
+    }
+
+    try (DiskJudgeResponseCache cache = DiskJudgeResponseCache.open(directory)) {
+      Assertions.assertEquals(99, cache.size());
+      Assertions.assertEquals("{\"score\": 42}", cache.get("key-42"));
+      Assertions.assertNull(cache.get("key-7"));
+      Assertions.assertEquals(1, cache.getHits());
+      Assertions.assertEquals(1, cache.getMisses());
+    }
+  }
+
+  @Test
+  void tornTailIsTruncatedOnReopen() throws IOException {
+    try (DiskJudgeResponseCache cache = DiskJudgeResponseCache.open(directory)) {
+      cache.put("a", "first");
+    }
+    Path segment = directory.resolve("segment-00000000.log");
+    long validSize = Files.size(segment);
+    Files.write(segment, "garbage".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+    try (DiskJudgeResponseCache cache = DiskJudgeResponseCache.open(directory)) {
+      Assertions.assertEquals(validSize, Files.size(segment));
+      cache.put("b", "second");
+      Assertions.assertEquals("first", cache.get("a"));
+      Assertions.assertEquals("second", cache.get("b"));
+    }
+  }
+
+  @Test
+  void sizeCapCompactsAndEvictsOldestEntries() throws IOException {
+    DiskCacheOptions options =
+        DiskCacheOptions.builder().maxBytes(4_000).segmentBytes(1_024).build();
+    try (DiskJudgeResponseCache cache = DiskJudgeResponseCache.open(directory, options)) {
+      for (int i = 0; i < 100; i++) {
+        cache.put("key-" + i, "x".repeat(100));
+      }
+
+      Assertions.assertTrue(cache.getCompactions() > 0);
+      Assertions.assertTrue(cache.getEvictions() > 0);
+      Assertions.assertTrue(cache.getDiskBytes() <= 4_000);
+      Assertions.assertNull(cache.get("key-0"));
+      Assertions.assertNotNull(cache.get("key-99"));
+    }
+
+    try (DiskJudgeResponseCache cache = DiskJudgeResponseCache.open(directory, options)) {
+      Assertions.assertNotNull(cache.get("key-99"));
+    }
+  }
+
+  @Test
+  void interruptedCompactionIsRolledBack() throws IOException {
+    try (DiskJudgeResponseCache cache = DiskJudgeResponseCache.open(directory)) {
+      cache.put("a", "first");
+    }
+    Path stray = directory.resolve("segment-00000005.compacting");
+    Files.writeString(stray, "partial");
+
+    try (DiskJudgeResponseCache cache = DiskJudgeResponseCache.open(directory)) {
+      Assertions.assertFalse(Files.exists(stray));
+      Assertions.assertEquals("first", cache.get("a"));
+    }
+  }
+
+  @Test
+  void readOnlyCacheSeesEntriesOfWriter() throws IOException {
+    try (DiskJudgeResponseCache writer = DiskJudgeResponseCache.open(directory);
+        DiskJudgeResponseCache reader =
+            DiskJudgeResponseCache.open(
+                directory, DiskCacheOptions.builder().readOnly(true).build())) {
+      writer.put("a", "first");
+
+      Assertions.assertEquals("first", reader.get("a"));
+      reader.put("b", "ignored");
+      Assertions.assertNull(writer.get("b"));
+      Assertions.assertThrows(
+          IllegalStateException.class, () -> DiskJudgeResponseCache.open(directory));
+    }
+  }
+
+  @Test
+  void metricOnlyUsesCacheWithExplicitModelId() throws IOException {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenReturn(
+            ChatResponse.builder()
+                .aiMessage(AiMessage.from("{\"score\": 4, \"reasoning\": \"mostly faithful\"}"))
+                .build());
+    EvaluationContext context =
+        EvaluationContext.builder()
+            .userInput("Who wrote Hamlet?")
+            .actualResponse("Shakespeare")
+            .retrievedContexts(List.of("Hamlet is a tragedy by William Shakespeare."))
+            .build();
+
+    try (DiskJudgeResponseCache cache = DiskJudgeResponseCache.open(directory)) {
+      FaithfulnessMetric metric =
+          FaithfulnessMetric.builder()
+              .evaluatorLLM(chatModel)
+              .objectMapper(new ObjectMapper())
+              .build();
+      metric.setResponseCache(cache);
+
+      Assertions.assertTrue(Double.isNaN(metric.evaluate(context).getScore()));
+      verify(chatModel, never()).chat(any(ChatRequest.class));
+
+      metric.setEvaluatorModelId("gpt-4o");
+      Assertions.assertEquals(4.0, metric.evaluate(context).getScore());
+      Assertions.assertEquals(1, cache.size());
+    }
+  }
+}
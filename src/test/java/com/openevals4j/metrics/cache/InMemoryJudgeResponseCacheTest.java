@@ -0,0 +1,126 @@
+package com.openevals4j.metrics.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.faithfulness.FaithfulnessMetric;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class InMemoryJudgeResponseCacheTest {
+
+  private static final EvaluationContext CONTEXT =
+      EvaluationContext.builder()
+          .userInput("When was the first super bowl?")
+          .actualResponse("The first superbowl was held on January 15, 1968")
+          .retrievedContexts(
+              List.of("The First AFL–NFL World Championship Game was played on January 15, 1968."))
+          .build();
+
+  @Test
+  void leastRecentlyUsedEntryIsEvicted() {
+    InMemoryJudgeResponseCache cache = InMemoryJudgeResponseCache.builder().maxEntries(2).build();
+    cache.put("a", "1");
+    cache.put("b", "2");
+    cache.get("a");
+    cache.put("c", "3");
+
+    Assertions.assertEquals("1", cache.get("a"));
+    Assertions.assertNull(cache.get("b"));
+    Assertions.assertEquals("3", cache.get("c"));
+    Assertions.assertEquals(1, cache.getEvictions());
+    Assertions.assertEquals(3, cache.getHits());
+    Assertions.assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  void weightBoundEvictsUntilWithinLimit() {
+    InMemoryJudgeResponseCache cache = InMemoryJudgeResponseCache.builder().maxWeight(10).build();
+    cache.put("a", "1234");
+    cache.put("b", "1234");
+    cache.put("c", "12345678");
+
+    Assertions.assertEquals(1, cache.size());
+    Assertions.assertEquals(9, cache.getWeight());
+  }
+
+  @Test
+  void entriesExpireAfterTtl() {
+    AtomicLong now = new AtomicLong();
+    InMemoryJudgeResponseCache cache =
+        new InMemoryJudgeResponseCache(0, 0, Duration.ofSeconds(10), now::get);
+    cache.put("a", "1");
+
+    now.set(Duration.ofSeconds(9).toNanos());
+    Assertions.assertEquals("1", cache.get("a"));
+    now.set(Duration.ofSeconds(10).toNanos());
+    Assertions.assertNull(cache.get("a"));
+  }
+
+  @Test
+  void metricServesRepeatedPromptFromCache() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenReturn(response("{\"score\": 1.0, \"reasoning\": \"Supported by the context.\"}"));
+    InMemoryJudgeResponseCache cache = InMemoryJudgeResponseCache.builder().build();
+    FaithfulnessMetric metric = faithfulnessMetric(chatModel, cache);
+
+    EvaluationResult first = metric.evaluate(CONTEXT);
+    EvaluationResult second = metric.evaluate(CONTEXT);
+
+    Assertions.assertEquals(first, second);
+    verify(chatModel, times(1)).chat(any(ChatRequest.class));
+    Assertions.assertEquals(1, cache.getHits());
+  }
+
+  @Test
+  void unparseableResponseIsNotCached() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class))).thenReturn(response("not json"));
+    InMemoryJudgeResponseCache cache = InMemoryJudgeResponseCache.builder().build();
+    FaithfulnessMetric metric = faithfulnessMetric(chatModel, cache);
+
+    Assertions.assertTrue(Double.isNaN(metric.evaluate(CONTEXT).getScore()));
+    Assertions.assertEquals(0, cache.size());
+  }
+
+  @Test
+  void responseRepairedByCuttingOffTruncationIsNotCached() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenReturn(response("{\"score\": 1.0, \"reasoning\": \"Supported by the con"));
+    InMemoryJudgeResponseCache cache = InMemoryJudgeResponseCache.builder().build();
+    FaithfulnessMetric metric = faithfulnessMetric(chatModel, cache);
+
+    Assertions.assertEquals(1.0, metric.evaluate(CONTEXT).getScore());
+    Assertions.assertEquals(0, cache.size());
+  }
+
+  private static FaithfulnessMetric faithfulnessMetric(
+      ChatLanguageModel chatModel, JudgeResponseCache cache) {
+    FaithfulnessMetric metric =
+        FaithfulnessMetric.builder()
+            .evaluatorLLM(chatModel)
+            .objectMapper(new ObjectMapper())
+            .build();
+    metric.setResponseCache(cache);
+    return metric;
+  }
+
+  private static ChatResponse response(String content) {
+    return ChatResponse.builder().aiMessage(AiMessage.from(content)).build();
+  }
+}
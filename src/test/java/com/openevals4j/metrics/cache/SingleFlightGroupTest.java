@@ -0,0 +1,106 @@
+package com.openevals4j.metrics.cache;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.faithfulness.FaithfulnessMetric;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightGroupTest {
+
+  private static final EvaluationContext CONTEXT =
+      EvaluationContext.builder()
+          .userInput("When was the first super bowl?")
+          .actualResponse("The first superbowl was held on January 15, 1968")
+          .retrievedContexts(
+              List.of("The First AFL–NFL World Championship Game was played on January 15, 1968."))
+          .build();
+
+  @Test
+  void concurrentIdenticalCallsShareOneJudgeCall() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(300);
+              return ChatResponse.builder()
+                  .aiMessage(
+                      AiMessage.from("{\"score\": 1.0, \"reasoning\": \"Supported by context.\"}"))
+                  .build();
+            });
+    SingleFlightGroup group = new SingleFlightGroup();
+    FaithfulnessMetric first = faithfulnessMetric(chatModel, group);
+    FaithfulnessMetric second = faithfulnessMetric(chatModel, group);
+
+    CompletableFuture<EvaluationResult> firstResult = first.evaluateAsync(CONTEXT);
+    CompletableFuture<EvaluationResult> secondResult = second.evaluateAsync(CONTEXT);
+
+    Assertions.assertEquals(firstResult.join(), secondResult.join());
+    verify(chatModel, times(1)).chat(any(ChatRequest.class));
+    Assertions.assertEquals(1, group.getCalls());
+    Assertions.assertEquals(1, group.getSavedCalls());
+    Assertions.assertEquals(0, group.getInFlightCalls());
+  }
+
+  @Test
+  void waitingCallersShareTheFailure() throws InterruptedException {
+    SingleFlightGroup group = new SingleFlightGroup();
+    CountDownLatch leaderStarted = new CountDownLatch(1);
+    CountDownLatch followerJoined = new CountDownLatch(1);
+
+    CompletableFuture<String> leader =
+        CompletableFuture.supplyAsync(
+            () ->
+                group.execute(
+                    "key",
+                    () -> {
+                      leaderStarted.countDown();
+                      awaitQuietly(followerJoined);
+                      throw new IllegalStateException("HTTP 503");
+                    }));
+    leaderStarted.await();
+    CompletableFuture<String> follower =
+        CompletableFuture.supplyAsync(() -> group.execute("key", () -> "unexpected"));
+    while (group.getSavedCalls() == 0) {
+      Thread.onSpinWait();
+    }
+    followerJoined.countDown();
+
+    Assertions.assertThrows(Exception.class, leader::join);
+    Exception failure = Assertions.assertThrows(Exception.class, follower::join);
+    Assertions.assertInstanceOf(IllegalStateException.class, failure.getCause());
+  }
+
+  private static FaithfulnessMetric faithfulnessMetric(
+      ChatLanguageModel chatModel, SingleFlightGroup group) {
+    FaithfulnessMetric metric =
+        FaithfulnessMetric.builder()
+            .evaluatorLLM(chatModel)
+            .objectMapper(new ObjectMapper())
+            .build();
+    metric.setSingleFlightGroup(group);
+    return metric;
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
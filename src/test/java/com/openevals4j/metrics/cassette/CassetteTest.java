@@ -0,0 +1,94 @@
+package com.openevals4j.metrics.cassette;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.LLMBasedMetric;
+import com.openevals4j.metrics.LLMBasedMetricFactory;
+import com.openevals4j.metrics.MetricName;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.simulation.LatencyDistribution;
+import com.openevals4j.metrics.simulation.SimulatedJudgeChatModel;
+import com.openevals4j.metrics.simulation.SimulatedJudgeOptions;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CassetteTest {
+
+  private static final EvaluationContext CONTEXT =
+      EvaluationContext.builder()
+          .userInput("Who won the first Super Bowl?")
+          .actualResponse("The Green Bay Packers.")
+          .expectedResponse("Green Bay won the first Super Bowl.")
+          .retrievedContexts(List.of("Packers won.", "It was 1967.", "Chiefs lost."))
+          .build();
+
+  @Test
+  void replaysRecordedEvaluationsFromFile(@TempDir Path directory) throws Exception {
+    Cassette recording = new Cassette();
+    SimulatedJudgeChatModel live =
+        new SimulatedJudgeChatModel(
+            SimulatedJudgeOptions.builder()
+                .latency(LatencyDistribution.fixed(Duration.ZERO))
+                .seed(3L)
+                .build());
+    EvaluationResult recorded =
+        metric(new RecordingChatLanguageModel(live, recording)).evaluate(CONTEXT);
+    Path file = directory.resolve("judge.cassette");
+    recording.save(file);
+    byte[] saved = Files.readAllBytes(file);
+    recording.save(file);
+    Assertions.assertArrayEquals(saved, Files.readAllBytes(file));
+
+    ReplayingChatLanguageModel replay = new ReplayingChatLanguageModel(Cassette.load(file));
+    EvaluationResult replayed = metric(replay).evaluate(CONTEXT);
+
+    Assertions.assertEquals(2, recording.size());
+    Assertions.assertEquals(recorded, replayed);
+    Assertions.assertEquals(recorded.getUsage(), replayed.getUsage());
+    Assertions.assertEquals(2, replay.getHits());
+    Assertions.assertEquals(2, live.getCalls());
+
+    EvaluationResult changed =
+        metric(replay)
+            .evaluate(
+                EvaluationContext.builder()
+                    .userInput("Who lost the first Super Bowl?")
+                    .actualResponse(CONTEXT.getActualResponse())
+                    .expectedResponse(CONTEXT.getExpectedResponse())
+                    .retrievedContexts(CONTEXT.getRetrievedContexts())
+                    .build());
+    Assertions.assertTrue(Double.isNaN(changed.getScore()));
+    Assertions.assertEquals(1, replay.getMisses());
+  }
+
+  @Test
+  void replaysScaledLatency() {
+    Cassette cassette = new Cassette();
+    ChatRequest request = ChatRequest.builder().messages(UserMessage.from("Score this")).build();
+    cassette.put(request, new RecordedResponse("{}", Duration.ofMillis(40).toNanos(), 10, 2));
+    ReplayingChatLanguageModel replay =
+        new ReplayingChatLanguageModel(
+            cassette, ReplayOptions.builder().replayLatency(true).latencyScale(0.5).build());
+
+    long start = System.nanoTime();
+    Assertions.assertEquals("{}", replay.chat(request).aiMessage().text());
+    long elapsed = System.nanoTime() - start;
+
+    Assertions.assertTrue(elapsed >= Duration.ofMillis(20).toNanos());
+    Assertions.assertEquals(10, replay.chat(request).tokenUsage().inputTokenCount());
+  }
+
+  private static LLMBasedMetric<EvaluationContext, EvaluationResult> metric(
+      ChatLanguageModel judge) {
+    return LLMBasedMetricFactory.createMetric(
+        MetricName.CONTEXTUAL_PRECISION, judge, new ObjectMapper(), List.of());
+  }
+}
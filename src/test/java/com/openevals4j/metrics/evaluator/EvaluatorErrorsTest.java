@@ -0,0 +1,40 @@
+package com.openevals4j.metrics.evaluator;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EvaluatorErrorsTest {
+
+  @Test
+  void providerErrorsAreClassifiedByStatusAndWording() {
+    Assertions.assertTrue(
+        EvaluatorErrors.isThrottling(new RuntimeException("HTTP 429 Too Many Requests")));
+    Assertions.assertTrue(
+        EvaluatorErrors.isThrottling(new RuntimeException("Rate limit reached for requests")));
+    Assertions.assertTrue(
+        EvaluatorErrors.isRetryable(new RuntimeException("HTTP 503 Service Unavailable")));
+    Assertions.assertTrue(
+        EvaluatorErrors.isRetryable(
+            new CompletionException(new SocketTimeoutException("Read timed out"))));
+
+    Assertions.assertFalse(EvaluatorErrors.isRetryable(new RuntimeException("error code 5003")));
+    Assertions.assertFalse(EvaluatorErrors.isThrottling(new RuntimeException("request id 14290")));
+  }
+
+  @Test
+  void parseAndArgumentErrorsAreNeverTransient() {
+    CompletionException parseFailure =
+        new CompletionException(
+            new JsonParseException(
+                null, "Unexpected character ('r'): \"rate limit timeout\" at column: 500"));
+    Assertions.assertFalse(EvaluatorErrors.isRetryable(parseFailure));
+    Assertions.assertFalse(EvaluatorErrors.isThrottling(parseFailure));
+
+    IllegalArgumentException invalid = new IllegalArgumentException("quota must be positive");
+    Assertions.assertFalse(EvaluatorErrors.isRetryable(invalid));
+    Assertions.assertFalse(EvaluatorErrors.isThrottling(invalid));
+  }
+}
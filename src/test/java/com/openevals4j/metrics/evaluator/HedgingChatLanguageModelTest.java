@@ -0,0 +1,153 @@
+package com.openevals4j.metrics.evaluator;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.openevals4j.metrics.models.JudgeUsage;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class HedgingChatLanguageModelTest {
+
+  private static final ChatRequest REQUEST =
+      ChatRequest.builder().messages(UserMessage.from("Is the sky blue?")).build();
+
+  @Test
+  void slowCallIsAnsweredByHedgedRequest() {
+    ChatLanguageModel delegate = slowFirstCallModel();
+    HedgingChatLanguageModel chatModel =
+        new HedgingChatLanguageModel(
+            delegate,
+            HedgingOptions.builder().hedgeDelay(Duration.ofMillis(20)).maxHedgeRate(1.0).build());
+
+    long start = System.nanoTime();
+    ChatResponse response = chatModel.chat(REQUEST);
+    long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+    Assertions.assertEquals("call 2", response.aiMessage().text());
+    Assertions.assertTrue(elapsedMillis < 1_000, "took " + elapsedMillis + "ms");
+    Assertions.assertEquals(1, chatModel.getHedgedCalls());
+    Assertions.assertEquals(1, chatModel.getHedgeWins());
+  }
+
+  @Test
+  void primaryAnsweringFirstIsNotCountedAsHedgeWin() throws InterruptedException {
+    ChatResponse shared = ChatResponse.builder().aiMessage(AiMessage.from("yes")).build();
+    AtomicInteger callCounter = new AtomicInteger();
+    CountDownLatch hedgeDone = new CountDownLatch(1);
+    ChatLanguageModel delegate = mock(ChatLanguageModel.class);
+    when(delegate.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              if (callCounter.incrementAndGet() == 1) {
+                Thread.sleep(60);
+              } else {
+                Thread.sleep(100);
+                hedgeDone.countDown();
+              }
+              return shared;
+            });
+    HedgingChatLanguageModel chatModel =
+        new HedgingChatLanguageModel(
+            delegate,
+            HedgingOptions.builder().hedgeDelay(Duration.ofMillis(20)).maxHedgeRate(1.0).build());
+
+    Assertions.assertSame(shared, chatModel.chat(REQUEST));
+    Assertions.assertTrue(hedgeDone.await(1, TimeUnit.SECONDS));
+    Thread.sleep(20);
+
+    Assertions.assertEquals(1, chatModel.getHedgedCalls());
+    Assertions.assertEquals(0, chatModel.getHedgeWins());
+  }
+
+  @Test
+  void usageOfTheDiscardedResponseIsCounted() throws InterruptedException {
+    CountDownLatch primaryDone = new CountDownLatch(1);
+    AtomicInteger callCounter = new AtomicInteger();
+    ChatLanguageModel delegate = mock(ChatLanguageModel.class);
+    when(delegate.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              int call = callCounter.incrementAndGet();
+              if (call == 1) {
+                Thread.sleep(200);
+              }
+              ChatResponse response =
+                  ChatResponse.builder()
+                      .aiMessage(AiMessage.from("call " + call))
+                      .tokenUsage(new TokenUsage(100 * call, 10 * call))
+                      .build();
+              if (call == 1) {
+                primaryDone.countDown();
+              }
+              return response;
+            });
+    HedgingChatLanguageModel chatModel =
+        new HedgingChatLanguageModel(
+            delegate,
+            HedgingOptions.builder().hedgeDelay(Duration.ofMillis(20)).maxHedgeRate(1.0).build());
+
+    Assertions.assertEquals("call 2", chatModel.chat(REQUEST).aiMessage().text());
+    Assertions.assertTrue(primaryDone.await(1, TimeUnit.SECONDS));
+    Thread.sleep(20);
+
+    Assertions.assertEquals(new JudgeUsage(1, 100, 10), chatModel.getDiscardedUsage());
+    Assertions.assertEquals(new JudgeUsage(1, 100, 10), chatModel.resetDiscardedUsage());
+    Assertions.assertEquals(JudgeUsage.NONE, chatModel.getDiscardedUsage());
+  }
+
+  @Test
+  void hedgesAreSkippedOnceRateBudgetIsSpent() {
+    ChatLanguageModel delegate = slowFirstCallModel();
+    HedgingChatLanguageModel chatModel =
+        new HedgingChatLanguageModel(
+            delegate,
+            HedgingOptions.builder().hedgeDelay(Duration.ofMillis(20)).maxHedgeRate(0.0).build());
+
+    Assertions.assertEquals("call 1", chatModel.chat(REQUEST).aiMessage().text());
+    Assertions.assertEquals(0, chatModel.getHedgedCalls());
+  }
+
+  @Test
+  void percentileDelayStaysInactiveUntilEnoughSamples() {
+    ChatLanguageModel delegate = mock(ChatLanguageModel.class);
+    when(delegate.chat(any(ChatRequest.class)))
+        .thenReturn(ChatResponse.builder().aiMessage(AiMessage.from("yes")).build());
+    HedgingChatLanguageModel chatModel =
+        new HedgingChatLanguageModel(delegate, HedgingOptions.builder().minSamples(5).build());
+
+    for (int i = 0; i < 4; i++) {
+      chatModel.chat(REQUEST);
+    }
+    Assertions.assertEquals(-1, chatModel.getHedgeDelayMillis());
+
+    chatModel.chat(REQUEST);
+    Assertions.assertEquals(100, chatModel.getHedgeDelayMillis());
+  }
+
+  private static ChatLanguageModel slowFirstCallModel() {
+    AtomicInteger callCounter = new AtomicInteger();
+    ChatLanguageModel delegate = mock(ChatLanguageModel.class);
+    when(delegate.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              int call = callCounter.incrementAndGet();
+              if (call == 1) {
+                Thread.sleep(300);
+              }
+              return ChatResponse.builder().aiMessage(AiMessage.from("call " + call)).build();
+            });
+    return delegate;
+  }
+}
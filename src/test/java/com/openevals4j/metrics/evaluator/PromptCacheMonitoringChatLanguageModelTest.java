@@ -0,0 +1,88 @@
+package com.openevals4j.metrics.evaluator;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.faithfulness.FaithfulnessMetric;
+import com.openevals4j.metrics.models.EvaluationContext;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PromptCacheMonitoringChatLanguageModelTest {
+
+  @Test
+  void metricRequestsShareStablePrefixThatProviderCanCache() {
+    List<ChatRequest> requests = new ArrayList<>();
+    ChatLanguageModel delegate = mock(ChatLanguageModel.class);
+    when(delegate.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              ChatRequest request = invocation.getArgument(0);
+              // Simulates a provider caching every prefix it has already seen.
+              boolean cached = requests.stream().anyMatch(seen -> sameSystemMessage(seen, request));
+              requests.add(request);
+              return ChatResponse.builder()
+                  .aiMessage(AiMessage.from("{\"score\": 5, \"reasoning\": \"faithful\"}"))
+                  .tokenUsage(new CachedTokenUsage(1000, 20, cached ? 900 : 0))
+                  .build();
+            });
+    PromptCacheMonitoringChatLanguageModel chatModel =
+        new PromptCacheMonitoringChatLanguageModel(
+            delegate,
+            response ->
+                response.tokenUsage() instanceof CachedTokenUsage usage ? usage.cachedTokens : -1);
+    FaithfulnessMetric metric =
+        FaithfulnessMetric.builder()
+            .evaluatorLLM(chatModel)
+            .objectMapper(new ObjectMapper())
+            .build();
+
+    metric.evaluate(context("Who won the first Super Bowl?", "Green Bay Packers"));
+    metric.evaluate(context("Where was it played?", "Los Angeles"));
+
+    Assertions.assertInstanceOf(SystemMessage.class, requests.get(0).messages().get(0));
+    Assertions.assertTrue(sameSystemMessage(requests.get(0), requests.get(1)));
+    UserMessage secondInput = (UserMessage) requests.get(1).messages().get(1);
+    Assertions.assertTrue(secondInput.singleText().contains("Los Angeles"));
+    Assertions.assertEquals(2, chatModel.getCalls());
+    Assertions.assertEquals(1, chatModel.getDistinctPrefixes());
+    Assertions.assertEquals(0.5, chatModel.getPrefixReuseRate());
+    Assertions.assertTrue(chatModel.getReusablePrefixShare() > 0.25);
+    Assertions.assertEquals(2000, chatModel.getInputTokens());
+    Assertions.assertEquals(0.45, chatModel.getCachedInputTokenRatio(), 1e-12);
+  }
+
+  private static boolean sameSystemMessage(ChatRequest first, ChatRequest second) {
+    return first.messages().get(0).equals(second.messages().get(0));
+  }
+
+  private static EvaluationContext context(String userInput, String actualResponse) {
+    return EvaluationContext.builder()
+        .userInput(userInput)
+        .actualResponse(actualResponse)
+        .retrievedContexts(List.of("Super Bowl I was played in Los Angeles."))
+        .build();
+  }
+
+  /** Token usage of a provider that reports cached input tokens. */
+  private static final class CachedTokenUsage extends TokenUsage {
+
+    private final long cachedTokens;
+
+    private CachedTokenUsage(int inputTokens, int outputTokens, long cachedTokens) {
+      super(inputTokens, outputTokens);
+      this.cachedTokens = cachedTokens;
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.openevals4j.metrics.evaluator;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RateLimitedChatLanguageModelTest {
+
+  private static final ChatRequest REQUEST =
+      ChatRequest.builder().messages(UserMessage.from("Is the sky blue?")).build();
+
+  @Test
+  void throttledCallShrinksConcurrencyLimit() {
+    ChatLanguageModel delegate = mock(ChatLanguageModel.class);
+    when(delegate.chat(any(ChatRequest.class)))
+        .thenThrow(new RuntimeException("HTTP 429 Too Many Requests"));
+    RateLimitedChatLanguageModel chatModel =
+        new RateLimitedChatLanguageModel(
+            delegate, RateLimitOptions.builder().initialConcurrency(16).build());
+
+    Assertions.assertThrows(RuntimeException.class, () -> chatModel.chat(REQUEST));
+
+    Assertions.assertEquals(8, chatModel.getConcurrencyLimit());
+    Assertions.assertEquals(1, chatModel.getThrottledCalls());
+    Assertions.assertEquals(0, chatModel.getInFlightCalls());
+  }
+
+  @Test
+  void successfulCallsGrowConcurrencyLimit() {
+    ChatLanguageModel delegate = mock(ChatLanguageModel.class);
+    when(delegate.chat(any(ChatRequest.class)))
+        .thenReturn(ChatResponse.builder().aiMessage(AiMessage.from("yes")).build());
+    RateLimitedChatLanguageModel chatModel =
+        new RateLimitedChatLanguageModel(
+            delegate,
+            RateLimitOptions.builder()
+                .initialConcurrency(2)
+                .latencyThreshold(Duration.ofSeconds(5))
+                .build());
+
+    for (int i = 0; i < 10; i++) {
+      chatModel.chat(REQUEST);
+    }
+
+    Assertions.assertTrue(chatModel.getConcurrencyLimit() > 2);
+  }
+
+  @Test
+  void requestBucketPacesCallsBeyondBurst() {
+    ChatLanguageModel delegate = mock(ChatLanguageModel.class);
+    when(delegate.chat(any(ChatRequest.class)))
+        .thenReturn(ChatResponse.builder().aiMessage(AiMessage.from("yes")).build());
+    RateLimitedChatLanguageModel chatModel =
+        new RateLimitedChatLanguageModel(
+            delegate, RateLimitOptions.builder().requestsPerSecond(10).build());
+
+    long start = System.nanoTime();
+    for (int i = 0; i < 15; i++) {
+      chatModel.chat(REQUEST);
+    }
+    long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+    Assertions.assertTrue(elapsedMillis >= 400, "took " + elapsedMillis + "ms");
+  }
+}
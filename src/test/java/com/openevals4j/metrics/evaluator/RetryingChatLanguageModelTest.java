@@ -0,0 +1,60 @@
+package com.openevals4j.metrics.evaluator;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.time.Duration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class RetryingChatLanguageModelTest {
+
+  private static final ChatRequest REQUEST =
+      ChatRequest.builder().messages(UserMessage.from("Is the sky blue?")).build();
+
+  private static final RetryPolicy FAST_RETRIES =
+      RetryPolicy.builder().maxAttempts(3).initialBackoff(Duration.ofMillis(1)).build();
+
+  @Test
+  void transientFailureIsRetried() {
+    ChatLanguageModel delegate = mock(ChatLanguageModel.class);
+    when(delegate.chat(any(ChatRequest.class)))
+        .thenThrow(new RuntimeException("HTTP 503 Service Unavailable"))
+        .thenReturn(ChatResponse.builder().aiMessage(AiMessage.from("yes")).build());
+    RetryingChatLanguageModel chatModel = new RetryingChatLanguageModel(delegate, FAST_RETRIES);
+
+    Assertions.assertEquals("yes", chatModel.chat(REQUEST).aiMessage().text());
+    Assertions.assertEquals(1, chatModel.getRetriedCalls());
+  }
+
+  @Test
+  void permanentFailureIsNotRetried() {
+    ChatLanguageModel delegate = mock(ChatLanguageModel.class);
+    when(delegate.chat(any(ChatRequest.class)))
+        .thenThrow(new IllegalArgumentException("HTTP 400 invalid schema"));
+    RetryingChatLanguageModel chatModel = new RetryingChatLanguageModel(delegate, FAST_RETRIES);
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> chatModel.chat(REQUEST));
+    verify(delegate, times(1)).chat(any(ChatRequest.class));
+  }
+
+  @Test
+  void lastFailureIsRethrownAfterMaxAttempts() {
+    ChatLanguageModel delegate = mock(ChatLanguageModel.class);
+    when(delegate.chat(any(ChatRequest.class)))
+        .thenThrow(new RuntimeException("HTTP 429 Too Many Requests"));
+    RetryingChatLanguageModel chatModel = new RetryingChatLanguageModel(delegate, FAST_RETRIES);
+
+    Assertions.assertThrows(RuntimeException.class, () -> chatModel.chat(REQUEST));
+    verify(delegate, times(3)).chat(any(ChatRequest.class));
+    Assertions.assertEquals(2, chatModel.getRetriedCalls());
+  }
+}
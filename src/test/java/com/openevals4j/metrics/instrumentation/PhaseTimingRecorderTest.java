@@ -0,0 +1,117 @@
+package com.openevals4j.metrics.instrumentation;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.MetricName;
+import com.openevals4j.metrics.cache.InMemoryJudgeResponseCache;
+import com.openevals4j.metrics.contextualrecall.ContextualRecallMetric;
+import com.openevals4j.metrics.exception.EvaluationContextValidationException;
+import com.openevals4j.metrics.models.EvaluationContext;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PhaseTimingRecorderTest {
+
+  private static final EvaluationContext CONTEXT =
+      EvaluationContext.builder()
+          .userInput("Who won the first Super Bowl?")
+          .expectedResponse("The Green Bay Packers.")
+          .retrievedContexts(List.of("The Packers won Super Bowl I."))
+          .build();
+
+  @Test
+  void recordsEveryPhaseOfVerdictAndReasonCalls() {
+    PhaseTimingRecorder recorder = new PhaseTimingRecorder();
+    ContextualRecallMetric metric = metric();
+    metric.setInstrumentationListener(recorder);
+    metric.setResponseCache(InMemoryJudgeResponseCache.builder().build());
+
+    metric.evaluate(CONTEXT);
+    metric.evaluate(CONTEXT);
+    Assertions.assertThrows(
+        EvaluationContextValidationException.class,
+        () -> metric.evaluate(EvaluationContext.builder().userInput("Incomplete").build()));
+
+    Assertions.assertEquals(3, timing(recorder, Phase.VALIDATION, JudgeCallType.NONE).count());
+    Assertions.assertEquals(1, timing(recorder, Phase.VALIDATION, JudgeCallType.NONE).failures());
+    Assertions.assertEquals(2, timing(recorder, Phase.SCORING, JudgeCallType.NONE).count());
+    for (JudgeCallType callType : List.of(JudgeCallType.VERDICT, JudgeCallType.REASON)) {
+      Assertions.assertEquals(2, timing(recorder, Phase.PROMPT_RENDERING, callType).count());
+      Assertions.assertEquals(2, timing(recorder, Phase.RESPONSE_PARSING, callType).count());
+      PhaseTimings judgeCall = timing(recorder, Phase.JUDGE_CALL, callType);
+      Assertions.assertEquals(2, judgeCall.count());
+      Assertions.assertEquals(1, judgeCall.cached());
+      Assertions.assertTrue(judgeCall.mean().compareTo(Duration.ofMillis(5)) >= 0);
+    }
+    Assertions.assertTrue(recorder.toString().contains("JUDGE_CALL"));
+  }
+
+  @Test
+  void reportsPercentilesWithinRelativeAccuracy() {
+    PhaseTimingRecorder recorder = new PhaseTimingRecorder();
+    for (int millis = 1; millis <= 100; millis++) {
+      recorder.onPhase(
+          MetricName.FAITHFULNESS,
+          Phase.JUDGE_CALL,
+          JudgeCallType.EVALUATION,
+          Outcome.SUCCESS,
+          Duration.ofMillis(millis).toNanos());
+    }
+
+    PhaseTimings timings = recorder.getTimings().get(0);
+    Assertions.assertEquals(100, timings.count());
+    Assertions.assertEquals(50e6, timings.p50().toNanos(), 50e6 * 0.02);
+    Assertions.assertEquals(99e6, timings.p99().toNanos(), 99e6 * 0.02);
+  }
+
+  @Test
+  void failingListenerDoesNotFailEvaluation() {
+    ContextualRecallMetric metric = metric();
+    metric.setInstrumentationListener(
+        (metricName, phase, callType, outcome, durationNanos) -> {
+          throw new IllegalStateException("listener bug");
+        });
+
+    Assertions.assertEquals(1.0, metric.evaluate(CONTEXT).getScore());
+  }
+
+  private static PhaseTimings timing(
+      PhaseTimingRecorder recorder, Phase phase, JudgeCallType callType) {
+    return recorder.getTimings().stream()
+        .filter(
+            timing ->
+                timing.metricName() == MetricName.CONTEXTUAL_RECALL
+                    && timing.phase() == phase
+                    && timing.callType() == callType)
+        .findFirst()
+        .orElseThrow();
+  }
+
+  private static ContextualRecallMetric metric() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              ChatRequest request = invocation.getArgument(0);
+              Thread.sleep(10);
+              String json =
+                  "Verdicts".equals(request.responseFormat().jsonSchema().name())
+                      ? "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"stated\"}]}"
+                      : "{\"reason\": \"Fully supported.\"}";
+              return ChatResponse.builder().aiMessage(AiMessage.from(json)).build();
+            });
+    return ContextualRecallMetric.builder()
+        .evaluatorLLM(chatModel)
+        .objectMapper(new ObjectMapper())
+        .build();
+  }
+}
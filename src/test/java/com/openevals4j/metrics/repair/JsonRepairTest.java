@@ -0,0 +1,75 @@
+package com.openevals4j.metrics.repair;
+
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class JsonRepairTest {
+
+  @Test
+  void stripsFencesProseQuotesAndTrailingCommas() {
+    assertRepaired(
+        "```json\n{\"score\": 4, \"reasoning\": \"ok\"}\n```",
+        "{\"score\": 4, \"reasoning\": \"ok\"}",
+        JsonRepairKind.CODE_FENCE);
+    assertRepaired(
+        "Here is my evaluation: {\"score\": 4} Hope this helps!",
+        "{\"score\": 4}",
+        JsonRepairKind.SURROUNDING_TEXT);
+    assertRepaired(
+        "{“verdicts”: [{“verdict”: “yes”}]}",
+        "{\"verdicts\": [{\"verdict\": \"yes\"}]}",
+        JsonRepairKind.SMART_QUOTES);
+    assertRepaired(
+        "{\"verdicts\": [{\"verdict\": \"yes\",}, ],}",
+        "{\"verdicts\": [{\"verdict\": \"yes\" }  ] }",
+        JsonRepairKind.TRAILING_COMMA);
+  }
+
+  @Test
+  void closesTruncatedOutputAfterTheLastCompleteValue() {
+    assertRepaired(
+        "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"a\"}, {\"ver",
+        "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"a\"}]}",
+        JsonRepairKind.TRUNCATION);
+    assertRepaired(
+        "{\"score\": 3, \"reasoning\": \"The answer is cor",
+        "{\"score\": 3}",
+        JsonRepairKind.TRUNCATION);
+  }
+
+  @Test
+  void dropsAVerdictTruncatedMidElement() {
+    assertRepaired(
+        "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"a\"}, {\"verdict\": \"no\", \"rea",
+        "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"a\"}]}",
+        JsonRepairKind.TRUNCATION);
+    assertRepaired(
+        "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"a\"}, {\"verdict\": \"no\","
+            + " \"reason\": \"b\"}, {\"verdict\": \"yes\", \"reason\": \"ab",
+        "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"a\"}, {\"verdict\": \"no\","
+            + " \"reason\": \"b\"}]}",
+        JsonRepairKind.TRUNCATION);
+    // The only verdict is incomplete, so there is nothing left to return.
+    Assertions.assertFalse(
+        JsonRepair.repair("{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"ab").isRepaired());
+  }
+
+  @Test
+  void leavesTextItCannotRepairAlone() {
+    Assertions.assertFalse(JsonRepair.repair("{\"score\": 4}").isRepaired());
+    Assertions.assertFalse(JsonRepair.repair("I cannot evaluate this.").isRepaired());
+    // Closing the object would turn the truncated response into an empty one.
+    Assertions.assertFalse(JsonRepair.repair("{\"score\": 3").isRepaired());
+    Assertions.assertFalse(JsonRepair.repair("{\"verdicts\": [{\"verdict\": \"ye").isRepaired());
+    // Commas and quotes inside strings are the judge's own text.
+    Assertions.assertFalse(
+        JsonRepair.repair("{\"reasoning\": \"a, b,]\", \"score\": 4}").isRepaired());
+  }
+
+  private static void assertRepaired(String input, String expected, JsonRepairKind kind) {
+    JsonRepair.Result result = JsonRepair.repair(input);
+    Assertions.assertEquals(expected, result.text());
+    Assertions.assertEquals(Set.of(kind), result.repairs());
+  }
+}
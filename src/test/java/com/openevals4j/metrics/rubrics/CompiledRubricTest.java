@@ -0,0 +1,71 @@
+package com.openevals4j.metrics.rubrics;
+
+import com.openevals4j.metrics.rubrics.models.CriterionScore;
+import com.openevals4j.metrics.rubrics.models.RubricCriterion;
+import com.openevals4j.metrics.utils.JudgePrompt;
+import com.openevals4j.metrics.utils.PromptTemplate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CompiledRubricTest {
+
+  private static final List<RubricCriterion> CRITERIA =
+      List.of(
+          criterion("Accuracy", 0.5), criterion("Completeness", 0.3), criterion("Clarity", 0.2));
+
+  private final CompiledRubric rubric =
+      new CompiledRubric(
+          CRITERIA, PromptTemplate.compile(RubricsPromptConstants.RUBRICS_EVALUATION_PROMPT));
+
+  @Test
+  void rendersRubricOnceIntoPromptPrefix() {
+    JudgePrompt prompt = rubric.renderPrompt("What is 2 + 2?", "4");
+
+    Assertions.assertTrue(prompt.instructions().contains("### Criterion 1: Accuracy\n"));
+    Assertions.assertTrue(prompt.instructions().contains("### Criterion 3: Clarity\n"));
+    Assertions.assertSame(
+        prompt.instructions(), rubric.renderPrompt("What is 3 + 3?", "6").instructions());
+    Assertions.assertEquals(
+        "## User Question\nWhat is 2 + 2?\n\n## Assistant's Answer\n4\n", prompt.input());
+  }
+
+  @Test
+  void scoresEveryCriterionWithPrecomputedNormalization() {
+    CompiledRubric.Scoring scoring =
+        rubric.score(List.of(score("Accuracy", 5), score("Completeness", 3), score("Clarity", 4)));
+
+    Assertions.assertEquals((5 * 0.5 + 3 * 0.3 + 4 * 0.2) / 5.0, scoring.score(), 1e-12);
+    Assertions.assertTrue(scoring.isComplete());
+  }
+
+  @Test
+  void reportsUnknownRepeatedAndMissingCriteria() {
+    CompiledRubric.Scoring scoring =
+        rubric.score(
+            List.of(
+                score(" accuracy ", 4),
+                score("Accuracy", 1),
+                score("Tone", 5),
+                score("Clarity", 2)));
+
+    Assertions.assertEquals((4 * 0.5 + 2 * 0.2) / (0.7 * 5.0), scoring.score(), 1e-12);
+    Assertions.assertEquals(List.of("Tone"), scoring.unknownCriteria());
+    Assertions.assertEquals(List.of("Accuracy"), scoring.duplicateCriteria());
+    Assertions.assertEquals(List.of("Completeness"), scoring.missingCriteria());
+  }
+
+  private static RubricCriterion criterion(String name, double weight) {
+    return RubricCriterion.builder()
+        .name(name)
+        .description(name + " of the answer")
+        .weight(weight)
+        .scoringGuidelines(Map.of(1, "Poor", 5, "Excellent"))
+        .build();
+  }
+
+  private static CriterionScore score(String criterion, int score) {
+    return CriterionScore.builder().criterion(criterion).score(score).justification("").build();
+  }
+}
@@ -0,0 +1,49 @@
+package com.openevals4j.metrics.simulation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.LLMBasedMetric;
+import com.openevals4j.metrics.LLMBasedMetricFactory;
+import com.openevals4j.metrics.MetricName;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LoadTestTest {
+
+  @Test
+  void reportsThroughputLatencyAndErrors() {
+    SimulatedJudgeChatModel judge =
+        new SimulatedJudgeChatModel(
+            SimulatedJudgeOptions.builder()
+                .latency(LatencyDistribution.fixed(Duration.ofMillis(5)))
+                .malformedProbability(0.25)
+                .malformedResponseKinds(List.of(MalformedResponseKind.PROSE))
+                .seed(7L)
+                .build());
+    LLMBasedMetric<EvaluationContext, EvaluationResult> metric =
+        LLMBasedMetricFactory.createMetric(
+            MetricName.FAITHFULNESS, judge, new ObjectMapper(), List.of());
+    // Every malformed response fails its item, rather than being asked for again.
+    metric.setMaxReprompts(0);
+    EvaluationContext context =
+        EvaluationContext.builder()
+            .userInput("Who won the first Super Bowl?")
+            .actualResponse("The Green Bay Packers.")
+            .retrievedContexts(List.of("The Packers won the first Super Bowl."))
+            .build();
+
+    LoadTestReport report =
+        new LoadTest(LoadTestOptions.builder().concurrency(4).items(40).warmupItems(4).build())
+            .run(metric, List.of(context));
+
+    Assertions.assertEquals(40, report.items());
+    Assertions.assertEquals(40, report.judgeCalls());
+    Assertions.assertTrue(report.failures() > 0 && report.failures() < 40);
+    Assertions.assertTrue(report.failures() <= judge.getMalformedResponses());
+    Assertions.assertTrue(report.p50().toMillis() >= 5);
+    Assertions.assertTrue(report.throughput() > 0 && report.throughput() <= 4 / 0.005);
+  }
+}
@@ -0,0 +1,144 @@
+package com.openevals4j.metrics.simulation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.LLMBasedMetric;
+import com.openevals4j.metrics.LLMBasedMetricFactory;
+import com.openevals4j.metrics.MetricName;
+import com.openevals4j.metrics.evaluator.EvaluatorErrors;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.repair.JsonRepairKind;
+import com.openevals4j.metrics.repair.JsonRepairStats;
+import com.openevals4j.metrics.rubrics.models.RubricCriterion;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SimulatedJudgeChatModelTest {
+
+  private static final EvaluationContext CONTEXT =
+      EvaluationContext.builder()
+          .userInput("Who won the first Super Bowl?")
+          .actualResponse("The Green Bay Packers.")
+          .expectedResponse("Green Bay won the first Super Bowl.")
+          .retrievedContexts(List.of("Packers won.", "It was 1967.", "Chiefs lost."))
+          .build();
+
+  @Test
+  void answersEveryMetricWithResponsesItCanParse() {
+    SimulatedJudgeChatModel judge =
+        new SimulatedJudgeChatModel(
+            SimulatedJudgeOptions.builder()
+                .latency(LatencyDistribution.fixed(Duration.ZERO))
+                .seed(42L)
+                .build());
+    List<RubricCriterion> rubric =
+        List.of(
+            RubricCriterion.builder()
+                .name("Accuracy")
+                .description("Is it correct?")
+                .weight(1.0)
+                .scoringGuidelines(Map.of(1, "Wrong", 5, "Right"))
+                .build());
+
+    for (MetricName metricName : MetricName.values()) {
+      LLMBasedMetric<EvaluationContext, EvaluationResult> metric =
+          LLMBasedMetricFactory.createMetric(metricName, judge, new ObjectMapper(), rubric);
+      EvaluationResult result = metric.evaluate(CONTEXT);
+      Assertions.assertFalse(Double.isNaN(result.getScore()), metricName.name());
+      if (result.getVerdicts() != null && metricName != MetricName.CONTEXTUAL_RECALL) {
+        Assertions.assertEquals(3, result.getVerdicts().size(), metricName.name());
+      }
+    }
+    Assertions.assertEquals(0, judge.getThrottledCalls());
+  }
+
+  @Test
+  void throttlesCallsBeyondTheRequestRate() {
+    SimulatedJudgeChatModel judge =
+        new SimulatedJudgeChatModel(
+            SimulatedJudgeOptions.builder()
+                .latency(LatencyDistribution.fixed(Duration.ZERO))
+                .throttledLatency(Duration.ZERO)
+                .requestsPerSecond(5)
+                .build());
+    ChatRequest request = ChatRequest.builder().messages(UserMessage.from("Score this")).build();
+
+    int throttled = 0;
+    for (int i = 0; i < 10; i++) {
+      try {
+        judge.chat(request);
+      } catch (RuntimeException exception) {
+        Assertions.assertTrue(EvaluatorErrors.isThrottling(exception));
+        throttled++;
+      }
+    }
+
+    Assertions.assertTrue(throttled >= 4, "throttled " + throttled);
+    Assertions.assertEquals(throttled, judge.getThrottledCalls());
+    Assertions.assertEquals(10, judge.getCalls());
+  }
+
+  @Test
+  void injectsMalformedResponses() {
+    SimulatedJudgeChatModel judge =
+        new SimulatedJudgeChatModel(
+            SimulatedJudgeOptions.builder()
+                .latency(LatencyDistribution.fixed(Duration.ZERO))
+                .malformedProbability(1.0)
+                .malformedResponseKinds(List.of(MalformedResponseKind.PROSE))
+                .build());
+    LLMBasedMetric<EvaluationContext, EvaluationResult> metric =
+        LLMBasedMetricFactory.createMetric(
+            MetricName.FAITHFULNESS, judge, new ObjectMapper(), List.of());
+
+    EvaluationResult result = metric.evaluate(CONTEXT);
+
+    Assertions.assertTrue(Double.isNaN(result.getScore()));
+    Assertions.assertEquals(2, judge.getMalformedResponses());
+    JsonRepairStats stats = metric.getJsonRepairStats();
+    Assertions.assertEquals(1, stats.reprompts());
+    Assertions.assertEquals(1, stats.unrecoverableResponses());
+    Assertions.assertEquals(2, metric.getUsage().calls());
+  }
+
+  @Test
+  void repairsMalformedResponsesWithoutAskingAgain() {
+    List<MalformedResponseKind> kinds =
+        List.of(
+            MalformedResponseKind.CODE_FENCED,
+            MalformedResponseKind.TRAILING_COMMA,
+            MalformedResponseKind.SMART_QUOTES);
+    SimulatedJudgeChatModel judge =
+        new SimulatedJudgeChatModel(
+            SimulatedJudgeOptions.builder()
+                .latency(LatencyDistribution.fixed(Duration.ZERO))
+                .malformedProbability(1.0)
+                .malformedResponseKinds(kinds)
+                .seed(7L)
+                .build());
+    LLMBasedMetric<EvaluationContext, EvaluationResult> metric =
+        LLMBasedMetricFactory.createMetric(
+            MetricName.FAITHFULNESS, judge, new ObjectMapper(), List.of());
+
+    for (int i = 0; i < 20; i++) {
+      Assertions.assertFalse(Double.isNaN(metric.evaluate(CONTEXT).getScore()));
+    }
+
+    JsonRepairStats stats = metric.getJsonRepairStats();
+    Assertions.assertEquals(20, stats.repairedResponses());
+    Assertions.assertEquals(0, stats.reprompts());
+    Assertions.assertEquals(20, metric.getUsage().calls());
+    for (JsonRepairKind kind :
+        List.of(
+            JsonRepairKind.CODE_FENCE,
+            JsonRepairKind.TRAILING_COMMA,
+            JsonRepairKind.SMART_QUOTES)) {
+      Assertions.assertTrue(stats.count(kind) > 0, kind.name());
+    }
+  }
+}
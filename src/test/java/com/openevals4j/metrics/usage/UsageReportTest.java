@@ -0,0 +1,167 @@
+package com.openevals4j.metrics.usage;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openevals4j.metrics.EvaluationSuite;
+import com.openevals4j.metrics.MetricName;
+import com.openevals4j.metrics.ReasoningMode;
+import com.openevals4j.metrics.contextualrecall.ContextualRecallMetric;
+import com.openevals4j.metrics.evaluator.HedgingChatLanguageModel;
+import com.openevals4j.metrics.evaluator.HedgingOptions;
+import com.openevals4j.metrics.models.EvaluationContext;
+import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.models.JudgeUsage;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatLanguageModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class UsageReportTest {
+
+  private static final EvaluationContext CONTEXT =
+      EvaluationContext.builder()
+          .userInput("Who won the first Super Bowl?")
+          .actualResponse("The Green Bay Packers won the first Super Bowl.")
+          .expectedResponse("The Green Bay Packers.")
+          .retrievedContexts(List.of("The Packers won Super Bowl I."))
+          .build();
+
+  @Test
+  void resultCarriesUsageOfBothVerdictMetricCalls() {
+    ContextualRecallMetric metric =
+        ContextualRecallMetric.builder()
+            .evaluatorLLM(judge())
+            .objectMapper(new ObjectMapper())
+            .build();
+
+    EvaluationResult result = metric.evaluate(CONTEXT);
+
+    Assertions.assertEquals(new JudgeUsage(2, 1100, 60), result.getUsage());
+    Assertions.assertEquals(new JudgeUsage(2, 1100, 60), metric.getUsage());
+  }
+
+  @Test
+  void lazyReasonCallIsAddedWhenReasoningIsResolved() {
+    ContextualRecallMetric metric =
+        ContextualRecallMetric.builder()
+            .evaluatorLLM(judge())
+            .objectMapper(new ObjectMapper())
+            .reasoningMode(ReasoningMode.LAZY)
+            .build();
+
+    EvaluationResult result = metric.evaluate(CONTEXT);
+    Assertions.assertEquals(new JudgeUsage(1, 1000, 50), result.getUsage());
+
+    result.resolveReasoning();
+    Assertions.assertEquals(new JudgeUsage(2, 1100, 60), result.getUsage());
+  }
+
+  @Test
+  void suiteReportPricesMetricsMostExpensiveFirst() {
+    EvaluationSuite suite =
+        EvaluationSuite.builder()
+            .metricNames(Set.of(MetricName.CONTEXTUAL_RECALL, MetricName.FAITHFULNESS))
+            .evaluatorLLM(judge())
+            .objectMapper(new ObjectMapper())
+            .build();
+    suite.evaluate(CONTEXT);
+
+    UsageReport report = suite.getUsageReport(PriceTable.of(new PriceTable.Price(1.0, 4.0)));
+
+    Assertions.assertEquals(
+        List.of("CONTEXTUAL_RECALL", "FAITHFULNESS"),
+        report.getLines().stream().map(UsageReport.Line::name).toList());
+    Assertions.assertEquals(new JudgeUsage(3, 1600, 90), report.getTotalUsage());
+    Assertions.assertEquals((1600 * 1.0 + 90 * 4.0) / 1_000_000, report.getTotalCost(), 1e-15);
+    Assertions.assertTrue(report.toString().contains("CONTEXTUAL_RECALL"));
+
+    suite.resetUsage();
+    Assertions.assertEquals(
+        JudgeUsage.NONE, suite.getUsageReport(PriceTable.of(null)).getTotalUsage());
+  }
+
+  @Test
+  void suiteModelIdPricesEveryMetricAndTheFusedJudge() {
+    EvaluationSuite suite =
+        EvaluationSuite.builder()
+            .metricNames(
+                Set.of(
+                    MetricName.FAITHFULNESS,
+                    MetricName.CONTEXTUAL_PRECISION,
+                    MetricName.CONTEXTUAL_RELEVANCY))
+            .evaluatorLLM(judge())
+            .evaluatorModelId("judge-model")
+            .objectMapper(new ObjectMapper())
+            .fuseRetrievalVerdicts(true)
+            .build();
+
+    UsageReport report =
+        suite.getUsageReport(
+            PriceTable.builder().price("judge-model", new PriceTable.Price(1.0, 4.0)).build());
+
+    Assertions.assertEquals(4, report.getLines().size());
+    for (UsageReport.Line line : report.getLines()) {
+      Assertions.assertEquals("judge-model", line.modelId(), line.name());
+    }
+    Assertions.assertFalse(Double.isNaN(report.getTotalCost()));
+  }
+
+  @Test
+  void suiteReportIncludesResponsesDiscardedByHedging() {
+    HedgingChatLanguageModel hedgingModel =
+        new HedgingChatLanguageModel(judge(), HedgingOptions.builder().maxHedgeRate(0).build());
+    EvaluationSuite suite =
+        EvaluationSuite.builder()
+            .metricNames(Set.of(MetricName.FAITHFULNESS))
+            .evaluatorLLM(hedgingModel)
+            .evaluatorModelId("judge-model")
+            .objectMapper(new ObjectMapper())
+            .build();
+    suite.evaluate(CONTEXT);
+
+    UsageReport report = suite.getUsageReport(PriceTable.of(new PriceTable.Price(1.0, 4.0)));
+
+    UsageReport.Line discarded =
+        report.getLines().stream()
+            .filter(line -> line.name().equals("DISCARDED_HEDGES"))
+            .findFirst()
+            .orElseThrow();
+    Assertions.assertEquals(hedgingModel.getDiscardedUsage(), discarded.usage());
+    Assertions.assertEquals("judge-model", discarded.modelId());
+  }
+
+  /**
+   * Verdict calls use 1000 input and 50 output tokens, every other call 100 and 10 or 500 and 30.
+   */
+  private static ChatLanguageModel judge() {
+    ChatLanguageModel chatModel = mock(ChatLanguageModel.class);
+    when(chatModel.chat(any(ChatRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              ChatRequest request = invocation.getArgument(0);
+              return switch (request.responseFormat().jsonSchema().name()) {
+                case "Verdicts" -> response(
+                    "{\"verdicts\": [{\"verdict\": \"yes\", \"reason\": \"stated\"}]}", 1000, 50);
+                case "Reason" -> response(
+                    "{\"reason\": \"All sentences are supported.\"}", 100, 10);
+                default -> response("{\"score\": 5, \"reasoning\": \"faithful\"}", 500, 30);
+              };
+            });
+    return chatModel;
+  }
+
+  private static ChatResponse response(String json, int inputTokens, int outputTokens) {
+    return ChatResponse.builder()
+        .aiMessage(AiMessage.from(json))
+        .tokenUsage(new TokenUsage(inputTokens, outputTokens))
+        .build();
+  }
+}
@@ -0,0 +1,90 @@
+package com.openevals4j.metrics.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.openevals4j.metrics.Constants;
+import com.openevals4j.metrics.models.EvaluationResult;
+import com.openevals4j.metrics.models.VerdictWithReason;
+import com.openevals4j.metrics.rubrics.models.CriterionScore;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class JudgeResponseReaderTest {
+
+  private final JsonFactory factory = new JsonFactory();
+
+  @Test
+  void readsVerdictsNormalizingYesAndNo() throws Exception {
+    List<VerdictWithReason> verdicts =
+        JudgeResponseReader.readVerdicts(
+            factory,
+            "{\"extra\": {\"nested\": [1, 2]}, \"verdicts\": ["
+                + "{\"verdict\": \"yes\", \"reason\": \"Supported\", \"confidence\": 0.9},"
+                + "{\"verdict\": \"no\", \"reason\": null},"
+                + "{\"verdict\": \" Yes \", \"reason\": \"Loosely formatted\"},"
+                + "{\"verdict\": \"NO\"},"
+                + "{\"verdict\": \"maybe\"}]}");
+
+    Assertions.assertEquals(5, verdicts.size());
+    Assertions.assertSame(Constants.YES_SMALL_CASE, verdicts.get(0).getVerdict());
+    Assertions.assertEquals("Supported", verdicts.get(0).getReason());
+    Assertions.assertEquals(Constants.NO_SMALL_CASE, verdicts.get(1).getVerdict());
+    Assertions.assertNull(verdicts.get(1).getReason());
+    Assertions.assertSame(Constants.YES_SMALL_CASE, verdicts.get(2).getVerdict());
+    Assertions.assertSame(Constants.NO_SMALL_CASE, verdicts.get(3).getVerdict());
+    Assertions.assertEquals("maybe", verdicts.get(4).getVerdict());
+    Assertions.assertEquals(
+        List.of(true, false, true, false, false),
+        verdicts.stream().map(VerdictWithReason::isYes).toList());
+    Assertions.assertNull(JudgeResponseReader.readVerdicts(factory, "{\"other\": []}"));
+  }
+
+  @Test
+  void readsScoresReasonsAndCriterionScores() throws Exception {
+    EvaluationResult result =
+        JudgeResponseReader.readScore(
+            factory, "{\"reasoning\": \"Mostly faithful\", \"score\": \"4\"}");
+    Assertions.assertEquals(4.0, result.getScore());
+    Assertions.assertEquals("Mostly faithful", result.getReasoning());
+
+    Assertions.assertEquals(
+        "Half are relevant",
+        JudgeResponseReader.readReason(factory, "{\"reason\": \"Half are relevant\"}"));
+
+    List<CriterionScore> scores =
+        JudgeResponseReader.readCriterionScores(
+            factory,
+            "{\"criteriaScores\": [{\"criterion\": \"Accuracy\", \"score\": 4.0,"
+                + " \"justification\": \"Minor slip\"}]}");
+    Assertions.assertEquals(List.of(new CriterionScore("Accuracy", 4, "Minor slip")), scores);
+  }
+
+  @Test
+  void rejectsScoreResponsesWithoutAScore() {
+    for (String content :
+        List.of("{\"reasoning\": \"No score given\"}", "{\"score\": null, \"reasoning\": \"?\"}")) {
+      Assertions.assertThrows(
+          JsonProcessingException.class,
+          () -> JudgeResponseReader.readScore(factory, content),
+          content);
+    }
+  }
+
+  @Test
+  void rejectsResponsesThatDoNotMatchTheSchema() {
+    for (String content :
+        List.of(
+            "not json",
+            "[]",
+            "{\"verdicts\": [{\"verdict\": \"yes\"}",
+            "{\"verdicts\": \"yes\"}",
+            "{\"verdicts\": [\"yes\"]}",
+            "{\"verdicts\": [{\"verdict\": {\"value\": \"yes\"}}]}")) {
+      Assertions.assertThrows(
+          JsonProcessingException.class,
+          () -> JudgeResponseReader.readVerdicts(factory, content),
+          content);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.openevals4j.metrics.utils;
+
+import com.openevals4j.metrics.contextualprecision.ContextualPrecisionPromptConstants;
+import com.openevals4j.metrics.contextualrecall.ContextualRecallPromptConstants;
+import com.openevals4j.metrics.responsecompleteness.ResponseCompletenessPromptConstants;
+import com.openevals4j.metrics.rubrics.RubricsPromptConstants;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PromptTemplateTest {
+
+  @Test
+  void rendersBuiltInPromptsLikeStringFormatForScalarArguments() {
+    for (String prompt :
+        List.of(
+            ContextualPrecisionPromptConstants.VERDICT_GENERATION_PROMPT,
+            ContextualRecallPromptConstants.REASON_GENERATION_PROMPT,
+            ResponseCompletenessPromptConstants.RESPONSE_COMPLETENESS_EVALUATION_PROMPT,
+            RubricsPromptConstants.RUBRICS_EVALUATION_PROMPT)) {
+      Object[] arguments = {"first", 0.75, "third", "fourth"};
+
+      Assertions.assertEquals(
+          String.format(prompt, arguments), PromptTemplate.compile(prompt).render(arguments));
+    }
+  }
+
+  @Test
+  void rendersCollectionsAsNumberedChunks() {
+    PromptTemplate template = PromptTemplate.compile("Contexts:\n%s\nNone: %s");
+
+    Assertions.assertEquals(
+        "Contexts:\n[1] Paris is in France.\n[2] Lyon is in France.\nNone: (none)",
+        template.render(List.of("Paris is in France.", "Lyon is in France."), List.of()));
+  }
+
+  @Test
+  void supportsIndexedDecimalAndLiteralPlaceholders() {
+    String format = "%2$s scored %1$.2f at rank %3$d%n%s%%";
+    PromptTemplate template = PromptTemplate.compile(format);
+
+    Assertions.assertEquals(
+        String.format(format, 0.5, "recall", 3), template.render(0.5, "recall", 3));
+  }
+
+  @Test
+  void rendersStaticInstructionsSeparatelyFromItemInput() {
+    PromptTemplate template =
+        PromptTemplate.compile(ContextualRecallPromptConstants.VERDICT_GENERATION_PROMPT);
+
+    JudgePrompt first = template.renderPrompt("Paris is in France.", List.of("chunk A"));
+    JudgePrompt second = template.renderPrompt("Lyon is in France.", List.of("chunk B"));
+
+    Assertions.assertSame(first.instructions(), second.instructions());
+    Assertions.assertFalse(first.instructions().contains("Paris"));
+    Assertions.assertTrue(first.input().startsWith("Expected Output:\nParis is in France."));
+    Assertions.assertEquals(
+        template.render("Paris is in France.", List.of("chunk A")), first.text());
+    Assertions.assertNull(PromptTemplate.compile("Answer: %s").renderPrompt("x").instructions());
+  }
+
+  @Test
+  void fallsBackToStringFormatForOtherPlaceholders() {
+    PromptTemplate template = PromptTemplate.compile("[%-6s] %s");
+
+    Assertions.assertEquals("[ab    ] [1] x", template.render("ab", List.of("x")));
+  }
+
+  @Test
+  void rejectsMissingArguments() {
+    PromptTemplate template = PromptTemplate.compile("%s and %s");
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> template.render("one"));
+  }
+}